@@ -21,9 +21,16 @@ import io.ballerina.runtime.scheduling.State;
 import io.ballerina.runtime.scheduling.Strand;
 
 import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 /**
  * {@code VarLock} represents lock object for variables in jvm.
+ * <p>
+ * A lock is either held by one strand, which may lock it again, or shared by the strands which only read the
+ * variables it guards. Strands which wait to lock it exclusively take precedence over new readers, and are handed the
+ * lock when it is released, so that readers cannot keep them waiting forever.
  *
  * @since 1.0.0
  */
@@ -33,34 +40,78 @@ public class BLock {
 
     private ArrayDeque<Strand> waitingForLock;
 
+    private ArrayDeque<Strand> waitingForReadLock;
+
+    private int readers;
+
+    // The strands which were handed the lock while they were waiting, and have not resumed yet.
+    private Strand handedOver;
+
+    private final Set<Strand> handedOverToRead = Collections.newSetFromMap(new IdentityHashMap<>());
+
     public BLock() {
         this.current = new ArrayDeque<>();
         this.waitingForLock = new ArrayDeque<>();
+        this.waitingForReadLock = new ArrayDeque<>();
     }
 
     public synchronized boolean lock(Strand strand) {
-        if (isLockFree() || lockedBySameContext(strand)) {
+        if (this.handedOver == strand) {
+            this.handedOver = null;
+            return true;
+        }
+
+        if (isLockFree() ? this.readers == 0 : lockedBySameContext(strand)) {
             this.current.offerLast(strand);
             return true;
         }
 
         this.waitingForLock.offerLast(strand);
+        block(strand);
+        return false;
+    }
 
-        // Strand state change
-        strand.setState(State.BLOCK_AND_YIELD);
-        strand.blockedOnExtern = false;
+    public synchronized boolean readLock(Strand strand) {
+        if (this.handedOverToRead.remove(strand)) {
+            return true;
+        }
+
+        if (isLockFree() ? this.waitingForLock.isEmpty() : lockedBySameContext(strand)) {
+            this.readers++;
+            return true;
+        }
+
+        this.waitingForReadLock.offerLast(strand);
+        block(strand);
         return false;
     }
 
     public synchronized void unlock() {
         //current cannot be empty as unlock cannot be called without lock being called first.
         this.current.removeLast();
-        if (!waitingForLock.isEmpty()) {
-            Strand strand = this.waitingForLock.removeFirst();
+        if (!isLockFree()) {
+            return;
+        }
+        if (this.waitingForReadLock.isEmpty()) {
+            handOverToWriter();
+            return;
+        }
+        // The readers which waited for this lock go before the next writer.
+        while (!this.waitingForReadLock.isEmpty()) {
+            Strand strand = this.waitingForReadLock.removeFirst();
+            this.readers++;
+            this.handedOverToRead.add(strand);
             strand.scheduler.unblockStrand(strand);
         }
     }
 
+    public synchronized void readUnlock() {
+        this.readers--;
+        if (this.readers == 0 && isLockFree()) {
+            handOverToWriter();
+        }
+    }
+
     public boolean isLockFree() {
         return this.current.isEmpty();
     }
@@ -68,4 +119,20 @@ public class BLock {
     public boolean lockedBySameContext(Strand ctx) {
         return this.current.getLast() == ctx;
     }
+
+    private void handOverToWriter() {
+        if (this.waitingForLock.isEmpty()) {
+            return;
+        }
+        Strand strand = this.waitingForLock.removeFirst();
+        this.current.offerLast(strand);
+        this.handedOver = strand;
+        strand.scheduler.unblockStrand(strand);
+    }
+
+    private void block(Strand strand) {
+        // Strand state change
+        strand.setState(State.BLOCK_AND_YIELD);
+        strand.blockedOnExtern = false;
+    }
 }
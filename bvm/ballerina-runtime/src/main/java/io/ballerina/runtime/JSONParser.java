@@ -160,6 +160,111 @@ public class JSONParser {
         }
     }
 
+    /**
+     * Reads the members of a top level JSON array one at a time, using the same state machine as
+     * {@link #parse(Reader, NonStringValueProcessingMode)}. Only the member being read is held in memory, so arrays
+     * larger than the heap can be processed as long as each member fits.
+     *
+     * @since 2.0.0
+     */
+    public static class ArrayMemberReader {
+
+        private static final char[] EOF_BUFF = new char[] { StateMachine.EOF };
+
+        private final Reader reader;
+        private final StateMachine sm = new StateMachine();
+        private final char[] buff = new char[1024];
+        private int count;
+        private StateMachine.State state = StateMachine.DOC_START_STATE;
+        private ArrayValue members;
+        private Object next;
+        private boolean hasNext;
+        private boolean ended;
+
+        public ArrayMemberReader(Reader reader, NonStringValueProcessingMode mode) {
+            this.reader = reader;
+            this.sm.mode = mode;
+        }
+
+        /**
+         * Checks whether there are more members in the array, reading ahead to the next member if needed.
+         *
+         * @return true if {@link #next()} would return a member
+         * @throws BallerinaException if the content is not a valid JSON array
+         */
+        public boolean hasNext() throws BallerinaException {
+            if (!this.hasNext && !this.ended) {
+                readMember();
+            }
+            return this.hasNext;
+        }
+
+        /**
+         * Returns the next member of the array.
+         *
+         * @return the next member, which may be null for a JSON null
+         * @throws BallerinaException if the content is not a valid JSON array or there are no more members
+         */
+        public Object next() throws BallerinaException {
+            if (!hasNext()) {
+                throw new BallerinaException("no more members in the JSON array");
+            }
+            Object member = this.next;
+            this.next = null;
+            this.hasNext = false;
+            return member;
+        }
+
+        private void readMember() {
+            try {
+                while (!this.hasNext) {
+                    if (this.sm.index >= this.count) {
+                        this.count = this.reader.read(this.buff);
+                        this.sm.index = 0;
+                        if (this.count <= 0) {
+                            finish();
+                            return;
+                        }
+                    }
+                    transition(this.buff, this.count);
+                }
+            } catch (IOException e) {
+                throw new BallerinaException("Error reading JSON: " + e.getMessage());
+            } catch (JsonParserException e) {
+                throw new BallerinaException(e.getMessage() + " at line: " + this.sm.line + " column: " +
+                                                     this.sm.column);
+            }
+        }
+
+        private void finish() throws JsonParserException {
+            this.count = 0;
+            transition(EOF_BUFF, 1);
+            this.ended = true;
+            if (this.state != StateMachine.DOC_END_STATE) {
+                throw new BallerinaException("invalid JSON document");
+            }
+        }
+
+        private void transition(char[] chars, int count) throws JsonParserException {
+            StateMachine.State previous = this.state;
+            this.state = this.state.transition(this.sm, chars, this.sm.index, count);
+            if (this.members == null) {
+                if (this.state == StateMachine.FIRST_ARRAY_ELEMENT_READY_STATE) {
+                    this.members = (ArrayValue) this.sm.currentJsonNode;
+                } else if (this.state != previous) {
+                    StateMachine.throwExpected("[");
+                }
+                return;
+            }
+            // Each transition completes at most one member, and it is taken out of the array straight away so that
+            // the array never grows.
+            if (this.members.size() > 0) {
+                this.next = this.members.shift();
+                this.hasNext = true;
+            }
+        }
+    }
+
     /**
      * Represents a JSON parser related exception.
      */
@@ -52,6 +52,7 @@ import io.ballerina.runtime.types.BTypeIdSet;
 import io.ballerina.runtime.types.BTypedescType;
 import io.ballerina.runtime.types.BUnionType;
 import io.ballerina.runtime.types.BXMLType;
+import io.ballerina.runtime.types.TypeCheckCache;
 import io.ballerina.runtime.util.Flags;
 import io.ballerina.runtime.values.ArrayValue;
 import io.ballerina.runtime.values.DecimalValue;
@@ -71,7 +72,6 @@ import io.ballerina.runtime.values.XMLValue;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -666,9 +666,24 @@ public class TypeChecker {
             case TypeTags.XML_PI_TAG:
                 return targetTypeTag == sourceTypeTag;
             default:
-                return checkIsRecursiveType(sourceType, targetType,
-                        unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+                if (unresolvedTypes != null) {
+                    return checkIsRecursiveType(sourceType, targetType, unresolvedTypes);
+                }
+                return checkIsRecursiveTypeCached(sourceType, targetType);
+        }
+    }
+
+    private static boolean checkIsRecursiveTypeCached(Type sourceType, Type targetType) {
+        // Only the results of the checks which start with no unresolved types are cached, since a result which is
+        // computed while other types are being resolved assumes that those types match.
+        Boolean cachedResult = TypeCheckCache.get(sourceType, targetType);
+        if (cachedResult != null) {
+            return cachedResult;
         }
+        int cacheVersion = TypeCheckCache.getVersion();
+        boolean result = checkIsRecursiveType(sourceType, targetType, new ArrayList<>());
+        TypeCheckCache.put(sourceType, targetType, result, cacheVersion);
+        return result;
     }
 
     private static boolean checkIsType(Object sourceVal, Type sourceType, Type targetType,
@@ -1888,7 +1903,7 @@ public class TypeChecker {
     private static boolean checkIsLikeType(Object sourceValue, Type targetType, List<TypeValuePair> unresolvedValues,
                                            boolean allowNumericConversion) {
         Type sourceType = getType(sourceValue);
-        if (checkIsType(sourceType, targetType, new ArrayList<>())) {
+        if (checkIsType(sourceType, targetType)) {
             return true;
         }
 
@@ -2240,7 +2255,7 @@ public class TypeChecker {
         if (source.getType().getTag() == TypeTags.ARRAY_TAG) {
             Type sourceElementType = ((BArrayType) source.getType()).getElementType();
             if (isValueType(sourceElementType)) {
-                boolean isType = checkIsType(sourceElementType, targetTypeElementType, new ArrayList<>());
+                boolean isType = checkIsType(sourceElementType, targetTypeElementType);
 
                 if (isType || !allowNumericConversion || !isNumericType(sourceElementType)) {
                     return isType;
@@ -2303,7 +2318,7 @@ public class TypeChecker {
             ArrayValue source = (ArrayValue) sourceValue;
             Type elementType = ((BArrayType) source.getType()).getElementType();
             if (isValueType(elementType)) {
-                return checkIsType(elementType, targetType, new ArrayList<>());
+                return checkIsType(elementType, targetType);
             }
 
             Object[] arrayValues = source.getValues();
@@ -2326,12 +2341,15 @@ public class TypeChecker {
                 return true;
             }
             unresolvedValues.add(typeValuePair);
+            boolean isLike = true;
             for (Object object : ((MapValueImpl) sourceValue).values()) {
                 if (!checkIsLikeType(object, targetType, unresolvedValues, allowNumericConversion)) {
-                    return false;
+                    isLike = false;
+                    break;
                 }
             }
-            return true;
+            unresolvedValues.remove(unresolvedValues.size() - 1);
+            return isLike;
         }
         return false;
     }
@@ -2346,40 +2364,39 @@ public class TypeChecker {
         if (unresolvedValues.contains(typeValuePair)) {
             return true;
         }
+        // The pair is only unresolved while the fields are checked, hence the unresolved values are the records on the
+        // path to the value being checked, rather than all the records checked so far.
         unresolvedValues.add(typeValuePair);
-        Map<String, Type> targetTypeField = new HashMap<>();
-        Type restFieldType = targetType.restFieldType;
-
-        for (Field field : targetType.getFields().values()) {
-            targetTypeField.put(field.getFieldName(), field.getFieldType());
-        }
+        boolean isLike = checkIsLikeRecordFields((MapValueImpl<?, ?>) sourceValue, targetType, unresolvedValues,
+                                                 allowNumericConversion);
+        unresolvedValues.remove(unresolvedValues.size() - 1);
+        return isLike;
+    }
 
-        for (Map.Entry targetTypeEntry : targetTypeField.entrySet()) {
-            Object fieldName = StringUtils.fromString(targetTypeEntry.getKey().toString());
-            if (!(((MapValueImpl) sourceValue).containsKey(fieldName)) &&
-                    !Flags.isFlagOn(targetType.getFields().get(fieldName.toString()).getFlags(), Flags.OPTIONAL)) {
+    private static boolean checkIsLikeRecordFields(MapValueImpl<?, ?> sourceValue, BRecordType targetType,
+                                                   List<TypeValuePair> unresolvedValues,
+                                                   boolean allowNumericConversion) {
+        for (BString fieldName : targetType.getRequiredFieldNames()) {
+            if (!sourceValue.containsKey(fieldName)) {
                 return false;
             }
         }
 
-        for (Object object : ((MapValueImpl) sourceValue).entrySet()) {
-            Map.Entry valueEntry = (Map.Entry) object;
-            String fieldName = valueEntry.getKey().toString();
-
-            if (targetTypeField.containsKey(fieldName)) {
-                if (!checkIsLikeType((valueEntry.getValue()), targetTypeField.get(fieldName),
-                                     unresolvedValues, allowNumericConversion)) {
-                    return false;
-                }
+        Map<String, Field> targetTypeFields = targetType.getFields();
+        Type restFieldType = targetType.restFieldType;
+        for (Map.Entry<?, ?> valueEntry : sourceValue.entrySet()) {
+            Field targetField = targetTypeFields.get(valueEntry.getKey().toString());
+            Type fieldType;
+            if (targetField != null) {
+                fieldType = targetField.getFieldType();
+            } else if (!targetType.sealed) {
+                fieldType = restFieldType;
             } else {
-                if (!targetType.sealed) {
-                    if (!checkIsLikeType((valueEntry.getValue()), restFieldType, unresolvedValues,
-                                         allowNumericConversion)) {
-                        return false;
-                    }
-                } else {
-                    return false;
-                }
+                return false;
+            }
+
+            if (!checkIsLikeType(valueEntry.getValue(), fieldType, unresolvedValues, allowNumericConversion)) {
+                return false;
             }
         }
         return true;
@@ -32,7 +32,6 @@ import io.ballerina.runtime.types.BMapType;
 import io.ballerina.runtime.types.BRecordType;
 import io.ballerina.runtime.types.BTableType;
 import io.ballerina.runtime.types.BUnionType;
-import io.ballerina.runtime.util.Flags;
 import io.ballerina.runtime.util.exceptions.BLangExceptionHelper;
 import io.ballerina.runtime.util.exceptions.BallerinaErrorReasons;
 import io.ballerina.runtime.util.exceptions.RuntimeErrors;
@@ -43,7 +42,6 @@ import io.ballerina.runtime.values.MapValueImpl;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -313,58 +311,38 @@ public class TypeConverter {
             return true;
         }
         unresolvedValues.add(typeValuePair);
+        boolean isConvertible = isConvertibleToRecordFields((MapValueImpl<?, ?>) sourceValue, targetType, isFromJson,
+                                                            unresolvedValues);
+        unresolvedValues.remove(unresolvedValues.size() - 1);
+        return isConvertible;
+    }
 
-        Map<String, Type> targetFieldTypes = new HashMap<>();
-        Type restFieldType = targetType.restFieldType;
-
-        for (Field field : targetType.getFields().values()) {
-            targetFieldTypes.put(field.getFieldName(), field.getFieldType());
-        }
-
-        MapValueImpl sourceMapValueImpl = (MapValueImpl) sourceValue;
-        for (Map.Entry targetTypeEntry : targetFieldTypes.entrySet()) {
-            String fieldName = targetTypeEntry.getKey().toString();
-
-            if (sourceMapValueImpl.containsKey(StringUtils.fromString(fieldName))) {
-                continue;
-            }
-            Field targetField = targetType.getFields().get(fieldName);
-            if (Flags.isFlagOn(targetField.getFlags(), Flags.REQUIRED)) {
+    private static boolean isConvertibleToRecordFields(MapValueImpl<?, ?> sourceMapValueImpl, BRecordType targetType,
+                                                       boolean isFromJson, List<TypeValuePair> unresolvedValues) {
+        for (BString fieldName : targetType.getFieldNamesWithoutDefault()) {
+            if (!sourceMapValueImpl.containsKey(fieldName)) {
                 return false;
             }
         }
 
-        for (Object object : sourceMapValueImpl.entrySet()) {
-            Map.Entry valueEntry = (Map.Entry) object;
-            String fieldName = valueEntry.getKey().toString();
-
-            if (isFromJson) {
-                if (targetFieldTypes.containsKey(fieldName)) {
-                    if (getConvertibleTypesFromJson(valueEntry.getValue(), targetFieldTypes.get(fieldName),
-                            unresolvedValues).size() != 1) {
-                        return false;
-                    }
-                } else if (!targetType.sealed) {
-                    if (getConvertibleTypesFromJson(valueEntry.getValue(), restFieldType,
-                            unresolvedValues).size() != 1) {
-                        return false;
-                    }
-                } else {
-                    return false;
-                }
+        Map<String, Field> targetFields = targetType.getFields();
+        Type restFieldType = targetType.restFieldType;
+        for (Map.Entry<?, ?> valueEntry : sourceMapValueImpl.entrySet()) {
+            Field targetField = targetFields.get(valueEntry.getKey().toString());
+            Type fieldType;
+            if (targetField != null) {
+                fieldType = targetField.getFieldType();
+            } else if (!targetType.sealed) {
+                fieldType = restFieldType;
             } else {
-                if (targetFieldTypes.containsKey(fieldName)) {
-                    if (getConvertibleTypes(valueEntry.getValue(), targetFieldTypes.get(fieldName),
-                            unresolvedValues).size() != 1) {
-                        return false;
-                    }
-                } else if (!targetType.sealed) {
-                    if (getConvertibleTypes(valueEntry.getValue(), restFieldType, unresolvedValues).size() != 1) {
-                        return false;
-                    }
-                } else {
-                    return false;
-                }
+                return false;
+            }
+
+            List<Type> convertibleTypes = isFromJson ?
+                    getConvertibleTypesFromJson(valueEntry.getValue(), fieldType, unresolvedValues) :
+                    getConvertibleTypes(valueEntry.getValue(), fieldType, unresolvedValues);
+            if (convertibleTypes.size() != 1) {
+                return false;
             }
         }
         return true;
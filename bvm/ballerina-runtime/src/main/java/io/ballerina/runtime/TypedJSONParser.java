@@ -0,0 +1,953 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime;
+
+import io.ballerina.runtime.api.ErrorCreator;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.StringUtils;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.runtime.scheduling.Scheduler;
+import io.ballerina.runtime.types.BArrayType;
+import io.ballerina.runtime.types.BMapType;
+import io.ballerina.runtime.types.BRecordType;
+import io.ballerina.runtime.util.Flags;
+import io.ballerina.runtime.util.exceptions.BLangExceptionHelper;
+import io.ballerina.runtime.util.exceptions.BallerinaException;
+import io.ballerina.runtime.values.ArrayValue;
+import io.ballerina.runtime.values.ArrayValueImpl;
+import io.ballerina.runtime.values.DecimalValue;
+import io.ballerina.runtime.values.MapValueImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static io.ballerina.runtime.util.exceptions.BallerinaErrorReasons.VALUE_LANG_LIB_CONVERSION_ERROR;
+import static io.ballerina.runtime.util.exceptions.RuntimeErrors.INCOMPATIBLE_CONVERT_OPERATION;
+
+/**
+ * Parses JSON content directly into a value of a given type, in a single pass over the content. The result is the
+ * same value that {@link JSONParser} followed by {@code value:fromJsonWithType} produces, but records, maps and
+ * arrays are created with their target types as the content is read, and int, float, boolean and string array
+ * members are written to the primitive storage of the array without creating an intermediate JSON value.
+ * <p>
+ * Parts of the content whose target type is not one of the basic types, {@code json}, a record, a map, an open array
+ * or an optional type of these are parsed as generic JSON and handed over to the given converter. Content that does
+ * not conform to the target type results in a conversion error at the first mismatch.
+ *
+ * @since 2.0.0
+ */
+@SuppressWarnings("unchecked")
+public class TypedJSONParser {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int EOF = -1;
+    // a plain decimal literal with up to 34 digits is exact as a decimal, hence it converts to the same float
+    private static final int MAX_EXACT_DECIMAL_LENGTH = 34;
+    private static final String NULL = "null";
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+
+    private final BTypedesc typedesc;
+    private final BiFunction<Object, Type, Object> converter;
+    private final Map<Type, RecordShape> recordShapes = new IdentityHashMap<>();
+    private final MapType jsonMapType = new BMapType(PredefinedTypes.TYPE_JSON);
+    private final ArrayType jsonArrayType = new BArrayType(PredefinedTypes.TYPE_JSON);
+
+    private char[] buff;
+    private int pos;
+    private int limit;
+    private long offset;
+
+    private ReadableByteChannel channel;
+    private ByteBuffer bytes;
+    private CharsetDecoder decoder;
+    private boolean endOfInput;
+
+    private char[] chars = new char[64];
+    private int charCount;
+    private long longValue;
+
+    private int line = 1;
+    private long lineStart;
+
+    // Set when the content does not match the target type. The rest of the document is then read as generic JSON,
+    // only to report a syntax error before the conversion error, as parsing and then converting it would.
+    private boolean mismatched;
+    private BError converterError;
+
+    private TypedJSONParser(BTypedesc typedesc, BiFunction<Object, Type, Object> converter) {
+        this.typedesc = typedesc;
+        this.converter = converter;
+    }
+
+    /**
+     * Parses the given string as a value of the type described by the given typedesc.
+     *
+     * @param jsonStr   the string which contains the JSON content
+     * @param typedesc  the typedesc of the target type
+     * @param converter converts a generic JSON value to a type that is not built directly by this parser
+     * @return value of the target type
+     * @throws BallerinaException for any parsing error
+     * @throws BError             if the content cannot be converted to the target type
+     */
+    public static Object parse(String jsonStr, BTypedesc typedesc, BiFunction<Object, Type, Object> converter) {
+        TypedJSONParser parser = new TypedJSONParser(typedesc, converter);
+        parser.buff = jsonStr.toCharArray();
+        parser.limit = parser.buff.length;
+        return parser.parse();
+    }
+
+    /**
+     * Parses the UTF-8 content of the given {@link InputStream} as a value of the type described by the given typedesc.
+     * The stream is read in blocks and each block is decoded at once.
+     *
+     * @param in        input stream which contains the JSON content
+     * @param typedesc  the typedesc of the target type
+     * @param converter converts a generic JSON value to a type that is not built directly by this parser
+     * @return value of the target type
+     * @throws BallerinaException for any parsing error
+     * @throws BError             if the content cannot be converted to the target type
+     */
+    public static Object parse(InputStream in, BTypedesc typedesc, BiFunction<Object, Type, Object> converter) {
+        TypedJSONParser parser = new TypedJSONParser(typedesc, converter);
+        parser.channel = Channels.newChannel(in);
+        parser.bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        parser.bytes.flip();
+        parser.initDecoder();
+        return parser.parse();
+    }
+
+    /**
+     * Parses the remaining UTF-8 content of the given {@link ByteBuffer} as a value of the type described by the given
+     * typedesc.
+     *
+     * @param buffer    buffer which contains the JSON content
+     * @param typedesc  the typedesc of the target type
+     * @param converter converts a generic JSON value to a type that is not built directly by this parser
+     * @return value of the target type
+     * @throws BallerinaException for any parsing error
+     * @throws BError             if the content cannot be converted to the target type
+     */
+    public static Object parse(ByteBuffer buffer, BTypedesc typedesc, BiFunction<Object, Type, Object> converter) {
+        TypedJSONParser parser = new TypedJSONParser(typedesc, converter);
+        parser.bytes = buffer;
+        parser.endOfInput = true;
+        parser.initDecoder();
+        return parser.parse();
+    }
+
+    private void initDecoder() {
+        this.buff = new char[BUFFER_SIZE];
+        // same as the decoding done by the InputStreamReader used by the JSONParser
+        this.decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private Object parse() {
+        try {
+            Type targetType = typedesc.getDescribingType();
+            int ch = nextValueStart();
+            if (!isBuiltDirectly(targetType) || (ch != '{' && ch != '[')) {
+                // A document with a single basic value gains nothing from being read as the target type.
+                Object json = readJson(ch);
+                expectEndOfDocument();
+                return converter.apply(json, targetType);
+            }
+
+            Object value = readValue(targetType, ch);
+            expectEndOfDocument();
+            if (mismatched) {
+                // Converting the generic JSON value fails on the document as a whole.
+                throw createConversionError(getSourceType(ch), targetType);
+            }
+            if (converterError != null) {
+                throw converterError;
+            }
+            return value;
+        } catch (IOException e) {
+            throw new BallerinaException("Error reading JSON: " + e.getMessage());
+        } catch (JsonParserException e) {
+            throw new BallerinaException(e.getMessage() + " at line: " + this.line + " column: " +
+                                                 (this.offset + this.pos - this.lineStart));
+        }
+    }
+
+    private static boolean isBuiltDirectly(Type type) {
+        switch (type.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                return true;
+            case TypeTags.JSON_TAG:
+            case TypeTags.MAP_TAG:
+            case TypeTags.RECORD_TYPE_TAG:
+                return !type.isReadOnly();
+            case TypeTags.ARRAY_TAG:
+                return !type.isReadOnly() && ((ArrayType) type).getState() == ArrayType.ArrayState.OPEN;
+            case TypeTags.UNION_TAG:
+                return getOptionalMemberType((UnionType) type) != null;
+            default:
+                return false;
+        }
+    }
+
+    private static Type getOptionalMemberType(UnionType type) {
+        List<Type> memberTypes = type.getMemberTypes();
+        if (memberTypes.size() != 2) {
+            return null;
+        }
+        Type memberType;
+        if (memberTypes.get(0).getTag() == TypeTags.NULL_TAG) {
+            memberType = memberTypes.get(1);
+        } else if (memberTypes.get(1).getTag() == TypeTags.NULL_TAG) {
+            memberType = memberTypes.get(0);
+        } else {
+            return null;
+        }
+        return isBuiltDirectly(memberType) ? memberType : null;
+    }
+
+    private void expectEndOfDocument() throws IOException, JsonParserException {
+        if (nextNonWhitespace() != EOF) {
+            throw new JsonParserException("JSON document has already ended");
+        }
+    }
+
+    private Object readValue(Type type, int ch) throws IOException, JsonParserException {
+        if (mismatched) {
+            return readJson(ch);
+        }
+        if (!isBuiltDirectly(type)) {
+            return readConverted(type, ch);
+        }
+        switch (type.getTag()) {
+            case TypeTags.INT_TAG:
+                return readInt(type, ch);
+            case TypeTags.FLOAT_TAG:
+                return readFloat(type, ch);
+            case TypeTags.BOOLEAN_TAG:
+                return readBoolean(type, ch);
+            case TypeTags.STRING_TAG:
+                return readStringValue(type, ch);
+            case TypeTags.DECIMAL_TAG:
+                return readScalar(type, ch);
+            case TypeTags.JSON_TAG:
+                return readJson(ch);
+            case TypeTags.RECORD_TYPE_TAG:
+                return readRecord((BRecordType) type, ch);
+            case TypeTags.MAP_TAG:
+                return readMap((MapType) type, ch);
+            case TypeTags.ARRAY_TAG:
+                return readArray((ArrayType) type, ch);
+            default:
+                if (ch == 'n') {
+                    readToken(ch);
+                    return tokenValue();
+                }
+                return readValue(getOptionalMemberType((UnionType) type), ch);
+        }
+    }
+
+    /**
+     * Reads a value of a type that is not built directly. The value has to be like the target type, which is checked
+     * before the conversion of every member of a list or a mapping when converting a generic JSON value.
+     */
+    private Object readConverted(Type type, int ch) throws IOException, JsonParserException {
+        Object value = readJson(ch);
+        if (TypeConverter.getConvertibleTypesFromJson(value, type, new ArrayList<>()).size() != 1) {
+            mismatched = true;
+            return null;
+        }
+        if (converterError != null) {
+            return null;
+        }
+        try {
+            return converter.apply(value, type);
+        } catch (BError e) {
+            // Converting the generic JSON value reports the first error of a member, unless the document as a whole
+            // does not match.
+            converterError = e;
+            return null;
+        }
+    }
+
+    /**
+     * Reads a value which does not start as a value of the target type.
+     */
+    private void readMismatched(int ch) throws IOException, JsonParserException {
+        mismatched = true;
+        readJson(ch);
+    }
+
+    private BMap<BString, Object> readRecord(BRecordType type, int ch) throws IOException, JsonParserException {
+        if (ch != '{') {
+            readMismatched(ch);
+            return null;
+        }
+        RecordShape shape = recordShapes.computeIfAbsent(type, recordType -> new RecordShape(type));
+        BMap<BString, Object> record = createRecordValue(type);
+        boolean[] present = shape.requiredFieldCount == 0 ? null : new boolean[shape.requiredFieldCount];
+        int presentCount = 0;
+
+        ch = nextNonWhitespace();
+        if (ch != '}') {
+            while (true) {
+                String fieldName = readFieldName(ch);
+                FieldShape field = shape.fields.get(fieldName);
+                ch = nextValueStart();
+                if (field != null) {
+                    putMember(record, field.name, readValue(field.type, ch));
+                    if (field.requiredIndex >= 0 && !present[field.requiredIndex]) {
+                        present[field.requiredIndex] = true;
+                        presentCount++;
+                    }
+                } else if (type.sealed) {
+                    readMismatched(ch);
+                } else {
+                    putMember(record, StringUtils.fromString(fieldName), readValue(type.restFieldType, ch));
+                }
+                ch = nextNonWhitespace();
+                if (ch == '}') {
+                    break;
+                }
+                expectSeparator(ch, '}');
+                ch = nextNonWhitespace();
+            }
+        }
+        if (presentCount != shape.requiredFieldCount) {
+            mismatched = true;
+        }
+        return record;
+    }
+
+    /**
+     * Checks whether the value is still being built. Once a member does not match, members are only read to find the
+     * end of the document, and are not added to their parents which may not accept them.
+     */
+    private boolean isBuilding() {
+        return !mismatched && converterError == null;
+    }
+
+    private void putMember(BMap<BString, Object> parent, BString key, Object member) {
+        if (isBuilding()) {
+            parent.put(key, member);
+        }
+    }
+
+    private BMap<BString, Object> createRecordValue(BRecordType type) {
+        if (typedesc.getDescribingType() == type) {
+            return (BMap<BString, Object>) typedesc.instantiate(Scheduler.getStrand());
+        }
+        return ValueCreator.createRecordValue(type.getPackage(), type.getName());
+    }
+
+    private BMap<BString, Object> readMap(MapType type, int ch) throws IOException, JsonParserException {
+        if (ch != '{') {
+            readMismatched(ch);
+            return null;
+        }
+        BMap<BString, Object> map = ValueCreator.createMapValue(type);
+        Type constrainedType = type.getConstrainedType();
+        ch = nextNonWhitespace();
+        if (ch == '}') {
+            return map;
+        }
+        while (true) {
+            BString key = StringUtils.fromString(readFieldName(ch));
+            putMember(map, key, readValue(constrainedType, nextValueStart()));
+            ch = nextNonWhitespace();
+            if (ch == '}') {
+                return map;
+            }
+            expectSeparator(ch, '}');
+            ch = nextNonWhitespace();
+        }
+    }
+
+    private BArray readArray(ArrayType type, int ch) throws IOException, JsonParserException {
+        if (ch != '[') {
+            readMismatched(ch);
+            return null;
+        }
+        BArray array = ValueCreator.createArrayValue(type);
+        Type elementType = type.getElementType();
+        ch = nextNonWhitespace();
+        if (ch == ']') {
+            return array;
+        }
+        long index = 0;
+        while (true) {
+            if (ch == EOF) {
+                throw new JsonParserException("unexpected end of JSON document");
+            }
+            switch (elementType.getTag()) {
+                case TypeTags.INT_TAG:
+                    array.add(index, readInt(elementType, ch));
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    array.add(index, readFloat(elementType, ch));
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    array.add(index, readBoolean(elementType, ch));
+                    break;
+                case TypeTags.STRING_TAG:
+                    BString element = readStringValue(elementType, ch);
+                    if (isBuilding()) {
+                        array.add(index, element);
+                    }
+                    break;
+                default:
+                    Object member = readValue(elementType, ch);
+                    if (isBuilding()) {
+                        array.add(index, member);
+                    }
+                    break;
+            }
+            index++;
+            ch = nextNonWhitespace();
+            if (ch == ']') {
+                return array;
+            }
+            expectSeparator(ch, ']');
+            ch = nextNonWhitespace();
+        }
+    }
+
+    // A value that does not match is returned as null, hence the int, float and boolean readers return zero or false
+    // for it. The value is thrown away along with the rest of the document.
+
+    private long readInt(Type type, int ch) throws IOException, JsonParserException {
+        Object value;
+        if (!isTokenStart(ch)) {
+            value = readScalar(type, ch);
+        } else {
+            readToken(ch);
+            if (parseLongToken()) {
+                return longValue;
+            }
+            value = convertScalar(tokenValue(), type);
+        }
+        return value == null ? 0 : (Long) value;
+    }
+
+    private double readFloat(Type type, int ch) throws IOException, JsonParserException {
+        Object value;
+        if (!isTokenStart(ch)) {
+            value = readScalar(type, ch);
+        } else {
+            readToken(ch);
+            if (parseLongToken()) {
+                return (double) longValue;
+            }
+            if (isPlainDecimalToken()) {
+                return Double.parseDouble(new String(chars, 0, charCount));
+            }
+            value = convertScalar(tokenValue(), type);
+        }
+        return value == null ? 0 : (Double) value;
+    }
+
+    private boolean readBoolean(Type type, int ch) throws IOException, JsonParserException {
+        Object value;
+        if (!isTokenStart(ch)) {
+            value = readScalar(type, ch);
+        } else {
+            readToken(ch);
+            value = convertScalar(tokenValue(), type);
+        }
+        return value != null && (Boolean) value;
+    }
+
+    private BString readStringValue(Type type, int ch) throws IOException, JsonParserException {
+        if (ch == '"' || ch == '\'') {
+            return StringUtils.fromString(readString(ch));
+        }
+        return (BString) readScalar(type, ch);
+    }
+
+    private Object readScalar(Type type, int ch) throws IOException, JsonParserException {
+        Object value;
+        if (ch == '"' || ch == '\'') {
+            value = StringUtils.fromString(readString(ch));
+        } else if (ch == '{' || ch == '[') {
+            readMismatched(ch);
+            return null;
+        } else {
+            readToken(ch);
+            value = tokenValue();
+        }
+        return convertScalar(value, type);
+    }
+
+    /**
+     * Converts a basic JSON value to the target type, the same way {@code value:fromJsonWithType} does.
+     */
+    private Object convertScalar(Object value, Type type) {
+        if (value == null) {
+            if (!type.isNilable()) {
+                mismatched = true;
+            }
+            return null;
+        }
+        List<Type> convertibleTypes = TypeConverter.getConvertibleTypesFromJson(value, type, new ArrayList<>());
+        if (convertibleTypes.size() != 1) {
+            mismatched = true;
+            return null;
+        }
+        Type matchingType = convertibleTypes.get(0);
+        if (TypeChecker.checkIsType(value, matchingType)) {
+            return value;
+        }
+        return TypeConverter.convertValues(matchingType, value);
+    }
+
+    /**
+     * Reads a generic JSON value, exactly as the {@link JSONParser} builds it.
+     */
+    private Object readJson(int ch) throws IOException, JsonParserException {
+        Deque<Object> parents = new ArrayDeque<>();
+        Deque<BString> fieldNames = new ArrayDeque<>();
+        while (true) {
+            Object value;
+            if (ch == '{') {
+                MapValueImpl<BString, Object> map = new MapValueImpl<>(jsonMapType);
+                ch = nextNonWhitespace();
+                if (ch == '}') {
+                    value = map;
+                } else {
+                    parents.push(map);
+                    fieldNames.push(StringUtils.fromString(readFieldName(ch)));
+                    ch = nextValueStart();
+                    continue;
+                }
+            } else if (ch == '[') {
+                ArrayValueImpl array = new ArrayValueImpl(jsonArrayType);
+                ch = nextNonWhitespace();
+                if (ch == ']') {
+                    value = array;
+                } else {
+                    if (ch == EOF) {
+                        throw new JsonParserException("unexpected end of JSON document");
+                    }
+                    parents.push(array);
+                    continue;
+                }
+            } else if (ch == '"' || ch == '\'') {
+                value = StringUtils.fromString(readString(ch));
+            } else {
+                readToken(ch);
+                value = tokenValue();
+            }
+
+            // add the value to its parents, completing every parent that ends with it
+            while (true) {
+                if (parents.isEmpty()) {
+                    return value;
+                }
+                Object parent = parents.peek();
+                ch = nextNonWhitespace();
+                if (parent instanceof ArrayValue) {
+                    ((ArrayValue) parent).append(value);
+                    if (ch != ']') {
+                        expectSeparator(ch, ']');
+                        ch = nextValueStart();
+                        break;
+                    }
+                } else {
+                    ((MapValueImpl<BString, Object>) parent).put(fieldNames.pop(), value);
+                    if (ch != '}') {
+                        expectSeparator(ch, '}');
+                        fieldNames.push(StringUtils.fromString(readFieldName(nextNonWhitespace())));
+                        ch = nextValueStart();
+                        break;
+                    }
+                }
+                value = parents.pop();
+            }
+        }
+    }
+
+    private String readFieldName(int ch) throws IOException, JsonParserException {
+        if (ch != '"' && ch != '\'') {
+            throwExpected("\"", "}");
+        }
+        String fieldName = readString(ch);
+        if (nextNonWhitespace() != ':') {
+            throwExpected(":");
+        }
+        return fieldName;
+    }
+
+    private String readString(int quote) throws IOException, JsonParserException {
+        this.charCount = 0;
+        while (true) {
+            int start = this.pos;
+            while (this.pos < this.limit) {
+                char ch = this.buff[this.pos];
+                if (ch == quote || ch == '\\') {
+                    break;
+                }
+                this.pos++;
+            }
+            if (this.pos < this.limit && this.buff[this.pos] == quote && this.charCount == 0) {
+                // the whole string is in the buffer and has nothing to unescape
+                String value = new String(this.buff, start, this.pos - start);
+                this.pos++;
+                return value;
+            }
+            append(this.buff, start, this.pos - start);
+            if (this.pos == this.limit) {
+                if (!fill()) {
+                    throw new JsonParserException("unexpected end of JSON document");
+                }
+                continue;
+            }
+            if (this.buff[this.pos++] == quote) {
+                return new String(this.chars, 0, this.charCount);
+            }
+            append(readEscapedChar());
+        }
+    }
+
+    private char readEscapedChar() throws IOException, JsonParserException {
+        int ch = read();
+        switch (ch) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) ch;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throwExpected("hexadecimal value of an unicode character");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                throwExpected("escaped characters");
+                return 0;
+        }
+    }
+
+    private void readToken(int first) throws IOException {
+        this.charCount = 0;
+        append((char) first);
+        while (this.pos < this.limit || fill()) {
+            char ch = this.buff[this.pos];
+            if (ch == ',' || ch == '}' || ch == ']' || isWhitespace(ch)) {
+                return;
+            }
+            append(ch);
+            this.pos++;
+        }
+    }
+
+    /**
+     * Returns the value of the token read last, as created by the {@link JSONParser}.
+     */
+    private Object tokenValue() throws JsonParserException {
+        String str = new String(this.chars, 0, this.charCount);
+        try {
+            if (str.indexOf('.') >= 0) {
+                if (isNegativeZero(str)) {
+                    return Double.parseDouble(str);
+                }
+                return new DecimalValue(str);
+            }
+            char ch = str.charAt(0);
+            if (ch == 't' && TRUE.equals(str)) {
+                return Boolean.TRUE;
+            } else if (ch == 'f' && FALSE.equals(str)) {
+                return Boolean.FALSE;
+            } else if (ch == 'n' && NULL.equals(str)) {
+                return null;
+            } else if (isNegativeZero(str)) {
+                return Double.parseDouble(str);
+            }
+            return Long.parseLong(str);
+        } catch (NumberFormatException ignore) {
+            throw new JsonParserException("unrecognized token '" + str + "'");
+        }
+    }
+
+    private static boolean isNegativeZero(String str) {
+        return '-' == str.charAt(0) && 0 == Double.parseDouble(str);
+    }
+
+    /**
+     * Parses the token read last as an int, if it is a plain int literal short enough to not overflow. Other tokens
+     * are left to {@link #tokenValue()}.
+     */
+    private boolean parseLongToken() {
+        int i = 0;
+        boolean negative = false;
+        char first = this.chars[0];
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i = 1;
+        }
+        if (i == this.charCount || this.charCount - i > 18) {
+            return false;
+        }
+        long value = 0;
+        for (; i < this.charCount; i++) {
+            char ch = this.chars[i];
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+            value = value * 10 + (ch - '0');
+        }
+        if (negative && value == 0) {
+            // negative zero is a float
+            return false;
+        }
+        this.longValue = negative ? -value : value;
+        return true;
+    }
+
+    private boolean isPlainDecimalToken() {
+        if (this.charCount > MAX_EXACT_DECIMAL_LENGTH) {
+            return false;
+        }
+        int i = this.chars[0] == '-' || this.chars[0] == '+' ? 1 : 0;
+        boolean point = false;
+        boolean digit = false;
+        for (; i < this.charCount; i++) {
+            char ch = this.chars[i];
+            if (ch >= '0' && ch <= '9') {
+                digit = true;
+            } else if (ch == '.' && !point) {
+                point = true;
+            } else {
+                return false;
+            }
+        }
+        return point && digit;
+    }
+
+    private static boolean isTokenStart(int ch) {
+        return ch != '"' && ch != '\'' && ch != '{' && ch != '[';
+    }
+
+    private static boolean isWhitespace(int ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r';
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (this.pos < this.limit || fill()) {
+            char ch = this.buff[this.pos++];
+            if (ch == '\n') {
+                this.line++;
+                this.lineStart = this.offset + this.pos;
+            } else if (!isWhitespace(ch)) {
+                return ch;
+            }
+        }
+        return EOF;
+    }
+
+    private int nextValueStart() throws IOException, JsonParserException {
+        int ch = nextNonWhitespace();
+        if (ch == EOF) {
+            throw new JsonParserException("unexpected end of JSON document");
+        }
+        return ch;
+    }
+
+    private int read() throws IOException {
+        if (this.pos == this.limit && !fill()) {
+            return EOF;
+        }
+        return this.buff[this.pos++];
+    }
+
+    private static void expectSeparator(int ch, char end) throws JsonParserException {
+        if (ch != ',') {
+            throwExpected(",", String.valueOf(end));
+        }
+    }
+
+    private static void throwExpected(String... chars) throws JsonParserException {
+        throw new JsonParserException("expected " + String.join(" or ", chars));
+    }
+
+    /**
+     * Decodes the next block of characters into the buffer.
+     *
+     * @return false if there are no more characters
+     */
+    private boolean fill() throws IOException {
+        this.offset += this.limit;
+        this.pos = 0;
+        this.limit = 0;
+        if (this.decoder == null) {
+            return false;
+        }
+        CharBuffer out = CharBuffer.wrap(this.buff);
+        while (true) {
+            CoderResult result = this.decoder.decode(this.bytes, out, this.endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (this.endOfInput) {
+                if (result.isUnderflow()) {
+                    this.decoder.flush(out);
+                    this.decoder = null;
+                }
+                break;
+            }
+            if (out.position() > 0) {
+                break;
+            }
+            this.bytes.compact();
+            int count = this.channel.read(this.bytes);
+            this.bytes.flip();
+            if (count < 0) {
+                this.endOfInput = true;
+            }
+        }
+        this.limit = out.position();
+        return this.limit > 0;
+    }
+
+    private void append(char ch) {
+        if (this.charCount == this.chars.length) {
+            growChars(this.charCount + 1);
+        }
+        this.chars[this.charCount++] = ch;
+    }
+
+    private void append(char[] src, int start, int length) {
+        if (this.charCount + length > this.chars.length) {
+            growChars(this.charCount + length);
+        }
+        System.arraycopy(src, start, this.chars, this.charCount, length);
+        this.charCount += length;
+    }
+
+    private void growChars(int minLength) {
+        char[] newChars = new char[Math.max(minLength, this.chars.length * 2)];
+        System.arraycopy(this.chars, 0, newChars, 0, this.charCount);
+        this.chars = newChars;
+    }
+
+    private Type getSourceType(int ch) {
+        switch (ch) {
+            case '{':
+                return jsonMapType;
+            case '[':
+                return jsonArrayType;
+            case '"':
+            case '\'':
+                return PredefinedTypes.TYPE_STRING;
+            default:
+                return PredefinedTypes.TYPE_JSON;
+        }
+    }
+
+    private static BError createConversionError(Type sourceType, Type targetType) {
+        return ErrorCreator.createError(VALUE_LANG_LIB_CONVERSION_ERROR, BLangExceptionHelper.getErrorMessage(
+                INCOMPATIBLE_CONVERT_OPERATION, sourceType, targetType));
+    }
+
+    /**
+     * Field lookup of a record type. A field that is not optional has to be present in the JSON content, as required
+     * when checking whether a JSON value is like the record type.
+     */
+    private static class RecordShape {
+
+        private final Map<String, FieldShape> fields = new HashMap<>();
+        private int requiredFieldCount;
+
+        RecordShape(BRecordType type) {
+            for (Field field : type.getFields().values()) {
+                int requiredIndex = Flags.isFlagOn(field.getFlags(), Flags.REQUIRED) ? requiredFieldCount++ : -1;
+                fields.put(field.getFieldName(), new FieldShape(StringUtils.fromString(field.getFieldName()),
+                                                                field.getFieldType(), requiredIndex));
+            }
+        }
+    }
+
+    private static class FieldShape {
+
+        private final BString name;
+        private final Type type;
+        private final int requiredIndex;
+
+        FieldShape(BString name, Type type, int requiredIndex) {
+            this.name = name;
+            this.type = type;
+            this.requiredIndex = requiredIndex;
+        }
+    }
+
+    /**
+     * Represents a JSON parser related exception.
+     */
+    private static class JsonParserException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        JsonParserException(String msg) {
+            super(msg);
+        }
+    }
+}
@@ -18,7 +18,6 @@
 package io.ballerina.runtime.api;
 
 import io.ballerina.runtime.scheduling.Scheduler;
-import io.ballerina.runtime.scheduling.State;
 import io.ballerina.runtime.scheduling.Strand;
 
 /**
@@ -45,8 +44,7 @@ public class Environment {
      */
     public Future markAsync() {
         Strand strand = Scheduler.getStrand();
-        strand.blockedOnExtern = true;
-        strand.setState(State.BLOCK_AND_YIELD);
+        strand.blockOnExtern();
         return new Future(this.strand);
     }
 
@@ -39,6 +39,13 @@ public class TypeValuePair {
             return false;
         }
         TypeValuePair other = (TypeValuePair) obj;
-        return this.sourceValue.equals(other.sourceValue) && this.targetType.equals(other.targetType);
+        // Pairs are compared to detect cyclic values, hence only the same value is considered, rather than a value
+        // which is equal to it. Comparing values for equality would compare every member of the values.
+        return this.sourceValue == other.sourceValue && this.targetType.equals(other.targetType);
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this.sourceValue);
     }
 }
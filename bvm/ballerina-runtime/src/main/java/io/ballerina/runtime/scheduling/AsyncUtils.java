@@ -42,8 +42,7 @@ public class AsyncUtils {
      */
     public static CompletableFuture<Object> markAsync() {
         Strand strand = Scheduler.getStrand();
-        strand.blockedOnExtern = true;
-        strand.setState(State.BLOCK_AND_YIELD);
+        strand.blockOnExtern();
         CompletableFuture<Object> future = new CompletableFuture<>();
         future.whenComplete(new Unblocker(strand));
         return future;
@@ -93,8 +92,7 @@ public class AsyncUtils {
 
     public static void blockStrand(Strand strand) {
         if (!strand.blockedOnExtern) {
-            strand.blockedOnExtern = true;
-            strand.setState(State.BLOCK_AND_YIELD);
+            strand.blockOnExtern();
             strand.returnValue = null;
         }
     }
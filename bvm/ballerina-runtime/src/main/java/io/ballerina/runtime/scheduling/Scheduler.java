@@ -30,12 +30,12 @@ import io.ballerina.runtime.values.ChannelDetails;
 import io.ballerina.runtime.values.FutureValue;
 
 import java.io.PrintStream;
+import java.util.Deque;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -58,7 +58,7 @@ public class Scheduler {
     /**
      * Strands that are ready for execution.
      */
-    private BlockingQueue<ItemGroup> runnableList = new LinkedBlockingDeque<>();
+    private final RunQueue runnableList;
 
     private static final ThreadLocal<StrandHolder> strandHolder = ThreadLocal.withInitial(StrandHolder::new);
 
@@ -74,6 +74,52 @@ public class Scheduler {
 
     private static int poolSize = Runtime.getRuntime().availableProcessors() * 2;
 
+    private static String workStealingConf = System.getenv(BLangConstants.BALLERINA_WORK_STEALING_ENV_VAR);
+
+    private static String spinCountConf = System.getenv(BLangConstants.BALLERINA_SCHEDULER_SPIN_COUNT_ENV_VAR);
+
+    /**
+     * Number of attempts an idle scheduler thread makes to find work before parking, when work stealing is enabled.
+     * This can be changed by setting the BALLERINA_SCHEDULER_SPIN_COUNT system variable.
+     */
+    private static final int DEFAULT_SPIN_COUNT = 64;
+
+    private static boolean virtualThreadsEnabled =
+            Boolean.parseBoolean(System.getenv(BLangConstants.BALLERINA_VIRTUAL_THREADS_ENV_VAR));
+
+    private static String maxVirtualThreadsConf = System.getenv(BLangConstants.BALLERINA_MAX_VIRTUAL_THREADS_ENV_VAR);
+
+    /**
+     * Maximum number of strand groups executed on virtual threads at once. A scheduler thread waits for one of them
+     * to finish before starting another. This can be changed by setting the BALLERINA_MAX_VIRTUAL_THREADS system
+     * variable.
+     */
+    private static final int DEFAULT_MAX_VIRTUAL_THREADS = 10000;
+
+    private static boolean metricsEnabled =
+            Boolean.parseBoolean(System.getenv(BLangConstants.BALLERINA_SCHEDULER_METRICS_ENV_VAR));
+
+    /**
+     * Strands are executed on virtual threads created by this factory, if the BALLERINA_VIRTUAL_THREADS system
+     * variable is set to true and the JDK supports virtual threads. Otherwise this is null and strands are executed
+     * on the {@code numThreads} scheduler threads themselves.
+     */
+    private final ThreadFactory virtualThreadFactory;
+
+    /**
+     * One permit for each strand group that may run on a virtual thread. A permit is taken before the thread is
+     * started and given back once the group is done, hence the scheduler threads can wait for all the running groups
+     * by taking all the permits.
+     */
+    private final int maxVirtualThreads;
+    private final Semaphore virtualThreadPermits;
+
+    /**
+     * Execution statistics, only collected when the BALLERINA_SCHEDULER_METRICS system variable is set to true. They
+     * are published to the default metric registry when the scheduler starts, if metrics are enabled for the program.
+     */
+    private final SchedulerMetrics metrics;
+
     private Semaphore mainBlockSem;
 
     public Scheduler(boolean immortal) {
@@ -88,11 +134,82 @@ public class Scheduler {
         }
         this.numThreads = poolSize;
         this.immortal = immortal;
+        this.runnableList = createRunQueue(numThreads);
+        this.virtualThreadFactory = createVirtualThreadFactory();
+        this.maxVirtualThreads = getMaxVirtualThreads();
+        this.virtualThreadPermits = virtualThreadFactory != null ? new Semaphore(maxVirtualThreads) : null;
+        this.metrics = createMetrics();
     }
 
     public Scheduler(int numThreads, boolean immortal) {
         this.numThreads = numThreads;
         this.immortal = immortal;
+        this.runnableList = createRunQueue(numThreads);
+        this.virtualThreadFactory = createVirtualThreadFactory();
+        this.maxVirtualThreads = getMaxVirtualThreads();
+        this.virtualThreadPermits = virtualThreadFactory != null ? new Semaphore(maxVirtualThreads) : null;
+        this.metrics = createMetrics();
+    }
+
+    /**
+     * Creates the queue that holds the runnable strand groups. By default all the threads share a single queue. Setting
+     * the BALLERINA_WORK_STEALING system variable to true gives each thread its own queue, with idle threads stealing
+     * from the others.
+     */
+    private RunQueue createRunQueue(int numThreads) {
+        if (!Boolean.parseBoolean(workStealingConf)) {
+            return new SharedRunQueue();
+        }
+        int spinCount = DEFAULT_SPIN_COUNT;
+        try {
+            if (spinCountConf != null) {
+                spinCount = Integer.parseInt(spinCountConf);
+            }
+        } catch (Throwable t) {
+            // Log and continue with default
+            err.println("ballerina: error occurred in scheduler while reading system variable:" +
+                                BLangConstants.BALLERINA_SCHEDULER_SPIN_COUNT_ENV_VAR + ", " + t.getMessage());
+        }
+        return new WorkStealingRunQueue(numThreads, spinCount);
+    }
+
+    private ThreadFactory createVirtualThreadFactory() {
+        if (!virtualThreadsEnabled) {
+            return null;
+        }
+        ThreadFactory factory = VirtualThreadSupport.createVirtualThreadFactory("jbal-strand-virtual-");
+        if (factory == null) {
+            err.println("ballerina: virtual threads are not supported by the current JRE, " +
+                                BLangConstants.BALLERINA_VIRTUAL_THREADS_ENV_VAR + " is ignored");
+        }
+        return factory;
+    }
+
+    private int getMaxVirtualThreads() {
+        if (virtualThreadFactory == null || maxVirtualThreadsConf == null) {
+            return DEFAULT_MAX_VIRTUAL_THREADS;
+        }
+        try {
+            int maxThreads = Integer.parseInt(maxVirtualThreadsConf);
+            if (maxThreads > 0) {
+                return maxThreads;
+            }
+            err.println("ballerina: " + BLangConstants.BALLERINA_MAX_VIRTUAL_THREADS_ENV_VAR +
+                                " should be a positive number, using " + DEFAULT_MAX_VIRTUAL_THREADS);
+        } catch (Throwable t) {
+            // Log and continue with default
+            err.println("ballerina: error occurred in scheduler while reading system variable:" +
+                                BLangConstants.BALLERINA_MAX_VIRTUAL_THREADS_ENV_VAR + ", " + t.getMessage());
+        }
+        return DEFAULT_MAX_VIRTUAL_THREADS;
+    }
+
+    private SchedulerMetrics createMetrics() {
+        if (!metricsEnabled) {
+            return null;
+        }
+        int carrierCount = virtualThreadFactory == null ? numThreads : Runtime.getRuntime().availableProcessors();
+        return new SchedulerMetrics(this, virtualThreadFactory != null, carrierCount);
     }
 
     public static Strand getStrand() {
@@ -141,6 +258,7 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(fp.getFunction(), params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
+        markScheduled(item);
         future.strand.strandGroup = parent.strandGroup;
         parent.strandGroup.add(item);
         if (parent.strandGroup.scheduled.compareAndSet(false, true)) {
@@ -191,6 +309,7 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(function, params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
+        markScheduled(item);
         ItemGroup group = new ItemGroup(item);
         future.strand.strandGroup = group;
         group.scheduled.set(true);
@@ -217,6 +336,7 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(consumer, params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
+        markScheduled(item);
         ItemGroup group = new ItemGroup(item);
         future.strand.strandGroup = group;
         group.scheduled.set(true);
@@ -225,6 +345,9 @@ public class Scheduler {
     }
 
     public void start() {
+        if (metrics != null) {
+            metrics.publish();
+        }
         this.mainBlockSem = new Semaphore(-(numThreads - 1));
         for (int i = 0; i < numThreads - 1; i++) {
             new Thread(this::runSafely, "jbal-strand-exec-" + i).start();
@@ -253,7 +376,6 @@ public class Scheduler {
      */
     private void run() {
         while (true) {
-            SchedulerItem item;
             ItemGroup group;
             try {
                 group = runnableList.take();
@@ -262,38 +384,96 @@ public class Scheduler {
             }
 
             if (group == POISON_PILL) {
+                awaitVirtualThreads();
                 this.mainBlockSem.release();
                 break;
             }
 
-            while (!group.items.empty()) {
-                Object result = null;
-                Throwable panic = null;
+            if (virtualThreadFactory != null) {
+                runOnVirtualThread(group);
+            } else {
+                runGroup(group);
+            }
+        }
+    }
+
+    /**
+     * Strands of the group get their own virtual thread, so that blocking inside an extern function does not hold on
+     * to one of the scheduler threads. If the maximum number of groups are already running, waits for one of them to
+     * finish.
+     */
+    private void runOnVirtualThread(ItemGroup group) {
+        virtualThreadPermits.acquireUninterruptibly();
+        try {
+            virtualThreadFactory.newThread(() -> runGroupSafely(group)).start();
+        } catch (Throwable t) {
+            virtualThreadPermits.release();
+            throw t;
+        }
+    }
 
-                item = group.get();
+    private void runGroupSafely(ItemGroup group) {
+        try {
+            runGroup(group);
+        } catch (Throwable t) {
+            RuntimeUtils.printCrashLog(t);
+        } finally {
+            virtualThreadPermits.release();
+        }
+    }
 
-                try {
-                    strandHolder.get().strand = item.future.strand;
-                    result = item.execute();
-                } catch (Throwable e) {
-                    panic = createError(e);
-                    notifyChannels(item, panic);
+    /**
+     * Waits until the groups running on virtual threads are done, so that the scheduler does not stop while they
+     * are still executing strands.
+     */
+    private void awaitVirtualThreads() {
+        if (virtualThreadFactory == null) {
+            return;
+        }
+        virtualThreadPermits.acquireUninterruptibly(maxVirtualThreads);
+        virtualThreadPermits.release(maxVirtualThreads);
+    }
 
-                    if (!(panic instanceof BError)) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                    // Please refer #18763.
-                    // This logs cases where errors have occurred while strand is blocked.
-                    if (item.isYielded()) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                } finally {
-                    strandHolder.get().strand = null;
+    /**
+     * Executes the items of the given group until there is nothing left to run in it.
+     */
+    private void runGroup(ItemGroup group) {
+        SchedulerItem item;
+        while (!group.items.isEmpty()) {
+            Object result = null;
+            Throwable panic = null;
+
+            item = group.get();
+
+            long startTime = 0;
+            if (metrics != null) {
+                startTime = System.nanoTime();
+                metrics.recordScheduleLatency(startTime - item.scheduledTime);
+            }
+            try {
+                strandHolder.get().strand = item.future.strand;
+                result = item.execute();
+            } catch (Throwable e) {
+                panic = createError(e);
+                notifyChannels(item, panic);
+
+                if (!(panic instanceof BError)) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
-                postProcess(item, result, panic);
-                if (group.items.empty()) {
-                    group.scheduled.set(false);
+                // Please refer #18763.
+                // This logs cases where errors have occurred while strand is blocked.
+                if (item.isYielded()) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
+            } finally {
+                strandHolder.get().strand = null;
+            }
+            if (metrics != null) {
+                metrics.recordExecution(System.nanoTime() - startTime);
+            }
+            postProcess(item, result, panic);
+            if (group.items.isEmpty()) {
+                group.scheduled.set(false);
             }
         }
     }
@@ -304,15 +484,12 @@ public class Scheduler {
     private void postProcess(SchedulerItem item, Object result, Throwable panic) {
         switch (item.getState()) {
             case BLOCK_AND_YIELD:
-                item.future.strand.lock();
-                // need to recheck due to concurrency, unblockStrand() may have changed state
-                if (item.getState().getStatus() == State.YIELD.getStatus()) {
+                // unblockStrand() may have changed the state to YIELD concurrently, if so reschedule instead
+                if (!item.future.strand.park()) {
                     reschedule(item);
-                    item.future.strand.unlock();
-                    break;
+                } else if (metrics != null) {
+                    metrics.strandParked();
                 }
-                item.parked = true;
-                item.future.strand.unlock();
                 break;
             case BLOCK_ON_AND_YIELD:
                 WaitContext waitContext = item.future.strand.waitContext;
@@ -346,8 +523,11 @@ public class Scheduler {
                 Strand justCompleted = item.future.strand;
                 assert !justCompleted.getState().equals(State.DONE) : "Can't be completed twice";
 
+                // Completing under the strand lock makes sure a strand that registers a wait context on this one
+                // either sees it done, or gets its context notified below.
+                justCompleted.lock();
                 justCompleted.setState(State.DONE);
-
+                justCompleted.unlock();
 
                 for (WaitContext ctx : justCompleted.waitingContexts) {
                     ctx.lock();
@@ -393,16 +573,14 @@ public class Scheduler {
     }
 
     public void unblockStrand(Strand strand) {
-        strand.lock();
-        if (strand.schedulerItem.parked) {
-            strand.schedulerItem.parked = false;
-            reschedule(strand.schedulerItem);
-        } else {
-            // item not returned to scheduler, yet.
-            // scheduler will simply reschedule since this is already unlocked.
-            strand.setState(State.YIELD);
+        // If the item is not returned to scheduler yet, this only marks it as yielded and
+        // scheduler will simply reschedule it instead of parking.
+        if (strand.unpark()) {
+            if (metrics != null) {
+                metrics.strandUnparked();
+            }
+            addToRunnableList(strand.schedulerItem);
         }
-        strand.unlock();
     }
 
     private void cleanUp(Strand justCompleted) {
@@ -433,21 +611,39 @@ public class Scheduler {
     }
 
     private void reschedule(SchedulerItem item) {
-        if (!item.getState().equals(State.RUNNABLE)) {
-            ItemGroup group = item.future.strand.strandGroup;
-            item.setState(State.RUNNABLE);
-            group.add(item);
-
-            // Group maybe not picked by any thread at the moment because,
-            //  1) All items are blocked.
-            //  2) All others have finished
-            // In this case we need to put it back in the runnable list.
-            if (group.scheduled.compareAndSet(false, true)) {
-                runnableList.add(group);
-            }
+        if (item.future.strand.makeRunnable()) {
+            addToRunnableList(item);
+        }
+    }
+
+    private void addToRunnableList(SchedulerItem item) {
+        ItemGroup group = item.future.strand.strandGroup;
+        markScheduled(item);
+        group.add(item);
+
+        // Group maybe not picked by any thread at the moment because,
+        //  1) All items are blocked.
+        //  2) All others have finished
+        // In this case we need to put it back in the runnable list.
+        if (group.scheduled.compareAndSet(false, true)) {
+            runnableList.add(group);
         }
     }
 
+    private void markScheduled(SchedulerItem item) {
+        if (metrics != null) {
+            item.scheduledTime = System.nanoTime();
+        }
+    }
+
+    int getRunnableQueueDepth() {
+        return runnableList.size();
+    }
+
+    int getActiveStrandCount() {
+        return totalStrands.get();
+    }
+
     public FutureValue createFuture(Strand parent, Callback callback, Map<String, Object> properties,
                                     Type constraint, String name, StrandMetadata metadata) {
         Strand newStrand = new Strand(name, metadata, this, parent, properties);
@@ -463,6 +659,15 @@ public class Scheduler {
         return future;
     }
 
+    /**
+     * Returns the execution statistics of this scheduler.
+     *
+     * @return scheduler metrics, or null if metrics are not enabled
+     */
+    public SchedulerMetrics getMetrics() {
+        return metrics;
+    }
+
     public void poison() {
         for (int i = 0; i < numThreads; i++) {
             runnableList.add(POISON_PILL);
@@ -479,7 +684,7 @@ class SchedulerItem {
     private Function function;
     private Object[] params;
     final FutureValue future;
-    boolean parked;
+    long scheduledTime;
 
     public SchedulerItem(Function function, Object[] params, FutureValue future) {
         this.future = future;
@@ -526,9 +731,10 @@ class ItemGroup {
 
     /**
      * Keep the list of items that should run on same thread.
-     * Using a stack to get advantage of the locality.
+     * Used as a lock-free stack, items are pushed and popped at the head of the deque to get advantage of the
+     * locality, while other threads add unblocked items concurrently.
      */
-    Stack<SchedulerItem> items = new Stack();
+    Deque<SchedulerItem> items = new ConcurrentLinkedDeque<>();
 
     /**
      * Indicates this item is already in runnable list/executing or not.
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.scheduling;
+
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.PolledGauge;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Execution statistics of a {@link Scheduler}. Counters are striped so that scheduler threads do not contend on them.
+ * <p>
+ * Busy time is the wall clock time spent executing strands. When strands run on platform threads a strand that blocks
+ * inside an extern function keeps its carrier thread occupied, so the carrier utilisation is close to the busy time
+ * divided by the available carrier time. When strands run on virtual threads a blocked strand releases its carrier,
+ * hence the utilisation can go above one; the excess is the blocking time that was taken off the carriers.
+ *
+ * @since 2.0.0
+ */
+public class SchedulerMetrics {
+
+    private static final String METRIC_PREFIX = "ballerina_scheduler_";
+    private static final String PERCENTILE_TAG = "percentile";
+    private static final double[] PERCENTILES = {0.5, 0.75, 0.95, 0.99, 0.999};
+
+    private final Scheduler scheduler;
+    private final boolean virtualThreads;
+    private final int carrierCount;
+    private final long startTime = System.nanoTime();
+    private final LongAdder parkedStrands = new LongAdder();
+    private final StripedHistogram executionTime = new StripedHistogram();
+    private final StripedHistogram scheduleLatency = new StripedHistogram();
+    private final AtomicBoolean published = new AtomicBoolean(false);
+
+    SchedulerMetrics(Scheduler scheduler, boolean virtualThreads, int carrierCount) {
+        this.scheduler = scheduler;
+        this.virtualThreads = virtualThreads;
+        this.carrierCount = carrierCount;
+    }
+
+    void recordExecution(long elapsedNanos) {
+        executionTime.record(elapsedNanos);
+    }
+
+    void recordScheduleLatency(long elapsedNanos) {
+        scheduleLatency.record(elapsedNanos);
+    }
+
+    void strandParked() {
+        parkedStrands.increment();
+    }
+
+    void strandUnparked() {
+        parkedStrands.decrement();
+    }
+
+    /**
+     * Publishes the statistics as gauges to the {@link DefaultMetricRegistry}, if metrics are enabled for the program.
+     * Distributions are published as one gauge per percentile, tagged with the percentile.
+     */
+    void publish() {
+        MetricRegistry registry = DefaultMetricRegistry.getInstance();
+        if (registry == null || !published.compareAndSet(false, true)) {
+            return;
+        }
+        register(registry, "runnable_queue_depth", "Number of strand groups waiting to be executed",
+                 SchedulerMetrics::getRunnableQueueDepth);
+        register(registry, "active_strands", "Number of strands that are yet to complete",
+                 SchedulerMetrics::getActiveStrands);
+        register(registry, "parked_strands", "Number of blocked strands parked by the scheduler",
+                 SchedulerMetrics::getParkedStrands);
+        register(registry, "executions_total", "Number of times a strand was executed until it yielded or completed",
+                 SchedulerMetrics::getExecutedItems);
+        register(registry, "carrier_utilisation", "Time spent executing strands over the available carrier time",
+                 SchedulerMetrics::getCarrierUtilisation);
+        register(registry, "execution_time_mean_nanoseconds", "Mean time a strand runs before it yields",
+                 metrics -> metrics.executionTime.getMean());
+        register(registry, "schedule_latency_mean_nanoseconds", "Mean time a strand waits in the runnable list",
+                 metrics -> metrics.scheduleLatency.getMean());
+        for (double percentile : PERCENTILES) {
+            String tag = String.valueOf(percentile);
+            PolledGauge.builder(METRIC_PREFIX + "execution_time_nanoseconds", this,
+                                m -> m.executionTime.getPercentile(percentile))
+                    .description("Time a strand runs before it yields or completes")
+                    .tag(PERCENTILE_TAG, tag)
+                    .register(registry);
+            PolledGauge.builder(METRIC_PREFIX + "schedule_latency_nanoseconds", this,
+                                m -> m.scheduleLatency.getPercentile(percentile))
+                    .description("Time a strand waits in the runnable list before it gets executed")
+                    .tag(PERCENTILE_TAG, tag)
+                    .register(registry);
+        }
+    }
+
+    private void register(MetricRegistry registry, String name, String description,
+                          ToDoubleFunction<SchedulerMetrics> valueFunction) {
+        PolledGauge.builder(METRIC_PREFIX + name, this, valueFunction).description(description).register(registry);
+    }
+
+    /**
+     * Returns whether strands are executed on virtual threads.
+     *
+     * @return true if strands are executed on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Returns the number of platform threads that strands are executed on.
+     *
+     * @return number of carrier threads
+     */
+    public int getCarrierCount() {
+        return carrierCount;
+    }
+
+    /**
+     * Returns the number of strand groups waiting in the runnable list.
+     *
+     * @return runnable list size
+     */
+    public int getRunnableQueueDepth() {
+        return scheduler.getRunnableQueueDepth();
+    }
+
+    /**
+     * Returns the number of strands that were scheduled and are yet to complete.
+     *
+     * @return number of active strands
+     */
+    public int getActiveStrands() {
+        return scheduler.getActiveStrandCount();
+    }
+
+    /**
+     * Returns the number of blocked strands that are parked until they get unblocked.
+     *
+     * @return number of parked strands
+     */
+    public long getParkedStrands() {
+        return parkedStrands.sum();
+    }
+
+    /**
+     * Returns the number of times a strand was executed until it yielded or completed.
+     *
+     * @return number of strand executions
+     */
+    public long getExecutedItems() {
+        return executionTime.getCount();
+    }
+
+    /**
+     * Returns the total time spent executing strands, in nanoseconds.
+     *
+     * @return busy time in nanoseconds
+     */
+    public long getBusyTime() {
+        return executionTime.getSum();
+    }
+
+    /**
+     * Returns the given percentile of the time a strand runs before it yields or completes.
+     *
+     * @param percentile percentile between 0 and 1
+     * @return execution time in nanoseconds, rounded up to the next power of two
+     */
+    public double getExecutionTime(double percentile) {
+        return executionTime.getPercentile(percentile);
+    }
+
+    /**
+     * Returns the given percentile of the time a strand waits after being scheduled or rescheduled until a scheduler
+     * thread picks it up.
+     *
+     * @param percentile percentile between 0 and 1
+     * @return schedule latency in nanoseconds, rounded up to the next power of two
+     */
+    public double getScheduleLatency(double percentile) {
+        return scheduleLatency.getPercentile(percentile);
+    }
+
+    /**
+     * Returns the busy time as a fraction of the carrier time available since the scheduler was created.
+     *
+     * @return carrier utilisation
+     */
+    public double getCarrierUtilisation() {
+        long elapsed = System.nanoTime() - startTime;
+        if (elapsed <= 0 || carrierCount <= 0) {
+            return 0;
+        }
+        return (double) executionTime.getSum() / ((double) elapsed * carrierCount);
+    }
+}
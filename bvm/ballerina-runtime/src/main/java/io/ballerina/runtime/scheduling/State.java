@@ -29,6 +29,8 @@ package io.ballerina.runtime.scheduling;
      BLOCK_ON_AND_YIELD(BLOCK_AND_YIELD.status | (1 << 3)),
      DONE(1 << 4);
 
+     private static final State[] VALUES = values();
+
      private int status;
 
      public int getStatus() {
@@ -38,4 +40,13 @@ package io.ballerina.runtime.scheduling;
      State(int status) {
          this.status = status;
      }
+
+     static State fromStatus(int status) {
+         for (State state : VALUES) {
+             if (state.status == status) {
+                 return state;
+             }
+         }
+         throw new IllegalStateException("invalid strand status: " + status);
+     }
  }
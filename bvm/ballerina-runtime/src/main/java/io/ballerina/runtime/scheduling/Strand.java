@@ -29,6 +29,8 @@ import io.ballerina.runtime.values.ErrorValue;
 import io.ballerina.runtime.values.FutureValue;
 import io.ballerina.runtime.values.MapValue;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -56,6 +58,21 @@ public class Strand {
 
     private static AtomicInteger nextStrandId = new AtomicInteger(0);
 
+    /**
+     * Set on top of the {@link State} status bits once the scheduler has parked a blocked strand.
+     */
+    private static final int PARKED = 1 << 5;
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Strand.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private int id;
     private String name;
     private StrandMetadata metadata;
@@ -82,7 +99,11 @@ public class Strand {
     private Map<String, Object> globalProps;
     public TransactionLocalContext currentTrxContext;
     public Stack<TransactionLocalContext> trxContexts;
-    private State state;
+    /**
+     * Status of the current {@link State}, with the {@link #PARKED} bit. Transitions between blocked, parked and
+     * runnable are done with compare-and-set, so that parking and unblocking a strand never takes a lock.
+     */
+    private volatile int state;
     private final ReentrantLock strandLock;
 
     public Strand(String name, StrandMetadata metadata, Scheduler scheduler, Strand parent,
@@ -92,7 +113,7 @@ public class Strand {
         this.wdChannels = new WDChannels();
         this.channelDetails = new HashSet<>();
         this.globalProps = new HashMap<>();
-        this.state = RUNNABLE;
+        this.state = RUNNABLE.getStatus();
         this.dependants = new HashSet<>();
         this.strandLock = new ReentrantLock();
         this.waitingContexts = new ArrayList<>();
@@ -201,6 +222,7 @@ public class Strand {
         WaitContext ctx = new WaitMultipleContext(this.schedulerItem);
         ctx.waitCount.set(keyValues.size());
         ctx.lock();
+        boolean blocked = false;
         for (Map.Entry<String, FutureValue> entry : keyValues.entrySet()) {
             FutureValue future = entry.getValue();
             // need to lock the future's strand since we cannot have a parallel state change
@@ -218,11 +240,12 @@ public class Strand {
                 target.put(StringUtils.fromString(entry.getKey()), future.result);
             } else {
                 this.setState(BLOCK_ON_AND_YIELD);
+                blocked = true;
                 entry.getValue().strand.waitingContexts.add(ctx);
             }
             future.strand.unlock();
         }
-        if (!this.isBlocked()) {
+        if (!blocked) {
             ctx.waitCount.set(0);
             ctx.completed = true;
         } else {
@@ -296,26 +319,122 @@ public class Strand {
         return dataChannel;
     }
 
+    /**
+     * Sets the state of the strand. The state is changed with compare-and-set, since {@link #unpark()} may change
+     * it concurrently.
+     * <p>
+     * Blocking a strand does not drop the {@link #PARKED} bit of a parked strand, nor an unblock which arrived before
+     * the strand returned to the scheduler, i.e. the {@link State#YIELD} state set by {@link #unpark()}. Otherwise the
+     * strand would be parked without anyone left to unpark it. A strand resumed this way re-checks the condition it
+     * blocked on. This only holds when the strand blocks again on the same condition, a strand which starts waiting
+     * on an external call uses {@link #blockOnExtern()} instead.
+     *
+     * @param state new state of the strand
+     */
     public void setState(State state) {
-        this.lock();
-        this.state = state;
-        this.unlock();
+        int status = state.getStatus();
+        boolean blocking = (status & BLOCK_AND_YIELD.getStatus()) == BLOCK_AND_YIELD.getStatus();
+        while (true) {
+            int current = this.state;
+            int next;
+            if (!blocking) {
+                // Leaving the blocked states clears the parked bit, the caller reschedules the strand if required
+                next = status;
+            } else if (current == YIELD.getStatus()) {
+                return;
+            } else {
+                next = status | (current & PARKED);
+            }
+            if (current == next || STATE.compareAndSet(this, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Blocks the strand until an asynchronous external call completes. Unlike {@link #setState(State)}, an unblock
+     * which arrived before this is dropped, since it cannot belong to the external call, which only gets the means to
+     * unblock the strand after this. The strand is resumed with {@link #blockedOnExtern} set, and reads the result of
+     * the call, hence it must not be resumed early.
+     */
+    public void blockOnExtern() {
+        this.blockedOnExtern = true;
+        while (true) {
+            int current = this.state;
+            int next = BLOCK_AND_YIELD.getStatus() | (current & PARKED);
+            if (current == next || STATE.compareAndSet(this, current, next)) {
+                return;
+            }
+        }
     }
 
     public State getState() {
-        return this.state;
+        return State.fromStatus(this.state & ~PARKED);
     }
 
     public boolean isBlocked() {
-        return (this.state.getStatus() & BLOCK_AND_YIELD.getStatus()) == BLOCK_AND_YIELD.getStatus();
+        return (this.state & BLOCK_AND_YIELD.getStatus()) == BLOCK_AND_YIELD.getStatus();
     }
 
     public boolean isBlockedOn() {
-        return (this.state.getStatus() & BLOCK_ON_AND_YIELD.getStatus()) == BLOCK_ON_AND_YIELD.getStatus();
+        return (this.state & BLOCK_ON_AND_YIELD.getStatus()) == BLOCK_ON_AND_YIELD.getStatus();
     }
 
     public boolean isYielded() {
-        return (this.state.getStatus() & YIELD.getStatus()) == YIELD.getStatus();
+        return (this.state & YIELD.getStatus()) == YIELD.getStatus();
+    }
+
+    /**
+     * Parks the strand after it has returned to the scheduler in a blocked state.
+     *
+     * @return true if the strand got parked, false if it was unblocked in the meantime and has to be rescheduled
+     */
+    boolean park() {
+        while (true) {
+            int current = this.state;
+            if (current == YIELD.getStatus()) {
+                return false;
+            }
+            if (STATE.compareAndSet(this, current, current | PARKED)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Unblocks the strand. If the strand has not been parked yet, it is only marked as yielded, and the scheduler
+     * reschedules it instead of parking it.
+     *
+     * @return true if the strand was parked and has to be added back to the runnable list
+     */
+    boolean unpark() {
+        while (true) {
+            int current = this.state;
+            if ((current & PARKED) == PARKED) {
+                if (STATE.compareAndSet(this, current, RUNNABLE.getStatus())) {
+                    return true;
+                }
+            } else if (STATE.compareAndSet(this, current, YIELD.getStatus())) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Moves a yielded or waiting strand to the runnable state.
+     *
+     * @return true if the state changed, in which case the caller has to add the strand back to the runnable list
+     */
+    boolean makeRunnable() {
+        while (true) {
+            int current = this.state;
+            if (current == RUNNABLE.getStatus()) {
+                return false;
+            }
+            if (STATE.compareAndSet(this, current, RUNNABLE.getStatus())) {
+                return true;
+            }
+        }
     }
 
     public boolean isBlockedOnExtern() {
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.scheduling;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.ballerina.runtime.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * {@link RunQueue} that keeps a deque per scheduler thread. A thread pushes and pops the groups it schedules at the
+ * head of its own deque (LIFO, so a strand that yields is likely to resume on the same core) and steals from the tail
+ * of the other deques (FIFO) when it runs out of work. Groups scheduled from non-scheduler threads, as well as the
+ * {@link ItemGroup#POISON_PILL}, go through a shared injection queue.
+ * <p>
+ * An idle thread spins for {@code spinCount} attempts before parking until more work is added.
+ *
+ * @since 2.0.0
+ */
+class WorkStealingRunQueue implements RunQueue {
+
+    private static final int NOT_A_WORKER = -1;
+
+    private final ConcurrentLinkedDeque<ItemGroup>[] localQueues;
+    private final ConcurrentLinkedQueue<ItemGroup> injectionQueue = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Integer> workerIndex = new ThreadLocal<>();
+    private final AtomicInteger nextWorkerIndex = new AtomicInteger();
+    private final AtomicInteger sleepers = new AtomicInteger();
+    private final Semaphore wakeUps = new Semaphore(0);
+    private final int spinCount;
+
+    @SuppressWarnings("unchecked")
+    WorkStealingRunQueue(int numThreads, int spinCount) {
+        this.localQueues = new ConcurrentLinkedDeque[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            this.localQueues[i] = new ConcurrentLinkedDeque<>();
+        }
+        this.spinCount = spinCount;
+    }
+
+    @Override
+    public void add(ItemGroup group) {
+        Integer index = workerIndex.get();
+        if (index == null || index == NOT_A_WORKER || group == POISON_PILL) {
+            // The poison pill has to be FIFO ordered with respect to the rest of the injected work.
+            injectionQueue.add(group);
+        } else {
+            localQueues[index].addFirst(group);
+        }
+        // Pairs with the increment in park(); either the sleeper sees the new group or we see the sleeper.
+        if (sleepers.get() > 0) {
+            wakeUps.release();
+        }
+    }
+
+    @Override
+    public ItemGroup take() throws InterruptedException {
+        int self = registerWorker();
+        int spins = 0;
+        while (true) {
+            ItemGroup group = poll(self);
+            if (group != null) {
+                return group;
+            }
+            if (spins < spinCount) {
+                spins++;
+                Thread.onSpinWait();
+                continue;
+            }
+            group = park(self);
+            if (group != null) {
+                return group;
+            }
+            spins = 0;
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = injectionQueue.size();
+        for (ConcurrentLinkedDeque<ItemGroup> localQueue : localQueues) {
+            size += localQueue.size();
+        }
+        return size;
+    }
+
+    private int registerWorker() {
+        Integer index = workerIndex.get();
+        if (index == null) {
+            index = nextWorkerIndex.getAndIncrement();
+            if (index >= localQueues.length) {
+                index = NOT_A_WORKER;
+            }
+            workerIndex.set(index);
+        }
+        return index;
+    }
+
+    private ItemGroup park(int self) throws InterruptedException {
+        sleepers.incrementAndGet();
+        try {
+            // Recheck after announcing ourselves, otherwise a group added in between would not wake anyone up.
+            ItemGroup group = poll(self);
+            if (group != null) {
+                return group;
+            }
+            wakeUps.acquire();
+            return null;
+        } finally {
+            sleepers.decrementAndGet();
+        }
+    }
+
+    private ItemGroup poll(int self) {
+        ItemGroup group;
+        if (self != NOT_A_WORKER) {
+            group = localQueues[self].pollFirst();
+            if (group != null) {
+                return group;
+            }
+        }
+
+        group = injectionQueue.poll();
+        if (group != null) {
+            return group;
+        }
+        return steal(self);
+    }
+
+    private ItemGroup steal(int self) {
+        int numQueues = localQueues.length;
+        int start = ThreadLocalRandom.current().nextInt(numQueues);
+        for (int i = 0; i < numQueues; i++) {
+            int victim = (start + i) % numQueues;
+            if (victim == self) {
+                continue;
+            }
+            ItemGroup group = localQueues[victim].pollLast();
+            if (group != null) {
+                return group;
+            }
+        }
+        return null;
+    }
+}
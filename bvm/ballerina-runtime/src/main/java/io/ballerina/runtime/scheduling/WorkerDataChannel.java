@@ -17,24 +17,38 @@
 */
 package io.ballerina.runtime.scheduling;
 
+import io.ballerina.runtime.util.BLangConstants;
 import io.ballerina.runtime.values.ErrorValue;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.ArrayDeque;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static io.ballerina.runtime.scheduling.State.BLOCK_AND_YIELD;
+import static java.lang.System.err;
 
 /**
  * This represents a worker data channel that is created for each worker to
  * worker interaction for each function call.
+ * <p>
+ * Messages are kept in a ring buffer. An async message is kept as is, while a sync message is kept in a
+ * {@link WorkerResult}. The number of messages a channel holds is unbounded by default. It can be bounded by setting
+ * the BALLERINA_WORKER_CHANNEL_CAPACITY system variable, in which case an async sender blocks once the channel is full
+ * and is resumed once the receiver has taken half of the messages, so that both move messages in batches.
  *
  * @since 0.995.0
  */
 public class WorkerDataChannel {
 
+    private static final int DEFAULT_CAPACITY = getCapacity();
+
+    /**
+     * Kept in place of the nil value, which cannot be added to the ring buffer.
+     */
+    private static final Object NIL = new Object();
+
     private Strand receiver;
+    private Strand blockedSender;
     private WaitingSender waitingSender;
     private WaitingSender flushSender;
     private ErrorValue error;
@@ -42,24 +56,36 @@ public class WorkerDataChannel {
     private int senderCounter;
     private int receiverCounter;
     private boolean reschedule;
+    private final int capacity;
 
     private Lock channelLock;
 
     public String chnlName;
 
-    @SuppressWarnings("rawtypes")
-    private Queue<WorkerResult> channel = new LinkedList<>();
+    private ArrayDeque<Object> channel = new ArrayDeque<>();
 
     public WorkerDataChannel() {
         this.channelLock = new ReentrantLock();
         this.senderCounter = 0;
         this.receiverCounter = 0;
+        this.capacity = DEFAULT_CAPACITY;
     }
     public WorkerDataChannel(String channelName) {
+        this(channelName, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a channel which holds at most the given number of async messages.
+     *
+     * @param channelName name of the channel
+     * @param capacity    number of messages the channel holds, or 0 for an unbounded channel
+     */
+    public WorkerDataChannel(String channelName, int capacity) {
         this.channelLock = new ReentrantLock();
         this.senderCounter = 0;
         this.receiverCounter = 0;
         this.chnlName = channelName;
+        this.capacity = capacity;
     }
 
     public void acquireChannelLock() {
@@ -70,11 +96,16 @@ public class WorkerDataChannel {
         this.channelLock.unlock();
     }
 
-    @SuppressWarnings("rawtypes")
     public void sendData(Object data, Strand sender) {
         try {
             acquireChannelLock();
-            this.channel.add(new WorkerResult(data));
+            if (this.capacity > 0 && this.channel.size() >= this.capacity && this.error == null && this.panic == null) {
+                // The send is executed again once the sender is resumed.
+                this.blockedSender = sender;
+                sender.setState(BLOCK_AND_YIELD);
+                return;
+            }
+            this.channel.add(data == null ? NIL : data);
             this.senderCounter++;
             if (this.receiver != null) {
                 this.receiver.scheduler.unblockStrand(this.receiver);
@@ -135,16 +166,17 @@ public class WorkerDataChannel {
         }
     }
 
-    @SuppressWarnings("rawtypes")
     public Object tryTakeData(Strand strand) throws Throwable {
         try {
             acquireChannelLock();
-            WorkerResult result = this.channel.peek();
-            if (result != null) {
+            Object message = this.channel.poll();
+            if (message != null) {
                 this.receiverCounter++;
-                this.channel.remove();
+                if (this.channel.size() <= this.capacity / 2) {
+                    unblockBlockedSender();
+                }
 
-                if (result.isSync) {
+                if (message instanceof WorkerResult) {
                     // sync sender will pick the this.error as result, which is null
                     Strand waiting  = this.waitingSender.waitingStrand;
                     waiting.scheduler.unblockStrand(waiting);
@@ -162,7 +194,10 @@ public class WorkerDataChannel {
                     this.flushSender.waitingStrand.flushDetail.flushLock.unlock();
                     this.flushSender = null;
                 }
-                return result.value;
+                if (message instanceof WorkerResult) {
+                    return ((WorkerResult) message).value;
+                }
+                return message == NIL ? null : message;
             } else if (this.panic != null && this.senderCounter == this.receiverCounter + 1) {
                 this.receiverCounter++;
                 throw this.panic;
@@ -217,6 +252,7 @@ public class WorkerDataChannel {
             waiting.scheduler.unblockStrand(waiting);
             this.waitingSender = null;
         }
+        unblockBlockedSender();
         releaseChannelLock();
     }
 
@@ -295,9 +331,31 @@ public class WorkerDataChannel {
             waiting.scheduler.unblockStrand(waiting);
             this.waitingSender = null;
         }
+        unblockBlockedSender();
         releaseChannelLock();
     }
 
+    private void unblockBlockedSender() {
+        if (this.blockedSender != null) {
+            this.blockedSender.scheduler.unblockStrand(this.blockedSender);
+            this.blockedSender = null;
+        }
+    }
+
+    private static int getCapacity() {
+        String capacityConf = System.getenv(BLangConstants.BALLERINA_WORKER_CHANNEL_CAPACITY_ENV_VAR);
+        try {
+            if (capacityConf != null) {
+                return Math.max(Integer.parseInt(capacityConf), 0);
+            }
+        } catch (Throwable t) {
+            // Log and continue with an unbounded channel
+            err.println("ballerina: error occurred while reading system variable:" +
+                                BLangConstants.BALLERINA_WORKER_CHANNEL_CAPACITY_ENV_VAR + ", " + t.getMessage());
+        }
+        return 0;
+    }
+
     /**
      * This represents a worker result value. This is done as a value to be used in the
      * queues used for worker communication. In this way, the queue can distinguish the
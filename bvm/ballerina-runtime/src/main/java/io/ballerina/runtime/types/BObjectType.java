@@ -83,6 +83,7 @@ public class BObjectType extends BStructureType implements ObjectType {
 
     public void setAttachedFunctions(AttachedFunctionType[] attachedFunctions) {
         this.attachedFunctions = attachedFunctions;
+        TypeCheckCache.invalidate();
     }
 
     public void setInitializer(AttachedFunction initializer) {
@@ -131,5 +132,6 @@ public class BObjectType extends BStructureType implements ObjectType {
 
     public void setTypeIdSet(BTypeIdSet typeIdSet) {
         this.typeIdSet = typeIdSet;
+        TypeCheckCache.invalidate();
     }
 }
@@ -45,6 +45,7 @@ public class BRecordType extends BStructureType implements RecordType {
     public int typeFlags;
     private final boolean readonly;
     private IntersectionType immutableType;
+    private RequiredFieldNames requiredFieldNames;
 
     /**
      * Create a {@code BRecordType} which represents the user defined record type.
@@ -105,6 +106,35 @@ public class BRecordType extends BStructureType implements RecordType {
         return TypeTags.RECORD_TYPE_TAG;
     }
 
+    /**
+     * Returns the names of the fields which are not optional. The names are computed once for the current fields of
+     * the record type, so that checking the shape of a value against the record type does not create them.
+     *
+     * @return names of the required fields
+     */
+    public BString[] getRequiredFieldNames() {
+        return getRequiredFieldNamesOfFields().names;
+    }
+
+    /**
+     * Returns the names of the fields which are not optional and do not have a default value, hence a value converted
+     * to the record type needs to have them. The names are computed along with {@link #getRequiredFieldNames()}.
+     *
+     * @return names of the required fields without a default value
+     */
+    public BString[] getFieldNamesWithoutDefault() {
+        return getRequiredFieldNamesOfFields().namesWithoutDefault;
+    }
+
+    private RequiredFieldNames getRequiredFieldNamesOfFields() {
+        RequiredFieldNames names = this.requiredFieldNames;
+        if (names == null || names.fields != this.fields) {
+            names = new RequiredFieldNames(this.fields);
+            this.requiredFieldNames = names;
+        }
+        return names;
+    }
+
     @Override
     public String getAnnotationKey() {
         return this.typeName;
@@ -143,7 +173,30 @@ public class BRecordType extends BStructureType implements RecordType {
         return restFieldType;
     }
 
+    public void setRestFieldType(Type restFieldType) {
+        this.restFieldType = restFieldType;
+        TypeCheckCache.invalidate();
+    }
+
     public int getTypeFlags() {
         return typeFlags;
     }
+
+    private static class RequiredFieldNames {
+        private final Map<String, Field> fields;
+        private final BString[] names;
+        private final BString[] namesWithoutDefault;
+
+        RequiredFieldNames(Map<String, Field> fields) {
+            this.fields = fields;
+            this.names = fields.entrySet().stream()
+                    .filter(entry -> !Flags.isFlagOn(entry.getValue().getFlags(), Flags.OPTIONAL))
+                    .map(entry -> StringUtils.fromString(entry.getKey()))
+                    .toArray(BString[]::new);
+            this.namesWithoutDefault = fields.entrySet().stream()
+                    .filter(entry -> Flags.isFlagOn(entry.getValue().getFlags(), Flags.REQUIRED))
+                    .map(entry -> StringUtils.fromString(entry.getKey()))
+                    .toArray(BString[]::new);
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.types;
+
+import io.ballerina.runtime.api.types.Type;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of the results of checking whether a type is a subtype of another type, keyed by the identity of the
+ * two types.
+ * <p>
+ * The members of record, object and error types are set after the types are created, while the types of a module are
+ * populated, and the read-only versions of record and object types are created lazily. Setting any of these members
+ * invalidates every cached result, since a cached result may depend on the members of a type nested in the two types.
+ * A result which was computed before an invalidation is never returned afterwards.
+ *
+ * @since 2.0.0
+ */
+public class TypeCheckCache {
+
+    private static final int MAX_ENTRIES = 8192;
+
+    private static final Map<Key, Result> RESULTS = new ConcurrentHashMap<>();
+    private static volatile int version;
+
+    private TypeCheckCache() {
+    }
+
+    /**
+     * Returns the cached result of checking whether a type is a subtype of another type.
+     *
+     * @param sourceType source type
+     * @param targetType target type
+     * @return the cached result, or null if there is none
+     */
+    public static Boolean get(Type sourceType, Type targetType) {
+        Result result = RESULTS.get(new Key(sourceType, targetType));
+        if (result == null || result.version != version) {
+            return null;
+        }
+        return result.isSubType;
+    }
+
+    /**
+     * Returns the current version of the cache, which has to be read before computing a result to be cached.
+     *
+     * @return version of the cache
+     */
+    public static int getVersion() {
+        return version;
+    }
+
+    /**
+     * Caches the result of checking whether a type is a subtype of another type.
+     *
+     * @param sourceType source type
+     * @param targetType target type
+     * @param isSubType  whether the source type is a subtype of the target type
+     * @param version    version of the cache before the result was computed
+     */
+    public static void put(Type sourceType, Type targetType, boolean isSubType, int version) {
+        if (version != TypeCheckCache.version) {
+            return;
+        }
+        if (RESULTS.size() >= MAX_ENTRIES) {
+            RESULTS.clear();
+        }
+        RESULTS.put(new Key(sourceType, targetType), new Result(isSubType, version));
+    }
+
+    /**
+     * Invalidates every cached result. Called whenever a member of a type is set after the type is created.
+     */
+    public static synchronized void invalidate() {
+        version++;
+        RESULTS.clear();
+    }
+
+    private static class Key {
+        private final Type sourceType;
+        private final Type targetType;
+
+        Key(Type sourceType, Type targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.sourceType == other.sourceType && this.targetType == other.targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(sourceType) + System.identityHashCode(targetType);
+        }
+    }
+
+    private static class Result {
+        private final boolean isSubType;
+        private final int version;
+
+        Result(boolean isSubType, int version) {
+            this.isSubType = isSubType;
+            this.version = version;
+        }
+    }
+}
@@ -96,6 +96,12 @@ public class BLangConstants {
     public static final String BALLERINA_RUNTIME_PKG = BALLERINA_PACKAGE_PREFIX + "runtime";
     public static final String BALLERINA_LANG_ERROR_PKG = BALLERINA_PACKAGE_PREFIX + "lang_error";
     public static final String BALLERINA_MAX_POOL_SIZE_ENV_VAR = "BALLERINA_MAX_POOL_SIZE";
+    public static final String BALLERINA_WORK_STEALING_ENV_VAR = "BALLERINA_WORK_STEALING";
+    public static final String BALLERINA_SCHEDULER_SPIN_COUNT_ENV_VAR = "BALLERINA_SCHEDULER_SPIN_COUNT";
+    public static final String BALLERINA_VIRTUAL_THREADS_ENV_VAR = "BALLERINA_VIRTUAL_THREADS";
+    public static final String BALLERINA_MAX_VIRTUAL_THREADS_ENV_VAR = "BALLERINA_MAX_VIRTUAL_THREADS";
+    public static final String BALLERINA_SCHEDULER_METRICS_ENV_VAR = "BALLERINA_SCHEDULER_METRICS";
+    public static final String BALLERINA_WORKER_CHANNEL_CAPACITY_ENV_VAR = "BALLERINA_WORKER_CHANNEL_CAPACITY";
 
     public static final Module BALLERINA_BUILTIN_PKG_ID = new Module(BALLERINA_BUILTIN_PKG_PREFIX, "builtin");
     public static final Module BALLERINA_RUNTIME_PKG_ID = new Module(BALLERINA_BUILTIN_PKG_PREFIX,
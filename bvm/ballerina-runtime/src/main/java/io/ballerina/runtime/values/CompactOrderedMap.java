@@ -0,0 +1,623 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.values;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Insertion ordered hash map that keeps its entries in flat arrays instead of linked entry objects.
+ * <p>
+ * Keys, values and key hashes are stored in parallel arrays in insertion order. An open addressing index table with
+ * linear probing maps a key hash to the position of its entry. Key hashes are computed once when an entry is added
+ * and are reused by lookups and when the table grows. A removed entry leaves a hole in the arrays, which is
+ * compacted away the next time the arrays grow.
+ * <p>
+ * Like {@link java.util.LinkedHashMap}, lookups and iteration through the views read the arrays directly rather than
+ * going through overridable methods, so subclasses can override the {@link Map} methods without changing the views.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of mapped values
+ * @since 2.0.0
+ */
+public class CompactOrderedMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+    private static final Object[] EMPTY_ENTRIES = {};
+    private static final int[] EMPTY_INDEX = {};
+    // Marks the key of a removed entry. Never exposed outside this class.
+    private static final Object REMOVED = new Object();
+
+    private transient Object[] entryKeys;
+    private transient Object[] entryValues;
+    private transient int[] entryHashes;
+    // Entry position + 1 for each slot of the table, 0 for a free slot. Twice as large as the entry arrays.
+    private transient int[] index;
+    // Number of used entry positions, including removed entries.
+    private transient int entryCount;
+    private transient int size;
+    private transient int modCount;
+
+    private transient Set<K> keySet;
+    private transient Collection<V> values;
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    public CompactOrderedMap() {
+        init();
+    }
+
+    public CompactOrderedMap(int expectedSize) {
+        init();
+        if (expectedSize > 0) {
+            allocate(capacityFor(expectedSize));
+        }
+    }
+
+    private void init() {
+        entryKeys = EMPTY_ENTRIES;
+        entryValues = EMPTY_ENTRIES;
+        entryHashes = EMPTY_INDEX;
+        index = EMPTY_INDEX;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        if (expectedSize >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private int positionOf(Object key) {
+        return size == 0 ? -1 : positionOf(key, hash(key));
+    }
+
+    private int positionOf(Object key, int hash) {
+        if (size == 0) {
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int position = index[slot] - 1;
+            if (position < 0) {
+                return -1;
+            }
+            if (entryHashes[position] == hash) {
+                Object candidate = entryKeys[position];
+                if (candidate == key || (key != null && candidate != REMOVED && key.equals(candidate))) {
+                    return position;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int position) {
+        return (V) entryValues[position];
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(int position) {
+        return (K) entryKeys[position];
+    }
+
+    @Override
+    public V get(Object key) {
+        int position = positionOf(key);
+        return position < 0 ? null : valueAt(position);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        int position = positionOf(key);
+        return position < 0 ? defaultValue : valueAt(position);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return positionOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return hasValue(value);
+    }
+
+    private boolean hasValue(Object value) {
+        for (int i = 0; i < entryCount; i++) {
+            if (entryKeys[i] != REMOVED && Objects.equals(entryValues[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int hash = hash(key);
+        int position = positionOf(key, hash);
+        if (position >= 0) {
+            V oldValue = valueAt(position);
+            entryValues[position] = value;
+            return oldValue;
+        }
+        addEntry(key, value, hash);
+        return null;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        int hash = hash(key);
+        int position = positionOf(key, hash);
+        if (position < 0) {
+            addEntry(key, value, hash);
+            return null;
+        }
+        V oldValue = valueAt(position);
+        if (oldValue == null) {
+            entryValues[position] = value;
+        }
+        return oldValue;
+    }
+
+    private void addEntry(Object key, Object value, int hash) {
+        if (entryCount == entryKeys.length) {
+            resize();
+        }
+        int position = entryCount++;
+        entryKeys[position] = key;
+        entryValues[position] = value;
+        entryHashes[position] = hash;
+        insertIntoIndex(hash, position);
+        size++;
+        modCount++;
+    }
+
+    private void insertIntoIndex(int hash, int position) {
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = position + 1;
+    }
+
+    /**
+     * Makes room for one more entry. If at least half of the used positions belong to removed entries the arrays are
+     * only compacted, otherwise their capacity is doubled.
+     */
+    private void resize() {
+        int capacity = entryKeys.length;
+        if (capacity == 0) {
+            allocate(DEFAULT_CAPACITY);
+            return;
+        }
+
+        int newCapacity = capacity;
+        if (size > capacity / 2) {
+            if (capacity >= MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("map size exceeds the maximum capacity: " + MAXIMUM_CAPACITY);
+            }
+            newCapacity = capacity << 1;
+        }
+
+        Object[] oldKeys = entryKeys;
+        Object[] oldValues = entryValues;
+        int[] oldHashes = entryHashes;
+        int oldCount = entryCount;
+        allocate(newCapacity);
+        int position = 0;
+        for (int i = 0; i < oldCount; i++) {
+            if (oldKeys[i] == REMOVED) {
+                continue;
+            }
+            entryKeys[position] = oldKeys[i];
+            entryValues[position] = oldValues[i];
+            entryHashes[position] = oldHashes[i];
+            insertIntoIndex(oldHashes[i], position);
+            position++;
+        }
+        entryCount = position;
+    }
+
+    private void allocate(int capacity) {
+        entryKeys = new Object[capacity];
+        entryValues = new Object[capacity];
+        entryHashes = new int[capacity];
+        index = new int[capacity << 1];
+        entryCount = 0;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int position = positionOf(key);
+        return position < 0 ? null : removeAt(position);
+    }
+
+    private V removeAt(int position) {
+        V oldValue = valueAt(position);
+        entryKeys[position] = REMOVED;
+        entryValues[position] = null;
+        size--;
+        modCount++;
+        if (size == 0) {
+            // nothing left to probe past, so start over from the first position
+            Arrays.fill(entryKeys, 0, entryCount, null);
+            Arrays.fill(index, 0);
+            entryCount = 0;
+        }
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        if (entryCount == 0) {
+            return;
+        }
+        Arrays.fill(entryKeys, 0, entryCount, null);
+        Arrays.fill(entryValues, 0, entryCount, null);
+        Arrays.fill(index, 0);
+        entryCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < entryCount; i++) {
+            if (entryKeys[i] != REMOVED) {
+                action.accept(keyAt(i), valueAt(i));
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> keys = keySet;
+        if (keys == null) {
+            keys = new KeySet();
+            keySet = keys;
+        }
+        return keys;
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> vals = values;
+        if (vals == null) {
+            vals = new Values();
+            values = vals;
+        }
+        return vals;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> entries = entrySet;
+        if (entries == null) {
+            entries = new EntrySet();
+            entrySet = entries;
+        }
+        return entries;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < entryCount; i++) {
+            if (entryKeys[i] != REMOVED) {
+                out.writeObject(entryKeys[i]);
+                out.writeObject(entryValues[i]);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        init();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("invalid map size: " + count);
+        }
+        if (count > 0) {
+            allocate(capacityFor(count));
+        }
+        for (int i = 0; i < count; i++) {
+            Object key = in.readObject();
+            Object value = in.readObject();
+            addEntry(key, value, hash(key));
+        }
+    }
+
+    /**
+     * Iterates over the live entry positions in insertion order.
+     *
+     * @param <T> the type of the iterated elements
+     */
+    private abstract class PositionIterator<T> implements Iterator<T> {
+
+        private int next = nextLivePosition(0);
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        private int nextLivePosition(int from) {
+            int position = from;
+            while (position < entryCount && entryKeys[position] == REMOVED) {
+                position++;
+            }
+            return position;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < entryCount;
+        }
+
+        int nextPosition() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= entryCount) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = nextLivePosition(next + 1);
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(lastReturned);
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class KeyIterator extends PositionIterator<K> {
+
+        @Override
+        public K next() {
+            return keyAt(nextPosition());
+        }
+    }
+
+    private final class ValueIterator extends PositionIterator<V> {
+
+        @Override
+        public V next() {
+            return valueAt(nextPosition());
+        }
+    }
+
+    private final class EntryIterator extends PositionIterator<Map.Entry<K, V>> {
+
+        @Override
+        public Map.Entry<K, V> next() {
+            int position = nextPosition();
+            return new Entry(keyAt(position), position);
+        }
+    }
+
+    /**
+     * View of a single mapping. The value is read through to the map for as long as the key is mapped, and the last
+     * value seen is returned after the key gets removed.
+     */
+    private final class Entry implements Map.Entry<K, V> {
+
+        private final K key;
+        private int position;
+        private V value;
+
+        Entry(K key, int position) {
+            this.key = key;
+            this.position = position;
+            this.value = valueAt(position);
+        }
+
+        private boolean locate() {
+            if (position < entryCount && entryKeys[position] == key) {
+                return true;
+            }
+            // the arrays got compacted or the key was removed
+            position = positionOf(key);
+            return position >= 0;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            if (locate()) {
+                value = valueAt(position);
+            }
+            return value;
+        }
+
+        @Override
+        public V setValue(V newValue) {
+            V oldValue = getValue();
+            if (locate()) {
+                entryValues[position] = newValue;
+            }
+            value = newValue;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        public Iterator<K> iterator() {
+            return new KeyIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return positionOf(o) >= 0;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            int position = positionOf(o);
+            if (position < 0) {
+                return false;
+            }
+            removeAt(position);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CompactOrderedMap.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return hasValue(o);
+        }
+
+        @Override
+        public void clear() {
+            CompactOrderedMap.this.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            int position = positionOf(entry.getKey());
+            return position >= 0 && Objects.equals(entryValues[position], entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            removeAt(positionOf(((Map.Entry<?, ?>) o).getKey()));
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CompactOrderedMap.this.clear();
+        }
+    }
+}
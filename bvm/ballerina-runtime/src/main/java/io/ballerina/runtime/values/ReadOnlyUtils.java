@@ -35,6 +35,7 @@ import io.ballerina.runtime.types.BTableType;
 import io.ballerina.runtime.types.BTupleType;
 import io.ballerina.runtime.types.BUnionType;
 import io.ballerina.runtime.types.BXMLType;
+import io.ballerina.runtime.types.TypeCheckCache;
 import io.ballerina.runtime.util.Flags;
 import io.ballerina.runtime.util.exceptions.BLangExceptionHelper;
 import io.ballerina.runtime.util.exceptions.BLangFreezeException;
@@ -177,9 +178,12 @@ public class ReadOnlyUtils {
 
                 Type origRecordRestFieldType = origRecordType.restFieldType;
                 if (origRecordRestFieldType != null) {
-                    immutableRecordType.restFieldType = getImmutableType(origRecordRestFieldType, unresolvedTypes);
+                    immutableRecordType.setRestFieldType(getImmutableType(origRecordRestFieldType, unresolvedTypes));
                 }
 
+                // The immutable record type is published before its fields are populated, hence the type check
+                // results computed in between are discarded.
+                TypeCheckCache.invalidate();
                 return intersectionType;
             case TypeTags.TABLE_TAG:
                 BTableType origTableType = (BTableType) type;
@@ -220,6 +224,9 @@ public class ReadOnlyUtils {
                                                                                           unresolvedTypes),
                                                           originalField.getFieldName(), originalField.getFlags()));
                 }
+
+                // As with records, the immutable object type is published before its fields are populated.
+                TypeCheckCache.invalidate();
                 return objectIntersectionType;
             case TypeTags.ANY_TAG:
             case TypeTags.ANYDATA_TAG:
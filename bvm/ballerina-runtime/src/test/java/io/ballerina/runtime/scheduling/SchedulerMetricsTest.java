@@ -0,0 +1,237 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package io.ballerina.runtime.scheduling;
+
+import io.ballerina.runtime.observability.metrics.AbstractMetric;
+import io.ballerina.runtime.observability.metrics.Counter;
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.Metric;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.PolledGauge;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
+import io.ballerina.runtime.observability.metrics.Tag;
+import io.ballerina.runtime.observability.metrics.noop.NoOpCounter;
+import io.ballerina.runtime.observability.metrics.noop.NoOpGauge;
+import io.ballerina.runtime.observability.metrics.spi.MetricProvider;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Test cases for the {@link SchedulerMetrics} of a {@link Scheduler}, and the gauges they are published as.
+ */
+public class SchedulerMetricsTest {
+
+    private static final String METRIC_PREFIX = "ballerina_scheduler_";
+    private static final List<String> GAUGE_NAMES = Arrays.asList(
+            "runnable_queue_depth", "active_strands", "parked_strands", "executions_total", "carrier_utilisation",
+            "execution_time_mean_nanoseconds", "schedule_latency_mean_nanoseconds");
+    private static final List<String> PERCENTILES = Arrays.asList("0.5", "0.75", "0.95", "0.99", "0.999");
+
+    private MetricRegistry registry;
+
+    @BeforeClass
+    public void setup() {
+        if (DefaultMetricRegistry.getInstance() == null) {
+            DefaultMetricRegistry.setInstance(new MetricRegistry(new PollingMetricProvider()));
+        }
+        registry = DefaultMetricRegistry.getInstance();
+    }
+
+    @BeforeMethod
+    public void removeGauges() {
+        // Gauges are registered once per name and tags, hence the gauges of an earlier scheduler are taken off.
+        for (Metric metric : registry.getAllMetrics()) {
+            if (metric.getId().getName().startsWith(METRIC_PREFIX)) {
+                registry.remove(metric.getId().getName());
+            }
+        }
+    }
+
+    @Test
+    public void testGaugesAreRegistered() {
+        SchedulerMetrics metrics = new SchedulerMetrics(new Scheduler(2, false), false, 2);
+        metrics.publish();
+
+        for (String name : GAUGE_NAMES) {
+            Assert.assertNotNull(lookup(name, Collections.emptyList()), name);
+        }
+        for (String percentile : PERCENTILES) {
+            Tag tag = Tag.of("percentile", percentile);
+            Assert.assertNotNull(lookup("execution_time_nanoseconds", Collections.singletonList(tag)), percentile);
+            Assert.assertNotNull(lookup("schedule_latency_nanoseconds", Collections.singletonList(tag)), percentile);
+        }
+        long gaugeCount = Arrays.stream(registry.getAllMetrics())
+                .filter(metric -> metric.getId().getName().startsWith(METRIC_PREFIX))
+                .count();
+        Assert.assertEquals(gaugeCount, GAUGE_NAMES.size() + 2 * PERCENTILES.size());
+
+        // publishing again does not register the gauges again
+        metrics.publish();
+        Assert.assertEquals(Arrays.stream(registry.getAllMetrics())
+                                    .filter(metric -> metric.getId().getName().startsWith(METRIC_PREFIX))
+                                    .count(), gaugeCount);
+    }
+
+    @Test(timeOut = 60000)
+    public void testQueueAndStrandGauges() {
+        Scheduler scheduler = new Scheduler(2, false);
+        SchedulerMetrics metrics = new SchedulerMetrics(scheduler, false, 2);
+        metrics.publish();
+        PolledGauge queueDepth = lookup("runnable_queue_depth", Collections.emptyList());
+        PolledGauge activeStrands = lookup("active_strands", Collections.emptyList());
+        Assert.assertEquals(queueDepth.getValue(), 0.0);
+        Assert.assertEquals(activeStrands.getValue(), 0.0);
+
+        AtomicInteger executed = new AtomicInteger();
+        Function<Object[], Object> function = params -> {
+            executed.incrementAndGet();
+            return null;
+        };
+        for (int i = 0; i < 3; i++) {
+            scheduler.schedule(new Object[1], function, null, null, null, null);
+        }
+        // each strand is in a group of its own, waiting for the scheduler to start
+        Assert.assertEquals(queueDepth.getValue(), 3.0);
+        Assert.assertEquals(activeStrands.getValue(), 3.0);
+        Assert.assertEquals(metrics.getRunnableQueueDepth(), 3);
+        Assert.assertEquals(metrics.getActiveStrands(), 3);
+
+        scheduler.start();
+        Assert.assertEquals(executed.get(), 3);
+        Assert.assertEquals(queueDepth.getValue(), 0.0);
+        Assert.assertEquals(activeStrands.getValue(), 0.0);
+    }
+
+    @Test
+    public void testParkedStrandGauge() {
+        SchedulerMetrics metrics = new SchedulerMetrics(new Scheduler(2, false), false, 2);
+        metrics.publish();
+        PolledGauge parkedStrands = lookup("parked_strands", Collections.emptyList());
+
+        metrics.strandParked();
+        metrics.strandParked();
+        Assert.assertEquals(parkedStrands.getValue(), 2.0);
+        metrics.strandUnparked();
+        Assert.assertEquals(parkedStrands.getValue(), 1.0);
+        Assert.assertEquals(metrics.getParkedStrands(), 1);
+    }
+
+    @Test
+    public void testDistributionGauges() {
+        SchedulerMetrics metrics = new SchedulerMetrics(new Scheduler(2, false), false, 2);
+        metrics.publish();
+        for (int i = 0; i < 99; i++) {
+            metrics.recordExecution(1000);
+            metrics.recordScheduleLatency(10);
+        }
+        metrics.recordExecution(100000);
+        metrics.recordScheduleLatency(5000);
+
+        Assert.assertEquals(lookup("executions_total", Collections.emptyList()).getValue(), 100.0);
+        Assert.assertEquals(metrics.getBusyTime(), 99 * 1000 + 100000);
+        Assert.assertEquals(lookup("execution_time_mean_nanoseconds", Collections.emptyList()).getValue(),
+                            (99 * 1000 + 100000) / 100.0);
+        Assert.assertEquals(lookup("schedule_latency_mean_nanoseconds", Collections.emptyList()).getValue(),
+                            (99 * 10 + 5000) / 100.0);
+        Assert.assertTrue(lookup("carrier_utilisation", Collections.emptyList()).getValue() > 0);
+
+        Assert.assertEquals(getPercentile("execution_time_nanoseconds", "0.5"), 1023.0);
+        Assert.assertEquals(getPercentile("execution_time_nanoseconds", "0.99"), 1023.0);
+        Assert.assertEquals(getPercentile("execution_time_nanoseconds", "0.999"), 131071.0);
+        Assert.assertEquals(getPercentile("schedule_latency_nanoseconds", "0.5"), 15.0);
+        Assert.assertEquals(getPercentile("schedule_latency_nanoseconds", "0.999"), 8191.0);
+        Assert.assertEquals(metrics.getExecutionTime(0.999), 131071.0);
+        Assert.assertEquals(metrics.getScheduleLatency(0.5), 15.0);
+    }
+
+    private double getPercentile(String name, String percentile) {
+        return lookup(name, Collections.singletonList(Tag.of("percentile", percentile))).getValue();
+    }
+
+    private PolledGauge lookup(String name, List<Tag> tags) {
+        List<Metric> metrics = Arrays.stream(registry.getAllMetrics())
+                .filter(metric -> metric.getId().getName().equals(METRIC_PREFIX + name))
+                .filter(metric -> metric.getId().getTags().equals(new HashSet<>(tags)))
+                .collect(Collectors.toList());
+        Assert.assertEquals(metrics.size(), 1, name + " " + tags);
+        Assert.assertTrue(metrics.get(0) instanceof PolledGauge, name);
+        return (PolledGauge) metrics.get(0);
+    }
+
+    /**
+     * Metric provider whose polled gauges compute their values, so that the published values can be checked.
+     */
+    private static class PollingMetricProvider implements MetricProvider {
+
+        @Override
+        public String getName() {
+            return "Polling";
+        }
+
+        @Override
+        public void init() {
+            // Do nothing
+        }
+
+        @Override
+        public Counter newCounter(MetricId metricId) {
+            return new NoOpCounter(metricId);
+        }
+
+        @Override
+        public Gauge newGauge(MetricId metricId, StatisticConfig... statisticConfigs) {
+            return new NoOpGauge(metricId);
+        }
+
+        @Override
+        public <T> PolledGauge newPolledGauge(MetricId metricId, T obj, ToDoubleFunction<T> toDoubleFunction) {
+            return new PollingGauge<>(metricId, obj, toDoubleFunction);
+        }
+    }
+
+    private static class PollingGauge<T> extends AbstractMetric implements PolledGauge {
+
+        private final T obj;
+        private final ToDoubleFunction<T> valueFunction;
+
+        PollingGauge(MetricId id, T obj, ToDoubleFunction<T> valueFunction) {
+            super(id);
+            this.obj = obj;
+            this.valueFunction = valueFunction;
+        }
+
+        @Override
+        public double getValue() {
+            return valueFunction.applyAsDouble(obj);
+        }
+    }
+}
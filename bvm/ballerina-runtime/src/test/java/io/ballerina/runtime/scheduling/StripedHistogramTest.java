@@ -0,0 +1,119 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package io.ballerina.runtime.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for the {@link StripedHistogram}, which counts durations in power of two nanosecond buckets and reports
+ * a percentile as the upper bound of the bucket it falls in.
+ */
+public class StripedHistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        StripedHistogram histogram = new StripedHistogram();
+        Assert.assertEquals(histogram.getCount(), 0);
+        Assert.assertEquals(histogram.getSum(), 0);
+        Assert.assertEquals(histogram.getMean(), 0.0);
+        Assert.assertEquals(histogram.getPercentile(0.5), 0.0);
+        Assert.assertEquals(histogram.getPercentile(1), 0.0);
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        // zero and negative values go to the first bucket
+        Assert.assertEquals(getMedianOf(0), 0.0);
+        Assert.assertEquals(getMedianOf(-5), 0.0);
+
+        // values in [2^(i-1), 2^i) are reported as 2^i - 1
+        Assert.assertEquals(getMedianOf(1), 1.0);
+        Assert.assertEquals(getMedianOf(2), 3.0);
+        Assert.assertEquals(getMedianOf(3), 3.0);
+        Assert.assertEquals(getMedianOf(4), 7.0);
+        Assert.assertEquals(getMedianOf(512), 1023.0);
+        Assert.assertEquals(getMedianOf(1000), 1023.0);
+        Assert.assertEquals(getMedianOf(1023), 1023.0);
+        Assert.assertEquals(getMedianOf(1024), 2047.0);
+        Assert.assertEquals(getMedianOf(Long.MAX_VALUE), Math.pow(2, 63) - 1);
+    }
+
+    @Test
+    public void testPercentiles() {
+        StripedHistogram histogram = new StripedHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(5000);
+        }
+        histogram.record(100000);
+
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.getSum(), 90 * 100 + 9 * 5000 + 100000);
+        Assert.assertEquals(histogram.getMean(), (90 * 100 + 9 * 5000 + 100000) / 100.0);
+
+        Assert.assertEquals(histogram.getPercentile(0.01), 127.0);
+        Assert.assertEquals(histogram.getPercentile(0.5), 127.0);
+        Assert.assertEquals(histogram.getPercentile(0.9), 127.0);
+        Assert.assertEquals(histogram.getPercentile(0.91), 8191.0);
+        Assert.assertEquals(histogram.getPercentile(0.99), 8191.0);
+        Assert.assertEquals(histogram.getPercentile(0.999), 131071.0);
+        Assert.assertEquals(histogram.getPercentile(1), 131071.0);
+    }
+
+    @Test(timeOut = 60000)
+    public void testConcurrentRecording() throws InterruptedException {
+        StripedHistogram histogram = new StripedHistogram();
+        int threadCount = 4;
+        int recordsPerThread = 100000;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            long value = 1L << (i * 4);
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < recordsPerThread; j++) {
+                    histogram.record(value);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(histogram.getCount(), (long) threadCount * recordsPerThread);
+        Assert.assertEquals(histogram.getSum(), (1 + 16 + 256 + 4096) * (long) recordsPerThread);
+        Assert.assertEquals(histogram.getPercentile(0.25), 1.0);
+        Assert.assertEquals(histogram.getPercentile(0.5), 31.0);
+        Assert.assertEquals(histogram.getPercentile(0.75), 511.0);
+        Assert.assertEquals(histogram.getPercentile(1), 8191.0);
+    }
+
+    private static double getMedianOf(long nanos) {
+        StripedHistogram histogram = new StripedHistogram();
+        histogram.record(nanos);
+        return histogram.getPercentile(0.5);
+    }
+}
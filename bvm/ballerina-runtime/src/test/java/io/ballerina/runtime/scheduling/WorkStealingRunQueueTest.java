@@ -0,0 +1,323 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package io.ballerina.runtime.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static io.ballerina.runtime.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * Test cases for the {@link WorkStealingRunQueue}, where each scheduler thread has a deque of its own, idle threads
+ * steal from the others and park once there is nothing to steal.
+ */
+public class WorkStealingRunQueueTest {
+
+    private static final int WORKERS = 4;
+
+    @Test(timeOut = 60000)
+    public void testOwnDequeIsLifo() throws InterruptedException {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(1, 0);
+        ItemGroup injected = newGroup();
+        ItemGroup first = newGroup();
+        ItemGroup second = newGroup();
+        queue.add(injected);
+
+        List<ItemGroup> taken = new ArrayList<>();
+        AtomicInteger queuedSize = new AtomicInteger();
+        Thread worker = new Thread(() -> {
+            try {
+                taken.add(queue.take());
+                // groups scheduled by a worker go to the head of its own deque
+                queue.add(first);
+                queue.add(second);
+                queuedSize.set(queue.size());
+                taken.add(queue.take());
+                taken.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        worker.start();
+        worker.join();
+
+        Assert.assertEquals(queuedSize.get(), 2);
+        Assert.assertEquals(taken.size(), 3);
+        Assert.assertSame(taken.get(0), injected);
+        Assert.assertSame(taken.get(1), second);
+        Assert.assertSame(taken.get(2), first);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test(timeOut = 60000)
+    public void testStealFromBusyWorker() throws InterruptedException {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(2, 0);
+        ItemGroup first = newGroup();
+        ItemGroup second = newGroup();
+        CountDownLatch pushed = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<ItemGroup> ownGroup = new AtomicReference<>();
+        queue.add(newGroup());
+
+        // the busy worker takes the injected group and schedules two more, without taking them
+        Thread busyWorker = new Thread(() -> {
+            try {
+                queue.take();
+                queue.add(first);
+                queue.add(second);
+                pushed.countDown();
+                done.await();
+                ownGroup.set(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        busyWorker.start();
+        pushed.await();
+
+        // the idle worker steals the oldest group from the tail of the busy worker's deque
+        AtomicReference<ItemGroup> stolenGroup = new AtomicReference<>();
+        Thread idleWorker = new Thread(() -> {
+            try {
+                stolenGroup.set(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        idleWorker.start();
+        idleWorker.join();
+        Assert.assertSame(stolenGroup.get(), first);
+        Assert.assertEquals(queue.size(), 1);
+
+        done.countDown();
+        busyWorker.join();
+        Assert.assertSame(ownGroup.get(), second);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test(timeOut = 60000)
+    public void testParkedWorkerWakesUpOnInjectedWork() throws InterruptedException {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(1, 0);
+        AtomicReference<ItemGroup> taken = new AtomicReference<>();
+        Thread worker = new Thread(() -> {
+            try {
+                taken.set(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        worker.start();
+        // without spinning, the worker parks as soon as it finds no work
+        while (worker.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+
+        ItemGroup group = newGroup();
+        queue.add(group);
+        worker.join();
+        Assert.assertSame(taken.get(), group);
+    }
+
+    /**
+     * An external thread hands over one group at a time, and waits for it to be taken before adding the next, while
+     * the worker goes back to parking after each of them. A group added while the worker is about to park must still
+     * wake it up, otherwise the worker parks forever and the test times out.
+     */
+    @Test(timeOut = 60000)
+    public void testNoLostWakeUpOnHandOff() throws InterruptedException {
+        int handOffs = 20000;
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(1, 0);
+        AtomicInteger taken = new AtomicInteger();
+        List<Thread> workers = startWorkers(queue, 1, group -> taken.incrementAndGet());
+
+        for (int i = 0; i < handOffs; i++) {
+            queue.add(newGroup());
+            for (int spins = ThreadLocalRandom.current().nextInt(64); spins > 0; spins--) {
+                // hand over the next group at a different point of the worker going back to park
+                Thread.onSpinWait();
+            }
+            while (taken.get() <= i) {
+                Thread.onSpinWait();
+            }
+        }
+
+        queue.add(POISON_PILL);
+        workers.get(0).join();
+        Assert.assertEquals(taken.get(), handOffs);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    /**
+     * External threads inject groups while the workers go back and forth between taking them and parking. A wake-up
+     * lost between a worker finding no work and parking leaves the group in the queue with every worker parked, and
+     * the test times out.
+     */
+    @Test(timeOut = 60000)
+    public void testNoLostWakeUpsOnInjectedWork() throws InterruptedException {
+        int groupsPerProducer = 20000;
+        int producerCount = 2;
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(WORKERS, 0);
+        AtomicInteger taken = new AtomicInteger();
+
+        List<Thread> workers = startWorkers(queue, WORKERS, group -> taken.incrementAndGet());
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < producerCount; i++) {
+            producers.add(new Thread(() -> {
+                for (int j = 0; j < groupsPerProducer; j++) {
+                    queue.add(newGroup());
+                    if (ThreadLocalRandom.current().nextInt(8) == 0) {
+                        // give the workers time to park
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        while (taken.get() < producerCount * groupsPerProducer) {
+            Thread.sleep(1);
+        }
+
+        for (int i = 0; i < WORKERS; i++) {
+            queue.add(POISON_PILL);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Assert.assertEquals(taken.get(), producerCount * groupsPerProducer);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    /**
+     * The poison pills are injected once the last strand is done, when the workers may still have groups of their own
+     * and be stealing from each other. Each worker stops at the first poison pill it takes, after every group it
+     * scheduled itself, hence none of the groups is left behind.
+     */
+    @Test(timeOut = 60000)
+    public void testPoisonPillShutdown() throws InterruptedException {
+        int forks = 3;
+        int depth = 6;
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(WORKERS, 0);
+        Set<ItemGroup> scheduled = ConcurrentHashMap.newKeySet();
+        Set<ItemGroup> taken = ConcurrentHashMap.newKeySet();
+        AtomicInteger remaining = new AtomicInteger(1);
+        AtomicInteger takenTwice = new AtomicInteger();
+        ConcurrentHashMap<ItemGroup, Integer> depths = new ConcurrentHashMap<>();
+
+        ItemGroup root = newGroup();
+        depths.put(root, 0);
+        scheduled.add(root);
+        List<Thread> workers = startWorkers(queue, WORKERS, group -> {
+            if (!taken.add(group)) {
+                takenTwice.incrementAndGet();
+            }
+            int groupDepth = depths.get(group);
+            if (groupDepth < depth) {
+                // each group schedules more groups on the deque of the worker running it
+                for (int i = 0; i < forks; i++) {
+                    ItemGroup child = newGroup();
+                    depths.put(child, groupDepth + 1);
+                    scheduled.add(child);
+                    remaining.incrementAndGet();
+                    queue.add(child);
+                }
+            }
+            if (remaining.decrementAndGet() == 0) {
+                // the same as the scheduler when the last strand is done
+                for (int i = 0; i < WORKERS; i++) {
+                    queue.add(POISON_PILL);
+                }
+            }
+        });
+        queue.add(root);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Assert.assertEquals(takenTwice.get(), 0);
+        Assert.assertEquals(taken, scheduled);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test(timeOut = 60000)
+    public void testPoisonPillAfterInjectedWork() throws InterruptedException {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(WORKERS, 0);
+        List<ItemGroup> groups = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ItemGroup group = newGroup();
+            groups.add(group);
+            queue.add(group);
+        }
+        for (int i = 0; i < WORKERS; i++) {
+            queue.add(POISON_PILL);
+        }
+
+        // the poison pills are taken after the groups injected before them
+        Set<ItemGroup> taken = ConcurrentHashMap.newKeySet();
+        List<Thread> workers = startWorkers(queue, WORKERS, taken::add);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Assert.assertEquals(taken.size(), groups.size());
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    /**
+     * Starts the worker threads, which run each group they take until they take a poison pill.
+     */
+    private static List<Thread> startWorkers(WorkStealingRunQueue queue, int workerCount,
+                                             Consumer<ItemGroup> runner) {
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    ItemGroup group = queue.take();
+                    while (group != POISON_PILL) {
+                        runner.accept(group);
+                        group = queue.take();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        return workers;
+    }
+
+    private static ItemGroup newGroup() {
+        return new ItemGroup(new SchedulerItem((Function<Object[], Object>) params -> null, new Object[0], null));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.BLock;
+import io.ballerina.runtime.scheduling.Scheduler;
+import io.ballerina.runtime.scheduling.State;
+import io.ballerina.runtime.scheduling.Strand;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the shared read locks of {@link BLock}.
+ * <p>
+ * A strand which does not get the lock is blocked, and is unblocked once the lock is handed to it. It then locks
+ * again when it resumes, which succeeds without waiting.
+ */
+public class BLockTest {
+
+    private Scheduler scheduler;
+    private BLock lock;
+
+    @BeforeMethod
+    public void setup() {
+        scheduler = new Scheduler(1, false);
+        lock = new BLock();
+    }
+
+    @Test
+    public void testReadersShareLock() {
+        Strand reader1 = createStrand("reader1");
+        Strand reader2 = createStrand("reader2");
+        Strand writer = createStrand("writer");
+
+        Assert.assertTrue(lock.readLock(reader1));
+        Assert.assertTrue(lock.readLock(reader2));
+        Assert.assertFalse(lock.lock(writer));
+        Assert.assertTrue(writer.isBlocked());
+
+        // The writer waits for all the readers
+        lock.readUnlock();
+        Assert.assertTrue(writer.isBlocked());
+        lock.readUnlock();
+        assertUnblocked(writer);
+        Assert.assertTrue(lock.lock(writer));
+        Assert.assertFalse(lock.isLockFree());
+    }
+
+    @Test
+    public void testWaitingWriterBlocksNewReaders() {
+        Strand reader1 = createStrand("reader1");
+        Strand reader2 = createStrand("reader2");
+        Strand writer = createStrand("writer");
+
+        Assert.assertTrue(lock.readLock(reader1));
+        Assert.assertFalse(lock.lock(writer));
+        // A reader arriving after the writer waits for it, even though the lock is only read
+        Assert.assertFalse(lock.readLock(reader2));
+        Assert.assertTrue(reader2.isBlocked());
+
+        lock.readUnlock();
+        assertUnblocked(writer);
+        Assert.assertTrue(reader2.isBlocked());
+        Assert.assertTrue(lock.lock(writer));
+
+        lock.unlock();
+        assertUnblocked(reader2);
+        Assert.assertTrue(lock.readLock(reader2));
+        lock.readUnlock();
+        Assert.assertTrue(lock.isLockFree());
+    }
+
+    @Test
+    public void testHandOverFromWriterToReadersAndBack() {
+        Strand writer1 = createStrand("writer1");
+        Strand reader1 = createStrand("reader1");
+        Strand reader2 = createStrand("reader2");
+        Strand writer2 = createStrand("writer2");
+
+        Assert.assertTrue(lock.lock(writer1));
+        Assert.assertFalse(lock.readLock(reader1));
+        Assert.assertFalse(lock.readLock(reader2));
+        Assert.assertFalse(lock.lock(writer2));
+
+        // The readers which waited go before the next writer, and share the lock
+        lock.unlock();
+        assertUnblocked(reader1);
+        assertUnblocked(reader2);
+        Assert.assertTrue(writer2.isBlocked());
+        Assert.assertTrue(lock.readLock(reader1));
+        Assert.assertTrue(lock.readLock(reader2));
+
+        lock.readUnlock();
+        Assert.assertTrue(writer2.isBlocked());
+        lock.readUnlock();
+        assertUnblocked(writer2);
+        Assert.assertTrue(lock.lock(writer2));
+
+        lock.unlock();
+        Assert.assertTrue(lock.isLockFree());
+        Assert.assertTrue(lock.readLock(createStrand("reader3")));
+    }
+
+    @Test
+    public void testHandOverBetweenWriters() {
+        Strand writer1 = createStrand("writer1");
+        Strand writer2 = createStrand("writer2");
+        Strand reader = createStrand("reader");
+
+        Assert.assertTrue(lock.lock(writer1));
+        Assert.assertFalse(lock.lock(writer2));
+
+        // The lock is handed to the waiting writer before a reader can take it
+        lock.unlock();
+        assertUnblocked(writer2);
+        Assert.assertFalse(lock.isLockFree());
+        Assert.assertFalse(lock.readLock(reader));
+        Assert.assertTrue(lock.lock(writer2));
+
+        lock.unlock();
+        assertUnblocked(reader);
+        Assert.assertTrue(lock.readLock(reader));
+    }
+
+    @Test
+    public void testReadLockUnderOwnWriteLock() {
+        Strand writer = createStrand("writer");
+        Strand other = createStrand("other");
+
+        Assert.assertTrue(lock.lock(writer));
+        // A strand holding the lock can read, and lock again, the variables it guards
+        Assert.assertTrue(lock.readLock(writer));
+        Assert.assertTrue(lock.lock(writer));
+        Assert.assertFalse(lock.readLock(other));
+
+        lock.unlock();
+        lock.readUnlock();
+        Assert.assertTrue(other.isBlocked());
+        lock.unlock();
+        assertUnblocked(other);
+        Assert.assertTrue(lock.readLock(other));
+    }
+
+    private Strand createStrand(String name) {
+        return new Strand(name, null, scheduler, null, null);
+    }
+
+    private void assertUnblocked(Strand strand) {
+        // A strand which is not parked yet is marked as yielded, so that the scheduler reschedules it
+        Assert.assertEquals(strand.getState(), State.YIELD);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.values.CompactOrderedMap;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Test cases for {@link CompactOrderedMap}, checked against {@link LinkedHashMap}.
+ */
+public class CompactOrderedMapTest {
+
+    @Test
+    public void testRandomOperationsMatchLinkedHashMap() {
+        Random random = new Random(42);
+        CompactOrderedMap<BString, Long> map = new CompactOrderedMap<>();
+        Map<BString, Long> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < 100000; i++) {
+            BString key = StringUtils.fromString("key" + random.nextInt(500));
+            switch (random.nextInt(10)) {
+                case 0:
+                case 1:
+                case 2:
+                    Assert.assertEquals(map.remove(key), expected.remove(key));
+                    break;
+                case 3:
+                    Assert.assertEquals(map.get(key), expected.get(key));
+                    Assert.assertEquals(map.containsKey(key), expected.containsKey(key));
+                    break;
+                case 4:
+                    if (random.nextInt(200) == 0) {
+                        map.clear();
+                        expected.clear();
+                    }
+                    break;
+                default:
+                    long value = random.nextLong();
+                    Assert.assertEquals(map.put(key, value), expected.put(key, value));
+                    break;
+            }
+            Assert.assertEquals(map.size(), expected.size());
+        }
+
+        Assert.assertEquals(new ArrayList<>(map.keySet()), new ArrayList<>(expected.keySet()));
+        Assert.assertEquals(new ArrayList<>(map.values()), new ArrayList<>(expected.values()));
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(map.hashCode(), expected.hashCode());
+    }
+
+    @Test
+    public void testReinsertedKeyMovesToTheEnd() {
+        CompactOrderedMap<String, Integer> map = new CompactOrderedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        map.remove("a");
+        map.put("a", 4);
+        map.put("b", 5);
+
+        Assert.assertEquals(new ArrayList<>(map.keySet()), List.of("b", "c", "a"));
+        Assert.assertEquals(new ArrayList<>(map.values()), List.of(5, 3, 4));
+    }
+
+    @Test
+    public void testIteratorRemoveAndEntryUpdate() {
+        CompactOrderedMap<String, Integer> map = new CompactOrderedMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put("k" + i, i);
+        }
+
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Integer> entry = iterator.next();
+            if (entry.getValue() % 2 == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue(entry.getValue() * 10);
+            }
+        }
+
+        Assert.assertEquals(map.size(), 10);
+        Assert.assertNull(map.get("k0"));
+        Assert.assertEquals(map.get("k19"), Integer.valueOf(190));
+        Assert.assertEquals(map.keySet().iterator().next(), "k1");
+    }
+
+    @Test(expectedExceptions = ConcurrentModificationException.class)
+    public void testModificationDuringIterationFails() {
+        CompactOrderedMap<String, Integer> map = new CompactOrderedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        for (String key : map.keySet()) {
+            map.put(key + key, 0);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.JSONParser;
+import io.ballerina.runtime.JSONParser.NonStringValueProcessingMode;
+import io.ballerina.runtime.TypeChecker;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+
+/**
+ * Test cases for {@link JSONParser.ArrayMemberReader}.
+ */
+public class JSONArrayMemberReaderTest {
+
+    @Test
+    public void testMembersMatchParsedArray() {
+        String json = " [1, \"two\", null, 4.5, {\"a\": [true, {}]}, [], -0, 'x' ] ";
+        BArray expected = (BArray) JSONParser.parse(json);
+        JSONParser.ArrayMemberReader reader = createReader(new StringReader(json));
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertTrue(reader.hasNext());
+            Assert.assertTrue(TypeChecker.isEqual(reader.next(), expected.get(i)), "member " + i);
+        }
+        Assert.assertFalse(reader.hasNext());
+        Assert.assertFalse(createReader(new StringReader("[ ]")).hasNext());
+    }
+
+    @Test
+    public void testLargeArrayIsReadLazily() {
+        long memberCount = 1_000_000;
+        Reader json = new Reader() {
+            private long member = -1;
+            private String pending = "";
+
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                if (pending.isEmpty()) {
+                    if (member > memberCount) {
+                        return -1;
+                    }
+                    pending = member < 0 ? "[" : member == memberCount ? "]" :
+                            (member == 0 ? "" : ",") + "{\"id\":" + member + "}";
+                    member++;
+                }
+                int n = Math.min(len, pending.length());
+                pending.getChars(0, n, cbuf, off);
+                pending = pending.substring(n);
+                return n;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        JSONParser.ArrayMemberReader reader = createReader(json);
+        long count = 0;
+        while (reader.hasNext()) {
+            reader.next();
+            count++;
+        }
+        Assert.assertEquals(count, memberCount);
+    }
+
+    @Test(expectedExceptions = BallerinaException.class, expectedExceptionsMessageRegExp = "expected \\[.*")
+    public void testNonArrayDocument() {
+        createReader(new StringReader("{\"a\": 1}")).hasNext();
+    }
+
+    @Test(expectedExceptions = BallerinaException.class)
+    public void testTruncatedArray() {
+        JSONParser.ArrayMemberReader reader = createReader(new StringReader("[1, {\"a\": 2"));
+        Assert.assertEquals(reader.next(), 1L);
+        reader.next();
+    }
+
+    private static JSONParser.ArrayMemberReader createReader(Reader reader) {
+        return new JSONParser.ArrayMemberReader(reader, NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.scheduling.AsyncUtils;
+import io.ballerina.runtime.scheduling.Scheduler;
+import io.ballerina.runtime.scheduling.State;
+import io.ballerina.runtime.scheduling.Strand;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Stress tests for strand state transitions in {@link Scheduler}.
+ */
+public class SchedulerStressTest {
+
+    private static final int STRANDS = 2000;
+    private static final int BLOCKS_PER_STRAND = 50;
+
+    /**
+     * Every strand blocks repeatedly and gets unblocked from another thread, racing with the scheduler parking it.
+     * A lost wake-up leaves a strand parked forever, which would keep the scheduler from shutting down.
+     */
+    @Test(timeOut = 60000)
+    public void testNoLostWakeUpsOnBlockAndUnblock() {
+        Scheduler scheduler = new Scheduler(4, false);
+        ExecutorService unblockers = Executors.newFixedThreadPool(4);
+        AtomicInteger completed = new AtomicInteger();
+
+        Function<Object[], Object> blockingFunction = params -> {
+            Strand strand = (Strand) params[0];
+            if (strand.resumeIndex == BLOCKS_PER_STRAND) {
+                completed.incrementAndGet();
+                return null;
+            }
+            strand.resumeIndex++;
+            strand.setState(State.BLOCK_AND_YIELD);
+            if (ThreadLocalRandom.current().nextInt(4) == 0) {
+                // unblocked before the strand even returns to the scheduler
+                scheduler.unblockStrand(strand);
+            } else {
+                unblockers.execute(() -> {
+                    if (ThreadLocalRandom.current().nextBoolean()) {
+                        Thread.yield();
+                    }
+                    scheduler.unblockStrand(strand);
+                });
+            }
+            return null;
+        };
+
+        try {
+            for (int i = 0; i < STRANDS; i++) {
+                scheduler.schedule(new Object[1], blockingFunction, null, null, null, null);
+            }
+            // returns once all the strands are done
+            scheduler.start();
+        } finally {
+            unblockers.shutdownNow();
+        }
+
+        Assert.assertEquals(completed.get(), STRANDS);
+    }
+
+    /**
+     * Strands that only yield must always be rescheduled, including yields racing with other strands of the group.
+     */
+    @Test(timeOut = 60000)
+    public void testYieldingStrandsComplete() {
+        Scheduler scheduler = new Scheduler(4, false);
+        AtomicInteger completed = new AtomicInteger();
+
+        Function<Object[], Object> yieldingFunction = params -> {
+            Strand strand = (Strand) params[0];
+            if (strand.resumeIndex == BLOCKS_PER_STRAND) {
+                completed.incrementAndGet();
+                return null;
+            }
+            strand.resumeIndex++;
+            strand.setState(State.YIELD);
+            return null;
+        };
+
+        for (int i = 0; i < STRANDS; i++) {
+            scheduler.schedule(new Object[1], yieldingFunction, null, null, null, null);
+        }
+        scheduler.start();
+
+        Assert.assertEquals(completed.get(), STRANDS);
+    }
+
+    /**
+     * A strand which blocks again before returning to the scheduler, e.g. when an external call restores the blocked
+     * state, must not drop an unblock which arrived in between.
+     */
+    @Test(timeOut = 60000)
+    public void testNoLostWakeUpsOnReBlock() {
+        Scheduler scheduler = new Scheduler(4, false);
+        ExecutorService unblockers = Executors.newFixedThreadPool(4);
+        AtomicInteger completed = new AtomicInteger();
+
+        Function<Object[], Object> blockingFunction = params -> {
+            Strand strand = (Strand) params[0];
+            if (strand.resumeIndex == BLOCKS_PER_STRAND) {
+                completed.incrementAndGet();
+                return null;
+            }
+            strand.resumeIndex++;
+            strand.setState(State.BLOCK_AND_YIELD);
+            unblockers.execute(() -> scheduler.unblockStrand(strand));
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                Thread.yield();
+            }
+            strand.setState(State.BLOCK_AND_YIELD);
+            return null;
+        };
+
+        try {
+            for (int i = 0; i < STRANDS; i++) {
+                scheduler.schedule(new Object[1], blockingFunction, null, null, null, null);
+            }
+            scheduler.start();
+        } finally {
+            unblockers.shutdownNow();
+        }
+
+        Assert.assertEquals(completed.get(), STRANDS);
+    }
+
+    /**
+     * A strand which calls an asynchronous external function after an unrelated unblock must stay blocked until the
+     * external call completes, since it reads the result of the call when it resumes.
+     */
+    @Test(timeOut = 60000)
+    public void testExternCallIgnoresEarlierUnblock() {
+        Scheduler scheduler = new Scheduler(4, false);
+        ExecutorService callbacks = Executors.newFixedThreadPool(4);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger earlyResumes = new AtomicInteger();
+
+        Function<Object[], Object> externFunction = params -> {
+            Strand strand = (Strand) params[0];
+            if (strand.blockedOnExtern) {
+                strand.blockedOnExtern = false;
+                if (!Integer.valueOf(strand.resumeIndex).equals(strand.returnValue)) {
+                    earlyResumes.incrementAndGet();
+                }
+            }
+            if (strand.resumeIndex == BLOCKS_PER_STRAND) {
+                completed.incrementAndGet();
+                return null;
+            }
+            strand.resumeIndex++;
+            strand.returnValue = null;
+            // an unblock left over while the strand is running, e.g. from a worker which already sent its message
+            scheduler.unblockStrand(strand);
+            CompletableFuture<Object> future = AsyncUtils.markAsync();
+            int result = strand.resumeIndex;
+            callbacks.execute(() -> {
+                if (ThreadLocalRandom.current().nextBoolean()) {
+                    Thread.yield();
+                }
+                future.complete(result);
+            });
+            return null;
+        };
+
+        try {
+            for (int i = 0; i < STRANDS; i++) {
+                scheduler.schedule(new Object[1], externFunction, null, null, null, null);
+            }
+            scheduler.start();
+        } finally {
+            callbacks.shutdownNow();
+        }
+
+        Assert.assertEquals(earlyResumes.get(), 0);
+        Assert.assertEquals(completed.get(), STRANDS);
+    }
+
+    @Test
+    public void testBlockingKeepsPendingUnblock() {
+        Scheduler scheduler = new Scheduler(1, false);
+        Strand strand = new Strand("test", null, scheduler, null, null);
+
+        strand.setState(State.BLOCK_AND_YIELD);
+        Assert.assertTrue(strand.isBlocked());
+        // unblocked before returning to the scheduler
+        scheduler.unblockStrand(strand);
+        Assert.assertEquals(strand.getState(), State.YIELD);
+
+        strand.setState(State.BLOCK_ON_AND_YIELD);
+        Assert.assertEquals(strand.getState(), State.YIELD);
+        Assert.assertFalse(strand.isBlocked());
+
+        strand.setState(State.RUNNABLE);
+        Assert.assertEquals(strand.getState(), State.RUNNABLE);
+        strand.setState(State.BLOCK_ON_AND_YIELD);
+        Assert.assertTrue(strand.isBlockedOn());
+    }
+}
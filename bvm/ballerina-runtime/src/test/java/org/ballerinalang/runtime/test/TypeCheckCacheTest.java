@@ -0,0 +1,170 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.TypeChecker;
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.types.AttachedFunctionType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.types.BField;
+import io.ballerina.runtime.types.BIntersectionType;
+import io.ballerina.runtime.types.BMapType;
+import io.ballerina.runtime.types.BObjectType;
+import io.ballerina.runtime.types.BRecordType;
+import io.ballerina.runtime.types.TypeCheckCache;
+import io.ballerina.runtime.util.Flags;
+import io.ballerina.runtime.values.ReadOnlyUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test cases for the caching of type checks in {@link TypeCheckCache}.
+ */
+public class TypeCheckCacheTest {
+
+    private static final Module MODULE = new Module("testorg", "cache", "1.0.0");
+
+    @Test
+    public void testCachedResultIsReused() {
+        BRecordType source = createRecordType("Source", PredefinedTypes.TYPE_INT);
+        BRecordType target = createRecordType("Target", PredefinedTypes.TYPE_INT);
+
+        Assert.assertNull(TypeCheckCache.get(source, target));
+        Assert.assertTrue(TypeChecker.checkIsType(source, target));
+        Assert.assertEquals(TypeCheckCache.get(source, target), Boolean.TRUE);
+        Assert.assertTrue(TypeChecker.checkIsType(source, target));
+    }
+
+    @Test
+    public void testSettingFieldsInvalidatesCachedResults() {
+        BRecordType source = createRecordType("MutableSource", PredefinedTypes.TYPE_INT);
+        BRecordType target = createRecordType("MutableTarget", PredefinedTypes.TYPE_INT);
+        Assert.assertTrue(TypeChecker.checkIsType(source, target));
+
+        source.setFields(createFields(PredefinedTypes.TYPE_STRING));
+        Assert.assertNull(TypeCheckCache.get(source, target));
+        Assert.assertFalse(TypeChecker.checkIsType(source, target));
+    }
+
+    @Test
+    public void testStaleResultIsNotCached() {
+        BRecordType source = createRecordType("StaleSource", PredefinedTypes.TYPE_INT);
+        BRecordType target = createRecordType("StaleTarget", PredefinedTypes.TYPE_INT);
+
+        int version = TypeCheckCache.getVersion();
+        TypeCheckCache.invalidate();
+        TypeCheckCache.put(source, target, true, version);
+        Assert.assertNull(TypeCheckCache.get(source, target));
+    }
+
+    @Test
+    public void testSettingRestFieldTypeInvalidatesCachedResults() {
+        BRecordType source = createOpenRecordType("OpenSource", PredefinedTypes.TYPE_INT);
+        BRecordType target = createOpenRecordType("OpenTarget", PredefinedTypes.TYPE_INT);
+        Assert.assertTrue(TypeChecker.checkIsType(source, target));
+
+        source.setRestFieldType(PredefinedTypes.TYPE_STRING);
+        Assert.assertNull(TypeCheckCache.get(source, target));
+        Assert.assertFalse(TypeChecker.checkIsType(source, target));
+    }
+
+    @Test
+    public void testReadOnlyRecordTypeInvalidatesCachedResults() {
+        BRecordType source = createRecordType("ReadOnlySource", PredefinedTypes.TYPE_INT);
+        BRecordType target = createRecordType("ReadOnlyTarget", PredefinedTypes.TYPE_INT);
+
+        // A check which started before the fields of the read-only record type were populated is not cached.
+        int version = TypeCheckCache.getVersion();
+        Type readOnlyType = ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(source);
+        TypeCheckCache.put(readOnlyType, target, false, version);
+        Assert.assertNull(TypeCheckCache.get(readOnlyType, target));
+        Assert.assertTrue(TypeChecker.checkIsType(readOnlyType, target));
+    }
+
+    @Test
+    public void testReadOnlyRecordTypeWithRestFieldInvalidatesCachedResults() {
+        BRecordType source = createOpenRecordType("ReadOnlyOpenSource", PredefinedTypes.TYPE_INT);
+        BRecordType target = createOpenRecordType("ReadOnlyOpenTarget", PredefinedTypes.TYPE_INT);
+
+        int version = TypeCheckCache.getVersion();
+        Type readOnlyType = ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(source);
+        TypeCheckCache.put(readOnlyType, target, false, version);
+        Assert.assertNull(TypeCheckCache.get(readOnlyType, target));
+        Assert.assertEquals(((BRecordType) readOnlyType).getRestFieldType(), PredefinedTypes.TYPE_INT);
+        Assert.assertTrue(TypeChecker.checkIsType(readOnlyType, target));
+    }
+
+    @Test
+    public void testReadOnlyObjectTypeInvalidatesCachedResults() {
+        BObjectType source = new BObjectType("ReadOnlyObjectSource", MODULE, 0);
+        BObjectType target = createObjectType("ReadOnlyObjectTarget", PredefinedTypes.TYPE_ANY);
+        AtomicBoolean resultWhilePopulating = new AtomicBoolean(true);
+        // The type of the field is made immutable while the fields of the immutable object type are populated. A
+        // check of the published immutable object type at that point sees no fields, and its result is cached.
+        BMapType fieldType = new BMapType(PredefinedTypes.TYPE_INT) {
+            @Override
+            public Type getConstrainedType() {
+                if (source.getImmutableType() != null) {
+                    resultWhilePopulating.set(TypeChecker.checkIsType(
+                            ((BIntersectionType) source.getImmutableType()).getEffectiveType(), target));
+                }
+                return super.getConstrainedType();
+            }
+        };
+        source.setFields(createFields(fieldType));
+        source.setAttachedFunctions(new AttachedFunctionType[0]);
+
+        Type readOnlyType = ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(source);
+        Assert.assertFalse(resultWhilePopulating.get());
+        Assert.assertNull(TypeCheckCache.get(readOnlyType, target));
+        Assert.assertTrue(TypeChecker.checkIsType(readOnlyType, target));
+    }
+
+    private static BObjectType createObjectType(String name, Type fieldType) {
+        BObjectType objectType = new BObjectType(name, MODULE, 0);
+        objectType.setFields(createFields(fieldType));
+        objectType.setAttachedFunctions(new AttachedFunctionType[0]);
+        return objectType;
+    }
+
+    private static BRecordType createOpenRecordType(String name, Type restFieldType) {
+        BRecordType recordType = new BRecordType(name, MODULE, 0, false, 0);
+        recordType.setFields(createFields(PredefinedTypes.TYPE_INT));
+        recordType.setRestFieldType(restFieldType);
+        return recordType;
+    }
+
+    private static BRecordType createRecordType(String name, Type fieldType) {
+        BRecordType recordType = new BRecordType(name, MODULE, 0, true, 0);
+        recordType.setFields(createFields(fieldType));
+        return recordType;
+    }
+
+    private static Map<String, Field> createFields(Type fieldType) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("x", new BField(fieldType, "x", Flags.REQUIRED));
+        return fields;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.JSONParser;
+import io.ballerina.runtime.TypeChecker;
+import io.ballerina.runtime.TypedJSONParser;
+import io.ballerina.runtime.api.ErrorCreator;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.StringUtils;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.types.BArrayType;
+import io.ballerina.runtime.types.BMapType;
+import io.ballerina.runtime.util.exceptions.BallerinaException;
+import io.ballerina.runtime.values.TypedescValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiFunction;
+
+/**
+ * Test cases for {@link TypedJSONParser}.
+ */
+public class TypedJSONParserTest {
+
+    private static final BiFunction<Object, Type, Object> NO_CONVERSION = (value, type) -> {
+        throw new AssertionError("unexpected conversion to " + type);
+    };
+
+    @Test
+    public void testJsonMatchesJSONParser() {
+        String json = "{\"name\":\"a\\\"b\\u0041\", 'quoted':'x', \"values\":[1, -0, 2.50, true, null, {}, []]," +
+                " \"nested\":{\"inner\":[{\"k\":-12}]}}";
+        Object expected = JSONParser.parse(json);
+        Object actual = TypedJSONParser.parse(json, new TypedescValueImpl(PredefinedTypes.TYPE_JSON), NO_CONVERSION);
+        Assert.assertTrue(TypeChecker.isEqual(actual, expected));
+        Assert.assertEquals(TypeChecker.getType(actual).toString(), TypeChecker.getType(expected).toString());
+    }
+
+    @Test
+    public void testPrimitiveArrays() {
+        BArray ints = (BArray) TypedJSONParser.parse("[1, -2, +3, 9223372036854775807]",
+                new TypedescValueImpl(new BArrayType(PredefinedTypes.TYPE_INT)), NO_CONVERSION);
+        Assert.assertEquals(ints.getIntArray(), new long[]{1, -2, 3, Long.MAX_VALUE});
+
+        BArray floats = (BArray) TypedJSONParser.parse("[1, 2.5, -0.0, 1.0e2]",
+                new TypedescValueImpl(new BArrayType(PredefinedTypes.TYPE_FLOAT)), NO_CONVERSION);
+        Assert.assertEquals(floats.size(), 4);
+        Assert.assertEquals(floats.getFloat(0), 1.0);
+        Assert.assertEquals(floats.getFloat(1), 2.5);
+        Assert.assertEquals(floats.getFloat(3), 100.0);
+        Assert.assertEquals(1 / floats.getFloat(2), Double.NEGATIVE_INFINITY);
+    }
+
+    @Test
+    public void testStreamAcrossBufferBoundaries() {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < 5000; i++) {
+            json.append(i == 0 ? "" : ",").append("\"\u043a\u043b\u044e\u0447").append(i).append("\":").append(i);
+        }
+        json.append("}");
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        TypedescValueImpl typedesc = new TypedescValueImpl(new BMapType(PredefinedTypes.TYPE_INT));
+
+        BMap<BString, Object> fromStream = (BMap<BString, Object>) TypedJSONParser.parse(
+                new ByteArrayInputStream(bytes), typedesc, NO_CONVERSION);
+        BMap<BString, Object> fromBuffer = (BMap<BString, Object>) TypedJSONParser.parse(
+                ByteBuffer.wrap(bytes), typedesc, NO_CONVERSION);
+        Assert.assertEquals(fromStream.size(), 5000);
+        Assert.assertEquals(fromStream.get(StringUtils.fromString("\u043a\u043b\u044e\u04474999")), 4999L);
+        Assert.assertTrue(TypeChecker.isEqual(fromStream, fromBuffer));
+    }
+
+    @Test(expectedExceptions = BError.class)
+    public void testMismatchedMember() {
+        TypedJSONParser.parse("[1, \"2\"]", new TypedescValueImpl(new BArrayType(PredefinedTypes.TYPE_INT)),
+                              NO_CONVERSION);
+    }
+
+    @Test(expectedExceptions = BallerinaException.class)
+    public void testIncompleteDocument() {
+        TypedJSONParser.parse("[1, 2", new TypedescValueImpl(new BArrayType(PredefinedTypes.TYPE_INT)),
+                              NO_CONVERSION);
+    }
+
+    @Test
+    public void testMismatchedMemberMessage() {
+        // the document as a whole cannot be converted, as when converting the value parsed by the JSONParser
+        BError error = parseError("[1, [2], {\"a\": 3}, \"4\"]", new BArrayType(PredefinedTypes.TYPE_INT),
+                                  NO_CONVERSION);
+        Assert.assertEquals(getDetailMessage(error), "'json[]' value cannot be converted to 'int[]'");
+
+        error = parseError("{\"a\": 1, \"b\": null}", new BMapType(PredefinedTypes.TYPE_INT), NO_CONVERSION);
+        Assert.assertEquals(getDetailMessage(error), "'map<json>' value cannot be converted to 'map<int>'");
+    }
+
+    @Test(expectedExceptions = BallerinaException.class)
+    public void testSyntaxErrorAfterMismatchedMember() {
+        TypedJSONParser.parse("[\"1\", 2, {]", new TypedescValueImpl(new BArrayType(PredefinedTypes.TYPE_INT)),
+                              NO_CONVERSION);
+    }
+
+    @Test
+    public void testConverterError() {
+        BError converterError = ErrorCreator.createError(StringUtils.fromString("converter error"));
+        BiFunction<Object, Type, Object> failingConversion = (value, type) -> {
+            throw converterError;
+        };
+        BMapType xmlMapType = new BMapType(PredefinedTypes.TYPE_XML);
+        Assert.assertSame(parseError("{\"a\": \"<a>\", \"b\": \"<b>\"}", xmlMapType, failingConversion),
+                          converterError);
+
+        // a member which cannot be converted at all fails the document as a whole, even after a converter error
+        BError error = parseError("{\"a\": \"<a>\", \"b\": 1}", xmlMapType, failingConversion);
+        Assert.assertEquals(getDetailMessage(error), "'map<json>' value cannot be converted to '" + xmlMapType + "'");
+    }
+
+    @Test
+    public void testBasicValueDocument() {
+        Object value = TypedJSONParser.parse(" 12 ", new TypedescValueImpl(PredefinedTypes.TYPE_INT),
+                                             (json, type) -> (Long) json + 1);
+        Assert.assertEquals(value, 13L);
+    }
+
+    private static BError parseError(String json, Type type, BiFunction<Object, Type, Object> converter) {
+        try {
+            TypedJSONParser.parse(json, new TypedescValueImpl(type), converter);
+        } catch (BError e) {
+            return e;
+        }
+        throw new AssertionError("expected a conversion error for " + json);
+    }
+
+    private static String getDetailMessage(BError error) {
+        return ((BMap<BString, Object>) error.getDetails()).get(StringUtils.fromString("message")).toString();
+    }
+}
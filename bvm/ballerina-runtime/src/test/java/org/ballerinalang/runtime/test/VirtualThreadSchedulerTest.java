@@ -0,0 +1,160 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.scheduling.Scheduler;
+import io.ballerina.runtime.scheduling.State;
+import io.ballerina.runtime.scheduling.Strand;
+import io.ballerina.runtime.util.BLangConstants;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Tests for executing strands on virtual threads in the {@link Scheduler}.
+ * <p>
+ * The mode is picked from the BALLERINA_VIRTUAL_THREADS and BALLERINA_MAX_VIRTUAL_THREADS system variables, which
+ * the virtualThreadTest task sets. Without them, or on a JDK without virtual threads, the same tests check that
+ * strands keep running on the scheduler threads.
+ */
+public class VirtualThreadSchedulerTest {
+
+    private static final String VIRTUAL_THREAD_PREFIX = "jbal-strand-virtual-";
+    private static final int BLOCKING_STRANDS = 12;
+
+    @Test(timeOut = 60000)
+    public void testStrandsRunOnVirtualThreads() {
+        Scheduler scheduler = new Scheduler(2, false);
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        Function<Object[], Object> function = params -> {
+            threadNames.add(Thread.currentThread().getName());
+            return null;
+        };
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.schedule(new Object[1], function, null, null, null, null);
+        }
+        scheduler.start();
+
+        Assert.assertFalse(threadNames.isEmpty());
+        for (String threadName : threadNames) {
+            Assert.assertEquals(threadName.startsWith(VIRTUAL_THREAD_PREFIX), isVirtualThreadMode(), threadName);
+        }
+    }
+
+    /**
+     * Strands which block inside an extern function do not hold on to the scheduler threads, but no more than the
+     * maximum number of them run at once.
+     */
+    @Test(timeOut = 60000)
+    public void testVirtualThreadsAreBounded() {
+        Scheduler scheduler = new Scheduler(1, false);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        Function<Object[], Object> blockingFunction = params -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(100);
+            running.decrementAndGet();
+            completed.incrementAndGet();
+            return null;
+        };
+
+        for (int i = 0; i < BLOCKING_STRANDS; i++) {
+            scheduler.schedule(new Object[1], blockingFunction, null, null, null, null);
+        }
+        scheduler.start();
+
+        Assert.assertEquals(completed.get(), BLOCKING_STRANDS);
+        if (isVirtualThreadMode()) {
+            Assert.assertTrue(maxRunning.get() > 1, "blocking strands held the scheduler thread");
+            Assert.assertTrue(maxRunning.get() <= getMaxVirtualThreads(), "running strands: " + maxRunning.get());
+        } else {
+            Assert.assertEquals(maxRunning.get(), 1);
+        }
+    }
+
+    /**
+     * Poisoning the scheduler of a service while a strand is running stops the scheduler only once the running strand
+     * is done.
+     */
+    @Test(timeOut = 60000)
+    public void testStopWaitsForRunningStrands() throws InterruptedException {
+        Scheduler scheduler = new Scheduler(2, true);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicBoolean doneWhenStopped = new AtomicBoolean();
+        Function<Object[], Object> blockingFunction = params -> {
+            started.countDown();
+            sleep(500);
+            done.set(true);
+            return null;
+        };
+        // Like a listener, this strand stays parked until the scheduler is stopped
+        Function<Object[], Object> parkingFunction = params -> {
+            ((Strand) params[0]).setState(State.BLOCK_AND_YIELD);
+            return null;
+        };
+
+        scheduler.schedule(new Object[1], parkingFunction, null, null, null, null);
+        scheduler.schedule(new Object[1], blockingFunction, null, null, null, null);
+        Thread schedulerThread = new Thread(() -> {
+            scheduler.start();
+            doneWhenStopped.set(done.get());
+        });
+        schedulerThread.start();
+
+        Assert.assertTrue(started.await(30, TimeUnit.SECONDS));
+        scheduler.poison();
+        schedulerThread.join();
+        Assert.assertTrue(doneWhenStopped.get(), "scheduler stopped while a strand was running");
+    }
+
+    private static boolean isVirtualThreadMode() {
+        if (!Boolean.parseBoolean(System.getenv(BLangConstants.BALLERINA_VIRTUAL_THREADS_ENV_VAR))) {
+            return false;
+        }
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static int getMaxVirtualThreads() {
+        String maxThreads = System.getenv(BLangConstants.BALLERINA_MAX_VIRTUAL_THREADS_ENV_VAR);
+        return maxThreads == null ? Integer.MAX_VALUE : Integer.parseInt(maxThreads);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.ErrorCreator;
+import io.ballerina.runtime.api.StringUtils;
+import io.ballerina.runtime.scheduling.Scheduler;
+import io.ballerina.runtime.scheduling.State;
+import io.ballerina.runtime.scheduling.Strand;
+import io.ballerina.runtime.scheduling.WorkerDataChannel;
+import io.ballerina.runtime.values.ErrorValue;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for worker data channels which hold a bounded number of messages.
+ * <p>
+ * A sender which finds the channel full is blocked without sending, and sends again when it resumes. It is unblocked
+ * once the receiver has taken half of the messages, or once the receiver fails.
+ */
+public class WorkerDataChannelTest {
+
+    private static final int CAPACITY = 4;
+    private static final int MESSAGES = 10000;
+
+    private Scheduler scheduler;
+    private WorkerDataChannel channel;
+
+    @BeforeMethod
+    public void setup() {
+        scheduler = new Scheduler(1, false);
+        channel = new WorkerDataChannel("w1", CAPACITY);
+    }
+
+    @Test
+    public void testSendBlocksAtCapacity() throws Throwable {
+        Strand sender = createStrand("sender");
+        Strand receiver = createStrand("receiver");
+
+        for (long i = 0; i < CAPACITY; i++) {
+            channel.sendData(i, sender);
+            Assert.assertEquals(sender.getState(), State.RUNNABLE);
+        }
+        channel.sendData((long) CAPACITY, sender);
+        Assert.assertTrue(sender.isBlocked());
+
+        // The message of the blocked send is not in the channel
+        for (long i = 0; i < CAPACITY; i++) {
+            Assert.assertEquals(channel.tryTakeData(receiver), i);
+        }
+        Assert.assertNull(channel.tryTakeData(receiver));
+        Assert.assertTrue(receiver.isBlocked());
+    }
+
+    @Test
+    public void testSenderReleasedAtHalfCapacity() throws Throwable {
+        Strand sender = createStrand("sender");
+        Strand receiver = createStrand("receiver");
+        fillChannel(sender);
+
+        // The sender waits until the receiver has taken half of the messages
+        for (long i = 0; i < CAPACITY / 2 - 1; i++) {
+            Assert.assertEquals(channel.tryTakeData(receiver), i);
+            Assert.assertTrue(sender.isBlocked());
+        }
+        Assert.assertEquals(channel.tryTakeData(receiver), (long) (CAPACITY / 2 - 1));
+        assertUnblocked(sender);
+
+        // The send is executed again, and the messages are received in order
+        sender.setState(State.RUNNABLE);
+        channel.sendData((long) CAPACITY, sender);
+        Assert.assertEquals(sender.getState(), State.RUNNABLE);
+        for (long i = CAPACITY / 2; i <= CAPACITY; i++) {
+            Assert.assertEquals(channel.tryTakeData(receiver), i);
+        }
+    }
+
+    @Test
+    public void testReceiverErrorReleasesSender() {
+        Strand sender = createStrand("sender");
+        fillChannel(sender);
+
+        channel.setReceiveError((ErrorValue) ErrorCreator.createError(StringUtils.fromString("receiver failed")));
+        assertUnblocked(sender);
+
+        // The send no longer waits for the receiver which failed
+        sender.setState(State.RUNNABLE);
+        channel.sendData((long) CAPACITY, sender);
+        Assert.assertEquals(sender.getState(), State.RUNNABLE);
+    }
+
+    @Test
+    public void testReceiverPanicReleasesSender() {
+        Strand sender = createStrand("sender");
+        fillChannel(sender);
+
+        channel.setReceiverPanic(new RuntimeException("receiver panicked"));
+        assertUnblocked(sender);
+
+        sender.setState(State.RUNNABLE);
+        channel.sendData((long) CAPACITY, sender);
+        Assert.assertEquals(sender.getState(), State.RUNNABLE);
+    }
+
+    @Test
+    public void testUnboundedChannelDoesNotBlock() throws Throwable {
+        WorkerDataChannel unbounded = new WorkerDataChannel("w1", 0);
+        Strand sender = createStrand("sender");
+        Strand receiver = createStrand("receiver");
+
+        for (long i = 0; i < CAPACITY * 10; i++) {
+            unbounded.sendData(i, sender);
+            Assert.assertEquals(sender.getState(), State.RUNNABLE);
+        }
+        for (long i = 0; i < CAPACITY * 10; i++) {
+            Assert.assertEquals(unbounded.tryTakeData(receiver), i);
+        }
+    }
+
+    /**
+     * A sender and a receiver strand move messages through a bounded channel, resuming each other as the generated
+     * code does. The messages must arrive in order, and the channel must never hold more than its capacity.
+     */
+    @Test(timeOut = 60000)
+    public void testSenderAndReceiverStrands() {
+        Scheduler scheduler = new Scheduler(4, false);
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger outOfOrder = new AtomicInteger();
+
+        Function<Object[], Object> senderFunction = params -> {
+            Strand strand = (Strand) params[0];
+            while (strand.resumeIndex < MESSAGES) {
+                channel.sendData((long) strand.resumeIndex, strand);
+                if (strand.isYielded()) {
+                    // blocked at capacity, the same message is sent again once resumed
+                    return null;
+                }
+                strand.resumeIndex++;
+                int inFlight = sent.incrementAndGet() - received.get();
+                maxInFlight.accumulateAndGet(inFlight, Math::max);
+            }
+            return null;
+        };
+
+        Function<Object[], Object> receiverFunction = params -> {
+            Strand strand = (Strand) params[0];
+            while (strand.resumeIndex < MESSAGES) {
+                Object message;
+                try {
+                    message = channel.tryTakeData(strand);
+                } catch (Throwable t) {
+                    throw new AssertionError(t);
+                }
+                if (strand.isYielded()) {
+                    return null;
+                }
+                if (!Long.valueOf(strand.resumeIndex).equals(message)) {
+                    outOfOrder.incrementAndGet();
+                }
+                received.incrementAndGet();
+                strand.resumeIndex++;
+            }
+            return null;
+        };
+
+        scheduler.schedule(new Object[1], receiverFunction, null, null, null, null);
+        scheduler.schedule(new Object[1], senderFunction, null, null, null, null);
+        scheduler.start();
+
+        Assert.assertEquals(received.get(), MESSAGES);
+        Assert.assertEquals(outOfOrder.get(), 0);
+        // the receiver counts a message only after taking it from the channel
+        Assert.assertTrue(maxInFlight.get() <= CAPACITY + 1, "channel held " + maxInFlight.get() + " messages");
+    }
+
+    private void fillChannel(Strand sender) {
+        for (long i = 0; i <= CAPACITY; i++) {
+            channel.sendData(i, sender);
+        }
+        Assert.assertTrue(sender.isBlocked());
+    }
+
+    private Strand createStrand(String name) {
+        return new Strand(name, null, scheduler, null, null);
+    }
+
+    private void assertUnblocked(Strand strand) {
+        // A strand which is not parked yet is marked as yielded, so that the scheduler reschedules it
+        Assert.assertEquals(strand.getState(), State.YIELD);
+    }
+}
@@ -57,15 +57,20 @@ import java.util.HashMap;
 import java.util.List;
 
 import static io.ballerina.runtime.util.RuntimeConstants.SYSTEM_PROP_BAL_DEBUG;
+import static org.ballerinalang.compiler.CompilerOptionName.BUILD_CACHE_DIR;
 import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
 import static org.ballerinalang.compiler.CompilerOptionName.DUMP_BIR;
 import static org.ballerinalang.compiler.CompilerOptionName.DUMP_BIR_FILE;
 import static org.ballerinalang.compiler.CompilerOptionName.EXPERIMENTAL_FEATURES_ENABLED;
+import static org.ballerinalang.compiler.CompilerOptionName.JOBS;
 import static org.ballerinalang.compiler.CompilerOptionName.LOCK_ENABLED;
 import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
+import static org.ballerinalang.compiler.CompilerOptionName.OPTIMIZATION_LEVEL;
 import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+import static org.ballerinalang.compiler.CompilerOptionName.PROFILE_COMPILE;
 import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
 import static org.ballerinalang.compiler.CompilerOptionName.SKIP_TESTS;
+import static org.ballerinalang.compiler.CompilerOptionName.STREAMED_JAR_DIR;
 import static org.ballerinalang.compiler.CompilerOptionName.TEST_ENABLED;
 import static org.ballerinalang.packerina.buildcontext.sourcecontext.SourceType.SINGLE_BAL_FILE;
 import static org.ballerinalang.packerina.cmd.Constants.BUILD_COMMAND;
@@ -182,6 +187,22 @@ public class BuildCommand implements BLauncherCmd {
             "JAR file(s).")
     private boolean observabilityIncluded;
 
+    @CommandLine.Option(names = "--jobs", description = "Number of threads used to parse the source files of a " +
+            "module, and to generate the classes of independent modules in parallel.")
+    private Integer jobs;
+
+    @CommandLine.Option(names = "--profile-compile", description = "Write a report of the time and memory spent in " +
+            "each compiler phase.")
+    private boolean profileCompile;
+
+    @CommandLine.Option(names = "-O", description = "Optimization level of the generated code, from 0 (no " +
+            "optimizations) to 2.")
+    private Integer optimizationLevel;
+
+    @CommandLine.Option(names = "--no-build-cache", description = "Generate the classes of all the modules without " +
+            "reusing the classes cached by the previous builds.")
+    private boolean noBuildCache;
+
     public void execute() {
         if (this.helpFlag) {
             String commandUsageInfo = BLauncherCmd.getCommandUsageInfo(BUILD_COMMAND);
@@ -211,6 +232,18 @@ public class BuildCommand implements BLauncherCmd {
             return;
         }
 
+        if (this.jobs != null && this.jobs < 1) {
+            CommandUtil.printError(this.errStream, "'--jobs' should be a positive number.", buildCmd, false);
+            CommandUtil.exitError(this.exitWhenFinish);
+            return;
+        }
+
+        if (this.optimizationLevel != null && (this.optimizationLevel < 0 || this.optimizationLevel > 2)) {
+            CommandUtil.printError(this.errStream, "'-O' should be 0, 1 or 2.", buildCmd, false);
+            CommandUtil.exitError(this.exitWhenFinish);
+            return;
+        }
+
         // If -a or --all is not given, then it is mandatory to give a module name or a Ballerina file as the arg.
         if (!this.buildAll && (this.argList == null || this.argList.size() == 0)) {
             CommandUtil.printError(this.errStream,
@@ -397,6 +430,12 @@ public class BuildCommand implements BLauncherCmd {
         options.put(TEST_ENABLED, Boolean.toString(!this.skipTests));
         options.put(EXPERIMENTAL_FEATURES_ENABLED, Boolean.toString(this.experimentalFlag));
         options.put(PRESERVE_WHITESPACE, "true");
+        if (this.jobs != null) {
+            options.put(JOBS, Integer.toString(this.jobs));
+        }
+        if (this.optimizationLevel != null) {
+            options.put(OPTIMIZATION_LEVEL, Integer.toString(this.optimizationLevel));
+        }
 
         // create builder context
         BuildContext buildContext = new BuildContext(this.sourceRootPath, targetPath, sourcePath, compilerContext);
@@ -409,6 +448,20 @@ public class BuildCommand implements BLauncherCmd {
         boolean isSingleFileBuild = buildContext.getSourceType().equals(SINGLE_BAL_FILE);
         // output path is the current directory if -o flag is not given.
         Path outputPath = null == this.output ? Paths.get(System.getProperty("user.dir")) : Paths.get(this.output);
+        if (this.profileCompile) {
+            // The target directory of a single file build is temporary, hence the report is written to the current
+            // directory.
+            Path profileDir = isSingleFileBuild ? Paths.get(System.getProperty("user.dir")) : targetPath;
+            options.put(PROFILE_COMPILE, profileDir.toString());
+        }
+        if (!this.noBuildCache && !isSingleFileBuild) {
+            options.put(BUILD_CACHE_DIR, targetPath.resolve(ProjectDirConstants.TARGET_BUILD_CACHE_DIRECTORY)
+                    .toString());
+        }
+        // Generated classes are written to the module jars as they are generated, instead of being held in memory
+        // until the jars are created.
+        options.put(STREAMED_JAR_DIR, targetPath.resolve(ProjectDirConstants.TARGET_STREAMED_JAR_DIRECTORY)
+                .toString());
 
         TaskExecutor taskExecutor = new TaskExecutor.TaskBuilder()
                 .addTask(new CleanTargetDirTask(), isSingleFileBuild)   // clean the target directory(projects only)
@@ -26,8 +26,11 @@ import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
+import java.util.Optional;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
@@ -80,6 +83,13 @@ public class JarFileWriter {
         }
 
         CompiledJarFile compiledJarFile = packageSymbol.compiledJarFile;
+        Optional<Path> streamedJarPath = compiledJarFile.getJarPath();
+        if (streamedJarPath.isPresent()) {
+            // The classes were written to a jar while they were generated.
+            copy(packageSymbol, streamedJarPath.get(), jarFilePath);
+            return;
+        }
+
         Manifest manifest = new Manifest();
         Attributes mainAttributes = manifest.getMainAttributes();
         mainAttributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
@@ -102,4 +112,20 @@ public class JarFileWriter {
             throw new BLangCompilerException(msg, e);
         }
     }
+
+    private void copy(BPackageSymbol packageSymbol, Path streamedJarPath, Path jarFilePath) {
+
+        if (!Files.exists(streamedJarPath)) {
+            throw new BLangCompilerException("the compiled jar of '" + packageSymbol.pkgID + "' is not found at '" +
+                                                     streamedJarPath + "'");
+        }
+
+        try {
+            Files.copy(streamedJarPath, jarFilePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            String msg = "error writing the compiled jar of '" + packageSymbol.pkgID + "' to '" + jarFilePath + "': " +
+                    e.getMessage();
+            throw new BLangCompilerException(msg, e);
+        }
+    }
 }
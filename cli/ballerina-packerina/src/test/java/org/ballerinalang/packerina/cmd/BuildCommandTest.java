@@ -32,6 +32,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.FileSystems;
@@ -45,6 +46,8 @@ import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.stream.Stream;
@@ -287,6 +290,31 @@ public class BuildCommandTest extends CommandTest {
         Assert.assertTrue(buildLog.contains("too many arguments.\n"));
     }
 
+    @Test(description = "Build with a jobs count which is not positive")
+    public void testBuildWithInvalidJobs() throws IOException {
+        Path validBalFilePath = this.testResources.resolve("valid-bal-file");
+        for (String jobs : new String[]{"0", "-2"}) {
+            BuildCommand buildCommand = new BuildCommand(validBalFilePath, printStream, printStream, false, true);
+            new CommandLine(buildCommand).parse("--jobs", jobs, "hello_world.bal");
+            buildCommand.execute();
+
+            String buildLog = readOutput(true);
+            Assert.assertEquals(buildLog.replaceAll("\r", ""),
+                    "ballerina: '--jobs' should be a positive number.\n" +
+                                          "\n" +
+                                          "USAGE:\n" +
+                                          "    ballerina build {<ballerina-file> | <module-name> | -a | --all}\n");
+        }
+    }
+
+    @Test(description = "Build with a jobs count which is not a number",
+          expectedExceptions = CommandLine.ParameterException.class)
+    public void testBuildWithNonNumericJobs() {
+        Path validBalFilePath = this.testResources.resolve("valid-bal-file");
+        BuildCommand buildCommand = new BuildCommand(validBalFilePath, printStream, printStream, false, true);
+        new CommandLine(buildCommand).parse("--jobs", "abc", "hello_world.bal");
+    }
+
     @Test(description = "Build bal file with no entry")
     public void testBuildBalFileWithNoEntry() throws IOException {
         // valid source root path
@@ -459,6 +487,50 @@ public class BuildCommandTest extends CommandTest {
         readOutput(true);
     }
 
+    @Test(description = "Test Build Command generating the classes of the modules in parallel")
+    public void testBuildCommandWithJobs() throws IOException {
+        Path projectPath = this.testResources.resolve("parallel-codegen-project");
+        Map<String, byte[]> sequentialClasses = buildAndReadClasses(projectPath, "1");
+        deleteDirectory(projectPath.resolve(ProjectDirConstants.TARGET_DIR_NAME));
+        Map<String, byte[]> parallelClasses = buildAndReadClasses(projectPath, "4");
+
+        for (String module : new String[]{"app", "model", "report", "util"}) {
+            Assert.assertTrue(sequentialClasses.keySet().stream()
+                            .anyMatch(name -> name.startsWith("testOrg/" + module + "/")),
+                    "Check if the classes of " + module + " are generated");
+        }
+        Assert.assertEquals(parallelClasses.keySet(), sequentialClasses.keySet());
+        for (Map.Entry<String, byte[]> entry : sequentialClasses.entrySet()) {
+            Assert.assertEquals(parallelClasses.get(entry.getKey()), entry.getValue(),
+                    "Check if " + entry.getKey() + " is the same");
+        }
+    }
+
+    private Map<String, byte[]> buildAndReadClasses(Path projectPath, String jobs) throws IOException {
+        String[] compileArgs = {"--all", "--skip-tests", "--no-build-cache", "--jobs", jobs};
+        BuildCommand buildCommand = new BuildCommand(projectPath, printStream, printStream, false, true);
+        new CommandLine(buildCommand).parse(compileArgs);
+        buildCommand.execute();
+        readOutput(true);
+
+        Path executablePath = projectPath.resolve(ProjectDirConstants.TARGET_DIR_NAME)
+                .resolve(ProjectDirConstants.BIN_DIR_NAME).resolve("app" + BLANG_COMPILED_JAR_EXT);
+        Assert.assertTrue(Files.exists(executablePath), "Check if the executable is created");
+        Map<String, byte[]> classes = new TreeMap<>();
+        try (JarFile jarFile = new JarFile(executablePath.toFile())) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (entry.getName().startsWith("testOrg/") && entry.getName().endsWith(".class")) {
+                    try (InputStream in = jarFile.getInputStream(entry)) {
+                        classes.put(entry.getName(), in.readAllBytes());
+                    }
+                }
+            }
+        }
+        return classes;
+    }
+
     @Test(description = "Build a valid ballerina file with relative path")
     public void testBuildWithRelativePath() throws IOException {
         String buildPath = "relative" + File.separator + "testDir" + File.separator + ".." + File.separator + "testBal"
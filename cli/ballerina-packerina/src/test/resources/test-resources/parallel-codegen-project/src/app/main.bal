@@ -0,0 +1,12 @@
+import ballerina/io;
+import testOrg/model;
+import testOrg/report;
+import testOrg/util;
+
+public function main() {
+    model:Inventory inventory = new;
+    inventory.add({name: "apple", quantity: 3, price: 1.5});
+    inventory.add({name: "pear", quantity: 2, price: 2.0});
+    io:println(report:header("Inventory"));
+    io:println(util:names(inventory.items), " ", util:total(inventory.items));
+}
@@ -0,0 +1,13 @@
+public type Item record {|
+    string name;
+    int quantity;
+    float price;
+|};
+
+public type Inventory object {
+    public Item[] items = [];
+
+    public function add(Item item) {
+        self.items.push(item);
+    }
+};
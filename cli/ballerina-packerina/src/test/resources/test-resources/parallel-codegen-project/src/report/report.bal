@@ -0,0 +1,4 @@
+public function header(string title) returns string {
+    record {| string text; int width; |} line = {text: title, width: title.length() + 4};
+    return "| " + line.text + " |";
+}
@@ -0,0 +1,15 @@
+import testOrg/model;
+
+public function total(model:Item[] items) returns float {
+    float sum = 0.0;
+    foreach model:Item item in items {
+        sum += <float> item.quantity * item.price;
+    }
+    return sum;
+}
+
+public function names(model:Item[] items) returns string[] {
+    return items.map(function (model:Item item) returns string {
+        return item.name;
+    });
+}
@@ -58,7 +58,17 @@ public enum CompilerOptionName {
 
     EXPERIMENTAL_FEATURES_ENABLED("experimentalFeaturesEnabled"),
 
-    TOOLING_COMPILATION("toolingCompilation");
+    TOOLING_COMPILATION("toolingCompilation"),
+
+    JOBS("jobs"),
+
+    PROFILE_COMPILE("profileCompile"),
+
+    BUILD_CACHE_DIR("buildCacheDir"),
+
+    STREAMED_JAR_DIR("streamedJarDir"),
+
+    OPTIMIZATION_LEVEL("optimizationLevel");
 
     public final String name;
 
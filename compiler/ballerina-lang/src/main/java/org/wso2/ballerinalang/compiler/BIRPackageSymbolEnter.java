@@ -96,7 +96,6 @@ import org.wso2.ballerinalang.util.Flags;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
@@ -114,6 +113,7 @@ import static org.ballerinalang.model.symbols.SymbolOrigin.COMPILED_SOURCE;
 import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
 import static org.ballerinalang.model.symbols.SymbolOrigin.toOrigin;
 import static org.wso2.ballerinalang.util.LambdaExceptionUtils.rethrow;
+import static org.wso2.ballerinalang.util.RepoUtils.EAGER_BIR_SYMBOL_LOADING;
 
 /**
  * This class is responsible for reading the compiled package file (bir) and creating a package symbol.
@@ -135,14 +135,14 @@ public class BIRPackageSymbolEnter {
     private List<BStructureTypeSymbol> structureTypes; // TODO find a better way
     private BStructureTypeSymbol currentStructure = null;
     private LinkedList<Object> compositeStack = new LinkedList<>();
+    // Module level functions are defined when the module is read, instead of on first lookup
+    boolean eagerSymbolLoading = EAGER_BIR_SYMBOL_LOADING;
 
     private static final int SERVICE_TYPE_TAG = 52;
 
     private static final CompilerContext.Key<BIRPackageSymbolEnter> COMPILED_PACKAGE_SYMBOL_ENTER_KEY =
             new CompilerContext.Key<>();
 
-    private Map<String, BVarSymbol> globalVarMap = new HashMap<>();
-
     public static BIRPackageSymbolEnter getInstance(CompilerContext context) {
         BIRPackageSymbolEnter packageReader = context.get(COMPILED_PACKAGE_SYMBOL_ENTER_KEY);
         if (packageReader == null) {
@@ -164,11 +164,11 @@ public class BIRPackageSymbolEnter {
         this.dlog = BLangDiagnosticLog.getInstance(context);
     }
 
-    public BPackageSymbol definePackage(PackageID packageId,
-                                        RepoHierarchy packageRepositoryHierarchy,
-                                        byte[] packageBinaryContent) {
-        BPackageSymbol pkgSymbol = definePackage(packageId, packageRepositoryHierarchy,
-                new ByteArrayInputStream(packageBinaryContent));
+    public synchronized BPackageSymbol definePackage(PackageID packageId,
+                                                     RepoHierarchy packageRepositoryHierarchy,
+                                                     byte[] packageBinaryContent) {
+        BPackageSymbol pkgSymbol = definePackage(packageId, packageRepositoryHierarchy, packageBinaryContent,
+                                                 new ByteArrayInputStream(packageBinaryContent));
 
         // Strip magic value (4 bytes) and the version (2 bytes) off from the binary content of the package.
         byte[] modifiedPkgBinaryContent = Arrays.copyOfRange(
@@ -182,15 +182,22 @@ public class BIRPackageSymbolEnter {
 
     private BPackageSymbol definePackage(PackageID packageId,
                                          RepoHierarchy packageRepositoryHierarchy,
-                                         InputStream programFileInStream) {
+                                         byte[] packageBinaryContent,
+                                         ByteArrayInputStream programFileInStream) {
         // TODO packageID --> package to be loaded. this is required for error reporting..
         try (DataInputStream dataInStream = new DataInputStream(programFileInStream)) {
             BIRPackageSymbolEnv prevEnv = this.env;
             this.env = new BIRPackageSymbolEnv();
             this.env.requestedPackageId = packageId;
             this.env.repoHierarchy = packageRepositoryHierarchy;
+            this.env.content = packageBinaryContent;
+            this.env.contentStream = programFileInStream;
 
             BPackageSymbol pkgSymbol = definePackage(dataInStream);
+            // The functions which are defined on first lookup keep the bytes of their own, hence the content of the
+            // module is not held on to by its lazily defined functions.
+            this.env.content = null;
+            this.env.contentStream = null;
             this.env = prevEnv;
             return pkgSymbol;
         } catch (Throwable e) {
@@ -348,6 +355,66 @@ public class BIRPackageSymbolEnter {
     }
 
     private void defineFunction(DataInputStream dataInStream) throws IOException {
+        if (this.currentStructure == null && !this.eagerSymbolLoading) {
+            defineFunctionLazily(dataInStream);
+            return;
+        }
+        defineFunctionSymbol(dataInStream);
+    }
+
+    /**
+     * Defers reading a module level function until it is first looked up. Most of the functions of an imported
+     * module are never referred to by the importing module, hence only the name of the function is read here and
+     * the rest of the function is skipped. The bytes of the function are kept until it is defined.
+     *
+     * @param dataInStream stream positioned at the start of the function
+     * @throws IOException if the function cannot be read
+     */
+    private void defineFunctionLazily(DataInputStream dataInStream) throws IOException {
+        BIRPackageSymbolEnv funcEnv = this.env;
+        int offset = funcEnv.content.length - funcEnv.contentStream.available();
+
+        dataInStream.skip(20); // position
+        String funcName = getStringCPEntryValue(dataInStream);
+        dataInStream.readInt(); // worker name
+        dataInStream.readInt(); // flags
+        dataInStream.readByte(); // origin
+        dataInStream.readInt(); // function type
+        dataInStream.skip(dataInStream.readLong()); // annotation attachments
+        dataInStream.skip(dataInStream.readInt() * 8L); // names and flags of the required params
+        if (dataInStream.readBoolean()) {
+            dataInStream.readInt(); // rest param name
+        }
+        if (dataInStream.readBoolean()) {
+            dataInStream.skip(9); // receiver kind, name and type
+        }
+        dataInStream.skip(dataInStream.readLong()); // taint table
+        dataInStream.skip(dataInStream.readInt()); // markdown documentation
+        dataInStream.skip(dataInStream.readInt() * 4L); // global variable dependencies
+        dataInStream.skip(dataInStream.readLong()); // scope table
+        dataInStream.skip(dataInStream.readLong()); // method body
+        byte[] funcContent = Arrays.copyOfRange(funcEnv.content, offset,
+                                                funcEnv.content.length - funcEnv.contentStream.available());
+
+        // A function may be looked up first on one of the threads generating code in parallel. The definer swaps
+        // the state of this reader, hence it runs while holding the reader, as reading a module does.
+        funcEnv.pkgSymbol.scope.defineLazily(names.fromString(funcName), () -> {
+            BIRPackageSymbolEnv prevEnv = this.env;
+            BStructureTypeSymbol prevStructure = this.currentStructure;
+            this.env = funcEnv;
+            this.currentStructure = null;
+            try (DataInputStream funcInStream = new DataInputStream(new ByteArrayInputStream(funcContent))) {
+                defineFunctionSymbol(funcInStream);
+            } catch (IOException e) {
+                throw new BLangCompilerException(e.getMessage(), e);
+            } finally {
+                this.env = prevEnv;
+                this.currentStructure = prevStructure;
+            }
+        }, this);
+    }
+
+    private void defineFunctionSymbol(DataInputStream dataInStream) throws IOException {
         DiagnosticPos pos = readPosition(dataInStream);
 
         // Consider attached functions.. remove the first variable
@@ -417,7 +484,7 @@ public class BIRPackageSymbolEnter {
         long length = dataInStream.readInt();
         for (int i = 0; i < length; i++) {
             String globalVarName = getStringCPEntryValue(dataInStream.readInt());
-            invokableSymbol.dependentGlobalVars.add(this.globalVarMap.get(globalVarName));
+            invokableSymbol.dependentGlobalVars.add(this.env.globalVarMap.get(globalVarName));
         }
     }
 
@@ -689,7 +756,7 @@ public class BIRPackageSymbolEnter {
             }
         }
 
-        this.globalVarMap.put(varName, varSymbol);
+        this.env.globalVarMap.put(varName, varSymbol);
 
         defineMarkDownDocAttachment(varSymbol, docBytes);
 
@@ -915,6 +982,9 @@ public class BIRPackageSymbolEnter {
         PackageID requestedPackageId;
         RepoHierarchy repoHierarchy;
         Map<Integer, byte[]> unparsedBTypeCPs = new HashMap<>();
+        Map<String, BVarSymbol> globalVarMap = new HashMap<>();
+        byte[] content;
+        ByteArrayInputStream contentStream;
         BPackageSymbol pkgSymbol;
         CPEntry[] constantPool;
         List<UnresolvedType> unresolvedTypes;
@@ -17,11 +17,22 @@
  */
 package org.wso2.ballerinalang.compiler;
 
+import org.ballerinalang.compiler.BLangCompilerException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
 
 /**
- * A wrapper class for keeping code generated binary content and metadata of a program jar file.
+ * A wrapper class for keeping code generated binary content and metadata of a program jar file. The binary content
+ * is either kept in memory, or in a jar file the classes were streamed to while they were generated.
  *
  * @since 2.0.0
  */
@@ -29,6 +40,7 @@ public class CompiledJarFile {
 
     private String mainClassName;
     private Map<String, byte[]> jarEntries;
+    private Path jarPath;
 
     public CompiledJarFile(Map<String, byte[]> jarEntries) {
 
@@ -41,13 +53,63 @@ public class CompiledJarFile {
         this.jarEntries = jarEntries;
     }
 
-    public Map<String, byte[]> getJarEntries() {
+    public CompiledJarFile(String mainClassName, Path jarPath) {
+
+        this.mainClassName = mainClassName;
+        this.jarPath = jarPath;
+    }
+
+    /**
+     * Returns the binary content of the jar. The content of a jar written while generating the classes is read from
+     * the jar on first access.
+     *
+     * @return the binary content of each entry of the jar
+     */
+    public synchronized Map<String, byte[]> getJarEntries() {
 
+        if (jarEntries == null) {
+            jarEntries = readJarEntries(jarPath);
+        }
         return jarEntries;
     }
 
+    /**
+     * Returns the path of the jar, if the classes were written to a jar while they were generated.
+     *
+     * @return path of the written jar
+     */
+    public Optional<Path> getJarPath() {
+
+        return Optional.ofNullable(jarPath);
+    }
+
     public Optional<String> getMainClassName() {
 
         return Optional.ofNullable(mainClassName);
     }
+
+    private static Map<String, byte[]> readJarEntries(Path jarPath) {
+
+        Map<String, byte[]> jarEntries = new LinkedHashMap<>();
+        try (JarInputStream jarStream = new JarInputStream(Files.newInputStream(jarPath))) {
+            JarEntry entry;
+            while ((entry = jarStream.getNextJarEntry()) != null) {
+                jarEntries.put(entry.getName(), readEntry(jarStream));
+            }
+        } catch (IOException e) {
+            throw new BLangCompilerException("error reading the compiled jar '" + jarPath + "': " + e.getMessage(), e);
+        }
+        return jarEntries;
+    }
+
+    private static byte[] readEntry(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
 }
@@ -22,9 +22,11 @@ import io.ballerina.tools.diagnostics.DiagnosticSeverity;
 import io.ballerina.tools.text.LinePosition;
 import io.ballerina.tools.text.LineRange;
 import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.compiler.CompilerPhase;
 import org.ballerinalang.model.elements.PackageID;
 import org.ballerinalang.toml.model.Manifest;
 import org.ballerinalang.toml.parser.ManifestProcessor;
+import org.wso2.ballerinalang.compiler.bir.codegen.CodeGenCache;
 import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLog;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
@@ -34,6 +36,8 @@ import org.wso2.ballerinalang.util.Lists;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -51,6 +55,8 @@ public class Compiler {
     private final BLangDiagnosticLog dlog;
     private final PackageLoader pkgLoader;
     private final Manifest manifest;
+    private final CompilerProfiler profiler;
+    private final CodeGenCache codeGenCache;
     private boolean langLibsLoaded;
     private PrintStream outStream;
     private PrintStream errorStream;
@@ -64,6 +70,8 @@ public class Compiler {
         this.dlog = BLangDiagnosticLog.getInstance(context);
         this.pkgLoader = PackageLoader.getInstance(context);
         this.manifest = ManifestProcessor.getInstance(context).getManifest();
+        this.profiler = CompilerProfiler.getInstance(context);
+        this.codeGenCache = CodeGenCache.getInstance(context);
         this.outStream = System.out;
         this.errorStream = System.err;
         this.langLibsLoaded = false;
@@ -163,7 +171,10 @@ public class Compiler {
         // 2) Define all package level symbols for all the packages including imported packages in the AST
         List<BLangPackage> packages = new ArrayList<>();
         for (PackageID pkgId : pkgIdList) {
+            // The define phase of a module includes parsing it and loading the modules it imports.
+            CompilerProfiler.Measurement measurement = this.profiler.start();
             BLangPackage bLangPackage = this.pkgLoader.loadEntryPackage(pkgId, null, this.outStream);
+            this.profiler.stop(pkgId, CompilerPhase.DEFINE, measurement);
             if (bLangPackage != null) {
                 // skip the packages that were not loaded properly
                 packages.add(bLangPackage);
@@ -171,14 +182,52 @@ public class Compiler {
         }
 
         // 3) Invoke compiler phases. e.g. type_check, code_analyze, taint_analyze, desugar etc.
+        if (this.compilerDriver.isParallelCodeGen()) {
+            compilePackagesInParallel(packages);
+        } else {
+            for (BLangPackage pkgNode : packages) {
+                if (pkgNode.symbol != null) {
+                    this.compilerDriver.compilePackage(pkgNode);
+                    logDiagnostics(pkgNode);
+                    dlog.resetErrorCount();
+                }
+            }
+        }
+
+        if (this.profiler.isEnabled()) {
+            this.outStream.println("Compilation profile written to " + this.profiler.writeReport());
+        }
+        if (this.codeGenCache.isEnabled() && this.codeGenCache.getHits() + this.codeGenCache.getMisses() > 0) {
+            this.outStream.println("Build cache: " + this.codeGenCache.getHits() + " hit(s), " +
+                                           this.codeGenCache.getMisses() + " miss(es)");
+        }
+        return packages;
+    }
+
+    private void compilePackagesInParallel(List<BLangPackage> packages) {
         for (BLangPackage pkgNode : packages) {
             if (pkgNode.symbol != null) {
                 this.compilerDriver.compilePackage(pkgNode);
+            }
+        }
+
+        // Code generation may report errors too, hence the diagnostics are logged once the classes are generated.
+        this.compilerDriver.generatePendingClasses();
+        for (BLangPackage pkgNode : packages) {
+            if (pkgNode.symbol != null) {
                 logDiagnostics(pkgNode);
-                dlog.resetErrorCount();
             }
         }
-        return packages;
+        dlog.resetErrorCount();
+        logPhaseTimes();
+    }
+
+    private void logPhaseTimes() {
+        this.outStream.println("Compilation time per phase (" + this.compilerDriver.getJobs() + " jobs)");
+        for (Map.Entry<CompilerPhase, Long> phaseTime : this.compilerDriver.getPhaseTimes().entrySet()) {
+            this.outStream.println(String.format("\t%-24s%8d ms", phaseTime.getKey(),
+                                                 TimeUnit.NANOSECONDS.toMillis(phaseTime.getValue())));
+        }
     }
 
     /**
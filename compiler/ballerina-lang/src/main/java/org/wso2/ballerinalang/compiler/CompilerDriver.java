@@ -17,6 +17,7 @@
  */
 package org.wso2.ballerinalang.compiler;
 
+import org.ballerinalang.compiler.BLangCompilerException;
 import org.ballerinalang.compiler.CompilerOptionName;
 import org.ballerinalang.compiler.CompilerPhase;
 import org.ballerinalang.model.elements.PackageID;
@@ -44,8 +45,21 @@ import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.compiler.util.Constants;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
 
 import static org.ballerinalang.compiler.CompilerOptionName.TOOLING_COMPILATION;
 import static org.ballerinalang.model.elements.PackageID.ANNOTATIONS;
@@ -102,7 +116,11 @@ public class CompilerDriver {
     private final CompilerPhase compilerPhase;
     private final DataflowAnalyzer dataflowAnalyzer;
     private final IsolationAnalyzer isolationAnalyzer;
+    private final CompilerProfiler profiler;
     private boolean isToolingCompilation;
+    private final int jobs;
+    private final List<BLangPackage> pendingCodeGen = new ArrayList<>();
+    private final Map<CompilerPhase, Long> phaseTimes = new EnumMap<>(CompilerPhase.class);
 
     public static CompilerDriver getInstance(CompilerContext context) {
         CompilerDriver compilerDriver = context.get(COMPILER_DRIVER_KEY);
@@ -135,8 +153,10 @@ public class CompilerDriver {
         this.compilerPhase = this.options.getCompilerPhase();
         this.dataflowAnalyzer = DataflowAnalyzer.getInstance(context);
         this.isolationAnalyzer = IsolationAnalyzer.getInstance(context);
+        this.profiler = CompilerProfiler.getInstance(context);
         this.isToolingCompilation = this.options.isSet(TOOLING_COMPILATION)
                 && Boolean.parseBoolean(this.options.get(TOOLING_COMPILATION));
+        this.jobs = this.options.getJobs();
     }
 
     public BLangPackage compilePackage(BLangPackage packageNode) {
@@ -144,6 +164,75 @@ public class CompilerDriver {
         return packageNode;
     }
 
+    /**
+     * Checks whether classes are generated in parallel, in which case {@link #generatePendingClasses()} needs to be
+     * called once all the packages are compiled.
+     *
+     * @return true if the number of jobs is more than one
+     */
+    public boolean isParallelCodeGen() {
+        return this.jobs > 1;
+    }
+
+    /**
+     * Generates the classes of the packages compiled so far. Packages that do not import each other are generated
+     * in parallel, and a package is generated once the packages it imports are done.
+     */
+    public void generatePendingClasses() {
+        if (this.pendingCodeGen.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool codeGenPool = new ForkJoinPool(this.jobs, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            // Interop validation loads the Java classes through the context class loader.
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }, null, false);
+        Map<PackageID, CompletableFuture<Void>> codeGenTasks = new HashMap<>();
+        try {
+            // Packages are pending in the order they were compiled, hence the imported packages come first.
+            for (BLangPackage pkgNode : this.pendingCodeGen) {
+                CompletableFuture<?>[] importTasks = getImportedPackages(pkgNode).stream()
+                        .map(importSymbol -> codeGenTasks.get(importSymbol.pkgID))
+                        .filter(Objects::nonNull)
+                        .toArray(CompletableFuture[]::new);
+                codeGenTasks.put(pkgNode.packageID, CompletableFuture.allOf(importTasks)
+                        .thenRunAsync(() -> generateClasses(pkgNode), codeGenPool));
+            }
+            CompletableFuture.allOf(codeGenTasks.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new BLangCompilerException(cause.getMessage(), cause);
+        } finally {
+            codeGenPool.shutdown();
+            this.pendingCodeGen.clear();
+            this.phaseTimes.merge(CompilerPhase.CODE_GEN, System.nanoTime() - startTime, Long::sum);
+        }
+    }
+
+    /**
+     * Returns the time spent in each compiler phase so far, in nanoseconds, summed up for all the packages. When
+     * classes are generated in parallel, the elapsed time of the parallel generation is counted for code generation.
+     *
+     * @return time spent in each compiler phase
+     */
+    public Map<CompilerPhase, Long> getPhaseTimes() {
+        return Collections.unmodifiableMap(this.phaseTimes);
+    }
+
+    public int getJobs() {
+        return this.jobs;
+    }
+
     void loadLangModules(List<PackageID> pkgIdList) {
         // This logic interested in loading lang modules from source. For others we can load from balo.
         if (!LOAD_BUILTIN_FROM_SOURCE) {
@@ -245,6 +334,13 @@ public class CompilerDriver {
             return;
         }
 
+        for (BPackageSymbol importSymbol : getImportedPackages(pkgNode)) {
+            this.compilePackageSymbol(importSymbol);
+        }
+        compile(pkgNode);
+    }
+
+    private Set<BPackageSymbol> getImportedPackages(BLangPackage pkgNode) {
         HashSet<BLangImportPackage> importPkgList = new HashSet<>();
         importPkgList.addAll(pkgNode.imports);
         // If tests are enabled then get the imports of the testable package as well.
@@ -252,12 +348,13 @@ public class CompilerDriver {
         if (testsEnabled != null && testsEnabled.equals(Constants.SKIP_TESTS)) {
             pkgNode.getTestablePkgs().forEach(testablePackage -> importPkgList.addAll(testablePackage.imports));
         }
+        Set<BPackageSymbol> importSymbols = new LinkedHashSet<>();
         for (BLangImportPackage pkg : importPkgList) {
             if (pkg.symbol != null) {
-                this.compilePackageSymbol(pkg.symbol);
+                importSymbols.add(pkg.symbol);
             }
         }
-        compile(pkgNode);
+        return importSymbols;
     }
 
     private void compile(BLangPackage pkgNode) {
@@ -265,62 +362,83 @@ public class CompilerDriver {
             return;
         }
 
-        typeCheck(pkgNode);
+        runPhase(CompilerPhase.TYPE_CHECK, pkgNode, this::typeCheck);
         if (this.stopCompilation(pkgNode, CompilerPhase.CODE_ANALYZE)) {
             return;
         }
 
-        codeAnalyze(pkgNode);
+        runPhase(CompilerPhase.CODE_ANALYZE, pkgNode, this::codeAnalyze);
         if (this.stopCompilation(pkgNode, CompilerPhase.DATAFLOW_ANALYZE)) {
             return;
         }
 
-        dataflowAnalyze(pkgNode);
+        runPhase(CompilerPhase.DATAFLOW_ANALYZE, pkgNode, this::dataflowAnalyze);
         if (this.stopCompilation(pkgNode, CompilerPhase.DOCUMENTATION_ANALYZE)) {
             return;
         }
 
-        isolationAnalyze(pkgNode);
+        runPhase(CompilerPhase.ISOLATION_ANALYZE, pkgNode, this::isolationAnalyze);
         if (this.stopCompilation(pkgNode, CompilerPhase.ISOLATION_ANALYZE)) {
             return;
         }
 
-        documentationAnalyze(pkgNode);
+        runPhase(CompilerPhase.DOCUMENTATION_ANALYZE, pkgNode, this::documentationAnalyze);
         if (this.stopCompilation(pkgNode, CompilerPhase.TAINT_ANALYZE)) {
             return;
         }
 
-        taintAnalyze(pkgNode);
+        runPhase(CompilerPhase.TAINT_ANALYZE, pkgNode, this::taintAnalyze);
         if (this.stopCompilation(pkgNode, CompilerPhase.CONSTANT_PROPAGATION)) {
             return;
         }
 
-        propagateConstants(pkgNode);
+        runPhase(CompilerPhase.CONSTANT_PROPAGATION, pkgNode, this::propagateConstants);
         if (this.stopCompilation(pkgNode, CompilerPhase.COMPILER_PLUGIN)) {
             return;
         }
 
-        annotationProcess(pkgNode);
+        runPhase(CompilerPhase.COMPILER_PLUGIN, pkgNode, this::annotationProcess);
         if (this.stopCompilation(pkgNode, CompilerPhase.OBSERVABILITY_DATA_GEN)) {
             return;
         }
 
-        generateObservabilityData(pkgNode);
+        runPhase(CompilerPhase.OBSERVABILITY_DATA_GEN, pkgNode, this::generateObservabilityData);
         if (this.stopCompilation(pkgNode, CompilerPhase.DESUGAR)) {
             return;
         }
 
-        desugar(pkgNode);
+        runPhase(CompilerPhase.DESUGAR, pkgNode, this::desugar);
         if (this.stopCompilation(pkgNode, CompilerPhase.BIR_GEN)) {
             return;
         }
 
-        birGen(pkgNode);
+        runPhase(CompilerPhase.BIR_GEN, pkgNode, this::birGen);
         if (this.stopCompilation(pkgNode, CompilerPhase.CODE_GEN)) {
             return;
         }
 
-        codeGen(pkgNode);
+        if (isParallelCodeGen()) {
+            // Classes are generated once all the packages are compiled. See generatePendingClasses().
+            runPhase(CompilerPhase.CODE_GEN, pkgNode, this.codeGenerator::prepare);
+            this.pendingCodeGen.add(pkgNode);
+        } else {
+            runPhase(CompilerPhase.CODE_GEN, pkgNode, this::codeGen);
+        }
+    }
+
+    private void runPhase(CompilerPhase phase, BLangPackage pkgNode, Consumer<BLangPackage> phaseRunner) {
+        CompilerProfiler.Measurement measurement = this.profiler.start();
+        long startTime = System.nanoTime();
+        phaseRunner.accept(pkgNode);
+        this.phaseTimes.merge(phase, System.nanoTime() - startTime, Long::sum);
+        this.profiler.stop(pkgNode.packageID, phase, measurement);
+    }
+
+    private void generateClasses(BLangPackage pkgNode) {
+        // Measured on the worker thread, so that the CPU time and the allocations of the module are accurate.
+        CompilerProfiler.Measurement measurement = this.profiler.start();
+        this.codeGenerator.generateClasses(pkgNode);
+        this.profiler.stop(pkgNode.packageID, CompilerPhase.CODE_GEN, measurement);
     }
 
     private BLangPackage codeGen(BLangPackage pkgNode) {
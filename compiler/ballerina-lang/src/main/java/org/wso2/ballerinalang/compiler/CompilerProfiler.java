@@ -0,0 +1,332 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.ballerinalang.compiler.CompilerOptionName.PROFILE_COMPILE;
+
+/**
+ * Records the wall time, CPU time and the allocated bytes of each compiler phase per module, along with the
+ * functions that took the longest to type check. The profile is written as a JSON report and in the folded stack
+ * format accepted by flame graph tools.
+ * <p>
+ * Profiling is enabled by setting the {@code profileCompile} compiler option to the directory of the reports.
+ *
+ * @since 2.0.0
+ */
+public class CompilerProfiler {
+
+    private static final CompilerContext.Key<CompilerProfiler> COMPILER_PROFILER_KEY = new CompilerContext.Key<>();
+
+    public static final String JSON_REPORT_NAME = "compile-profile.json";
+    public static final String FOLDED_REPORT_NAME = "compile-profile.folded";
+    private static final int SLOWEST_FUNCTION_COUNT = 20;
+
+    private final Path reportDir;
+    private final ThreadMXBean threadMXBean;
+    private final boolean allocationSupported;
+    private final Map<String, Map<CompilerPhase, PhaseProfile>> moduleProfiles = new LinkedHashMap<>();
+    private final PriorityQueue<FunctionProfile> slowestFunctions =
+            new PriorityQueue<>(Comparator.comparingLong(function -> function.time));
+    private int functionDepth;
+
+    public static CompilerProfiler getInstance(CompilerContext context) {
+        CompilerProfiler profiler = context.get(COMPILER_PROFILER_KEY);
+        if (profiler == null) {
+            profiler = new CompilerProfiler(context);
+        }
+        return profiler;
+    }
+
+    private CompilerProfiler(CompilerContext context) {
+        context.put(COMPILER_PROFILER_KEY, this);
+
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        String reportDir = options.get(PROFILE_COMPILE);
+        this.reportDir = reportDir == null || reportDir.isEmpty() ? null : Paths.get(reportDir);
+        this.threadMXBean = ManagementFactory.getThreadMXBean();
+        this.allocationSupported = this.threadMXBean instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean) this.threadMXBean).isThreadAllocatedMemorySupported();
+        if (isEnabled()) {
+            if (this.threadMXBean.isCurrentThreadCpuTimeSupported()) {
+                this.threadMXBean.setThreadCpuTimeEnabled(true);
+            }
+            if (this.allocationSupported) {
+                ((com.sun.management.ThreadMXBean) this.threadMXBean).setThreadAllocatedMemoryEnabled(true);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.reportDir != null;
+    }
+
+    /**
+     * Takes a measurement of the current thread to be used as the start of a phase.
+     *
+     * @return start of the phase, or null if profiling is disabled
+     */
+    public Measurement start() {
+        if (!isEnabled()) {
+            return null;
+        }
+        return new Measurement(System.nanoTime(), getCpuTime(), getAllocatedBytes());
+    }
+
+    /**
+     * Records the time spent and the memory allocated by the current thread since the given measurement, against the
+     * given phase of the module. Phases that run more than once for a module are summed up.
+     *
+     * @param pkgId module the phase ran on
+     * @param phase compiler phase
+     * @param start measurement taken at the start of the phase
+     */
+    public void stop(PackageID pkgId, CompilerPhase phase, Measurement start) {
+        if (start == null) {
+            return;
+        }
+
+        long wallTime = System.nanoTime() - start.wallTime;
+        long cpuTime = start.cpuTime < 0 ? -1 : getCpuTime() - start.cpuTime;
+        long allocatedBytes = start.allocatedBytes < 0 ? -1 : getAllocatedBytes() - start.allocatedBytes;
+        // Classes of modules can be generated in parallel, see CompilerDriver#generatePendingClasses().
+        synchronized (this.moduleProfiles) {
+            PhaseProfile profile = this.moduleProfiles
+                    .computeIfAbsent(pkgId.toString(), key -> new EnumMap<>(CompilerPhase.class))
+                    .computeIfAbsent(phase, key -> new PhaseProfile());
+            profile.wallTime += wallTime;
+            profile.cpuTime = cpuTime < 0 ? -1 : profile.cpuTime + cpuTime;
+            profile.allocatedBytes = allocatedBytes < 0 ? -1 : profile.allocatedBytes + allocatedBytes;
+        }
+    }
+
+    /**
+     * Marks the start of type checking a function. Functions nested in the function, such as lambdas, are counted
+     * against the enclosing function.
+     *
+     * @return start time of the function, or -1 if the function is not profiled
+     */
+    public long startFunction() {
+        if (!isEnabled() || this.functionDepth++ > 0) {
+            return -1;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of type checking a function, and keeps it if it is one of the slowest functions so far.
+     *
+     * @param symbol    symbol of the function
+     * @param startTime value returned by {@link #startFunction()}
+     */
+    public void stopFunction(BInvokableSymbol symbol, long startTime) {
+        if (!isEnabled()) {
+            return;
+        }
+        this.functionDepth--;
+        if (startTime < 0) {
+            return;
+        }
+
+        this.slowestFunctions.add(new FunctionProfile(symbol.pkgID.toString(), symbol.name.value,
+                                                      System.nanoTime() - startTime));
+        if (this.slowestFunctions.size() > SLOWEST_FUNCTION_COUNT) {
+            this.slowestFunctions.poll();
+        }
+    }
+
+    /**
+     * Writes the profile collected so far to the report directory.
+     *
+     * @return path of the JSON report
+     */
+    public Path writeReport() {
+        try {
+            Files.createDirectories(this.reportDir);
+            Path jsonReport = this.reportDir.resolve(JSON_REPORT_NAME);
+            try (Writer writer = Files.newBufferedWriter(jsonReport, StandardCharsets.UTF_8)) {
+                writer.write(toJson());
+            }
+            try (Writer writer = Files.newBufferedWriter(this.reportDir.resolve(FOLDED_REPORT_NAME),
+                                                         StandardCharsets.UTF_8)) {
+                writer.write(toFoldedStacks());
+            }
+            return jsonReport;
+        } catch (IOException e) {
+            throw new BLangCompilerException("error writing the compilation profile to '" + this.reportDir + "': " +
+                                                     e.getMessage(), e);
+        }
+    }
+
+    private String toJson() {
+        StringBuilder json = new StringBuilder("{\n  \"modules\": [");
+        synchronized (this.moduleProfiles) {
+            String moduleSeparator = "\n";
+            for (Map.Entry<String, Map<CompilerPhase, PhaseProfile>> module : this.moduleProfiles.entrySet()) {
+                json.append(moduleSeparator).append("    {\"module\": ").append(quote(module.getKey()))
+                        .append(", \"phases\": [");
+                String phaseSeparator = "\n";
+                for (Map.Entry<CompilerPhase, PhaseProfile> phase : module.getValue().entrySet()) {
+                    PhaseProfile profile = phase.getValue();
+                    json.append(phaseSeparator).append("      {\"phase\": ").append(quote(phase.getKey().toString()))
+                            .append(", \"wallTimeNanos\": ").append(profile.wallTime)
+                            .append(", \"cpuTimeNanos\": ").append(profile.cpuTime)
+                            .append(", \"allocatedBytes\": ").append(profile.allocatedBytes).append("}");
+                    phaseSeparator = ",\n";
+                }
+                json.append("\n    ]}");
+                moduleSeparator = ",\n";
+            }
+        }
+        json.append("\n  ],\n  \"slowestTypeCheckedFunctions\": [");
+        String functionSeparator = "\n";
+        for (FunctionProfile function : getSlowestFunctions()) {
+            json.append(functionSeparator).append("    {\"module\": ").append(quote(function.module))
+                    .append(", \"function\": ").append(quote(function.name))
+                    .append(", \"wallTimeNanos\": ").append(function.time).append("}");
+            functionSeparator = ",\n";
+        }
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    private String toFoldedStacks() {
+        // One line per stack with the time spent in the last frame itself, in microseconds. The slowest functions
+        // are shown under the type checking phase of their module.
+        Map<String, Long> typeCheckedFunctionTimes = new LinkedHashMap<>();
+        StringBuilder stacks = new StringBuilder();
+        for (FunctionProfile function : getSlowestFunctions()) {
+            typeCheckedFunctionTimes.merge(function.module, function.time, Long::sum);
+            stacks.append(frame(function.module)).append(';').append(CompilerPhase.TYPE_CHECK).append(';')
+                    .append(frame(function.name)).append(' ').append(toMicros(function.time)).append('\n');
+        }
+
+        synchronized (this.moduleProfiles) {
+            for (Map.Entry<String, Map<CompilerPhase, PhaseProfile>> module : this.moduleProfiles.entrySet()) {
+                for (Map.Entry<CompilerPhase, PhaseProfile> phase : module.getValue().entrySet()) {
+                    long selfTime = phase.getValue().wallTime;
+                    if (phase.getKey() == CompilerPhase.TYPE_CHECK) {
+                        selfTime -= typeCheckedFunctionTimes.getOrDefault(module.getKey(), 0L);
+                    }
+                    stacks.append(frame(module.getKey())).append(';').append(phase.getKey()).append(' ')
+                            .append(toMicros(Math.max(selfTime, 0))).append('\n');
+                }
+            }
+        }
+        return stacks.toString();
+    }
+
+    private List<FunctionProfile> getSlowestFunctions() {
+        List<FunctionProfile> functions = new ArrayList<>(this.slowestFunctions);
+        functions.sort(Comparator.comparingLong((FunctionProfile function) -> function.time).reversed());
+        return functions;
+    }
+
+    private long getCpuTime() {
+        return this.threadMXBean.isCurrentThreadCpuTimeSupported() ? this.threadMXBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    private long getAllocatedBytes() {
+        if (!this.allocationSupported) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) this.threadMXBean)
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static String frame(String name) {
+        // Semicolons separate the frames and a space separates the value in the folded stack format.
+        return name.replace(';', '_').replace(' ', '_');
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < ' ') {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Measurement of the current thread taken at the start of a phase.
+     */
+    public static class Measurement {
+
+        private final long wallTime;
+        private final long cpuTime;
+        private final long allocatedBytes;
+
+        private Measurement(long wallTime, long cpuTime, long allocatedBytes) {
+            this.wallTime = wallTime;
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    private static class PhaseProfile {
+
+        private long wallTime;
+        private long cpuTime;
+        private long allocatedBytes;
+    }
+
+    private static class FunctionProfile {
+
+        private final String module;
+        private final String name;
+        private final long time;
+
+        private FunctionProfile(String module, String name, long time) {
+            this.module = module;
+            this.name = name;
+            this.time = time;
+        }
+    }
+}
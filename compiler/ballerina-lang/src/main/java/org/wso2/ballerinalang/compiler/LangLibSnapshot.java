@@ -0,0 +1,237 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
+import org.wso2.ballerinalang.util.RepoUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import static org.wso2.ballerinalang.util.RepoUtils.BALLERINA_INSTALL_DIR_PROP;
+
+/**
+ * Snapshot of the BIR of the lang library modules, built when the distribution is packed. Restoring the lang
+ * libraries from the snapshot replaces a repository lookup and a file read per module with a lookup in a single
+ * memory mapped file, which is shared by all the compilations done in the same process.
+ * <p>
+ * The snapshot is laid out as the magic value, the format version, the Ballerina version, the modules in the order
+ * they are loaded by the compiler, and a CRC32 checksum of all the preceding bytes. A snapshot that does not match
+ * the format version, the Ballerina version or the checksum is ignored, and the lang libraries are loaded from the
+ * BIR cache of the distribution instead.
+ *
+ * @since 2.0.0
+ */
+public class LangLibSnapshot {
+
+    public static final String SNAPSHOT_FILE_NAME = "lang-libs.snapshot";
+
+    private static final byte[] SNAPSHOT_MAGIC = {(byte) 0xBA, 0x10, 0x55, 0x5A};
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int CHECKSUM_SIZE = 8;
+
+    private static final List<PackageID> LANG_LIBS = Collections.unmodifiableList(Arrays.asList(
+            PackageID.ANNOTATIONS, PackageID.JAVA, PackageID.INTERNAL, PackageID.ARRAY, PackageID.DECIMAL,
+            PackageID.ERROR, PackageID.FLOAT, PackageID.FUTURE, PackageID.INT, PackageID.MAP, PackageID.OBJECT,
+            PackageID.STREAM, PackageID.TABLE, PackageID.STRING, PackageID.TYPEDESC, PackageID.VALUE, PackageID.XML,
+            PackageID.BOOLEAN, PackageID.QUERY, PackageID.TRANSACTION));
+
+    private static final Map<Path, LangLibSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+    private static final LangLibSnapshot EMPTY = new LangLibSnapshot(-1, Collections.emptyMap());
+
+    private final long lastModified;
+    private final Map<String, ByteBuffer> modules;
+    private final Map<String, byte[]> moduleContents = new ConcurrentHashMap<>();
+
+    private LangLibSnapshot(long lastModified, Map<String, ByteBuffer> modules) {
+        this.lastModified = lastModified;
+        this.modules = modules;
+    }
+
+    /**
+     * Returns the snapshot shipped with the distribution, loading it on first use.
+     *
+     * @return the snapshot, which is empty if the distribution does not have a valid snapshot
+     */
+    public static LangLibSnapshot getInstance() {
+        String ballerinaHome = System.getProperty(BALLERINA_INSTALL_DIR_PROP);
+        if (ballerinaHome == null || RepoUtils.LOAD_BUILTIN_FROM_SOURCE) {
+            return EMPTY;
+        }
+
+        Path snapshotPath = Paths.get(ballerinaHome).resolve(ProjectDirConstants.DIST_BIR_CACHE_DIR_NAME)
+                .resolve(SNAPSHOT_FILE_NAME).toAbsolutePath();
+        long lastModified = getLastModified(snapshotPath);
+        return SNAPSHOTS.compute(snapshotPath, (path, snapshot) -> {
+            if (snapshot != null && snapshot.lastModified == lastModified) {
+                return snapshot;
+            }
+            return lastModified < 0 ? EMPTY : read(path, lastModified);
+        });
+    }
+
+    /**
+     * Returns the BIR of a lang library module.
+     *
+     * @param pkgId module ID
+     * @return the BIR of the module, or null if the module is not in the snapshot
+     */
+    public byte[] get(PackageID pkgId) {
+        ByteBuffer module = this.modules.get(getKey(pkgId));
+        if (module == null) {
+            return null;
+        }
+        return this.moduleContents.computeIfAbsent(getKey(pkgId), key -> {
+            byte[] content = new byte[module.remaining()];
+            module.duplicate().get(content);
+            return content;
+        });
+    }
+
+    /**
+     * Writes the snapshot of the lang library modules found in a BIR cache.
+     *
+     * @param birCacheDir  BIR cache directory of the distribution
+     * @param snapshotPath path of the snapshot to write
+     */
+    public static void write(Path birCacheDir, Path snapshotPath) {
+        try {
+            ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+            DataOutputStream dataOutStream = new DataOutputStream(snapshot);
+            dataOutStream.write(SNAPSHOT_MAGIC);
+            dataOutStream.writeInt(SNAPSHOT_VERSION);
+            writeString(dataOutStream, RepoUtils.getBallerinaVersion());
+            dataOutStream.writeInt(LANG_LIBS.size());
+            for (PackageID langLib : LANG_LIBS) {
+                Path birPath = birCacheDir.resolve(langLib.orgName.value).resolve(langLib.name.value)
+                        .resolve(langLib.version.value)
+                        .resolve(langLib.name.value + ProjectDirConstants.BLANG_COMPILED_PKG_BIR_EXT);
+                byte[] content = Files.readAllBytes(birPath);
+                writeString(dataOutStream, getKey(langLib));
+                dataOutStream.writeInt(content.length);
+                dataOutStream.write(content);
+            }
+            dataOutStream.flush();
+
+            CRC32 checksum = new CRC32();
+            checksum.update(snapshot.toByteArray());
+            dataOutStream.writeLong(checksum.getValue());
+            dataOutStream.flush();
+
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tempPath = Files.createTempFile(parent, SNAPSHOT_FILE_NAME, ".tmp");
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempPath))) {
+                snapshot.writeTo(outputStream);
+            }
+            Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new BLangCompilerException("error writing the lang library snapshot '" + snapshotPath + "': " +
+                                                     e.getMessage(), e);
+        }
+    }
+
+    private static LangLibSnapshot read(Path snapshotPath, long lastModified) {
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int contentSize = buffer.limit() - CHECKSUM_SIZE;
+            if (contentSize < SNAPSHOT_MAGIC.length) {
+                return EMPTY;
+            }
+
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.duplicate().position(0).limit(contentSize));
+            if (checksum.getValue() != buffer.getLong(contentSize)) {
+                return EMPTY;
+            }
+
+            byte[] magic = new byte[SNAPSHOT_MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, SNAPSHOT_MAGIC) || buffer.getInt() != SNAPSHOT_VERSION ||
+                    !RepoUtils.getBallerinaVersion().equals(readString(buffer))) {
+                return EMPTY;
+            }
+
+            int moduleCount = buffer.getInt();
+            Map<String, ByteBuffer> modules = new HashMap<>();
+            for (int i = 0; i < moduleCount; i++) {
+                String key = readString(buffer);
+                int size = buffer.getInt();
+                modules.put(key, buffer.slice().limit(size));
+                buffer.position(buffer.position() + size);
+            }
+            return new LangLibSnapshot(lastModified, modules);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            // A snapshot that cannot be read is ignored, and the lang libraries are loaded from the BIR cache.
+            return EMPTY;
+        }
+    }
+
+    private static long getLastModified(Path snapshotPath) {
+        try {
+            return Files.getLastModifiedTime(snapshotPath).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static String getKey(PackageID pkgId) {
+        return pkgId.orgName.value + "/" + pkgId.name.value + ":" + pkgId.version.value;
+    }
+
+    private static void writeString(DataOutputStream dataOutStream, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        dataOutStream.writeInt(bytes.length);
+        dataOutStream.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("usage: LangLibSnapshot <bir-cache-dir> <snapshot-path>");
+        }
+        write(Paths.get(args[0]), Paths.get(args[1]));
+    }
+}
@@ -114,6 +114,7 @@ public class PackageLoader {
     private final PackageCache packageCache;
     private final SymbolEnter symbolEnter;
     private final BIRPackageSymbolEnter birPackageSymbolEnter;
+    private final LangLibSnapshot langLibSnapshot;
     private final Names names;
     private static final boolean shouldReadBalo = true;
     private final CompilerPhase compilerPhase;
@@ -146,6 +147,7 @@ public class PackageLoader {
         this.packageCache = PackageCache.getInstance(context);
         this.symbolEnter = SymbolEnter.getInstance(context);
         this.birPackageSymbolEnter = BIRPackageSymbolEnter.getInstance(context);
+        this.langLibSnapshot = LangLibSnapshot.getInstance();
         this.names = Names.getInstance(context);
         this.offline = Boolean.parseBoolean(options.get(OFFLINE));
         this.testEnabled = Boolean.parseBoolean(options.get(TEST_ENABLED));
@@ -415,6 +417,15 @@ public class PackageLoader {
             return packageSymbol;
         }
 
+        if (PackageID.isLangLibPackageID(packageId)) {
+            byte[] pkgBinaryContent = this.langLibSnapshot.get(packageId);
+            if (pkgBinaryContent != null) {
+                packageSymbol = this.birPackageSymbolEnter.definePackage(packageId, null, pkgBinaryContent);
+                this.packageCache.putSymbol(packageSymbol.pkgID, packageSymbol);
+                return packageSymbol;
+            }
+        }
+
         PackageEntity pkgEntity = loadPackageEntity(packageId, enclPackageId, encPkgRepoHierarchy);
 
         if (pkgEntity == null) {
@@ -0,0 +1,302 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.compiler.CompilerOptionName;
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.CompiledJarFile;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.util.RepoUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.wso2.ballerinalang.compiler.util.ProjectDirConstants.BLANG_PKG_DEFAULT_VERSION;
+
+/**
+ * On-disk cache of the classes generated for modules. An entry is keyed on everything the generated classes depend
+ * on: the BIR of the module, the BIR of the modules it imports directly or transitively, the compiler options that
+ * affect code generation, the native dependencies used for interop validation and the version of the compiler.
+ * A module whose key has not changed since the last build reuses its classes instead of generating them again.
+ * <p>
+ * The cache is enabled by setting the {@code buildCacheDir} compiler option to the directory of the cache.
+ *
+ * @since 2.0.0
+ */
+public class CodeGenCache {
+
+    private static final CompilerContext.Key<CodeGenCache> CODE_GEN_CACHE_KEY = new CompilerContext.Key<>();
+
+    private static final String CACHE_ENTRY_SUFFIX = ".jar";
+    private static final CompilerOptionName[] KEY_OPTIONS = {
+            CompilerOptionName.EXPERIMENTAL_FEATURES_ENABLED,
+            CompilerOptionName.SKIP_MODULE_DEPENDENCIES,
+            CompilerOptionName.BALO_GENERATION
+    };
+
+    private final Path cacheDir;
+    private final String optionsKey;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public static CodeGenCache getInstance(CompilerContext context) {
+        CodeGenCache codeGenCache = context.get(CODE_GEN_CACHE_KEY);
+        if (codeGenCache == null) {
+            codeGenCache = new CodeGenCache(context);
+        }
+        return codeGenCache;
+    }
+
+    private CodeGenCache(CompilerContext context) {
+        context.put(CODE_GEN_CACHE_KEY, this);
+
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        String cacheDir = options.get(CompilerOptionName.BUILD_CACHE_DIR);
+        this.cacheDir = cacheDir == null || cacheDir.isEmpty() ? null : Paths.get(cacheDir);
+
+        StringBuilder optionsKey = new StringBuilder(RepoUtils.getBallerinaVersion());
+        for (CompilerOptionName option : KEY_OPTIONS) {
+            optionsKey.append(';').append(option).append('=').append(options.get(option));
+        }
+        this.optionsKey = optionsKey.toString();
+    }
+
+    public boolean isEnabled() {
+        return this.cacheDir != null;
+    }
+
+    public int getHits() {
+        return this.hits.get();
+    }
+
+    public int getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Computes the cache key of the classes of a module.
+     *
+     * @param packageSymbol      symbol of the module, after its BIR is generated
+     * @param moduleDependencies native dependencies of the module
+     * @return cache key, or null if the cache is disabled or the module cannot be cached
+     */
+    public String getKey(BPackageSymbol packageSymbol, Set<Path> moduleDependencies) {
+        if (!isEnabled() || packageSymbol.birPackageFile == null) {
+            return null;
+        }
+
+        MessageDigest digest = createDigest();
+        update(digest, this.optionsKey);
+        digest.update(packageSymbol.birPackageFile.pkgBirBinaryContent);
+
+        // The generated classes embed the types and the function signatures of the imported modules, which may in
+        // turn be defined in terms of the modules they import.
+        Map<String, BPackageSymbol> imports = new HashMap<>();
+        collectImports(packageSymbol, imports);
+        List<String> importIds = new ArrayList<>(imports.keySet());
+        importIds.sort(Comparator.naturalOrder());
+        for (String importId : importIds) {
+            update(digest, importId);
+            BPackageSymbol importSymbol = imports.get(importId);
+            if (importSymbol.birPackageFile != null) {
+                digest.update(importSymbol.birPackageFile.pkgBirBinaryContent);
+            }
+        }
+
+        List<Path> dependencies = new ArrayList<>(moduleDependencies);
+        dependencies.sort(Comparator.naturalOrder());
+        for (Path dependency : dependencies) {
+            update(digest, dependency.toString());
+            try {
+                update(digest, Files.size(dependency) + ":" + Files.getLastModifiedTime(dependency).toMillis());
+            } catch (IOException e) {
+                // A missing dependency fails the interop validation, hence the module is not cached.
+                return null;
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Loads the classes of a module from the cache.
+     *
+     * @param pkgId module ID
+     * @param key   cache key returned by {@link #getKey(BPackageSymbol, Set)}
+     * @return the cached classes, or null if they are not in the cache
+     */
+    public CompiledJarFile get(PackageID pkgId, String key) {
+        if (key == null) {
+            return null;
+        }
+
+        Path entryPath = getModuleCacheDir(pkgId).resolve(key + CACHE_ENTRY_SUFFIX);
+        if (!Files.exists(entryPath)) {
+            this.misses.incrementAndGet();
+            return null;
+        }
+
+        try (JarInputStream jarStream = new JarInputStream(new BufferedInputStream(Files.newInputStream(entryPath)))) {
+            Map<String, byte[]> jarEntries = new LinkedHashMap<>();
+            JarEntry entry;
+            while ((entry = jarStream.getNextJarEntry()) != null) {
+                jarEntries.put(entry.getName(), readEntry(jarStream));
+            }
+            Manifest manifest = jarStream.getManifest();
+            String mainClassName = manifest == null ? null :
+                    manifest.getMainAttributes().getValue(Attributes.Name.MAIN_CLASS);
+            this.hits.incrementAndGet();
+            return new CompiledJarFile(mainClassName, jarEntries);
+        } catch (IOException e) {
+            // A corrupted entry is generated again, and replaced.
+            this.misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Stores the classes of a module in the cache, replacing the classes cached for the module earlier.
+     *
+     * @param pkgId           module ID
+     * @param key             cache key returned by {@link #getKey(BPackageSymbol, Set)}
+     * @param compiledJarFile the classes generated for the module
+     */
+    public void put(PackageID pkgId, String key, CompiledJarFile compiledJarFile) {
+        if (key == null || compiledJarFile == null) {
+            return;
+        }
+        Path jarPath = compiledJarFile.getJarPath().orElse(null);
+        if (jarPath == null ? compiledJarFile.getJarEntries().isEmpty() : !Files.exists(jarPath)) {
+            return;
+        }
+
+        Path moduleCacheDir = getModuleCacheDir(pkgId);
+        try {
+            Files.createDirectories(moduleCacheDir);
+            try (DirectoryStream<Path> staleEntries = Files.newDirectoryStream(moduleCacheDir,
+                                                                               "*" + CACHE_ENTRY_SUFFIX)) {
+                for (Path staleEntry : staleEntries) {
+                    Files.deleteIfExists(staleEntry);
+                }
+            }
+
+            Manifest manifest = new Manifest();
+            Attributes mainAttributes = manifest.getMainAttributes();
+            mainAttributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            compiledJarFile.getMainClassName().ifPresent(mainClassName ->
+                    mainAttributes.put(Attributes.Name.MAIN_CLASS, mainClassName));
+
+            // Written to a temporary file first, so that an interrupted build does not leave a partial entry.
+            Path tempPath = Files.createTempFile(moduleCacheDir, key, ".tmp");
+            if (jarPath != null) {
+                // The classes were streamed to a jar while they were generated.
+                Files.copy(jarPath, tempPath, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(tempPath, moduleCacheDir.resolve(key + CACHE_ENTRY_SUFFIX),
+                           StandardCopyOption.REPLACE_EXISTING);
+                return;
+            }
+            try (JarOutputStream jarStream = new JarOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempPath)), manifest)) {
+                for (Map.Entry<String, byte[]> jarEntry : compiledJarFile.getJarEntries().entrySet()) {
+                    jarStream.putNextEntry(new JarEntry(jarEntry.getKey()));
+                    jarStream.write(jarEntry.getValue());
+                    jarStream.closeEntry();
+                }
+            }
+            Files.move(tempPath, moduleCacheDir.resolve(key + CACHE_ENTRY_SUFFIX),
+                       StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new BLangCompilerException("error writing the generated classes of '" + pkgId +
+                                                     "' to the build cache '" + moduleCacheDir + "': " +
+                                                     e.getMessage(), e);
+        }
+    }
+
+    private Path getModuleCacheDir(PackageID pkgId) {
+        String version = pkgId.version.value.isEmpty() ? BLANG_PKG_DEFAULT_VERSION : pkgId.version.value;
+        return this.cacheDir.resolve(pkgId.orgName.value).resolve(pkgId.name.value).resolve(version);
+    }
+
+    private static void collectImports(BPackageSymbol packageSymbol, Map<String, BPackageSymbol> imports) {
+        for (BPackageSymbol importSymbol : packageSymbol.imports) {
+            if (importSymbol == null) {
+                continue;
+            }
+            if (imports.putIfAbsent(importSymbol.pkgID.toString(), importSymbol) == null) {
+                collectImports(importSymbol, imports);
+            }
+        }
+    }
+
+    private static byte[] readEntry(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new BLangCompilerException("SHA-256 is not supported by the JVM", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
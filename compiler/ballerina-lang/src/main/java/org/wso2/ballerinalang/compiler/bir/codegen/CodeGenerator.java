@@ -21,6 +21,7 @@ import org.ballerinalang.compiler.BLangCompilerException;
 import org.ballerinalang.compiler.CompilerOptionName;
 import org.ballerinalang.compiler.JarResolver;
 import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.CompiledJarFile;
 import org.wso2.ballerinalang.compiler.PackageCache;
 import org.wso2.ballerinalang.compiler.bir.codegen.interop.InteropValidator;
 import org.wso2.ballerinalang.compiler.bir.emit.BIREmitter;
@@ -49,10 +50,14 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static org.ballerinalang.compiler.JarResolver.JAR_RESOLVER_KEY;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmDesugarPhase.encodeModuleIdentifiers;
 import static org.wso2.ballerinalang.compiler.util.ProjectDirConstants.BALLERINA_HOME;
+import static org.wso2.ballerinalang.compiler.util.ProjectDirConstants.BLANG_COMPILED_JAR_EXT;
+import static org.wso2.ballerinalang.compiler.util.ProjectDirConstants.BLANG_PKG_DEFAULT_VERSION;
 
 /**
  * JVM byte code generator from BIR model.
@@ -62,16 +67,21 @@ import static org.wso2.ballerinalang.compiler.util.ProjectDirConstants.BALLERINA
 public class CodeGenerator {
 
     private static final CompilerContext.Key<CodeGenerator> CODE_GEN = new CompilerContext.Key<>();
+    private static final String STREAMED_TEST_JAR_SUFFIX = "-testable";
     private SymbolTable symbolTable;
     private PackageCache packageCache;
     private BLangDiagnosticLog dlog;
     private BIREmitter birEmitter;
+    private CodeGenCache codeGenCache;
     private boolean baloGen;
     private CompilerContext compilerContext;
     private boolean skipTests;
     private boolean dumbBIR;
     private final String dumpBIRFile;
     private boolean skipModuleDependencies;
+    private final Path streamedJarDir;
+    // Modules are linked one at a time, while the classes of independent modules are generated in parallel.
+    private final ReadWriteLock birLock = new ReentrantReadWriteLock();
     private Path ballerinaHome = Paths.get(System.getProperty(BALLERINA_HOME));
 
     private CodeGenerator(CompilerContext compilerContext) {
@@ -81,6 +91,7 @@ public class CodeGenerator {
         this.packageCache = PackageCache.getInstance(compilerContext);
         this.dlog = BLangDiagnosticLog.getInstance(compilerContext);
         this.birEmitter = BIREmitter.getInstance(compilerContext);
+        this.codeGenCache = CodeGenCache.getInstance(compilerContext);
         this.compilerContext = compilerContext;
         CompilerOptions compilerOptions = CompilerOptions.getInstance(compilerContext);
         this.skipTests = getBooleanValueIfSet(compilerOptions, CompilerOptionName.SKIP_TESTS);
@@ -89,6 +100,8 @@ public class CodeGenerator {
         this.dumpBIRFile = compilerOptions.get(CompilerOptionName.DUMP_BIR_FILE);
         this.skipModuleDependencies = getBooleanValueIfSet(compilerOptions,
                 CompilerOptionName.SKIP_MODULE_DEPENDENCIES);
+        String streamedJarDir = compilerOptions.get(CompilerOptionName.STREAMED_JAR_DIR);
+        this.streamedJarDir = streamedJarDir == null || streamedJarDir.isEmpty() ? null : Paths.get(streamedJarDir);
     }
 
     public static CodeGenerator getInstance(CompilerContext context) {
@@ -108,6 +121,19 @@ public class CodeGenerator {
 
     public BLangPackage generate(BLangPackage bLangPackage) {
 
+        prepare(bLangPackage);
+        generateClasses(bLangPackage);
+        return bLangPackage;
+    }
+
+    /**
+     * Prepares the BIR of the given package for class generation. The identifiers of the package are encoded here,
+     * so the packages which import this package see the encoded names even when its classes are generated later.
+     *
+     * @param bLangPackage package to prepare
+     */
+    public void prepare(BLangPackage bLangPackage) {
+
         if (dumbBIR) {
             birEmitter.emit(bLangPackage.symbol.bir);
         }
@@ -121,14 +147,45 @@ public class CodeGenerator {
             }
         }
 
+        //Rewrite identiifier names with encoding special characters
+        Names names = Names.getInstance(this.compilerContext);
+        encodeModuleIdentifiers(bLangPackage.symbol.bir, names);
+
+        if (skipTests || !bLangPackage.hasTestablePackage()) {
+            return;
+        }
+
+        bLangPackage.getTestablePkgs().forEach(
+                testablePackage -> encodeModuleIdentifiers(testablePackage.symbol.bir, names));
+    }
+
+    /**
+     * Generates the module jar, and the test module jar if tests are enabled, of a package prepared with
+     * {@link #prepare(BLangPackage)}. Classes of packages that do not import each other can be generated in
+     * parallel, once the classes of the packages they import are generated.
+     *
+     * @param bLangPackage package to generate classes for
+     */
+    public void generateClasses(BLangPackage bLangPackage) {
+
         // find module dependencies path
         Set<Path> moduleDependencies = findDependencies(bLangPackage.packageID);
 
-        // generate module jar
-        generate(bLangPackage.symbol, moduleDependencies);
+        // generate module jar, unless it is found in the build cache
+        String cacheKey = codeGenCache.getKey(bLangPackage.symbol, moduleDependencies);
+        CompiledJarFile cachedJarFile = codeGenCache.get(bLangPackage.packageID, cacheKey);
+        if (cachedJarFile != null) {
+            link(bLangPackage.symbol, moduleDependencies);
+            bLangPackage.symbol.compiledJarFile = cachedJarFile;
+        } else {
+            generate(bLangPackage.symbol, moduleDependencies, getStreamedJarPath(bLangPackage.packageID, ""));
+            if (dlog.errorCount() == 0) {
+                codeGenCache.put(bLangPackage.packageID, cacheKey, bLangPackage.symbol.compiledJarFile);
+            }
+        }
 
         if (skipTests || !bLangPackage.hasTestablePackage()) {
-            return bLangPackage;
+            return;
         }
 
         bLangPackage.getTestablePkgs().forEach(testablePackage -> {
@@ -137,25 +194,45 @@ public class CodeGenerator {
             Set<Path> testDependencies = findTestDependencies(testablePackage.packageID, moduleDependencies);
 
             // generate test module jar
-            generate(testablePackage.symbol, testDependencies);
+            generate(testablePackage.symbol, testDependencies,
+                     getStreamedJarPath(testablePackage.packageID, STREAMED_TEST_JAR_SUFFIX));
         });
+    }
 
-        return bLangPackage;
+    private void generate(BPackageSymbol packageSymbol, Set<Path> moduleDependencies, Path jarPath) {
+
+        final JvmPackageGen jvmPackageGen = new JvmPackageGen(symbolTable, packageCache, dlog, birLock);
+
+        populateExternalMap(jvmPackageGen);
+
+        ClassLoader interopValidationClassLoader = makeClassLoader(moduleDependencies);
+        InteropValidator interopValidator = new InteropValidator(interopValidationClassLoader, symbolTable);
+
+        packageSymbol.compiledJarFile = jvmPackageGen.generate(packageSymbol.bir, interopValidator, true, jarPath);
     }
 
-    private void generate(BPackageSymbol packageSymbol, Set<Path> moduleDependencies) {
+    private void link(BPackageSymbol packageSymbol, Set<Path> moduleDependencies) {
 
-        final JvmPackageGen jvmPackageGen = new JvmPackageGen(symbolTable, packageCache, dlog);
+        // The modules which import a cached module link to its rewritten BIR, as if its classes were generated.
+        final JvmPackageGen jvmPackageGen = new JvmPackageGen(symbolTable, packageCache, dlog, birLock);
 
         populateExternalMap(jvmPackageGen);
 
         ClassLoader interopValidationClassLoader = makeClassLoader(moduleDependencies);
         InteropValidator interopValidator = new InteropValidator(interopValidationClassLoader, symbolTable);
 
-        //Rewrite identiifier names with encoding special characters
-        encodeModuleIdentifiers(packageSymbol.bir, Names.getInstance(this.compilerContext));
+        jvmPackageGen.link(packageSymbol.bir, interopValidator);
+    }
+
+    private Path getStreamedJarPath(PackageID pkgId, String suffix) {
 
-        packageSymbol.compiledJarFile = jvmPackageGen.generate(packageSymbol.bir, interopValidator, true);
+        // Classes are kept in memory unless a directory is given to stream them to while they are generated.
+        if (streamedJarDir == null) {
+            return null;
+        }
+        String version = pkgId.version.value.isEmpty() ? BLANG_PKG_DEFAULT_VERSION : pkgId.version.value;
+        return streamedJarDir.resolve(pkgId.orgName.value + "-" + pkgId.name.value + "-" + version + suffix +
+                                              BLANG_COMPILED_JAR_EXT);
     }
 
     private Set<Path> findDependencies(PackageID packageID) {
@@ -29,6 +29,7 @@ import org.wso2.ballerinalang.compiler.bir.codegen.interop.JInsKind;
 import org.wso2.ballerinalang.compiler.bir.codegen.interop.JInstruction;
 import org.wso2.ballerinalang.compiler.bir.codegen.interop.JType;
 import org.wso2.ballerinalang.compiler.bir.codegen.interop.JTypeTags;
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
@@ -39,13 +40,21 @@ import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.SchedulerPolicy;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BObjectType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BServiceType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.util.Flags;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.objectweb.asm.Opcodes.AASTORE;
 import static org.objectweb.asm.Opcodes.ACONST_NULL;
@@ -66,6 +75,7 @@ import static org.objectweb.asm.Opcodes.DSUB;
 import static org.objectweb.asm.Opcodes.DUP;
 import static org.objectweb.asm.Opcodes.FLOAD;
 import static org.objectweb.asm.Opcodes.FSTORE;
+import static org.objectweb.asm.Opcodes.GETFIELD;
 import static org.objectweb.asm.Opcodes.GETSTATIC;
 import static org.objectweb.asm.Opcodes.GOTO;
 import static org.objectweb.asm.Opcodes.I2B;
@@ -90,6 +100,7 @@ import static org.objectweb.asm.Opcodes.IF_ICMPLT;
 import static org.objectweb.asm.Opcodes.IF_ICMPNE;
 import static org.objectweb.asm.Opcodes.ILOAD;
 import static org.objectweb.asm.Opcodes.INEG;
+import static org.objectweb.asm.Opcodes.INSTANCEOF;
 import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
 import static org.objectweb.asm.Opcodes.INVOKESTATIC;
@@ -116,6 +127,7 @@ import static org.objectweb.asm.Opcodes.LUSHR;
 import static org.objectweb.asm.Opcodes.LXOR;
 import static org.objectweb.asm.Opcodes.NEW;
 import static org.objectweb.asm.Opcodes.NEWARRAY;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
 import static org.objectweb.asm.Opcodes.PUTSTATIC;
 import static org.objectweb.asm.Opcodes.T_INT;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmCastGen.generateCast;
@@ -175,8 +187,10 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.XML_VALUE
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmTypeGen.duplicateServiceTypeWithAnnots;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmTypeGen.getTypeDesc;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmTypeGen.loadType;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.getFieldIsPresentFlagName;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.getTypeDescClassName;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.getTypeValueClassName;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.isOptionalRecordField;
 
 /**
  * Instruction generator helper class to hold its enclosing pkg and index map.
@@ -193,9 +207,10 @@ public class JvmInstructionGen {
     private final BIRNode.BIRPackage currentPackage;
     private final JvmPackageGen jvmPackageGen;
     private final SymbolTable symbolTable;
+    private final Map<BIRNode.BIRVariableDcl, String> constantStringVars;
 
     public JvmInstructionGen(MethodVisitor mv, BIRVarToJVMIndexMap indexMap, BIRNode.BIRPackage currentPackage,
-                             JvmPackageGen jvmPackageGen) {
+                             JvmPackageGen jvmPackageGen, BIRNode.BIRFunction func) {
 
         this.mv = mv;
         this.indexMap = indexMap;
@@ -203,6 +218,51 @@ public class JvmInstructionGen {
         this.jvmPackageGen = jvmPackageGen;
         this.symbolTable = jvmPackageGen.symbolTable;
         this.currentPackageName = JvmCodeGenUtil.getPackageName(currentPackage);
+        this.constantStringVars = findConstantStringVars(func);
+    }
+
+    /**
+     * Finds the temporary variables of a function that are assigned only once, with a string constant. Field names
+     * of field access expressions are loaded into such variables.
+     *
+     * @param func function to be generated
+     * @return string constant of each variable
+     */
+    private static Map<BIRNode.BIRVariableDcl, String> findConstantStringVars(BIRNode.BIRFunction func) {
+
+        Map<BIRNode.BIRVariableDcl, String> constants = new HashMap<>();
+        Set<BIRNode.BIRVariableDcl> assignedVars = new HashSet<>();
+        Set<BIRNode.BIRVariableDcl> reassignedVars = new HashSet<>();
+        for (BIRNode.BIRBasicBlock bb : func.basicBlocks) {
+            for (BIRNonTerminator ins : bb.instructions) {
+                addAssignment(ins, constants, assignedVars, reassignedVars);
+            }
+            if (bb.terminator != null) {
+                addAssignment(bb.terminator, constants, assignedVars, reassignedVars);
+            }
+        }
+        constants.keySet().removeAll(reassignedVars);
+        return constants;
+    }
+
+    private static void addAssignment(BIRAbstractInstruction ins, Map<BIRNode.BIRVariableDcl, String> constants,
+                                      Set<BIRNode.BIRVariableDcl> assignedVars,
+                                      Set<BIRNode.BIRVariableDcl> reassignedVars) {
+
+        if (ins.lhsOp == null || ins.lhsOp.variableDcl.kind != VarKind.TEMP) {
+            return;
+        }
+        BIRNode.BIRVariableDcl varDcl = ins.lhsOp.variableDcl;
+        if (!assignedVars.add(varDcl)) {
+            reassignedVars.add(varDcl);
+            return;
+        }
+        if (ins.getKind() == InstructionKind.CONST_LOAD) {
+            BIRNonTerminator.ConstantLoad constantLoad = (BIRNonTerminator.ConstantLoad) ins;
+            if (constantLoad.type.tag == TypeTags.STRING && constantLoad.value != null) {
+                constants.put(varDcl, String.valueOf(constantLoad.value));
+            }
+        }
     }
 
     static void addJUnboxInsn(MethodVisitor mv, JType jType) {
@@ -1295,6 +1355,15 @@ public class JvmInstructionGen {
         this.loadVar(mapStoreIns.lhsOp.variableDcl);
         BType varRefType = mapStoreIns.lhsOp.variableDcl.type;
 
+        Label storeEndLabel = null;
+        if (!mapStoreIns.onInitialization) {
+            BField field = getRecordField(varRefType, mapStoreIns.keyOp.variableDcl);
+            if (field != null && !Symbols.isFlagOn(field.symbol.flags, Flags.READONLY)) {
+                storeEndLabel = new Label();
+                this.generateRecordFieldStore(varRefType, field, mapStoreIns.rhsOp.variableDcl, storeEndLabel);
+            }
+        }
+
         // visit key_expr
         this.loadVar(mapStoreIns.keyOp.variableDcl);
 
@@ -1315,6 +1384,95 @@ public class JvmInstructionGen {
                                              MAP_VALUE, JvmConstants.B_STRING_VALUE, OBJECT);
             this.mv.visitMethodInsn(INVOKESTATIC, MAP_UTILS, "handleMapStore", signature, false);
         }
+
+        if (storeEndLabel != null) {
+            this.mv.visitLabel(storeEndLabel);
+        }
+    }
+
+    /**
+     * Returns the declared field of a record type of the current module, if the key is a constant naming it. Such a
+     * field is a field of the record value class, and can be accessed directly.
+     */
+    private BField getRecordField(BType varRefType, BIRNode.BIRVariableDcl keyVarDcl) {
+
+        if (varRefType.tag != TypeTags.RECORD || jvmPackageGen.lookupRecordValueClassName(varRefType) == null) {
+            return null;
+        }
+        String key = constantStringVars.get(keyVarDcl);
+        if (key == null) {
+            return null;
+        }
+        // keys hold the decoded field names, whereas the fields of the value class use the encoded names
+        for (BField field : ((BRecordType) varRefType).fields.values()) {
+            if (key.equals(IdentifierUtils.decodeIdentifier(field.name.value))) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores to the field of the record value class when the value is an instance of it and is not frozen. Otherwise
+     * falls through to the generic map store, with the map still on the stack.
+     */
+    private void generateRecordFieldStore(BType recordType, BField field, BIRNode.BIRVariableDcl valueVarDcl,
+                                          Label storeEndLabel) {
+
+        String className = jvmPackageGen.lookupRecordValueClassName(recordType);
+        String fieldName = field.name.value;
+        Label mapStoreLabel = new Label();
+
+        this.mv.visitInsn(DUP);
+        this.mv.visitTypeInsn(INSTANCEOF, className);
+        this.mv.visitJumpInsn(IFEQ, mapStoreLabel);
+        this.mv.visitInsn(DUP);
+        this.mv.visitMethodInsn(INVOKEINTERFACE, MAP_VALUE, "isFrozen", "()Z", true);
+        this.mv.visitJumpInsn(IFNE, mapStoreLabel);
+
+        this.mv.visitTypeInsn(CHECKCAST, className);
+        if (isOptionalRecordField(field)) {
+            this.mv.visitInsn(DUP);
+            this.mv.visitInsn(ICONST_1);
+            this.mv.visitFieldInsn(PUTFIELD, className, getFieldIsPresentFlagName(fieldName),
+                                   getTypeDesc(symbolTable.booleanType));
+        }
+        this.loadVar(valueVarDcl);
+        this.convertFieldValue(valueVarDcl.type, field.type);
+        this.mv.visitFieldInsn(PUTFIELD, className, fieldName, getTypeDesc(field.type));
+        this.mv.visitJumpInsn(GOTO, storeEndLabel);
+
+        this.mv.visitLabel(mapStoreLabel);
+    }
+
+    /**
+     * Loads the field from the record value class when the value is an instance of it. Otherwise falls through to the
+     * generic map load, with the map still on the stack.
+     */
+    private void generateRecordFieldLoad(BType recordType, BField field, BType targetType, Label loadEndLabel) {
+
+        String className = jvmPackageGen.lookupRecordValueClassName(recordType);
+        Label mapLoadLabel = new Label();
+
+        this.mv.visitInsn(DUP);
+        this.mv.visitTypeInsn(INSTANCEOF, className);
+        this.mv.visitJumpInsn(IFEQ, mapLoadLabel);
+
+        this.mv.visitTypeInsn(CHECKCAST, className);
+        this.mv.visitFieldInsn(GETFIELD, className, field.name.value, getTypeDesc(field.type));
+        this.convertFieldValue(field.type, targetType);
+        this.mv.visitJumpInsn(GOTO, loadEndLabel);
+
+        this.mv.visitLabel(mapLoadLabel);
+    }
+
+    private void convertFieldValue(BType sourceType, BType targetType) {
+
+        if (getTypeDesc(sourceType).equals(getTypeDesc(targetType))) {
+            return;
+        }
+        JvmCastGen.addBoxInsn(this.mv, sourceType);
+        JvmCastGen.addUnboxInsn(this.mv, targetType);
     }
 
     void generateMapLoadIns(BIRNonTerminator.FieldAccess mapLoadIns) {
@@ -1322,6 +1480,15 @@ public class JvmInstructionGen {
         this.loadVar(mapLoadIns.rhsOp.variableDcl);
         BType varRefType = mapLoadIns.rhsOp.variableDcl.type;
         JvmCastGen.addUnboxInsn(this.mv, varRefType);
+        BType targetType = mapLoadIns.lhsOp.variableDcl.type;
+
+        // required fields are always present, hence reading them never fills or returns nil
+        Label loadEndLabel = null;
+        BField field = getRecordField(varRefType, mapLoadIns.keyOp.variableDcl);
+        if (field != null && !isOptionalRecordField(field)) {
+            loadEndLabel = new Label();
+            this.generateRecordFieldLoad(varRefType, field, targetType, loadEndLabel);
+        }
 
         // visit key_expr
         this.loadVar(mapLoadIns.keyOp.variableDcl);
@@ -1348,9 +1515,12 @@ public class JvmInstructionGen {
             }
         }
 
-        // store in the target reg
-        BType targetType = mapLoadIns.lhsOp.variableDcl.type;
         JvmCastGen.addUnboxInsn(this.mv, targetType);
+        if (loadEndLabel != null) {
+            this.mv.visitLabel(loadEndLabel);
+        }
+
+        // store in the target reg
         this.storeToVar(mapLoadIns.lhsOp.variableDcl);
     }
 
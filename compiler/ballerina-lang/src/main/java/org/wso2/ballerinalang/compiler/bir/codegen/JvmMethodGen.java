@@ -74,6 +74,7 @@ import org.wso2.ballerinalang.compiler.semantics.model.types.BServiceType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
 import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.ResolvedTypeBuilder;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 import org.wso2.ballerinalang.util.Flags;
 
@@ -258,12 +259,29 @@ public class JvmMethodGen {
         genLocalVars(indexMap, mv, func.localVars);
 
         int returnVarRefIndex = getReturnVarRefIndex(func, indexMap, retType, mv);
+        LabelGenerator labelGen = new LabelGenerator();
+        JvmInstructionGen instGen = new JvmInstructionGen(mv, indexMap, module, jvmPackageGen, func);
+        JvmErrorGen errorGen = new JvmErrorGen(mv, indexMap, instGen);
+        JvmTerminatorGen termGen = new JvmTerminatorGen(mv, indexMap, labelGen, errorGen, module, instGen,
+                                                        jvmPackageGen);
+
+        if (jvmPackageGen.getYieldAnalysis().isYieldFree(func)) {
+            // A function which never yields is never resumed, hence it needs neither the state nor the frame.
+            generateBasicBlocks(mv, labelGen, errorGen, instGen, termGen, func, returnVarRefIndex, -1,
+                                localVarOffset, module, attachedType, moduleClassName, asyncDataCollector);
+            Label methodEndLabel = new Label();
+            mv.visitLabel(methodEndLabel);
+            createLocalVariableTable(func, indexMap, localVarOffset, mv, methodStartLabel, labelGen, methodEndLabel);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+            return;
+        }
+
         int stateVarIndex = getStateVarIndex(indexMap, mv);
 
         mv.visitVarInsn(ALOAD, localVarOffset);
         mv.visitFieldInsn(GETFIELD, STRAND_CLASS, RESUME_INDEX, "I");
 
-        LabelGenerator labelGen = new LabelGenerator();
         Label resumeLabel = labelGen.getLabel(funcName + "resume");
         mv.visitJumpInsn(IFGT, resumeLabel);
 
@@ -276,11 +294,6 @@ public class JvmMethodGen {
 
         addCasesForBasicBlocks(func, funcName, labelGen, labels, states);
 
-        JvmInstructionGen instGen = new JvmInstructionGen(mv, indexMap, module, jvmPackageGen);
-        JvmErrorGen errorGen = new JvmErrorGen(mv, indexMap, instGen);
-        JvmTerminatorGen termGen = new JvmTerminatorGen(mv, indexMap, labelGen, errorGen, module, instGen,
-                                                        jvmPackageGen);
-
         mv.visitVarInsn(ILOAD, stateVarIndex);
         Label yieldLable = labelGen.getLabel(funcName + "yield");
         mv.visitLookupSwitchInsn(yieldLable, toIntArray(states), labels.toArray(new Label[0]));
@@ -466,7 +479,7 @@ public class JvmMethodGen {
     private BType getReturnType(BIRFunction func) {
         BType retType = func.type.retType;
         if (JvmCodeGenUtil.isExternFunc(func) && Symbols.isFlagOn(retType.flags, Flags.PARAMETERIZED)) {
-            retType = JvmCodeGenUtil.TYPE_BUILDER.build(func.type.retType);
+            retType = new ResolvedTypeBuilder().build(func.type.retType);
         }
         return retType;
     }
@@ -1262,7 +1275,7 @@ public class JvmMethodGen {
             // create jvm label
             Label bbLabel = labelGen.getLabel(funcName + bb.id.value);
             mv.visitLabel(bbLabel);
-            if (i == 0) {
+            if (i == 0 && stateVarIndex >= 0) {
                 pushShort(mv, stateVarIndex, caseIndex);
                 caseIndex += 1;
             }
@@ -1276,8 +1289,10 @@ public class JvmMethodGen {
             mv.visitLabel(bbEndLabel);
 
             BIRTerminator terminator = bb.terminator;
-            pushShort(mv, stateVarIndex, caseIndex);
-            caseIndex += 1;
+            if (stateVarIndex >= 0) {
+                pushShort(mv, stateVarIndex, caseIndex);
+                caseIndex += 1;
+            }
 
             processTerminator(mv, func, module, funcName, terminator);
             termGen.genTerminator(terminator, moduleClassName, func, funcName, localVarOffset, returnVarRefIndex,
@@ -1287,7 +1302,11 @@ public class JvmMethodGen {
 
             BIRBasicBlock thenBB = terminator.thenBB;
             if (thenBB != null) {
-                JvmCodeGenUtil.genYieldCheck(mv, termGen.getLabelGenerator(), thenBB, funcName, localVarOffset);
+                if (jvmPackageGen.getYieldAnalysis().mayYield(terminator)) {
+                    JvmCodeGenUtil.genYieldCheck(mv, termGen.getLabelGenerator(), thenBB, funcName, localVarOffset);
+                } else {
+                    mv.visitJumpInsn(GOTO, labelGen.getLabel(funcName + thenBB.id.value));
+                }
             }
         }
     }
@@ -2056,7 +2075,7 @@ public class JvmMethodGen {
                            String.format("(L%s;L%s;)V", MAP_VALUE, TYPE), false);
     }
 
-    void generateFrameClasses(BIRPackage pkg, Map<String, byte[]> pkgEntries) {
+    void generateFrameClasses(BIRPackage pkg, JarEntrySink pkgEntries) {
 
         pkg.functions.parallelStream().forEach(func -> generateFrameClassForFunction(pkg, func, pkgEntries, null));
 
@@ -2079,8 +2098,12 @@ public class JvmMethodGen {
         }
     }
 
-    private void generateFrameClassForFunction(BIRPackage pkg, BIRFunction func, Map<String, byte[]> pkgEntries,
+    private void generateFrameClassForFunction(BIRPackage pkg, BIRFunction func, JarEntrySink pkgEntries,
                                                BType attachedType) {
+        if (jvmPackageGen.getYieldAnalysis().isYieldFree(func)) {
+            // the frame of a function is only saved when it yields
+            return;
+        }
         String frameClassName = getFrameClassName(JvmCodeGenUtil.getPackageName(pkg), func.name.value,
                                                   attachedType);
         ClassWriter cw = new BallerinaClassWriter(COMPUTE_FRAMES);
@@ -57,6 +57,7 @@ import org.wso2.ballerinalang.compiler.util.ResolvedTypeBuilder;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 import org.wso2.ballerinalang.util.Flags;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -67,6 +68,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
 
 import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
 import static org.objectweb.asm.ClassWriter.COMPUTE_FRAMES;
@@ -117,8 +119,6 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.interop.ExternalMethod
  */
 public class JvmPackageGen {
 
-    private static ResolvedTypeBuilder typeBuilder;
-
     public final SymbolTable symbolTable;
     public final PackageCache packageCache;
     private final JvmMethodGen jvmMethodGen;
@@ -126,19 +126,24 @@ public class JvmPackageGen {
     private Map<String, String> externClassMap;
     private Map<String, String> globalVarClassMap;
     private Map<String, PackageID> dependentModules;
+    private Map<BType, String> recordValueClassMap;
     private BLangDiagnosticLog dlog;
+    private final ReadWriteLock birLock;
+    private YieldAnalysis yieldAnalysis = YieldAnalysis.NONE;
 
-    JvmPackageGen(SymbolTable symbolTable, PackageCache packageCache, BLangDiagnosticLog dlog) {
+    JvmPackageGen(SymbolTable symbolTable, PackageCache packageCache, BLangDiagnosticLog dlog,
+                  ReadWriteLock birLock) {
 
         birFunctionMap = new HashMap<>();
         globalVarClassMap = new HashMap<>();
         externClassMap = new HashMap<>();
         dependentModules = new LinkedHashMap<>();
+        recordValueClassMap = new HashMap<>();
         this.symbolTable = symbolTable;
         this.packageCache = packageCache;
         this.dlog = dlog;
+        this.birLock = birLock;
         jvmMethodGen = new JvmMethodGen(this);
-        typeBuilder = new ResolvedTypeBuilder();
 
         JvmCastGen.symbolTable = symbolTable;
         JvmInstructionGen.anyType = symbolTable.anyType;
@@ -308,7 +313,7 @@ public class JvmPackageGen {
 
         BType retType = functionTypeDesc.retType;
         if (isExternFunc(currentFunc) && Symbols.isFlagOn(retType.flags, Flags.PARAMETERIZED)) {
-            retType = typeBuilder.build(retType);
+            retType = new ResolvedTypeBuilder().build(retType);
         }
 
         String jvmMethodDescription;
@@ -321,7 +326,7 @@ public class JvmPackageGen {
         return new BIRFunctionWrapper(orgName, moduleName, version, currentFunc, moduleClass, jvmMethodDescription);
     }
 
-    private static void generateShutdownSignalListener(String initClass, Map<String, byte[]> jarEntries) {
+    private static void generateShutdownSignalListener(String initClass, JarEntrySink jarEntries) {
 
         String innerClassName = initClass + "$SignalListener";
         ClassWriter cw = new BallerinaClassWriter(COMPUTE_FRAMES);
@@ -389,17 +394,108 @@ public class JvmPackageGen {
 
     CompiledJarFile generate(BIRNode.BIRPackage module, InteropValidator interopValidator, boolean isEntry) {
 
+        return generate(module, interopValidator, isEntry, null);
+    }
+
+    /**
+     * Generates the classes of a module.
+     *
+     * @param module           BIR of the module
+     * @param interopValidator validator of the interop functions
+     * @param isEntry          whether the classes of the module are generated, or only its dependencies are linked
+     * @param jarPath          jar to write the classes to while they are generated, or null to keep them in memory
+     * @return the generated classes
+     */
+    CompiledJarFile generate(BIRNode.BIRPackage module, InteropValidator interopValidator, boolean isEntry,
+                             Path jarPath) {
 
         Set<PackageID> moduleImports = new LinkedHashSet<>();
+        String moduleInitClass = JvmCodeGenUtil.getModuleLevelClassName(module, MODULE_INIT_CLASS_NAME);
+        Map<String, JavaClass> jvmClassMapping;
+        birLock.writeLock().lock();
+        try {
+            jvmClassMapping = linkModule(module, interopValidator, isEntry, moduleImports, moduleInitClass);
+        } finally {
+            birLock.writeLock().unlock();
+        }
+        if (!isEntry || dlog.errorCount() > 0) {
+            return new CompiledJarFile(Collections.emptyMap());
+        }
+
+        // Once linked, the classes are generated from the BIR of the module and the signatures of the functions it
+        // calls, which no other module rewrites. The BIR of the imported modules is still read, hence it is not
+        // linked again by another module while any classes are generated.
+        birLock.readLock().lock();
+        try {
+            return generateClasses(module, jarPath, moduleInitClass, jvmClassMapping, moduleImports);
+        } finally {
+            birLock.readLock().unlock();
+        }
+    }
+
+    private CompiledJarFile generateClasses(BIRPackage module, Path jarPath, String moduleInitClass,
+                                            Map<String, JavaClass> jvmClassMapping, Set<PackageID> moduleImports) {
+
+        String mainClassName = JvmCodeGenUtil.getModuleLevelClassName(
+                module.org.value, module.name.value, module.version.value, MODULE_INIT_CLASS_NAME, ".");
+        if (jarPath == null) {
+            // using a concurrent hash map to store class byte values, which are generated in parallel. Like the
+            // streamed jar, the first of the classes generated with the same name is kept.
+            final Map<String, byte[]> jarEntries = new ConcurrentHashMap<>();
+            generateClasses(module, jarEntries::putIfAbsent, moduleInitClass, jvmClassMapping, moduleImports);
+            return new CompiledJarFile(mainClassName, jarEntries);
+        }
+
+        StreamingJarWriter jarWriter = new StreamingJarWriter(jarPath, mainClassName);
+        boolean generated = false;
+        try {
+            generateClasses(module, jarWriter, moduleInitClass, jvmClassMapping, moduleImports);
+            generated = true;
+        } finally {
+            if (!generated) {
+                jarWriter.abort();
+            }
+        }
+        return jarWriter.finish();
+    }
+
+    /**
+     * Links a module whose classes are reused from the build cache. The BIR of the module is rewritten the same way as
+     * when its classes are generated, since the modules which import it are linked to the rewritten signatures of its
+     * functions, which are the signatures of the cached classes.
+     *
+     * @param module           BIR of the module
+     * @param interopValidator validator of the interop functions
+     */
+    void link(BIRNode.BIRPackage module, InteropValidator interopValidator) {
+
+        String moduleInitClass = JvmCodeGenUtil.getModuleLevelClassName(module, MODULE_INIT_CLASS_NAME);
+        birLock.writeLock().lock();
+        try {
+            linkModule(module, interopValidator, true, new LinkedHashSet<>(), moduleInitClass);
+            if (dlog.errorCount() == 0) {
+                desugarFunctions(module);
+            }
+        } finally {
+            birLock.writeLock().unlock();
+        }
+        clearPackageGenInfo();
+    }
+
+    private Map<String, JavaClass> linkModule(BIRPackage module, InteropValidator interopValidator, boolean isEntry,
+                                              Set<PackageID> moduleImports, String moduleInitClass) {
 
         addBuiltinImports(module, moduleImports);
 
+        // Linking rewrites the BIR of the imported modules, which is shared by every module that imports them, and
+        // defines the observed functions in the scopes of the module symbols. Classes of independent modules may be
+        // generated in parallel, hence the callers hold the write lock of the BIR while a module is linked.
         for (BIRNode.BIRImportModule importModule : module.importModules) {
             BPackageSymbol pkgSymbol = packageCache.getSymbol(getBvmAlias(importModule.org.value,
                     importModule.name.value));
             generateDependencyList(pkgSymbol, interopValidator);
             if (dlog.errorCount() > 0) {
-                return new CompiledJarFile(Collections.emptyMap());
+                return Collections.emptyMap();
             }
         }
 
@@ -407,16 +503,22 @@ public class JvmPackageGen {
         JvmObservabilityGen jvmObservabilityGen = new JvmObservabilityGen(this);
         jvmObservabilityGen.rewriteObservableFunctions(module);
 
-        String moduleInitClass = JvmCodeGenUtil.getModuleLevelClassName(module, MODULE_INIT_CLASS_NAME);
         String pkgName = JvmCodeGenUtil.getPackageName(module);
-        Map<String, JavaClass> jvmClassMapping = generateClassNameLinking(module, pkgName, moduleInitClass,
-                                                                          interopValidator, isEntry);
-        if (!isEntry || dlog.errorCount() > 0) {
-            return new CompiledJarFile(Collections.emptyMap());
-        }
+        return generateClassNameLinking(module, pkgName, moduleInitClass, interopValidator, isEntry);
+    }
+
+    private void desugarFunctions(BIRPackage module) {
+
+        // desugar parameter initialization
+        injectDefaultParamInits(module, jvmMethodGen, this);
+        injectDefaultParamInitsToAttachedFuncs(module, jvmMethodGen, this);
+
+        // desugar the record init function
+        rewriteRecordInits(module.typeDefs);
+    }
 
-        // using a concurrent hash map to store class byte values, which are generated in parallel
-        final Map<String, byte[]> jarEntries = new ConcurrentHashMap<>();
+    private void generateClasses(BIRPackage module, JarEntrySink jarEntries, String moduleInitClass,
+                                 Map<String, JavaClass> jvmClassMapping, Set<PackageID> moduleImports) {
 
         // desugar parameter initialization
         injectDefaultParamInits(module, jvmMethodGen, this);
@@ -434,7 +536,11 @@ public class JvmPackageGen {
         // desugar the record init function
         rewriteRecordInits(module.typeDefs);
 
+        // find the functions which never yield, once the functions of the module are final
+        this.yieldAnalysis = YieldAnalysis.analyze(module);
+
         // generate object/record value classes
+        populateRecordValueClassMap(module);
         JvmValueGen valueGen = new JvmValueGen(module, this, jvmMethodGen);
         valueGen.generateValueClasses(jarEntries);
 
@@ -446,12 +552,9 @@ public class JvmPackageGen {
 
         // clear class name mappings
         clearPackageGenInfo();
-
-        return new CompiledJarFile(JvmCodeGenUtil.getModuleLevelClassName(
-                module.org.value, module.name.value, module.version.value, MODULE_INIT_CLASS_NAME, "."), jarEntries);
     }
 
-    private void generateModuleClasses(BIRPackage module, Map<String, byte[]> jarEntries, String moduleInitClass,
+    private void generateModuleClasses(BIRPackage module, JarEntrySink jarEntries, String moduleInitClass,
                                        Map<String, JavaClass> jvmClassMapping, List<PackageID> moduleImports) {
 
         jvmClassMapping.entrySet().parallelStream().forEach(entry -> {
@@ -774,6 +877,13 @@ public class JvmPackageGen {
         globalVarClassMap.clear();
         externClassMap.clear();
         dependentModules.clear();
+        recordValueClassMap.clear();
+        yieldAnalysis = YieldAnalysis.NONE;
+    }
+
+    YieldAnalysis getYieldAnalysis() {
+
+        return this.yieldAnalysis;
     }
 
     public BIRFunctionWrapper lookupBIRFunctionWrapper(String lookupKey) {
@@ -807,6 +917,27 @@ public class JvmPackageGen {
         }
     }
 
+    private void populateRecordValueClassMap(BIRPackage module) {
+
+        for (BIRTypeDefinition typeDef : module.typeDefs) {
+            if (typeDef.type.tag == TypeTags.RECORD) {
+                recordValueClassMap.putIfAbsent(typeDef.type, getTypeValueClassName(module, typeDef.name.value));
+            }
+        }
+    }
+
+    /**
+     * Returns the value class generated for a record type of the current module. The declared fields of the record
+     * are fields of this class.
+     *
+     * @param recordType record type
+     * @return value class name, or null if the type is not defined in the current module
+     */
+    String lookupRecordValueClassName(BType recordType) {
+
+        return recordValueClassMap.get(recordType);
+    }
+
     String lookupGlobalVarClassName(String pkgName, String varName) {
 
         String key = pkgName + varName;
@@ -0,0 +1,182 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.wso2.ballerinalang.compiler.CompiledJarFile;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Writes the classes of a module to a jar file while they are being generated. Classes are handed over to a writer
+ * thread through a bounded queue, so only the classes waiting in the queue are held in memory, instead of every class
+ * of the module.
+ *
+ * @since 2.0.0
+ */
+class StreamingJarWriter implements JarEntrySink {
+
+    private static final int QUEUE_CAPACITY = 32;
+    private static final long ENQUEUE_TIMEOUT_MILLIS = 100;
+    private static final Entry END = new Entry(null, null);
+
+    private final Path jarPath;
+    private final String mainClassName;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writerThread;
+    private volatile Throwable failure;
+
+    StreamingJarWriter(Path jarPath, String mainClassName) {
+        this.jarPath = jarPath;
+        this.mainClassName = mainClassName;
+        this.writerThread = new Thread(this::write, "jar-writer-" + jarPath.getFileName());
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public void put(String entryName, byte[] content) {
+        if (this.failure != null || !enqueue(new Entry(entryName, content))) {
+            throw createException(this.failure);
+        }
+    }
+
+    /**
+     * Waits for the queued classes to be written, and closes the jar. A jar which could not be written is deleted.
+     *
+     * @return the written jar
+     */
+    CompiledJarFile finish() {
+        enqueue(END);
+        join();
+        if (this.failure != null) {
+            deleteJar();
+            throw createException(this.failure);
+        }
+        return new CompiledJarFile(this.mainClassName, this.jarPath);
+    }
+
+    /**
+     * Stops writing the jar, and deletes the partially written jar.
+     */
+    void abort() {
+        enqueue(END);
+        join();
+        deleteJar();
+    }
+
+    private void write() {
+        Manifest manifest = new Manifest();
+        Attributes mainAttributes = manifest.getMainAttributes();
+        mainAttributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        mainAttributes.put(Attributes.Name.MAIN_CLASS, this.mainClassName);
+
+        Set<String> entryNames = new HashSet<>();
+        try {
+            Files.createDirectories(this.jarPath.toAbsolutePath().getParent());
+            try (JarOutputStream jarStream = new JarOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(this.jarPath)), manifest)) {
+                Entry entry;
+                while ((entry = this.queue.take()) != END) {
+                    // A class generated twice is the same class, hence only the first one is written.
+                    if (entryNames.add(entry.name)) {
+                        jarStream.putNextEntry(new JarEntry(entry.name));
+                        jarStream.write(entry.content);
+                        jarStream.closeEntry();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            this.failure = e;
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException | Error e) {
+            this.failure = e;
+        } finally {
+            // The classes which were not written are discarded. The threads generating classes stop waiting for
+            // space in the queue once they see the failure, or that the writer is done.
+            this.queue.clear();
+        }
+    }
+
+    /**
+     * Hands an entry over to the writer thread, waiting for space in the queue while the writer is running.
+     *
+     * @return false if the writer stopped before taking the entry
+     */
+    private boolean enqueue(Entry entry) {
+        try {
+            while (!this.queue.offer(entry, ENQUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (this.failure != null || !this.writerThread.isAlive()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BLangCompilerException("interrupted while writing the jar '" + this.jarPath + "'", e);
+        }
+    }
+
+    private void join() {
+        try {
+            this.writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BLangCompilerException("interrupted while writing the jar '" + this.jarPath + "'", e);
+        }
+    }
+
+    private void deleteJar() {
+        try {
+            Files.deleteIfExists(this.jarPath);
+        } catch (IOException e) {
+            // The partially written jar is replaced by the next build.
+        }
+    }
+
+    private BLangCompilerException createException(Throwable e) {
+        if (e == null) {
+            // Entries put after finishing the jar are not written.
+            return new BLangCompilerException("the jar '" + this.jarPath + "' is already closed");
+        }
+        return new BLangCompilerException("error writing the jar '" + this.jarPath + "': " + e.getMessage(), e);
+    }
+
+    private static class Entry {
+
+        private final String name;
+        private final byte[] content;
+
+        private Entry(String name, byte[] content) {
+            this.name = name;
+            this.content = content;
+        }
+    }
+}
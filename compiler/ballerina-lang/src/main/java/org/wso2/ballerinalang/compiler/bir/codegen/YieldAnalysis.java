@@ -0,0 +1,166 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.Call;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the functions of a module which can never yield the strand they run on. The method of such a function does
+ * not need the resume switch, the frame class and the frame save and restore, and the calls to it do not need a
+ * yield check.
+ * <p>
+ * A function can never yield if it waits for nothing, does not communicate with workers, takes no locks, calls no
+ * extern functions, does not call function pointers or object methods, and only calls functions of the same module
+ * which can never yield. Recursive calls do not yield by themselves, hence the functions are found as the largest
+ * set which satisfies these conditions.
+ *
+ * @since 2.0.0
+ */
+class YieldAnalysis {
+
+    static final YieldAnalysis NONE = new YieldAnalysis(null, Collections.emptySet(), Collections.emptyMap());
+
+    private final BIRPackage module;
+    private final Set<BIRFunction> yieldFreeFunctions;
+    private final Map<String, BIRFunction> moduleFunctions;
+
+    private YieldAnalysis(BIRPackage module, Set<BIRFunction> yieldFreeFunctions,
+                          Map<String, BIRFunction> moduleFunctions) {
+        this.module = module;
+        this.yieldFreeFunctions = yieldFreeFunctions;
+        this.moduleFunctions = moduleFunctions;
+    }
+
+    static YieldAnalysis analyze(BIRPackage module) {
+        Map<String, BIRFunction> moduleFunctions = new HashMap<>();
+        for (BIRFunction func : module.functions) {
+            moduleFunctions.put(func.name.value, func);
+        }
+
+        List<BIRFunction> functions = new ArrayList<>(module.functions);
+        for (BIRTypeDefinition typeDef : module.typeDefs) {
+            if (typeDef.attachedFuncs != null) {
+                functions.addAll(typeDef.attachedFuncs);
+            }
+        }
+
+        Set<BIRFunction> yieldFreeFunctions = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BIRFunction func : functions) {
+            if (mayBeYieldFree(func)) {
+                yieldFreeFunctions.add(func);
+            }
+        }
+
+        YieldAnalysis analysis = new YieldAnalysis(module, yieldFreeFunctions, moduleFunctions);
+        boolean changed = true;
+        while (changed) {
+            changed = yieldFreeFunctions.removeIf(func -> !analysis.callsYieldFreeFunctionsOnly(func));
+        }
+        return analysis;
+    }
+
+    /**
+     * Checks whether a function can never yield.
+     *
+     * @param func function
+     * @return true if the function can never yield
+     */
+    boolean isYieldFree(BIRFunction func) {
+        return this.yieldFreeFunctions.contains(func);
+    }
+
+    /**
+     * Checks whether the strand may have yielded once a terminator is executed.
+     *
+     * @param terminator terminator
+     * @return false if the terminator is a call to a function which can never yield
+     */
+    boolean mayYield(BIRTerminator terminator) {
+        return getYieldFreeCallee(terminator) == null;
+    }
+
+    private boolean callsYieldFreeFunctionsOnly(BIRFunction func) {
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            if (bb.terminator.kind == InstructionKind.CALL && getYieldFreeCallee(bb.terminator) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BIRFunction getYieldFreeCallee(BIRTerminator terminator) {
+        if (terminator.kind != InstructionKind.CALL) {
+            return null;
+        }
+        Call call = (Call) terminator;
+        if (call.isVirtual || !isCurrentModule(call.calleePkg)) {
+            return null;
+        }
+        BIRFunction callee = this.moduleFunctions.get(call.name.value);
+        return callee != null && this.yieldFreeFunctions.contains(callee) ? callee : null;
+    }
+
+    private boolean isCurrentModule(PackageID pkgId) {
+        // NONE has no module, hence every call may yield
+        return this.module != null && pkgId != null && pkgId.orgName.equals(this.module.org) &&
+                pkgId.name.equals(this.module.name) && pkgId.version.equals(this.module.version);
+    }
+
+    private static boolean mayBeYieldFree(BIRFunction func) {
+        if (JvmCodeGenUtil.isExternFunc(func) || func.basicBlocks == null || func.basicBlocks.isEmpty() ||
+                (func.workerChannels != null && func.workerChannels.length > 0)) {
+            return false;
+        }
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            if (bb.terminator == null) {
+                return false;
+            }
+            switch (bb.terminator.kind) {
+                case GOTO:
+                case BRANCH:
+                case RETURN:
+                case PANIC:
+                    break;
+                case CALL:
+                    // Calls are resolved once the candidate functions are known.
+                    if (((Call) bb.terminator).isVirtual) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+}
@@ -19,11 +19,15 @@
 package org.wso2.ballerinalang.compiler.bir.optimizer;
 
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
 import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
 import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +43,8 @@ public class BIRLockOptimizer extends BIRVisitor {
     private final List<BIRTerminator.Lock> lockList = new ArrayList<>();
     private final Map<BIRTerminator.Lock, Integer> lockToSetMap = new HashMap<>();
     private final Map<Integer, List<BIRTerminator.Lock>> setToLockMap = new HashMap<>();
+    private final Map<BIRTerminator.Lock, BIRNode.BIRFunction> lockToFunctionMap = new HashMap<>();
+    private BIRNode.BIRFunction currentFunction;
     private int setId = -1;
 
     public void optimizeNode(BIRNode node) {
@@ -52,6 +58,7 @@ public class BIRLockOptimizer extends BIRVisitor {
     private void optimizeLocks() {
         analyzeLocks();
         propagateLocks();
+        markReadOnlyLocks();
     }
 
     private void analyzeLocks() {
@@ -73,6 +80,94 @@ public class BIRLockOptimizer extends BIRVisitor {
         }
     }
 
+    private void markReadOnlyLocks() {
+        // Only the locks of the node being optimized are marked, since the locks of the nodes optimized earlier may
+        // already be generated.
+        for (Map.Entry<BIRTerminator.Lock, BIRNode.BIRFunction> entry : lockToFunctionMap.entrySet()) {
+            entry.getKey().readOnly = isReadOnlyRegion(entry.getKey(), entry.getValue());
+        }
+        lockToFunctionMap.clear();
+    }
+
+    /**
+     * Checks whether the basic blocks between a lock and its unlocks only read values. Calls are not followed, hence
+     * a region with a call, a nested lock or a store of any kind is not read only. Creating a record is not read only
+     * either, since the init function of the record evaluates the default values of its fields, which may call
+     * functions.
+     */
+    private boolean isReadOnlyRegion(BIRTerminator.Lock lock, BIRNode.BIRFunction function) {
+        Set<BIRNode.BIRBasicBlock> region = new HashSet<>();
+        List<BIRNode.BIRBasicBlock> pending = new ArrayList<>();
+        pending.add(lock.lockedBB);
+        while (!pending.isEmpty()) {
+            BIRNode.BIRBasicBlock bb = pending.remove(pending.size() - 1);
+            if (bb == null || !region.add(bb)) {
+                continue;
+            }
+
+            for (BIRNonTerminator instruction : bb.instructions) {
+                if (!isReadOnlyInstruction(instruction)) {
+                    return false;
+                }
+            }
+
+            // The body of a lock is trapped, hence a panic in the region continues at the target of the trap,
+            // including a panic in the block which unlocks.
+            for (BIRNode.BIRErrorEntry errorEntry : function.errorTable) {
+                if (errorEntry.trapBB == bb || errorEntry.endBB == bb) {
+                    pending.add(errorEntry.targetBB);
+                }
+            }
+
+            BIRTerminator terminator = bb.terminator;
+            if (terminator == null) {
+                return false;
+            }
+            switch (terminator.kind) {
+                case UNLOCK:
+                    if (((BIRTerminator.Unlock) terminator).relatedLock == lock) {
+                        continue;
+                    }
+                    return false;
+                case GOTO:
+                case BRANCH:
+                case PANIC:
+                    pending.addAll(Arrays.asList(terminator.getNextBasicBlocks()));
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isReadOnlyInstruction(BIRNonTerminator instruction) {
+        if (instruction.lhsOp != null && instruction.lhsOp.variableDcl.kind == VarKind.GLOBAL) {
+            return false;
+        }
+
+        switch (instruction.kind) {
+            case MAP_LOAD:
+            case ARRAY_LOAD:
+                return !((BIRNonTerminator.FieldAccess) instruction).fillingRead;
+            case MOVE:
+            case CONST_LOAD:
+            case STRING_LOAD:
+            case OBJECT_LOAD:
+            case NEW_ARRAY:
+            case NEW_TYPEDESC:
+            case TYPE_CAST:
+            case IS_LIKE:
+            case TYPE_TEST:
+            case TYPEOF:
+            case NOT:
+            case NEGATE:
+                return true;
+            default:
+                return instruction instanceof BIRNonTerminator.BinaryOp;
+        }
+    }
+
     private void analyzeVisitedLock(int lockListIndex) {
         BIRTerminator.Lock currentLock = lockList.get(lockListIndex);
         int previousSetId = setId;
@@ -170,6 +265,7 @@ public class BIRLockOptimizer extends BIRVisitor {
 
     @Override
     public void visit(BIRNode.BIRFunction birFunction) {
+        this.currentFunction = birFunction;
         birFunction.basicBlocks.forEach(bb -> bb.accept(this));
     }
 
@@ -206,6 +302,7 @@ public class BIRLockOptimizer extends BIRVisitor {
     @Override
     public void visit(BIRTerminator.Lock lock) {
         lockList.add(lock);
+        lockToFunctionMap.put(lock, this.currentFunction);
     }
 
     @Override
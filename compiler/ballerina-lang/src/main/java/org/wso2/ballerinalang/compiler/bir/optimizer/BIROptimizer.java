@@ -18,6 +18,7 @@
 
 package org.wso2.ballerinalang.compiler.bir.optimizer;
 
+import org.ballerinalang.compiler.CompilerOptionName;
 import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
@@ -33,6 +34,7 @@ import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
 import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.util.ArrayList;
@@ -53,6 +55,11 @@ public class BIROptimizer {
     private final LHSTempVarOptimizer lhsTempVarOptimizer;
     private final BIRLockOptimizer lockOptimizer;
     private final BirVariableOptimizer variableOptimizer;
+    private final FunctionInliner functionInliner;
+    private final CopyPropagator copyPropagator;
+    private final ConstantFolder constantFolder;
+    private final DeadCodeEliminator deadCodeEliminator;
+    private final int optimizationLevel;
 
     public static BIROptimizer getInstance(CompilerContext context) {
         BIROptimizer birGen = context.get(BIR_OPTIMIZER);
@@ -69,6 +76,31 @@ public class BIROptimizer {
         this.lhsTempVarOptimizer = new LHSTempVarOptimizer();
         this.lockOptimizer = new BIRLockOptimizer();
         this.variableOptimizer = new BirVariableOptimizer();
+        this.functionInliner = new FunctionInliner();
+        this.copyPropagator = new CopyPropagator();
+        this.constantFolder = new ConstantFolder();
+        this.deadCodeEliminator = new DeadCodeEliminator();
+
+        this.optimizationLevel = getOptimizationLevel(
+                CompilerOptions.getInstance(context).get(CompilerOptionName.OPTIMIZATION_LEVEL));
+    }
+
+    /**
+     * Returns the optimization level set in the compiler options. The option may be set by tools other than the CLI,
+     * which validates it, hence a level which is not a non-negative integer falls back to 0.
+     *
+     * @param optimizationLevel value of the optimization level option
+     * @return optimization level
+     */
+    static int getOptimizationLevel(String optimizationLevel) {
+        if (optimizationLevel == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(optimizationLevel.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     public void optimizePackage(BIRPackage pkg) {
@@ -80,9 +112,26 @@ public class BIROptimizer {
 
         // Optimize lock statements
         this.lockOptimizer.optimizeNode(pkg);
+
+        // Inline the calls to small functions, and simplify the functions. These run before the variables are reused,
+        // since they rely on temp vars being assigned once.
+        if (this.optimizationLevel >= 2) {
+            this.functionInliner.optimizePackage(pkg);
+        }
+        if (this.optimizationLevel >= 1) {
+            pkg.functions.forEach(this::optimizeFunction);
+            pkg.typeDefs.forEach(typeDef -> typeDef.attachedFuncs.forEach(this::optimizeFunction));
+        }
+
         variableOptimizer.optimizeNode(pkg);
     }
 
+    private void optimizeFunction(BIRFunction func) {
+        this.copyPropagator.optimizeFunction(func);
+        this.constantFolder.optimizeFunction(func);
+        this.deadCodeEliminator.optimizeFunction(func);
+    }
+
     /**
      * This class is to optimize away unwanted temporary variables in right hand side of statements.
      */
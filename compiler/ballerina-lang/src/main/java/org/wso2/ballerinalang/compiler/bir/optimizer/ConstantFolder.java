@@ -0,0 +1,198 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds the int and boolean operations whose operands are constants, and turns the branches on constant conditions
+ * into jumps. A variable is treated as a constant only if it is assigned once, by a constant load. An operation which
+ * would panic at run time, such as an overflowing addition or a division by zero, is not folded.
+ *
+ * @since 2.0.0
+ */
+public class ConstantFolder {
+
+    public void optimizeFunction(BIRFunction func) {
+        if (!OptimizerUtils.isOptimizable(func)) {
+            return;
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Map<BIRVariableDcl, Object> constants = collectConstants(func);
+            for (BIRBasicBlock bb : func.basicBlocks) {
+                changed |= foldInstructions(bb.instructions, constants);
+                changed |= foldBranch(bb, constants);
+            }
+        }
+    }
+
+    private Map<BIRVariableDcl, Object> collectConstants(BIRFunction func) {
+        Map<BIRVariableDcl, Integer> defs = OptimizerUtils.countDefs(func);
+        Map<BIRVariableDcl, Object> constants = new HashMap<>();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            for (BIRNonTerminator ins : bb.instructions) {
+                if (ins.kind != InstructionKind.CONST_LOAD) {
+                    continue;
+                }
+                BIRVariableDcl var = ins.lhsOp.variableDcl;
+                if ((var.kind != VarKind.TEMP && var.kind != VarKind.LOCAL) || !OptimizerUtils.isFunctionVar(var) ||
+                        defs.get(var) != 1) {
+                    continue;
+                }
+                Object value = ((ConstantLoad) ins).value;
+                if (isFoldable(var, value)) {
+                    constants.put(var, value);
+                }
+            }
+        }
+        return constants;
+    }
+
+    private boolean foldInstructions(List<BIRNonTerminator> instructions, Map<BIRVariableDcl, Object> constants) {
+        boolean changed = false;
+        for (int i = 0; i < instructions.size(); i++) {
+            BIRNonTerminator ins = instructions.get(i);
+            Object value;
+            if (ins instanceof BinaryOp) {
+                BinaryOp binaryOp = (BinaryOp) ins;
+                value = fold(binaryOp.kind, constants.get(binaryOp.rhsOp1.variableDcl),
+                             constants.get(binaryOp.rhsOp2.variableDcl));
+            } else if (ins instanceof UnaryOP) {
+                UnaryOP unaryOp = (UnaryOP) ins;
+                value = fold(unaryOp.kind, constants.get(unaryOp.rhsOp.variableDcl));
+            } else {
+                continue;
+            }
+
+            if (value == null || !isFoldable(ins.lhsOp.variableDcl, value)) {
+                continue;
+            }
+            ConstantLoad constantLoad = new ConstantLoad(ins.pos, value, ins.lhsOp.variableDcl.type, ins.lhsOp);
+            constantLoad.scope = ins.scope;
+            instructions.set(i, constantLoad);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private boolean foldBranch(BIRBasicBlock bb, Map<BIRVariableDcl, Object> constants) {
+        if (bb.terminator.kind != InstructionKind.BRANCH) {
+            return false;
+        }
+        BIRTerminator.Branch branch = (BIRTerminator.Branch) bb.terminator;
+        Object condition = constants.get(branch.op.variableDcl);
+        if (!(condition instanceof Boolean)) {
+            return false;
+        }
+        BIRTerminator.GOTO jump = new BIRTerminator.GOTO(branch.pos, (Boolean) condition ? branch.trueBB :
+                branch.falseBB);
+        jump.scope = branch.scope;
+        bb.terminator = jump;
+        return true;
+    }
+
+    private Object fold(InstructionKind kind, Object lhs, Object rhs) {
+        if (lhs instanceof Long && rhs instanceof Long) {
+            return foldInt(kind, (Long) lhs, (Long) rhs);
+        }
+        if (lhs instanceof Boolean && rhs instanceof Boolean) {
+            switch (kind) {
+                case EQUAL:
+                    return lhs.equals(rhs);
+                case NOT_EQUAL:
+                    return !lhs.equals(rhs);
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    private Object foldInt(InstructionKind kind, long lhs, long rhs) {
+        try {
+            switch (kind) {
+                case ADD:
+                    return Math.addExact(lhs, rhs);
+                case SUB:
+                    return Math.subtractExact(lhs, rhs);
+                case MUL:
+                    return Math.multiplyExact(lhs, rhs);
+                case DIV:
+                    return rhs == 0 || (lhs == Long.MIN_VALUE && rhs == -1) ? null : lhs / rhs;
+                case MOD:
+                    return rhs == 0 || (lhs == Long.MIN_VALUE && rhs == -1) ? null : lhs % rhs;
+                case EQUAL:
+                    return lhs == rhs;
+                case NOT_EQUAL:
+                    return lhs != rhs;
+                case GREATER_THAN:
+                    return lhs > rhs;
+                case GREATER_EQUAL:
+                    return lhs >= rhs;
+                case LESS_THAN:
+                    return lhs < rhs;
+                case LESS_EQUAL:
+                    return lhs <= rhs;
+                default:
+                    return null;
+            }
+        } catch (ArithmeticException e) {
+            // Overflows panic at run time, hence the operation is left as it is.
+            return null;
+        }
+    }
+
+    private Object fold(InstructionKind kind, Object operand) {
+        if (kind == InstructionKind.NOT && operand instanceof Boolean) {
+            return !(Boolean) operand;
+        }
+        if (kind == InstructionKind.NEGATE && operand instanceof Long && (Long) operand != Long.MIN_VALUE) {
+            return -(Long) operand;
+        }
+        return null;
+    }
+
+    private boolean isFoldable(BIRVariableDcl var, Object value) {
+        switch (var.type.tag) {
+            case TypeTags.INT:
+                return value instanceof Long;
+            case TypeTags.BOOLEAN:
+                return value instanceof Boolean;
+            default:
+                return false;
+        }
+    }
+}
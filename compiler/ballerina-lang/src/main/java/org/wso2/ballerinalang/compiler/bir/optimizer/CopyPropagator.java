@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.IsLike;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeCast;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeTest;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the reads of a temporary variable which is a copy of another variable with reads of the copied variable,
+ * within the basic block of the copy. A temporary variable is replaced only if it is assigned once, and only until
+ * the copied variable is assigned again. The copies left without readers are removed by the
+ * {@link DeadCodeEliminator}.
+ *
+ * @since 2.0.0
+ */
+public class CopyPropagator {
+
+    public void optimizeFunction(BIRFunction func) {
+        if (!OptimizerUtils.isOptimizable(func)) {
+            return;
+        }
+
+        Map<BIRVariableDcl, Integer> defs = OptimizerUtils.countDefs(func);
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            List<BIRNonTerminator> instructions = bb.instructions;
+            for (int i = 0; i < instructions.size(); i++) {
+                BIRNonTerminator ins = instructions.get(i);
+                if (ins.kind == InstructionKind.MOVE && isPropagatable((Move) ins, defs)) {
+                    propagate((Move) ins, bb, i + 1);
+                }
+            }
+        }
+    }
+
+    private boolean isPropagatable(Move move, Map<BIRVariableDcl, Integer> defs) {
+        BIRVariableDcl copy = move.lhsOp.variableDcl;
+        BIRVariableDcl source = move.rhsOp.variableDcl;
+        if (copy.kind != VarKind.TEMP || defs.get(copy) != 1 || copy.equals(source)) {
+            return false;
+        }
+        // Globals and constants may be read by other functions in between, hence only function variables are read
+        // in place of the copy.
+        if (!OptimizerUtils.isFunctionVar(source) || source.kind == VarKind.GLOBAL ||
+                source.kind == VarKind.CONSTANT) {
+            return false;
+        }
+        return OptimizerUtils.isSameType(source.type, copy.type);
+    }
+
+    private void propagate(Move move, BIRBasicBlock bb, int from) {
+        BIROperand copy = move.lhsOp;
+        BIROperand source = move.rhsOp;
+        for (int i = from; i < bb.instructions.size(); i++) {
+            BIRNonTerminator ins = bb.instructions.get(i);
+            replace(ins, copy, source);
+            if (ins.lhsOp != null && ins.lhsOp.equals(source)) {
+                return;
+            }
+        }
+        replace(bb.terminator, copy, source);
+    }
+
+    private void replace(BIRAbstractInstruction ins, BIROperand copy, BIROperand source) {
+        switch (ins.kind) {
+            case MOVE:
+                Move move = (Move) ins;
+                move.rhsOp = replace(move.rhsOp, copy, source);
+                break;
+            case TYPE_CAST:
+                TypeCast typeCast = (TypeCast) ins;
+                typeCast.rhsOp = replace(typeCast.rhsOp, copy, source);
+                break;
+            case TYPE_TEST:
+                TypeTest typeTest = (TypeTest) ins;
+                typeTest.rhsOp = replace(typeTest.rhsOp, copy, source);
+                break;
+            case IS_LIKE:
+                IsLike isLike = (IsLike) ins;
+                isLike.rhsOp = replace(isLike.rhsOp, copy, source);
+                break;
+            case BRANCH:
+                BIRTerminator.Branch branch = (BIRTerminator.Branch) ins;
+                branch.op = replace(branch.op, copy, source);
+                break;
+            case CALL:
+                BIRTerminator.Call call = (BIRTerminator.Call) ins;
+                if (call.args.contains(copy)) {
+                    List<BIROperand> args = new ArrayList<>(call.args);
+                    args.replaceAll(arg -> replace(arg, copy, source));
+                    call.args = args;
+                }
+                break;
+            default:
+                if (ins instanceof BinaryOp) {
+                    BinaryOp binaryOp = (BinaryOp) ins;
+                    binaryOp.rhsOp1 = replace(binaryOp.rhsOp1, copy, source);
+                    binaryOp.rhsOp2 = replace(binaryOp.rhsOp2, copy, source);
+                } else if (ins instanceof UnaryOP) {
+                    UnaryOP unaryOp = (UnaryOP) ins;
+                    unaryOp.rhsOp = replace(unaryOp.rhsOp, copy, source);
+                }
+                // Other instructions keep reading the copy.
+                break;
+        }
+    }
+
+    private BIROperand replace(BIROperand operand, BIROperand copy, BIROperand source) {
+        // Operands may be shared between instructions, hence they are replaced rather than updated in place.
+        return copy.equals(operand) ? new BIROperand(source.variableDcl) : operand;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BirScope;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Removes the basic blocks which cannot be reached, the constant loads and copies into temporary variables which are
+ * never read, and the temporary variables which are no longer referred to.
+ * <p>
+ * The visible range of a local variable in the generated code starts at the label of the scope it is declared in,
+ * which is placed at the first instruction of that scope. A local variable whose scope has no instructions left is
+ * made visible from the start of the function instead.
+ *
+ * @since 2.0.0
+ */
+public class DeadCodeEliminator {
+
+    public void optimizeFunction(BIRFunction func) {
+        if (!OptimizerUtils.isOptimizable(func)) {
+            return;
+        }
+
+        removeUnreachableBasicBlocks(func);
+        removeDeadAssignments(func);
+        removeUnusedTempVars(func);
+        updateVisibleRanges(func);
+    }
+
+    private void removeUnreachableBasicBlocks(BIRFunction func) {
+        Set<BIRBasicBlock> reachable = new HashSet<>();
+        List<BIRBasicBlock> pending = new ArrayList<>();
+        pending.add(func.basicBlocks.get(0));
+        // The code generator ends the visible range of the variables at the last basic block.
+        pending.add(func.basicBlocks.get(func.basicBlocks.size() - 1));
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            pending.add(errorEntry.trapBB);
+            pending.add(errorEntry.endBB);
+            pending.add(errorEntry.targetBB);
+        }
+
+        while (!pending.isEmpty()) {
+            BIRBasicBlock bb = pending.remove(pending.size() - 1);
+            if (bb != null && reachable.add(bb)) {
+                pending.addAll(Arrays.asList(bb.terminator.getNextBasicBlocks()));
+            }
+        }
+        func.basicBlocks.removeIf(bb -> !reachable.contains(bb));
+    }
+
+    private void removeDeadAssignments(BIRFunction func) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Set<BIRVariableDcl> uses = OptimizerUtils.collectUses(func);
+            for (BIRBasicBlock bb : func.basicBlocks) {
+                changed |= bb.instructions.removeIf(ins -> isDeadAssignment(ins, uses));
+            }
+        }
+    }
+
+    private boolean isDeadAssignment(BIRNonTerminator ins, Set<BIRVariableDcl> uses) {
+        if (ins.kind != InstructionKind.CONST_LOAD && ins.kind != InstructionKind.MOVE) {
+            return false;
+        }
+        BIRVariableDcl var = ins.lhsOp.variableDcl;
+        return var.kind == VarKind.TEMP && OptimizerUtils.isFunctionVar(var) && !uses.contains(var);
+    }
+
+    private void removeUnusedTempVars(BIRFunction func) {
+        Set<BIRVariableDcl> referred = OptimizerUtils.collectUses(func);
+        Map<BIRVariableDcl, Integer> defs = OptimizerUtils.countDefs(func);
+        referred.addAll(defs.keySet());
+        func.localVars.removeIf(var -> var.kind == VarKind.TEMP && !referred.contains(var));
+    }
+
+    private void updateVisibleRanges(BIRFunction func) {
+        // Follows the code generator, which places the label of a scope, and of its parent scopes which are not
+        // visited yet, at the first instruction with a line number after entering the scope.
+        Set<BirScope> placedScopes = new HashSet<>();
+        Set<BirScope> visitedScopes = new HashSet<>();
+        BirScope lastScope = null;
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            for (BIRNonTerminator ins : bb.instructions) {
+                BirScope scope = ins.scope;
+                if (scope == null || scope == lastScope) {
+                    continue;
+                }
+                lastScope = scope;
+                boolean placed = ins.pos != null && ins.pos.sLine != 0x80000000;
+                List<BirScope> scopes = new ArrayList<>();
+                scopes.add(scope);
+                for (BirScope parent = scope.parent; parent != null && visitedScopes.add(parent);
+                     parent = parent.parent) {
+                    scopes.add(parent);
+                }
+                visitedScopes.add(scope);
+                if (placed) {
+                    placedScopes.addAll(scopes);
+                }
+            }
+        }
+
+        BIRBasicBlock lastBB = func.basicBlocks.get(func.basicBlocks.size() - 1);
+        Set<BIRBasicBlock> basicBlocks = new HashSet<>(func.basicBlocks);
+        for (BIRVariableDcl var : func.localVars) {
+            if (var.kind != VarKind.LOCAL) {
+                continue;
+            }
+            if (var.startBB != null && !placedScopes.contains(var.insScope)) {
+                var.startBB = null;
+            }
+            if (var.endBB != null && !basicBlocks.contains(var.endBB)) {
+                var.endBB = lastBB;
+            }
+        }
+    }
+}
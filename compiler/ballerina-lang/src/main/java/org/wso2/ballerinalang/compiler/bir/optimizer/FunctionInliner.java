@@ -0,0 +1,344 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.IsLike;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeCast;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeTest;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.Branch;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.Call;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.GOTO;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.util.Flags;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inlines the calls to small private functions of the same module, saving the frame and the yield check of each call.
+ * <p>
+ * Only functions which cannot yield are inlined. A function is inlined only if it is made of moves, constant loads,
+ * operators, type casts and type tests, and of jumps, branches and returns, so that it neither calls other functions
+ * nor refers to anything but its own parameters and variables. The variables of an inlined function become temporary
+ * variables of the caller, and its returns become jumps to the basic block following the call.
+ *
+ * @since 2.0.0
+ */
+public class FunctionInliner {
+
+    private static final int MAX_INLINED_INSTRUCTIONS = 16;
+    private static final int NON_INLINABLE_FLAGS = Flags.PUBLIC | Flags.NATIVE | Flags.ATTACHED | Flags.INTERFACE |
+            Flags.REMOTE | Flags.RESOURCE | Flags.LAMBDA | Flags.WORKER | Flags.TRANSACTIONAL;
+    private static final String INLINED_VAR_PREFIX = "%inline";
+    private static final String BB_PREFIX = "bb";
+
+    public void optimizePackage(BIRPackage pkg) {
+        Map<Name, BIRFunction> inlinableFunctions = new HashMap<>();
+        for (BIRFunction func : pkg.functions) {
+            if (isInlinable(func)) {
+                inlinableFunctions.put(func.name, func);
+            }
+        }
+        if (inlinableFunctions.isEmpty()) {
+            return;
+        }
+
+        pkg.functions.forEach(func -> inlineCalls(func, pkg, inlinableFunctions));
+        for (BIRTypeDefinition typeDef : pkg.typeDefs) {
+            typeDef.attachedFuncs.forEach(func -> inlineCalls(func, pkg, inlinableFunctions));
+        }
+    }
+
+    private boolean isInlinable(BIRFunction func) {
+        String name = func.name.value;
+        if ((func.flags & NON_INLINABLE_FLAGS) != 0 || name.contains("$") || name.contains("<") ||
+                name.contains(".") || name.equals("main")) {
+            return false;
+        }
+        if (func.receiver != null || func.restParam != null || !func.errorTable.isEmpty() ||
+                (func.workerChannels != null && func.workerChannels.length > 0) ||
+                (func.annotAttachments != null && !func.annotAttachments.isEmpty()) ||
+                !OptimizerUtils.isOptimizable(func)) {
+            return false;
+        }
+
+        int instructionCount = 0;
+        Set<BIRVariableDcl> vars = new HashSet<>(func.localVars);
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            for (BIRNonTerminator ins : bb.instructions) {
+                if (!OptimizerUtils.isPureAssignment(ins) || !hasOwnOperands(ins.lhsOp, ins.getRhsOperands(), vars)) {
+                    return false;
+                }
+                if (ins.lhsOp.variableDcl.kind == VarKind.ARG) {
+                    return false;
+                }
+                instructionCount++;
+            }
+            switch (bb.terminator.kind) {
+                case GOTO:
+                case RETURN:
+                    break;
+                case BRANCH:
+                    if (!hasOwnOperands(null, bb.terminator.getRhsOperands(), vars)) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+            instructionCount++;
+        }
+        return instructionCount <= MAX_INLINED_INSTRUCTIONS;
+    }
+
+    private boolean hasOwnOperands(BIROperand lhsOp, BIROperand[] rhsOps, Set<BIRVariableDcl> vars) {
+        if (lhsOp != null && !isOwnVar(lhsOp.variableDcl, vars)) {
+            return false;
+        }
+        for (BIROperand rhsOp : rhsOps) {
+            if (!isOwnVar(rhsOp.variableDcl, vars)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isOwnVar(BIRVariableDcl var, Set<BIRVariableDcl> vars) {
+        return var.scope == VarScope.FUNCTION && var.kind != VarKind.GLOBAL && var.kind != VarKind.CONSTANT &&
+                vars.contains(var);
+    }
+
+    private void inlineCalls(BIRFunction caller, BIRPackage pkg, Map<Name, BIRFunction> inlinableFunctions) {
+        // The basic blocks of an inlined function are not covered by the error entries of the caller.
+        if (!caller.errorTable.isEmpty() || !OptimizerUtils.isOptimizable(caller)) {
+            return;
+        }
+
+        InlineEnv env = null;
+        for (int i = 0; i < caller.basicBlocks.size(); i++) {
+            BIRBasicBlock bb = caller.basicBlocks.get(i);
+            if (bb.terminator.kind != InstructionKind.CALL) {
+                continue;
+            }
+            Call call = (Call) bb.terminator;
+            if (call.isVirtual || !isSamePackage(call.calleePkg, pkg)) {
+                continue;
+            }
+            BIRFunction callee = inlinableFunctions.get(call.name);
+            if (callee == null || callee == caller || !isCompatible(call, callee)) {
+                continue;
+            }
+
+            if (env == null) {
+                env = new InlineEnv(caller);
+            }
+            List<BIRBasicBlock> inlinedBBs = inline(call, callee, env);
+            GOTO jump = new GOTO(call.pos, inlinedBBs.get(0));
+            jump.scope = call.scope;
+            bb.terminator = jump;
+            caller.basicBlocks.addAll(i + 1, inlinedBBs);
+            i += inlinedBBs.size();
+        }
+    }
+
+    private boolean isSamePackage(PackageID pkgId, BIRPackage pkg) {
+        return pkgId != null && pkgId.orgName.equals(pkg.org) && pkgId.name.equals(pkg.name) &&
+                pkgId.version.equals(pkg.version);
+    }
+
+    private boolean isCompatible(Call call, BIRFunction callee) {
+        List<BIRVariableDcl> params = getParams(callee);
+        if (params.size() != call.args.size() || params.size() != callee.requiredParams.size()) {
+            return false;
+        }
+        for (int i = 0; i < params.size(); i++) {
+            if (!OptimizerUtils.isSameType(call.args.get(i).variableDcl.type, params.get(i).type)) {
+                return false;
+            }
+        }
+        return call.lhsOp == null ||
+                OptimizerUtils.isSameType(callee.returnVariable.type, call.lhsOp.variableDcl.type);
+    }
+
+    private List<BIRBasicBlock> inline(Call call, BIRFunction callee, InlineEnv env) {
+        Map<BIRVariableDcl, BIRVariableDcl> varMap = new HashMap<>();
+        List<BIRVariableDcl> params = getParams(callee);
+        for (int i = 0; i < params.size(); i++) {
+            // Parameters are never assigned by an inlinable function, hence the arguments are read in their place.
+            varMap.put(params.get(i), call.args.get(i).variableDcl);
+        }
+        for (BIRVariableDcl var : callee.localVars) {
+            if (var.kind != VarKind.ARG) {
+                BIRVariableDcl inlinedVar = new BIRVariableDcl(var.pos, var.type, env.nextVarName(),
+                                                               VarScope.FUNCTION, VarKind.TEMP, null);
+                env.caller.localVars.add(inlinedVar);
+                varMap.put(var, inlinedVar);
+            }
+        }
+
+        Map<BIRBasicBlock, BIRBasicBlock> bbMap = new HashMap<>();
+        List<BIRBasicBlock> inlinedBBs = new ArrayList<>();
+        for (BIRBasicBlock bb : callee.basicBlocks) {
+            BIRBasicBlock inlinedBB = new BIRBasicBlock(env.nextBBName());
+            bbMap.put(bb, inlinedBB);
+            inlinedBBs.add(inlinedBB);
+        }
+
+        for (BIRBasicBlock bb : callee.basicBlocks) {
+            BIRBasicBlock inlinedBB = bbMap.get(bb);
+            for (BIRNonTerminator ins : bb.instructions) {
+                inlinedBB.instructions.add(copy(ins, call, varMap));
+            }
+
+            BIRTerminator terminator;
+            switch (bb.terminator.kind) {
+                case GOTO:
+                    terminator = new GOTO(call.pos, bbMap.get(((GOTO) bb.terminator).targetBB));
+                    break;
+                case BRANCH:
+                    Branch branch = (Branch) bb.terminator;
+                    terminator = new Branch(call.pos, map(branch.op, varMap), bbMap.get(branch.trueBB),
+                                            bbMap.get(branch.falseBB));
+                    break;
+                default:
+                    if (call.lhsOp != null) {
+                        Move move = new Move(call.pos, map(new BIROperand(callee.returnVariable), varMap),
+                                             new BIROperand(call.lhsOp.variableDcl));
+                        move.scope = call.scope;
+                        inlinedBB.instructions.add(move);
+                    }
+                    terminator = new GOTO(call.pos, call.thenBB);
+                    break;
+            }
+            terminator.scope = call.scope;
+            inlinedBB.terminator = terminator;
+        }
+        return inlinedBBs;
+    }
+
+    private BIRNonTerminator copy(BIRNonTerminator ins, Call call, Map<BIRVariableDcl, BIRVariableDcl> varMap) {
+        BIROperand lhsOp = map(ins.lhsOp, varMap);
+        BIRNonTerminator copy;
+        switch (ins.kind) {
+            case MOVE:
+                copy = new Move(call.pos, map(((Move) ins).rhsOp, varMap), lhsOp);
+                break;
+            case CONST_LOAD:
+                ConstantLoad constantLoad = (ConstantLoad) ins;
+                copy = new ConstantLoad(call.pos, constantLoad.value, constantLoad.type, lhsOp);
+                break;
+            case TYPE_CAST:
+                TypeCast typeCast = (TypeCast) ins;
+                copy = new TypeCast(call.pos, lhsOp, map(typeCast.rhsOp, varMap), typeCast.type,
+                                    typeCast.checkTypes);
+                break;
+            case TYPE_TEST:
+                TypeTest typeTest = (TypeTest) ins;
+                copy = new TypeTest(call.pos, typeTest.type, lhsOp, map(typeTest.rhsOp, varMap));
+                break;
+            case IS_LIKE:
+                IsLike isLike = (IsLike) ins;
+                copy = new IsLike(call.pos, isLike.type, lhsOp, map(isLike.rhsOp, varMap));
+                break;
+            default:
+                if (ins instanceof BinaryOp) {
+                    BinaryOp binaryOp = (BinaryOp) ins;
+                    copy = new BinaryOp(call.pos, binaryOp.kind, lhsOp.variableDcl.type, lhsOp,
+                                        map(binaryOp.rhsOp1, varMap), map(binaryOp.rhsOp2, varMap));
+                } else {
+                    UnaryOP unaryOp = (UnaryOP) ins;
+                    copy = new UnaryOP(call.pos, unaryOp.kind, lhsOp, map(unaryOp.rhsOp, varMap));
+                }
+                break;
+        }
+        copy.scope = call.scope;
+        return copy;
+    }
+
+    private BIROperand map(BIROperand operand, Map<BIRVariableDcl, BIRVariableDcl> varMap) {
+        return new BIROperand(varMap.get(operand.variableDcl));
+    }
+
+    private List<BIRVariableDcl> getParams(BIRFunction func) {
+        List<BIRVariableDcl> params = new ArrayList<>();
+        for (BIRVariableDcl var : func.localVars) {
+            if (var.kind == VarKind.ARG) {
+                params.add(var);
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Names of the variables and the basic blocks added to a caller.
+     */
+    private static class InlineEnv {
+
+        private final BIRFunction caller;
+        private final Set<String> varNames = new HashSet<>();
+        private int varCount = 0;
+        private int bbCount = 0;
+
+        private InlineEnv(BIRFunction caller) {
+            this.caller = caller;
+            caller.localVars.forEach(var -> this.varNames.add(var.name.value));
+            for (BIRBasicBlock bb : caller.basicBlocks) {
+                String id = bb.id.value;
+                if (id.startsWith(BB_PREFIX)) {
+                    try {
+                        this.bbCount = Math.max(this.bbCount, Integer.parseInt(id.substring(BB_PREFIX.length())));
+                    } catch (NumberFormatException e) {
+                        // Not a numbered basic block.
+                    }
+                }
+            }
+        }
+
+        private Name nextVarName() {
+            String name;
+            do {
+                name = INLINED_VAR_PREFIX + this.varCount++;
+            } while (!this.varNames.add(name));
+            return new Name(name);
+        }
+
+        private Name nextBBName() {
+            return new Name(BB_PREFIX + ++this.bbCount);
+        }
+    }
+}
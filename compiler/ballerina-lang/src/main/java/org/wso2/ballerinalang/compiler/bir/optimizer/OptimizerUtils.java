@@ -0,0 +1,192 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorKeyValueEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorSpreadFieldEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.NewStructure;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Def-use information shared by the optimizations done over the basic blocks of a function.
+ *
+ * @since 2.0.0
+ */
+final class OptimizerUtils {
+
+    private OptimizerUtils() {
+    }
+
+    /**
+     * Checks whether the optimizations can rewrite the basic blocks of a function. The basic blocks of default
+     * parameter values share the variables of the function, but are not part of its control flow, hence functions
+     * with them are left as they are.
+     *
+     * @param func function to check
+     * @return true if the function can be optimized
+     */
+    static boolean isOptimizable(BIRFunction func) {
+        if (func.basicBlocks == null || func.basicBlocks.isEmpty()) {
+            return false;
+        }
+        for (List<BIRBasicBlock> defaultValueBBs : func.parameters.values()) {
+            if (!defaultValueBBs.isEmpty()) {
+                return false;
+            }
+        }
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            if (bb.terminator == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the instructions which assign to each variable of a function.
+     *
+     * @param func function
+     * @return number of assignments of each variable
+     */
+    static Map<BIRVariableDcl, Integer> countDefs(BIRFunction func) {
+        Map<BIRVariableDcl, Integer> defs = new HashMap<>();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            for (BIRNonTerminator ins : bb.instructions) {
+                addDef(defs, ins.lhsOp);
+            }
+            addDef(defs, bb.terminator.lhsOp);
+        }
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            addDef(defs, errorEntry.errorOp);
+        }
+        return defs;
+    }
+
+    /**
+     * Collects the variables read by the instructions of a function. The left hand side of an instruction which
+     * stores into a value, such as a map or an array store, is read as well, hence it is collected unless the
+     * instruction is known to only assign to it.
+     *
+     * @param func function
+     * @return variables which are read
+     */
+    static Set<BIRVariableDcl> collectUses(BIRFunction func) {
+        Set<BIRVariableDcl> uses = new HashSet<>();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            for (BIRNonTerminator ins : bb.instructions) {
+                addUses(uses, ins);
+            }
+            addUses(uses, bb.terminator);
+        }
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            uses.add(errorEntry.errorOp.variableDcl);
+        }
+        return uses;
+    }
+
+    static boolean isPureAssignment(BIRAbstractInstruction ins) {
+        switch (ins.kind) {
+            case MOVE:
+            case CONST_LOAD:
+            case TYPE_CAST:
+            case TYPE_TEST:
+            case IS_LIKE:
+                return true;
+            default:
+                return ins instanceof BIRNonTerminator.BinaryOp || ins instanceof BIRNonTerminator.UnaryOP;
+        }
+    }
+
+    static boolean isFunctionVar(BIRVariableDcl var) {
+        return var.scope == VarScope.FUNCTION;
+    }
+
+    /**
+     * Checks whether a value of one type can be used in place of a value of another type without a conversion in the
+     * generated code.
+     *
+     * @param source type of the value
+     * @param target type expected
+     * @return true if no conversion is needed
+     */
+    static boolean isSameType(BType source, BType target) {
+        if (source == target) {
+            return true;
+        }
+        if (source.tag != target.tag) {
+            return false;
+        }
+        switch (source.tag) {
+            case TypeTags.INT:
+            case TypeTags.BYTE:
+            case TypeTags.FLOAT:
+            case TypeTags.DECIMAL:
+            case TypeTags.STRING:
+            case TypeTags.BOOLEAN:
+            case TypeTags.NIL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static void addUses(Set<BIRVariableDcl> uses, BIRAbstractInstruction ins) {
+        for (BIROperand operand : ins.getRhsOperands()) {
+            if (operand != null) {
+                uses.add(operand.variableDcl);
+            }
+        }
+        if (ins.kind == InstructionKind.NEW_STRUCTURE) {
+            for (BIRMappingConstructorEntry entry : ((NewStructure) ins).initialValues) {
+                if (entry.isKeyValuePair()) {
+                    BIRMappingConstructorKeyValueEntry keyValueEntry = (BIRMappingConstructorKeyValueEntry) entry;
+                    uses.add(keyValueEntry.keyOp.variableDcl);
+                    uses.add(keyValueEntry.valueOp.variableDcl);
+                } else {
+                    uses.add(((BIRMappingConstructorSpreadFieldEntry) entry).exprOp.variableDcl);
+                }
+            }
+        }
+        if (ins.lhsOp != null && !isPureAssignment(ins)) {
+            uses.add(ins.lhsOp.variableDcl);
+        }
+    }
+
+    private static void addDef(Map<BIRVariableDcl, Integer> defs, BIROperand lhsOp) {
+        if (lhsOp != null) {
+            defs.merge(lhsOp.variableDcl, 1, Integer::sum);
+        }
+    }
+}
@@ -31,6 +31,8 @@ import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
@@ -47,13 +49,26 @@ public class BLangDiagnosticLog implements DiagnosticLog {
     private static final String NOTE_PREFIX = "note";
     private static final ResourceBundle MESSAGES = ResourceBundle.getBundle("compiler", Locale.getDefault());
 
-    private int errorCount = 0;
+    // Code generation of independent modules can run in parallel and report diagnostics concurrently
+    private volatile int errorCount = 0;
     private PackageCache packageCache;
     private boolean isMute = false;
 
+    // A deferred log keeps the diagnostics reported to it until they are reported to its parent log
+    private final BLangDiagnosticLog parent;
+    private final List<Runnable> deferredDiagnostics;
+
     private BLangDiagnosticLog(CompilerContext context) {
         context.put(DIAGNOSTIC_LOG_KEY, this);
         this.packageCache = PackageCache.getInstance(context);
+        this.parent = null;
+        this.deferredDiagnostics = null;
+    }
+
+    private BLangDiagnosticLog(BLangDiagnosticLog parent) {
+        this.packageCache = parent.packageCache;
+        this.parent = parent;
+        this.deferredDiagnostics = new ArrayList<>();
     }
 
     public static BLangDiagnosticLog getInstance(CompilerContext context) {
@@ -65,6 +80,27 @@ public class BLangDiagnosticLog implements DiagnosticLog {
         return dLogger;
     }
 
+    /**
+     * Creates a log which keeps the diagnostics reported to it until {@link #reportDeferred()} is called, and then
+     * reports them to this log. Compilation units which are processed in parallel report their diagnostics through
+     * such logs, so that the diagnostics are in the same order as when the units are processed one after the other.
+     *
+     * @return a deferred log
+     */
+    public BLangDiagnosticLog createDeferredLog() {
+        return new BLangDiagnosticLog(this);
+    }
+
+    /**
+     * Reports the diagnostics kept by a deferred log to its parent log, in the order they were reported.
+     */
+    public void reportDeferred() {
+        for (Runnable diagnostic : this.deferredDiagnostics) {
+            diagnostic.run();
+        }
+        this.deferredDiagnostics.clear();
+    }
+
     /**
      * Log an error.
      * 
@@ -166,7 +202,12 @@ public class BLangDiagnosticLog implements DiagnosticLog {
      * @param pkgId Package ID of the diagnostic associated with
      * @param diagnostic the diagnostic to be logged
      */
-    public void logDiagnostic(PackageID pkgId, Diagnostic diagnostic) {
+    public synchronized void logDiagnostic(PackageID pkgId, Diagnostic diagnostic) {
+        if (this.parent != null) {
+            this.deferredDiagnostics.add(() -> this.parent.logDiagnostic(pkgId, diagnostic));
+            return;
+        }
+
         if (diagnostic.diagnosticInfo().severity() == DiagnosticSeverity.ERROR) {
             this.errorCount++;
         }
@@ -181,8 +222,13 @@ public class BLangDiagnosticLog implements DiagnosticLog {
         return MessageFormat.format(msgKey, args);
     }
 
-    private void reportDiagnostic(DiagnosticCode diagnosticCode, DiagnosticPos pos, String msg,
-                                  DiagnosticSeverity severity) {
+    private synchronized void reportDiagnostic(DiagnosticCode diagnosticCode, DiagnosticPos pos, String msg,
+                                               DiagnosticSeverity severity) {
+        if (this.parent != null) {
+            this.deferredDiagnostics.add(() -> this.parent.reportDiagnostic(diagnosticCode, pos, msg, severity));
+            return;
+        }
+
         if (severity == DiagnosticSeverity.ERROR) {
             this.errorCount++;
         }
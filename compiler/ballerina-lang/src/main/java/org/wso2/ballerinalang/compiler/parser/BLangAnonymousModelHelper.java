@@ -65,6 +65,15 @@ public class BLangAnonymousModelHelper {
         rawTemplateTypeCount = new HashMap<>();
     }
 
+    private BLangAnonymousModelHelper(BLangAnonymousModelHelper helper) {
+        anonTypeCount = new HashMap<>(helper.anonTypeCount);
+        anonServiceCount = new HashMap<>(helper.anonServiceCount);
+        anonFunctionCount = new HashMap<>(helper.anonFunctionCount);
+        anonForkCount = new HashMap<>(helper.anonForkCount);
+        errorTypeIdCount = new HashMap<>(helper.errorTypeIdCount);
+        rawTemplateTypeCount = new HashMap<>(helper.rawTemplateTypeCount);
+    }
+
     public static BLangAnonymousModelHelper getInstance(CompilerContext context) {
         BLangAnonymousModelHelper helper = context.get(ANONYMOUS_MODEL_HELPER_KEY);
         if (helper == null) {
@@ -121,4 +130,45 @@ public class BLangAnonymousModelHelper {
     public boolean isAnonymousType(BSymbol symbol) {
         return symbol.name.value.startsWith(ANON_TYPE);
     }
+
+    /**
+     * Creates a helper which continues from the counts of this helper, without changing them. The compilation units
+     * of a package which are transformed in parallel name their anonymous constructs through such copies.
+     *
+     * @return a copy of this helper
+     */
+    BLangAnonymousModelHelper copy() {
+        return new BLangAnonymousModelHelper(this);
+    }
+
+    /**
+     * Adds the number of anonymous constructs named by a copy of a helper since it had the counts of another helper.
+     *
+     * @param from helper with the counts the copy started with
+     * @param to   the copy
+     */
+    void addCounts(BLangAnonymousModelHelper from, BLangAnonymousModelHelper to) {
+        addCounts(anonTypeCount, from.anonTypeCount, to.anonTypeCount);
+        addCounts(anonServiceCount, from.anonServiceCount, to.anonServiceCount);
+        addCounts(anonFunctionCount, from.anonFunctionCount, to.anonFunctionCount);
+        addCounts(anonForkCount, from.anonForkCount, to.anonForkCount);
+        addCounts(errorTypeIdCount, from.errorTypeIdCount, to.errorTypeIdCount);
+        addCounts(rawTemplateTypeCount, from.rawTemplateTypeCount, to.rawTemplateTypeCount);
+    }
+
+    boolean hasSameCounts(BLangAnonymousModelHelper helper) {
+        return anonTypeCount.equals(helper.anonTypeCount) && anonServiceCount.equals(helper.anonServiceCount) &&
+                anonFunctionCount.equals(helper.anonFunctionCount) && anonForkCount.equals(helper.anonForkCount) &&
+                errorTypeIdCount.equals(helper.errorTypeIdCount) &&
+                rawTemplateTypeCount.equals(helper.rawTemplateTypeCount);
+    }
+
+    static void addCounts(Map<PackageID, Integer> counts, Map<PackageID, Integer> from, Map<PackageID, Integer> to) {
+        for (Map.Entry<PackageID, Integer> entry : to.entrySet()) {
+            int count = entry.getValue() - from.getOrDefault(entry.getKey(), 0);
+            if (count != 0) {
+                counts.merge(entry.getKey(), count, Integer::sum);
+            }
+        }
+    }
 }
@@ -46,6 +46,10 @@ public class BLangMissingNodesHelper {
         missingIdentifierCount = new HashMap<>();
     }
 
+    private BLangMissingNodesHelper(BLangMissingNodesHelper helper) {
+        missingIdentifierCount = new HashMap<>(helper.missingIdentifierCount);
+    }
+
     public static BLangMissingNodesHelper getInstance(CompilerContext context) {
         BLangMissingNodesHelper helper = context.get(MISSING_NODES_HELPER_KEY);
         if (helper == null) {
@@ -67,4 +71,29 @@ public class BLangMissingNodesHelper {
     public boolean isMissingNode(String nodeName) {
         return nodeName.startsWith(MISSING_NODE_PREFIX);
     }
+
+    /**
+     * Creates a helper which continues from the count of this helper, without changing it. The compilation units of a
+     * package which are transformed in parallel name their missing nodes through such copies.
+     *
+     * @return a copy of this helper
+     */
+    BLangMissingNodesHelper copy() {
+        return new BLangMissingNodesHelper(this);
+    }
+
+    /**
+     * Adds the number of missing nodes named by a copy of a helper since it had the count of another helper.
+     *
+     * @param from helper with the count the copy started with
+     * @param to   the copy
+     */
+    void addCounts(BLangMissingNodesHelper from, BLangMissingNodesHelper to) {
+        BLangAnonymousModelHelper.addCounts(missingIdentifierCount, from.missingIdentifierCount,
+                to.missingIdentifierCount);
+    }
+
+    boolean hasSameCounts(BLangMissingNodesHelper helper) {
+        return missingIdentifierCount.equals(helper.missingIdentifierCount);
+    }
 }
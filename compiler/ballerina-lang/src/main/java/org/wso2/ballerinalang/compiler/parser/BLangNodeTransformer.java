@@ -449,11 +449,17 @@ public class BLangNodeTransformer extends NodeTransformer<BLangNode> {
     private boolean isInLocalContext = false;
 
     public BLangNodeTransformer(CompilerContext context, BDiagnosticSource diagnosticSource) {
-        this.dlog = BLangDiagnosticLog.getInstance(context);
+        this(context, diagnosticSource, BLangDiagnosticLog.getInstance(context),
+             BLangAnonymousModelHelper.getInstance(context), BLangMissingNodesHelper.getInstance(context));
+    }
+
+    BLangNodeTransformer(CompilerContext context, BDiagnosticSource diagnosticSource, BLangDiagnosticLog dlog,
+                         BLangAnonymousModelHelper anonymousModelHelper, BLangMissingNodesHelper missingNodesHelper) {
+        this.dlog = dlog;
         this.symTable = SymbolTable.getInstance(context);
         this.diagnosticSource = diagnosticSource;
-        this.anonymousModelHelper = BLangAnonymousModelHelper.getInstance(context);
-        this.missingNodesHelper = BLangMissingNodesHelper.getInstance(context);
+        this.anonymousModelHelper = anonymousModelHelper;
+        this.missingNodesHelper = missingNodesHelper;
     }
 
     public List<org.ballerinalang.model.tree.Node> accept(Node node) {
@@ -19,6 +19,7 @@ package org.wso2.ballerinalang.compiler.parser;
 
 import io.ballerina.compiler.syntax.tree.SyntaxTree;
 import io.ballerina.tools.diagnostics.Diagnostic;
+import org.ballerinalang.compiler.BLangCompilerException;
 import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.elements.Flag;
 import org.ballerinalang.model.elements.PackageID;
@@ -28,16 +29,24 @@ import org.ballerinalang.repository.PackageSource;
 import org.wso2.ballerinalang.compiler.PackageCache;
 import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLog;
 import org.wso2.ballerinalang.compiler.packaging.converters.FileSystemSourceInput;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.tree.BLangCompilationUnit;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.tree.BLangTestablePackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.compiler.util.ProjectDirs;
 import org.wso2.ballerinalang.compiler.util.diagnotic.BDiagnosticSource;
 import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * This class is responsible for parsing Ballerina source files.
@@ -52,6 +61,9 @@ public class Parser {
     private ParserCache parserCache;
     private NodeCloner nodeCloner;
     private BLangDiagnosticLog dlog;
+    private BLangAnonymousModelHelper anonymousModelHelper;
+    private BLangMissingNodesHelper missingNodesHelper;
+    private int jobs;
 
     public static Parser getInstance(CompilerContext context) {
         Parser parser = context.get(PARSER_KEY);
@@ -69,6 +81,9 @@ public class Parser {
         this.parserCache = ParserCache.getInstance(context);
         this.nodeCloner = NodeCloner.getInstance(context);
         this.dlog = BLangDiagnosticLog.getInstance(context);
+        this.anonymousModelHelper = BLangAnonymousModelHelper.getInstance(context);
+        this.missingNodesHelper = BLangMissingNodesHelper.getInstance(context);
+        this.jobs = CompilerOptions.getInstance(context).getJobs();
     }
 
     public BLangPackage parse(PackageSource pkgSource, Path sourceRootPath) {
@@ -76,8 +91,17 @@ public class Parser {
         BLangPackage pkgNode = (BLangPackage) TreeBuilder.createPackageNode();
         this.pkgCache.put(pkgId, pkgNode);
 
-        for (CompilerInput sourceInput : pkgSource.getPackageSourceEntries()) {
+        List<CompilerInput> sourceEntries = pkgSource.getPackageSourceEntries();
+        List<CompilationUnitNode> compilationUnits = null;
+        if (this.jobs > 1 && sourceEntries.size() > 1) {
+            compilationUnits = generateCompilationUnitsInParallel(sourceEntries, pkgId);
+        }
+
+        for (int i = 0; i < sourceEntries.size(); i++) {
+            CompilerInput sourceInput = sourceEntries.get(i);
             BDiagnosticSource diagnosticSource = getDiagnosticSource(sourceInput, pkgId);
+            CompilationUnitNode compilationUnit = compilationUnits != null ? compilationUnits.get(i) :
+                    generateCompilationUnitNew(sourceInput, pkgId, diagnosticSource);
             if (ProjectDirs.isTestSource(((FileSystemSourceInput) sourceInput).getPath(),
                     sourceRootPath, pkgId.getName().value)) {
                 // This check is added to ensure that there is exactly one testable package per bLangPackage
@@ -87,11 +111,9 @@ public class Parser {
                     testablePkg.pos = new DiagnosticPos(new BDiagnosticSource(pkgId, pkgSource.getName()), 1, 1, 1, 1);
                     pkgNode.addTestablePkg(testablePkg);
                 }
-                pkgNode.getTestablePkg().addCompilationUnit(
-                        generateCompilationUnitNew(sourceInput, pkgId, diagnosticSource)
-                );
+                pkgNode.getTestablePkg().addCompilationUnit(compilationUnit);
             } else {
-                pkgNode.addCompilationUnit(generateCompilationUnitNew(sourceInput, pkgId, diagnosticSource));
+                pkgNode.addCompilationUnit(compilationUnit);
             }
         }
 
@@ -126,6 +148,114 @@ public class Parser {
         return compilationUnit;
     }
 
+    /**
+     * Parses the source entries of a package, and transforms them to compilation units, on a pool of threads. The
+     * result is the same as when the source entries are parsed one after the other. The diagnostics are reported in
+     * the order of the source entries, and the anonymous constructs and missing nodes are numbered in that order.
+     * <p>
+     * Each compilation unit names its anonymous constructs and missing nodes through its own copies of the helpers.
+     * The number of names a compilation unit takes does not depend on the number it starts from. Hence once all the
+     * compilation units are transformed, the number each of them has to start from is known, and the compilation
+     * units which started from a different number are transformed again.
+     *
+     * @param sourceEntries source entries of the package
+     * @param packageID     package ID
+     * @return the compilation units, in the order of the source entries
+     */
+    private List<CompilationUnitNode> generateCompilationUnitsInParallel(List<CompilerInput> sourceEntries,
+                                                                         PackageID packageID) {
+        // The parser cache is not thread safe, hence the cached compilation units are looked up first.
+        List<PendingCompilationUnit> units = new ArrayList<>(sourceEntries.size());
+        for (CompilerInput sourceEntry : sourceEntries) {
+            PendingCompilationUnit unit = new PendingCompilationUnit(sourceEntry,
+                    getDiagnosticSource(sourceEntry, packageID));
+            unit.compilationUnit = parserCache.get(packageID, sourceEntry.getEntryName(), unit.hash, unit.length);
+            unit.isCached = unit.compilationUnit != null;
+            units.add(unit);
+        }
+
+        // The compiler context is not thread safe, hence the symbol table used by the transformers is created here.
+        SymbolTable.getInstance(this.context);
+        ForkJoinPool pool = new ForkJoinPool(this.jobs);
+        try {
+            runInParallel(pool, units, unit -> {
+                unit.tree = unit.sourceEntry.getTree();
+                if (!unit.isCached) {
+                    transform(unit, this.anonymousModelHelper, this.missingNodesHelper);
+                }
+            });
+
+            BLangAnonymousModelHelper anonymousCounts = this.anonymousModelHelper.copy();
+            BLangMissingNodesHelper missingNodeCounts = this.missingNodesHelper.copy();
+            List<PendingCompilationUnit> outdatedUnits = new ArrayList<>();
+            for (PendingCompilationUnit unit : units) {
+                if (unit.isCached) {
+                    continue;
+                }
+                boolean hasNames = !unit.anonymousModelHelper.hasSameCounts(this.anonymousModelHelper) ||
+                        !unit.missingNodesHelper.hasSameCounts(this.missingNodesHelper);
+                boolean isOutdated = !anonymousCounts.hasSameCounts(this.anonymousModelHelper) ||
+                        !missingNodeCounts.hasSameCounts(this.missingNodesHelper);
+                if (hasNames && isOutdated) {
+                    unit.startAnonymousCounts = anonymousCounts.copy();
+                    unit.startMissingNodeCounts = missingNodeCounts.copy();
+                    outdatedUnits.add(unit);
+                }
+                anonymousCounts.addCounts(this.anonymousModelHelper, unit.anonymousModelHelper);
+                missingNodeCounts.addCounts(this.missingNodesHelper, unit.missingNodesHelper);
+            }
+            runInParallel(pool, outdatedUnits,
+                    unit -> transform(unit, unit.startAnonymousCounts, unit.startMissingNodeCounts));
+            this.anonymousModelHelper.addCounts(this.anonymousModelHelper, anonymousCounts);
+            this.missingNodesHelper.addCounts(this.missingNodesHelper, missingNodeCounts);
+        } finally {
+            pool.shutdown();
+        }
+
+        List<CompilationUnitNode> compilationUnits = new ArrayList<>(units.size());
+        for (PendingCompilationUnit unit : units) {
+            reportSyntaxDiagnostics(unit.diagnosticSource, unit.tree);
+            if (!unit.isCached) {
+                unit.dlog.reportDeferred();
+                parserCache.put(packageID, unit.sourceEntry.getEntryName(), unit.hash, unit.length,
+                        unit.compilationUnit);
+                // Node cloner will run for valid ASTs.
+                unit.compilationUnit = nodeCloner.cloneCUnit(unit.compilationUnit);
+            }
+            compilationUnits.add(unit.compilationUnit);
+        }
+        return compilationUnits;
+    }
+
+    private void transform(PendingCompilationUnit unit, BLangAnonymousModelHelper anonymousCounts,
+                           BLangMissingNodesHelper missingNodeCounts) {
+        unit.dlog = this.dlog.createDeferredLog();
+        unit.anonymousModelHelper = anonymousCounts.copy();
+        unit.missingNodesHelper = missingNodeCounts.copy();
+        BLangNodeTransformer bLangNodeTransformer = new BLangNodeTransformer(this.context, unit.diagnosticSource,
+                unit.dlog, unit.anonymousModelHelper, unit.missingNodesHelper);
+        unit.compilationUnit = (BLangCompilationUnit) bLangNodeTransformer.accept(unit.tree.rootNode()).get(0);
+    }
+
+    private static void runInParallel(ForkJoinPool pool, List<PendingCompilationUnit> units,
+                                      Consumer<PendingCompilationUnit> action) {
+        try {
+            CompletableFuture.allOf(units.stream()
+                    .map(unit -> CompletableFuture.runAsync(() -> action.accept(unit), pool))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new BLangCompilerException(cause.getMessage(), cause);
+        }
+    }
+
     private BDiagnosticSource getDiagnosticSource(CompilerInput sourceEntry, PackageID packageID) {
         String entryName = sourceEntry.getEntryName();
         return new BDiagnosticSource(packageID, entryName);
@@ -143,4 +273,30 @@ public class Parser {
             dlog.logDiagnostic(diagnosticSource.pkgID, syntaxDiagnostic);
         }
     }
+
+    /**
+     * A source entry which is parsed and transformed to a compilation unit on a pool of threads.
+     */
+    private static class PendingCompilationUnit {
+        private final CompilerInput sourceEntry;
+        private final BDiagnosticSource diagnosticSource;
+        private final int hash;
+        private final int length;
+        private boolean isCached;
+        private SyntaxTree tree;
+        private BLangCompilationUnit compilationUnit;
+        private BLangDiagnosticLog dlog;
+        private BLangAnonymousModelHelper anonymousModelHelper;
+        private BLangMissingNodesHelper missingNodesHelper;
+        private BLangAnonymousModelHelper startAnonymousCounts;
+        private BLangMissingNodesHelper startMissingNodeCounts;
+
+        PendingCompilationUnit(CompilerInput sourceEntry, BDiagnosticSource diagnosticSource) {
+            this.sourceEntry = sourceEntry;
+            this.diagnosticSource = diagnosticSource;
+            byte[] code = sourceEntry.getCode();
+            this.hash = getHash(code);
+            this.length = code.length;
+        }
+    }
 }
@@ -32,6 +32,7 @@ import org.ballerinalang.model.tree.statements.VariableDefinitionNode;
 import org.ballerinalang.model.tree.types.BuiltInReferenceTypeNode;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.util.diagnostic.DiagnosticCode;
+import org.wso2.ballerinalang.compiler.CompilerProfiler;
 import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLog;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolEnv;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
@@ -204,6 +205,7 @@ public class SemanticAnalyzer extends BLangNodeVisitor {
     private TypeNarrower typeNarrower;
     private ConstantAnalyzer constantAnalyzer;
     private ConstantValueResolver constantValueResolver;
+    private CompilerProfiler profiler;
 
     private SymbolEnv env;
     private BType expType;
@@ -237,6 +239,7 @@ public class SemanticAnalyzer extends BLangNodeVisitor {
         this.typeNarrower = TypeNarrower.getInstance(context);
         this.constantAnalyzer = ConstantAnalyzer.getInstance(context);
         this.constantValueResolver = ConstantValueResolver.getInstance(context);
+        this.profiler = CompilerProfiler.getInstance(context);
     }
 
     public BLangPackage analyze(BLangPackage pkgNode) {
@@ -297,6 +300,7 @@ public class SemanticAnalyzer extends BLangNodeVisitor {
     }
 
     public void visit(BLangFunction funcNode) {
+        long startTime = this.profiler.startFunction();
         SymbolEnv funcEnv = SymbolEnv.createFunctionEnv(funcNode, funcNode.symbol.scope, env);
 
         // TODO: Shouldn't this be done in symbol enter?
@@ -360,6 +364,7 @@ public class SemanticAnalyzer extends BLangNodeVisitor {
         funcNode.symbol.annAttachments.addAll(funcNode.annAttachments);
 
         this.processWorkers(funcNode, funcEnv);
+        this.profiler.stopFunction(funcNode.symbol, startTime);
     }
 
     private void processWorkers(BLangInvokableNode invNode, SymbolEnv invEnv) {
@@ -20,8 +20,11 @@ package org.wso2.ballerinalang.compiler.semantics.model;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
 import org.wso2.ballerinalang.compiler.util.Name;
 
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * @since 0.94
@@ -56,6 +59,32 @@ public class Scope implements org.ballerinalang.model.Scope {
         entries.put(name, newEntry);
     }
 
+    /**
+     * Defines a symbol whose definition is deferred until the name is first looked up, or until the entries of the
+     * scope are iterated. The definer is expected to define the symbol in this scope. The entry keeps the position
+     * of this call among the entries of the scope, whenever the symbol is defined.
+     * <p>
+     * The symbols may be looked up from several threads, hence the pending symbols are defined while holding the
+     * given lock, which must be the same for all the scopes whose definers share state.
+     *
+     * @param name    name of the symbol
+     * @param definer defines the symbol in this scope
+     * @param lock    lock held while the symbols of the scope are defined
+     */
+    public void defineLazily(Name name, Runnable definer, Object lock) {
+        if (!(entries instanceof LazyEntryMap)) {
+            entries = new LazyEntryMap(entries, lock);
+        }
+        LazyEntryMap lazyEntries = (LazyEntryMap) entries;
+        synchronized (lazyEntries.lock) {
+            lazyEntries.pendingEntries.merge(name, definer, (first, second) -> () -> {
+                first.run();
+                second.run();
+            });
+            lazyEntries.reserve(name);
+        }
+    }
+
     public ScopeEntry lookup(Name name) {
         ScopeEntry entry = entries.get(name);
         if (entry == null) {
@@ -65,6 +94,133 @@ public class Scope implements org.ballerinalang.model.Scope {
         return entry;
     }
 
+    /**
+     * Entries of a scope, some of which are defined on first access. Once all the pending entries are defined, the
+     * entries are only read, hence the views of the map are used without the lock.
+     * <p>
+     * A pending entry is reserved in the map until it is defined, so that the entries are iterated in the order they
+     * were defined in, rather than the order they were first looked up in.
+     */
+    private static class LazyEntryMap extends LinkedHashMap<Name, ScopeEntry> {
+
+        private static final ScopeEntry RESERVED_ENTRY = new ScopeEntry(null, null);
+
+        private final Map<Name, Runnable> pendingEntries = new LinkedHashMap<>();
+        private final Object lock;
+
+        private LazyEntryMap(Map<Name, ScopeEntry> entries, Object lock) {
+            super(entries);
+            this.lock = lock;
+        }
+
+        private void reserve(Name name) {
+            super.putIfAbsent(name, RESERVED_ENTRY);
+        }
+
+        private void define(Object name) {
+            Runnable definer = pendingEntries.remove(name);
+            if (definer != null) {
+                definer.run();
+                // the definer replaces the reserved entry, unless it did not define the symbol after all
+                super.remove(name, RESERVED_ENTRY);
+            }
+        }
+
+        private static ScopeEntry unlessReserved(ScopeEntry entry) {
+            return entry == RESERVED_ENTRY ? null : entry;
+        }
+
+        private void defineAll() {
+            synchronized (lock) {
+                while (!pendingEntries.isEmpty()) {
+                    define(pendingEntries.keySet().iterator().next());
+                }
+            }
+        }
+
+        @Override
+        public ScopeEntry get(Object name) {
+            synchronized (lock) {
+                define(name);
+                return unlessReserved(super.get(name));
+            }
+        }
+
+        @Override
+        public ScopeEntry getOrDefault(Object name, ScopeEntry defaultValue) {
+            synchronized (lock) {
+                define(name);
+                ScopeEntry entry = super.getOrDefault(name, defaultValue);
+                return entry == RESERVED_ENTRY ? defaultValue : entry;
+            }
+        }
+
+        @Override
+        public ScopeEntry put(Name name, ScopeEntry entry) {
+            synchronized (lock) {
+                return super.put(name, entry);
+            }
+        }
+
+        @Override
+        public boolean containsKey(Object name) {
+            synchronized (lock) {
+                return pendingEntries.containsKey(name) || super.containsKey(name);
+            }
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            defineAll();
+            return super.containsValue(value);
+        }
+
+        @Override
+        public ScopeEntry remove(Object name) {
+            synchronized (lock) {
+                define(name);
+                return unlessReserved(super.remove(name));
+            }
+        }
+
+        @Override
+        public int size() {
+            defineAll();
+            return super.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            synchronized (lock) {
+                return pendingEntries.isEmpty() && super.isEmpty();
+            }
+        }
+
+        @Override
+        public Set<Name> keySet() {
+            defineAll();
+            return super.keySet();
+        }
+
+        @Override
+        public Collection<ScopeEntry> values() {
+            defineAll();
+            return super.values();
+        }
+
+        @Override
+        public Set<Map.Entry<Name, ScopeEntry>> entrySet() {
+            defineAll();
+            return super.entrySet();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super Name, ? super ScopeEntry> action) {
+            defineAll();
+            super.forEach(action);
+        }
+    }
+
     /**
      * @since 0.94
      */
@@ -17,6 +17,7 @@
 */
 package org.wso2.ballerinalang.compiler.util;
 
+import org.ballerinalang.compiler.BLangCompilerException;
 import org.ballerinalang.compiler.CompilerOptionName;
 import org.ballerinalang.compiler.CompilerPhase;
 
@@ -68,4 +69,27 @@ public class CompilerOptions {
 
         return CompilerPhase.fromValue(phaseName);
     }
+
+    /**
+     * Returns the number of threads the compiler may use, which is 1 unless the jobs option is set.
+     *
+     * @return number of threads
+     * @throws BLangCompilerException if the jobs option is not a positive number
+     */
+    public int getJobs() {
+        String jobs = get(CompilerOptionName.JOBS);
+        if (jobs == null) {
+            return 1;
+        }
+        try {
+            int count = Integer.parseInt(jobs.trim());
+            if (count > 0) {
+                return count;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new BLangCompilerException("invalid value '" + jobs + "' for the jobs option, it should be a positive " +
+                "number");
+    }
 }
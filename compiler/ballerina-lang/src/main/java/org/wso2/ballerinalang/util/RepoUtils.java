@@ -46,6 +46,8 @@ public class RepoUtils {
     public static final String LOAD_BUILTIN_FROM_SOURCE_PROP = "BALLERINA_DEV_LOAD_BUILTIN_FROM_SOURCE";
     public static final boolean COMPILE_BALLERINA_ORG = getBooleanProp(COMPILE_BALLERINA_ORG_PROP);
     public static final boolean LOAD_BUILTIN_FROM_SOURCE = getBooleanProp(LOAD_BUILTIN_FROM_SOURCE_PROP);
+    public static final String EAGER_BIR_SYMBOL_LOADING_PROP = "BALLERINA_DEV_EAGER_BIR_SYMBOL_LOADING";
+    public static final boolean EAGER_BIR_SYMBOL_LOADING = getBooleanProp(EAGER_BIR_SYMBOL_LOADING_PROP);
 
     private static final String USER_HOME = "user.home";
     private static final String DEFAULT_TERMINAL_SIZE = "80";
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.ballerinalang.compiler;
+
+import org.ballerinalang.compiler.CompilerOptionName;
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.model.symbols.SymbolOrigin;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunctionParameter;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRParameter;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.TaintTable;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.bir.writer.BIRBinaryWriter;
+import org.wso2.ballerinalang.compiler.semantics.model.Scope;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.programfile.CompiledBinaryFile.BIRPackageFile;
+import org.wso2.ballerinalang.programfile.PackageFileWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test cases for defining the functions of a module read from BIR on first lookup.
+ *
+ * @since 2.0.0
+ */
+public class BIRPackageSymbolEnterTest {
+
+    private static final int FUNCTION_COUNT = 50;
+    private static final int THREAD_COUNT = 8;
+
+    private Path projectDir;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        projectDir = Files.createTempDirectory("bir-package-symbol-enter-test");
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(projectDir);
+    }
+
+    @Test
+    public void testLazyLookup() throws IOException {
+        CompilerContext context = createContext(false);
+        SymbolTable symTable = SymbolTable.getInstance(context);
+        BPackageSymbol pkgSymbol = definePackage(context, "lazy");
+
+        BInvokableSymbol symbol = (BInvokableSymbol) pkgSymbol.scope.lookup(new Name("func7")).symbol;
+        Assert.assertNotNull(symbol);
+        Assert.assertEquals(symbol.name.value, "func7");
+        Assert.assertEquals(symbol.pkgID, pkgSymbol.pkgID);
+        Assert.assertEquals(symbol.owner, pkgSymbol);
+        Assert.assertEquals(symbol.params.size(), 1);
+        Assert.assertEquals(symbol.params.get(0).type.tag, symTable.intType.tag);
+        Assert.assertEquals(symbol.retType.tag, symTable.intType.tag);
+        Assert.assertSame(pkgSymbol.scope.lookup(new Name("func7")).symbol, symbol);
+        Assert.assertSame(pkgSymbol.scope.lookup(new Name("missing")), Scope.NOT_FOUND_ENTRY);
+    }
+
+    @Test
+    public void testScopeIteration() throws IOException {
+        BPackageSymbol pkgSymbol = definePackage(createContext(false), "iteration");
+
+        // Iterating the scope defines the functions which were not looked up, in the order they were read, whichever
+        // of them were looked up first
+        pkgSymbol.scope.lookup(new Name("func3"));
+        pkgSymbol.scope.lookup(new Name("func41"));
+        Assert.assertTrue(pkgSymbol.scope.entries.containsKey(new Name("func5")));
+        Assert.assertFalse(pkgSymbol.scope.entries.isEmpty());
+        List<String> names = new ArrayList<>();
+        pkgSymbol.scope.entries.forEach((name, entry) -> {
+            if (entry.symbol instanceof BInvokableSymbol) {
+                names.add(name.value);
+            }
+        });
+        Assert.assertEquals(names, getFunctionNames());
+        Assert.assertEquals(pkgSymbol.scope.entries.size(), getFunctionSymbols(pkgSymbol).size());
+        Assert.assertEquals(new ArrayList<>(getFunctionSymbols(pkgSymbol).keySet()), getFunctionNames());
+    }
+
+    @Test
+    public void testModuleContentIsNotRetained() throws IOException {
+        CompilerContext context = createContext(false);
+        SymbolTable symTable = SymbolTable.getInstance(context);
+        byte[] content = writePackage("released");
+        BPackageSymbol pkgSymbol = BIRPackageSymbolEnter.getInstance(context).definePackage(
+                createPackageID("released"), null, content);
+
+        // The functions are read from bytes of their own, which are not the content the module was read from
+        Arrays.fill(content, (byte) 0);
+        for (String name : getFunctionNames()) {
+            BInvokableSymbol symbol = (BInvokableSymbol) pkgSymbol.scope.lookup(new Name(name)).symbol;
+            Assert.assertNotNull(symbol, name);
+            Assert.assertEquals(symbol.name.value, name);
+            Assert.assertEquals(symbol.params.size(), 1);
+            Assert.assertEquals(symbol.retType.tag, symTable.intType.tag);
+        }
+    }
+
+    @Test
+    public void testEagerLoadingFallback() throws IOException {
+        BPackageSymbol lazyPkgSymbol = definePackage(createContext(false), "fallback");
+        BPackageSymbol eagerPkgSymbol = definePackage(createContext(true), "fallback");
+
+        // The functions are defined when the module is read, hence the entries are a plain map
+        Assert.assertEquals(eagerPkgSymbol.scope.entries.getClass(), LinkedHashMap.class);
+        Assert.assertNotEquals(lazyPkgSymbol.scope.entries.getClass(), LinkedHashMap.class);
+
+        Map<String, BInvokableSymbol> lazySymbols = getFunctionSymbols(lazyPkgSymbol);
+        Map<String, BInvokableSymbol> eagerSymbols = getFunctionSymbols(eagerPkgSymbol);
+        Assert.assertEquals(lazySymbols.keySet(), eagerSymbols.keySet());
+        for (Map.Entry<String, BInvokableSymbol> entry : eagerSymbols.entrySet()) {
+            BInvokableSymbol lazySymbol = lazySymbols.get(entry.getKey());
+            Assert.assertEquals(lazySymbol.flags, entry.getValue().flags);
+            Assert.assertEquals(lazySymbol.params.size(), entry.getValue().params.size());
+            Assert.assertEquals(lazySymbol.retType.tag, entry.getValue().retType.tag);
+        }
+    }
+
+    @Test
+    public void testConcurrentLookup() throws Exception {
+        CompilerContext context = createContext(false);
+        List<BPackageSymbol> pkgSymbols = Arrays.asList(definePackage(context, "concurrent1"),
+                                                        definePackage(context, "concurrent2"));
+
+        // Code generation looks up the functions of imported modules from several threads
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<List<BInvokableSymbol>>> results = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                results.add(executor.submit(() -> {
+                    List<BInvokableSymbol> symbols = new ArrayList<>();
+                    for (String name : getFunctionNames()) {
+                        for (BPackageSymbol pkgSymbol : pkgSymbols) {
+                            symbols.add((BInvokableSymbol) pkgSymbol.scope.lookup(new Name(name)).symbol);
+                        }
+                    }
+                    return symbols;
+                }));
+            }
+
+            List<BInvokableSymbol> expected = results.get(0).get();
+            for (Future<List<BInvokableSymbol>> result : results) {
+                List<BInvokableSymbol> symbols = result.get();
+                Assert.assertEquals(symbols.size(), FUNCTION_COUNT * pkgSymbols.size());
+                for (int i = 0; i < symbols.size(); i++) {
+                    // Each function is defined once, in the module it belongs to
+                    Assert.assertSame(symbols.get(i), expected.get(i));
+                    Assert.assertEquals(symbols.get(i).pkgID, pkgSymbols.get(i % pkgSymbols.size()).pkgID);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompilerContext createContext(boolean eagerSymbolLoading) {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(CompilerOptionName.OFFLINE, String.valueOf(true));
+        options.put(CompilerOptionName.PROJECT_DIR, projectDir.toString());
+        SourceDirectoryManager.getInstance(context);
+        BIRPackageSymbolEnter.getInstance(context).eagerSymbolLoading = eagerSymbolLoading;
+        return context;
+    }
+
+    private static BPackageSymbol definePackage(CompilerContext context, String moduleName) throws IOException {
+        return BIRPackageSymbolEnter.getInstance(context).definePackage(createPackageID(moduleName), null,
+                                                                        writePackage(moduleName));
+    }
+
+    private static PackageID createPackageID(String moduleName) {
+        return new PackageID(new Name("testorg"), new Name(moduleName), new Name("1.0.0"));
+    }
+
+    private static byte[] writePackage(String moduleName) throws IOException {
+        PackageID pkgId = createPackageID(moduleName);
+        BIRPackage birPackage = new BIRPackage(null, pkgId.orgName, pkgId.name, pkgId.version, new Name("test.bal"));
+        for (String funcName : getFunctionNames()) {
+            birPackage.functions.add(createFunction(funcName));
+        }
+        return PackageFileWriter.writePackage(new BIRPackageFile(new BIRBinaryWriter(birPackage).serialize()));
+    }
+
+    private static List<String> getFunctionNames() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < FUNCTION_COUNT; i++) {
+            names.add("func" + i);
+        }
+        return names;
+    }
+
+    private static Map<String, BInvokableSymbol> getFunctionSymbols(BPackageSymbol pkgSymbol) {
+        Map<String, BInvokableSymbol> symbols = new LinkedHashMap<>();
+        for (Map.Entry<Name, Scope.ScopeEntry> entry : pkgSymbol.scope.entries.entrySet()) {
+            if (entry.getValue().symbol instanceof BInvokableSymbol) {
+                symbols.put(entry.getKey().value, (BInvokableSymbol) entry.getValue().symbol);
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * Creates a function which takes and returns an int. Only the signature of the function is read into its symbol.
+     */
+    private static BIRFunction createFunction(String name) {
+        BType intType = SymbolTable.getInstance(new CompilerContext()).intType;
+        BIRFunction func = new BIRFunction(null, new Name(name), 0,
+                                           new BInvokableType(Arrays.asList(intType), intType, null),
+                                           new Name("default"), 0, new TaintTable(), SymbolOrigin.SOURCE);
+        func.returnVariable = new BIRVariableDcl(intType, new Name("%0"), VarScope.FUNCTION, VarKind.RETURN);
+        func.localVars.add(func.returnVariable);
+        BIRFunctionParameter param = new BIRFunctionParameter(null, intType, new Name("%1"), VarScope.FUNCTION,
+                                                              VarKind.ARG, "x", false);
+        func.localVars.add(param);
+        func.parameters.put(param, new ArrayList<>());
+        func.requiredParams.add(new BIRParameter(null, new Name("x"), 0));
+        func.argsCount = 1;
+
+        BIRBasicBlock bb = new BIRBasicBlock(new Name("bb0"));
+        bb.terminator = new BIRTerminator.Return(null);
+        func.basicBlocks.add(bb);
+        return func;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.model.elements.PackageID;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.SymTag;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.Name;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.ballerinalang.compiler.CompilerOptionName.PROFILE_COMPILE;
+
+/**
+ * Tests for the {@link CompilerProfiler} class, which sums up the measurements of the compiler phases per module and
+ * keeps the functions that took the longest to type check.
+ *
+ * @since 2.0.0
+ */
+public class CompilerProfilerTest {
+
+    private static final PackageID FOO = new PackageID(new Name("testorg"), new Name("foo"), new Name("1.0.0"));
+    private static final PackageID BAR = new PackageID(new Name("testorg"), new Name("bar"), new Name("1.0.0"));
+    private static final Pattern MODULE_PATTERN = Pattern.compile("\\{\"module\": \"([^\"]+)\", \"phases\": \\[");
+    private static final Pattern PHASE_PATTERN = Pattern.compile("\\{\"phase\": \"(\\w+)\", \"wallTimeNanos\": " +
+            "(-?\\d+), \"cpuTimeNanos\": (-?\\d+), \"allocatedBytes\": (-?\\d+)}");
+    private static final Pattern FUNCTION_PATTERN = Pattern.compile("\\{\"module\": \"([^\"]+)\", \"function\": " +
+            "\"([^\"]+)\", \"wallTimeNanos\": (\\d+)}");
+
+    private Path reportDir;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        this.reportDir = Files.createTempDirectory("compiler-profiler-");
+    }
+
+    @AfterMethod
+    public void cleanup() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.reportDir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test(description = "Nothing is measured when the report directory is not set")
+    public void testDisabledProfiler() {
+        CompilerProfiler profiler = CompilerProfiler.getInstance(new CompilerContext());
+        Assert.assertFalse(profiler.isEnabled());
+        Assert.assertNull(profiler.start());
+        Assert.assertEquals(profiler.startFunction(), -1);
+        profiler.stop(FOO, CompilerPhase.TYPE_CHECK, null);
+        profiler.stopFunction(createFunctionSymbol(FOO, "main"), -1);
+    }
+
+    @Test(description = "Phases of a module which run more than once are summed up in the report")
+    public void testPhaseTotals() throws InterruptedException {
+        CompilerProfiler profiler = createProfiler();
+        Assert.assertTrue(profiler.isEnabled());
+
+        measure(profiler, FOO, CompilerPhase.DEFINE, 5);
+        measure(profiler, FOO, CompilerPhase.TYPE_CHECK, 5);
+        measure(profiler, BAR, CompilerPhase.TYPE_CHECK, 5);
+        measure(profiler, FOO, CompilerPhase.CODE_GEN, 5);
+        measure(profiler, FOO, CompilerPhase.CODE_GEN, 5);
+        Path jsonReport = profiler.writeReport();
+        Assert.assertEquals(jsonReport, this.reportDir.resolve(CompilerProfiler.JSON_REPORT_NAME));
+
+        Map<String, Map<String, long[]>> modules = readModules(jsonReport);
+        Assert.assertEquals(new ArrayList<>(modules.keySet()), Arrays.asList(FOO.toString(), BAR.toString()));
+        Map<String, long[]> fooPhases = modules.get(FOO.toString());
+        Assert.assertEquals(new ArrayList<>(fooPhases.keySet()), Arrays.asList(CompilerPhase.DEFINE.toString(),
+                CompilerPhase.TYPE_CHECK.toString(), CompilerPhase.CODE_GEN.toString()));
+        Assert.assertEquals(new ArrayList<>(modules.get(BAR.toString()).keySet()),
+                            Arrays.asList(CompilerPhase.TYPE_CHECK.toString()));
+
+        long defineTime = fooPhases.get(CompilerPhase.DEFINE.toString())[0];
+        long codeGenTime = fooPhases.get(CompilerPhase.CODE_GEN.toString())[0];
+        Assert.assertTrue(defineTime >= TimeUnit.MILLISECONDS.toNanos(5), String.valueOf(defineTime));
+        Assert.assertTrue(codeGenTime >= TimeUnit.MILLISECONDS.toNanos(10), String.valueOf(codeGenTime));
+        for (Map<String, long[]> phases : modules.values()) {
+            for (long[] profile : phases.values()) {
+                // the thread was sleeping, hence the CPU time is less than the wall time if it is supported
+                Assert.assertTrue(profile[1] <= profile[0], Arrays.toString(profile));
+                Assert.assertTrue(profile[2] >= -1, Arrays.toString(profile));
+            }
+        }
+
+        // without any functions, the folded stacks are the wall times of the phases
+        Map<String, Long> stacks = readFoldedStacks();
+        Assert.assertEquals(stacks.size(), 4);
+        for (Map.Entry<String, Map<String, long[]>> module : modules.entrySet()) {
+            for (Map.Entry<String, long[]> phase : module.getValue().entrySet()) {
+                Assert.assertEquals(stacks.get(module.getKey() + ";" + phase.getKey()),
+                                    Long.valueOf(TimeUnit.NANOSECONDS.toMicros(phase.getValue()[0])));
+            }
+        }
+    }
+
+    @Test(description = "Only the slowest functions are kept, and they are taken off the type checking time")
+    public void testSlowestFunctions() throws InterruptedException {
+        CompilerProfiler profiler = createProfiler();
+        CompilerProfiler.Measurement typeCheck = profiler.start();
+        for (int i = 0; i < 25; i++) {
+            long startTime = profiler.startFunction();
+            Assert.assertTrue(startTime >= 0);
+            // a lambda in the function is counted against the function
+            long lambdaStartTime = profiler.startFunction();
+            Assert.assertEquals(lambdaStartTime, -1);
+            profiler.stopFunction(createFunctionSymbol(FOO, "$lambda$" + i), lambdaStartTime);
+            if (i % 5 == 0) {
+                Thread.sleep(2);
+            }
+            profiler.stopFunction(createFunctionSymbol(FOO, "function" + i), startTime);
+        }
+        profiler.stop(FOO, CompilerPhase.TYPE_CHECK, typeCheck);
+        Path jsonReport = profiler.writeReport();
+
+        List<String> functionNames = new ArrayList<>();
+        List<Long> functionTimes = new ArrayList<>();
+        Matcher matcher = FUNCTION_PATTERN.matcher(readFile(jsonReport));
+        while (matcher.find()) {
+            Assert.assertEquals(matcher.group(1), FOO.toString());
+            functionNames.add(matcher.group(2));
+            functionTimes.add(Long.parseLong(matcher.group(3)));
+        }
+        Assert.assertEquals(functionNames.size(), 20, functionNames.toString());
+        for (int i = 0; i < 25; i += 5) {
+            Assert.assertTrue(functionNames.contains("function" + i), functionNames.toString());
+        }
+        Assert.assertTrue(functionNames.stream().noneMatch(name -> name.startsWith("$lambda$")));
+        for (int i = 1; i < functionTimes.size(); i++) {
+            Assert.assertTrue(functionTimes.get(i - 1) >= functionTimes.get(i), functionTimes.toString());
+        }
+
+        Map<String, Long> stacks = readFoldedStacks();
+        long totalFunctionTime = 0;
+        for (int i = 0; i < functionNames.size(); i++) {
+            totalFunctionTime += functionTimes.get(i);
+            Assert.assertEquals(stacks.get(FOO + ";" + CompilerPhase.TYPE_CHECK + ";" + functionNames.get(i)),
+                                Long.valueOf(TimeUnit.NANOSECONDS.toMicros(functionTimes.get(i))));
+        }
+        long typeCheckTime = readModules(jsonReport).get(FOO.toString()).get(CompilerPhase.TYPE_CHECK.toString())[0];
+        Assert.assertTrue(typeCheckTime >= totalFunctionTime);
+        Assert.assertEquals(stacks.get(FOO + ";" + CompilerPhase.TYPE_CHECK),
+                            Long.valueOf(TimeUnit.NANOSECONDS.toMicros(typeCheckTime - totalFunctionTime)));
+    }
+
+    @Test(description = "An error writing the report is reported as a compiler error",
+          expectedExceptions = BLangCompilerException.class,
+          expectedExceptionsMessageRegExp = "error writing the compilation profile to '.*': .*")
+    public void testWriteReportError() throws IOException {
+        Path reportFile = this.reportDir.resolve("report");
+        Files.createFile(reportFile);
+        CompilerContext context = new CompilerContext();
+        CompilerOptions.getInstance(context).put(PROFILE_COMPILE, reportFile.toString());
+        CompilerProfiler.getInstance(context).writeReport();
+    }
+
+    private CompilerProfiler createProfiler() {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions.getInstance(context).put(PROFILE_COMPILE, this.reportDir.toString());
+        CompilerProfiler profiler = CompilerProfiler.getInstance(context);
+        Assert.assertSame(CompilerProfiler.getInstance(context), profiler);
+        return profiler;
+    }
+
+    private static void measure(CompilerProfiler profiler, PackageID pkgId, CompilerPhase phase, long millis)
+            throws InterruptedException {
+        CompilerProfiler.Measurement measurement = profiler.start();
+        Assert.assertNotNull(measurement);
+        Thread.sleep(millis);
+        profiler.stop(pkgId, phase, measurement);
+    }
+
+    private static BInvokableSymbol createFunctionSymbol(PackageID pkgId, String name) {
+        return new BInvokableSymbol(SymTag.FUNCTION, 0, new Name(name), pkgId, null, null, null, null);
+    }
+
+    /**
+     * Reads the wall time, the CPU time and the allocated bytes of each phase of each module in the JSON report.
+     */
+    private static Map<String, Map<String, long[]>> readModules(Path jsonReport) {
+        String json = readFile(jsonReport);
+        String modulesJson = json.substring(0, json.indexOf("\"slowestTypeCheckedFunctions\""));
+        Map<String, Map<String, long[]>> modules = new LinkedHashMap<>();
+        Matcher moduleMatcher = MODULE_PATTERN.matcher(modulesJson);
+        List<Integer> moduleStarts = new ArrayList<>();
+        List<String> moduleNames = new ArrayList<>();
+        while (moduleMatcher.find()) {
+            moduleStarts.add(moduleMatcher.end());
+            moduleNames.add(moduleMatcher.group(1));
+        }
+        moduleStarts.add(modulesJson.length());
+        for (int i = 0; i < moduleNames.size(); i++) {
+            Map<String, long[]> phases = new LinkedHashMap<>();
+            Matcher phaseMatcher = PHASE_PATTERN.matcher(modulesJson.substring(moduleStarts.get(i),
+                                                                               moduleStarts.get(i + 1)));
+            while (phaseMatcher.find()) {
+                phases.put(phaseMatcher.group(1), new long[]{Long.parseLong(phaseMatcher.group(2)),
+                        Long.parseLong(phaseMatcher.group(3)), Long.parseLong(phaseMatcher.group(4))});
+            }
+            modules.put(moduleNames.get(i), phases);
+        }
+        return modules;
+    }
+
+    private Map<String, Long> readFoldedStacks() {
+        Map<String, Long> stacks = new LinkedHashMap<>();
+        for (String line : readFile(this.reportDir.resolve(CompilerProfiler.FOLDED_REPORT_NAME)).split("\n")) {
+            int separator = line.lastIndexOf(' ');
+            stacks.put(line.substring(0, separator), Long.parseLong(line.substring(separator + 1)));
+        }
+        return stacks;
+    }
+
+    private static String readFile(Path path) {
+        try {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new AssertionError("error reading " + path, e);
+        }
+    }
+}
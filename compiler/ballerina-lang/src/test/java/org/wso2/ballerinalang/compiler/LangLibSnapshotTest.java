@@ -0,0 +1,206 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.model.elements.PackageID;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
+import org.wso2.ballerinalang.util.RepoUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.wso2.ballerinalang.util.RepoUtils.BALLERINA_INSTALL_DIR_PROP;
+
+/**
+ * Tests for the {@link LangLibSnapshot} class. A snapshot which cannot be used is ignored, so that the lang libraries
+ * are loaded from the BIR cache of the distribution.
+ *
+ * @since 2.0.0
+ */
+public class LangLibSnapshotTest {
+
+    private static final List<PackageID> LANG_LIBS = Arrays.asList(
+            PackageID.ANNOTATIONS, PackageID.JAVA, PackageID.INTERNAL, PackageID.ARRAY, PackageID.DECIMAL,
+            PackageID.ERROR, PackageID.FLOAT, PackageID.FUTURE, PackageID.INT, PackageID.MAP, PackageID.OBJECT,
+            PackageID.STREAM, PackageID.TABLE, PackageID.STRING, PackageID.TYPEDESC, PackageID.VALUE, PackageID.XML,
+            PackageID.BOOLEAN, PackageID.QUERY, PackageID.TRANSACTION);
+
+    // magic value followed by the format version
+    private static final int VERSION_OFFSET = 4;
+    private static final int BALLERINA_VERSION_OFFSET = VERSION_OFFSET + 4;
+    private static final int CHECKSUM_SIZE = 8;
+
+    private Path ballerinaHome;
+    private Path birCacheDir;
+    private Path snapshotPath;
+    private String ballerinaHomeProperty;
+    private long lastModified = System.currentTimeMillis();
+
+    @BeforeClass
+    public void setup() throws IOException {
+        this.ballerinaHomeProperty = System.getProperty(BALLERINA_INSTALL_DIR_PROP);
+        this.ballerinaHome = Files.createTempDirectory("lang-lib-snapshot-");
+        this.birCacheDir = this.ballerinaHome.resolve(ProjectDirConstants.DIST_BIR_CACHE_DIR_NAME);
+        this.snapshotPath = this.birCacheDir.resolve(LangLibSnapshot.SNAPSHOT_FILE_NAME);
+        for (PackageID langLib : LANG_LIBS) {
+            Path birDir = this.birCacheDir.resolve(langLib.orgName.value).resolve(langLib.name.value)
+                    .resolve(langLib.version.value);
+            Files.createDirectories(birDir);
+            Files.write(birDir.resolve(langLib.name.value + ProjectDirConstants.BLANG_COMPILED_PKG_BIR_EXT),
+                        getBirContent(langLib));
+        }
+        System.setProperty(BALLERINA_INSTALL_DIR_PROP, this.ballerinaHome.toString());
+    }
+
+    @AfterClass
+    public void cleanup() throws IOException {
+        if (this.ballerinaHomeProperty == null) {
+            System.clearProperty(BALLERINA_INSTALL_DIR_PROP);
+        } else {
+            System.setProperty(BALLERINA_INSTALL_DIR_PROP, this.ballerinaHomeProperty);
+        }
+        try (Stream<Path> paths = Files.walk(this.ballerinaHome)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @BeforeMethod
+    public void writeSnapshot() throws IOException {
+        LangLibSnapshot.write(this.birCacheDir, this.snapshotPath);
+        touchSnapshot();
+    }
+
+    @Test(description = "Read the lang libraries back from the snapshot written from the BIR cache")
+    public void testReadSnapshot() {
+        LangLibSnapshot snapshot = LangLibSnapshot.getInstance();
+        for (PackageID langLib : LANG_LIBS) {
+            Assert.assertEquals(snapshot.get(langLib), getBirContent(langLib), langLib.toString());
+        }
+        PackageID otherVersion = new PackageID(PackageID.ARRAY.orgName, PackageID.ARRAY.name, new Name("0.0.0"));
+        Assert.assertNull(snapshot.get(otherVersion), "Check if a module which is not in the snapshot is not found");
+
+        // the snapshot is shared until the file is modified
+        Assert.assertSame(LangLibSnapshot.getInstance(), snapshot);
+    }
+
+    @Test(description = "A snapshot with a wrong checksum is not used")
+    public void testWrongChecksum() throws IOException {
+        byte[] content = Files.readAllBytes(this.snapshotPath);
+        // change a byte of the last module, without updating the checksum
+        content[content.length - CHECKSUM_SIZE - 1] ^= 0x01;
+        writeSnapshot(content);
+        assertFallsBack();
+    }
+
+    @Test(description = "A snapshot of a different format version is not used")
+    public void testWrongFormatVersion() throws IOException {
+        byte[] content = Files.readAllBytes(this.snapshotPath);
+        ByteBuffer.wrap(content).putInt(VERSION_OFFSET, ByteBuffer.wrap(content).getInt(VERSION_OFFSET) + 1);
+        writeSnapshot(updateChecksum(content));
+        assertFallsBack();
+    }
+
+    @Test(description = "A snapshot of a different Ballerina version is not used")
+    public void testWrongBallerinaVersion() throws IOException {
+        byte[] content = Files.readAllBytes(this.snapshotPath);
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        int versionLength = buffer.getInt(BALLERINA_VERSION_OFFSET);
+        int modulesOffset = BALLERINA_VERSION_OFFSET + 4 + versionLength;
+        byte[] otherVersion = (RepoUtils.getBallerinaVersion() + "-other").getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer updated = ByteBuffer.allocate(content.length - versionLength + otherVersion.length);
+        updated.put(content, 0, BALLERINA_VERSION_OFFSET);
+        updated.putInt(otherVersion.length);
+        updated.put(otherVersion);
+        updated.put(content, modulesOffset, content.length - modulesOffset);
+        writeSnapshot(updateChecksum(updated.array()));
+        assertFallsBack();
+    }
+
+    @Test(description = "A truncated snapshot is not used")
+    public void testTruncatedSnapshot() throws IOException {
+        byte[] content = Files.readAllBytes(this.snapshotPath);
+        writeSnapshot(Arrays.copyOf(content, content.length / 2));
+        assertFallsBack();
+
+        writeSnapshot(new byte[2]);
+        assertFallsBack();
+    }
+
+    @Test(description = "The lang libraries are loaded from the BIR cache when there is no snapshot")
+    public void testMissingSnapshot() throws IOException {
+        Assert.assertNotNull(LangLibSnapshot.getInstance().get(PackageID.VALUE));
+        Files.delete(this.snapshotPath);
+        assertFallsBack();
+    }
+
+    @Test(description = "Writing a snapshot fails when a lang library is not in the BIR cache",
+          expectedExceptions = BLangCompilerException.class,
+          expectedExceptionsMessageRegExp = "error writing the lang library snapshot .*")
+    public void testWriteWithMissingLangLib() throws IOException {
+        Path birCacheDir = Files.createTempDirectory(this.ballerinaHome, "empty-bir-cache-");
+        LangLibSnapshot.write(birCacheDir, birCacheDir.resolve(LangLibSnapshot.SNAPSHOT_FILE_NAME));
+    }
+
+    private void assertFallsBack() {
+        LangLibSnapshot snapshot = LangLibSnapshot.getInstance();
+        for (PackageID langLib : LANG_LIBS) {
+            Assert.assertNull(snapshot.get(langLib), langLib.toString());
+        }
+    }
+
+    private void writeSnapshot(byte[] content) throws IOException {
+        Files.write(this.snapshotPath, content);
+        touchSnapshot();
+    }
+
+    // The snapshot is read again only if the modified time of the file changes.
+    private void touchSnapshot() throws IOException {
+        this.lastModified += 1000;
+        Files.setLastModifiedTime(this.snapshotPath, FileTime.fromMillis(this.lastModified));
+    }
+
+    private static byte[] updateChecksum(byte[] content) {
+        CRC32 checksum = new CRC32();
+        checksum.update(content, 0, content.length - CHECKSUM_SIZE);
+        ByteBuffer.wrap(content).putLong(content.length - CHECKSUM_SIZE, checksum.getValue());
+        return content;
+    }
+
+    private static byte[] getBirContent(PackageID langLib) {
+        return ("BIR of " + langLib).getBytes(StandardCharsets.UTF_8);
+    }
+}
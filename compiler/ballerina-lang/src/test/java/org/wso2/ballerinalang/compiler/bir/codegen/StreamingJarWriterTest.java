@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.compiler.CompilerOptionName;
+import org.ballerinalang.model.elements.PackageID;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.CompiledJarFile;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.Name;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Test cases for writing the classes of a module to a jar while they are generated.
+ *
+ * @since 2.0.0
+ */
+public class StreamingJarWriterTest {
+
+    private static final String MAIN_CLASS_NAME = "foo.bar.0_1_0.___init";
+    // Enough classes to fill the queue of the writer several times
+    private static final int ENTRY_COUNT = 500;
+    private static final long PRODUCER_TIMEOUT_MILLIS = 30000;
+
+    private Path tempDir;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        tempDir = Files.createTempDirectory("streaming-jar-writer-test");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testWriteEntries() {
+        StreamingJarWriter jarWriter = new StreamingJarWriter(tempDir.resolve("mod.jar"), MAIN_CLASS_NAME);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            jarWriter.put("foo/Class" + i + ".class", content("class " + i));
+        }
+        CompiledJarFile jarFile = jarWriter.finish();
+
+        Assert.assertEquals(jarFile.getJarPath().orElse(null), tempDir.resolve("mod.jar"));
+        Assert.assertEquals(jarFile.getMainClassName().orElse(null), MAIN_CLASS_NAME);
+        Map<String, byte[]> jarEntries = jarFile.getJarEntries();
+        Assert.assertEquals(jarEntries.size(), ENTRY_COUNT);
+        Assert.assertEquals(jarEntries.get("foo/Class7.class"), content("class 7"));
+    }
+
+    @Test
+    public void testDuplicateEntries() {
+        // Unlike a map, which keeps the last of the classes generated with the same name, a jar can only hold one
+        // entry of a name. Hence the first one is written, and the in-memory classes keep the first one as well.
+        StreamingJarWriter jarWriter = new StreamingJarWriter(tempDir.resolve("mod.jar"), MAIN_CLASS_NAME);
+        jarWriter.put("foo/A.class", content("first"));
+        jarWriter.put("foo/B.class", content("other"));
+        jarWriter.put("foo/A.class", content("second"));
+        Map<String, byte[]> jarEntries = jarWriter.finish().getJarEntries();
+
+        Assert.assertEquals(jarEntries.size(), 2);
+        Assert.assertEquals(jarEntries.get("foo/A.class"), content("first"));
+        Assert.assertEquals(jarEntries.get("foo/B.class"), content("other"));
+    }
+
+    @Test
+    public void testWriteFailureDoesNotBlockProducers() throws IOException, InterruptedException {
+        // The jar cannot be created, since its parent is a file
+        Path parentFile = Files.createFile(tempDir.resolve("parent"));
+        Path jarPath = parentFile.resolve("mod.jar");
+        StreamingJarWriter jarWriter = new StreamingJarWriter(jarPath, MAIN_CLASS_NAME);
+
+        BLangCompilerException putException = putAll(jarWriter, "foo/Class");
+        Assert.assertNotNull(putException, "classes were written to a jar which cannot be created");
+        Assert.assertTrue(putException.getCause() instanceof IOException, String.valueOf(putException.getCause()));
+        assertFinishFails(jarWriter, IOException.class);
+        Assert.assertFalse(Files.exists(jarPath));
+
+        // Aborting the failed writer, as the code generation does when it fails in turn, does not fail again
+        jarWriter.abort();
+    }
+
+    @Test
+    public void testUncheckedFailureDoesNotBlockProducers() throws InterruptedException {
+        Path jarPath = tempDir.resolve("mod.jar");
+        StreamingJarWriter jarWriter = new StreamingJarWriter(jarPath, MAIN_CLASS_NAME);
+        // An entry without content fails the writer with an unchecked exception
+        jarWriter.put("foo/Broken.class", null);
+
+        BLangCompilerException putException = putAll(jarWriter, "foo/Class");
+        Assert.assertNotNull(putException, "classes were written after the writer failed");
+        Assert.assertTrue(putException.getCause() instanceof NullPointerException,
+                          String.valueOf(putException.getCause()));
+        assertFinishFails(jarWriter, NullPointerException.class);
+        Assert.assertFalse(Files.exists(jarPath));
+    }
+
+    @Test
+    public void testAbort() {
+        Path jarPath = tempDir.resolve("mod.jar");
+        StreamingJarWriter jarWriter = new StreamingJarWriter(jarPath, MAIN_CLASS_NAME);
+        jarWriter.put("foo/A.class", content("a"));
+        jarWriter.abort();
+
+        Assert.assertFalse(Files.exists(jarPath));
+    }
+
+    @Test(expectedExceptions = BLangCompilerException.class,
+          expectedExceptionsMessageRegExp = "error reading the compiled jar .*")
+    public void testReadMissingJar() {
+        new CompiledJarFile(MAIN_CLASS_NAME, tempDir.resolve("missing.jar")).getJarEntries();
+    }
+
+    @Test
+    public void testCacheCopyOfStreamedJar() {
+        StreamingJarWriter jarWriter = new StreamingJarWriter(tempDir.resolve("mod.jar"), MAIN_CLASS_NAME);
+        jarWriter.put("foo/A.class", content("a"));
+        jarWriter.put("foo/B.class", content("b"));
+        CompiledJarFile jarFile = jarWriter.finish();
+
+        CompilerContext context = new CompilerContext();
+        CompilerOptions.getInstance(context).put(CompilerOptionName.BUILD_CACHE_DIR,
+                                                 tempDir.resolve("cache").toString());
+        CodeGenCache codeGenCache = CodeGenCache.getInstance(context);
+        PackageID pkgId = new PackageID(new Name("foo"), new Name("bar"), new Name("0.1.0"));
+        codeGenCache.put(pkgId, "key", jarFile);
+
+        // The cached jar outlives the streamed one, which is replaced by the next build
+        jarFile.getJarPath().get().toFile().delete();
+        CompiledJarFile cachedJarFile = codeGenCache.get(pkgId, "key");
+        Assert.assertNotNull(cachedJarFile);
+        Assert.assertEquals(codeGenCache.getHits(), 1);
+        Assert.assertEquals(cachedJarFile.getMainClassName().orElse(null), MAIN_CLASS_NAME);
+        Map<String, byte[]> jarEntries = cachedJarFile.getJarEntries();
+        Assert.assertEquals(jarEntries.size(), 2);
+        Assert.assertEquals(jarEntries.get("foo/A.class"), content("a"));
+        Assert.assertEquals(jarEntries.get("foo/B.class"), content("b"));
+    }
+
+    /**
+     * Puts classes from another thread, like the code generation does, until putting a class fails.
+     *
+     * @return the exception putting a class failed with, or null if all the classes were put
+     */
+    private static BLangCompilerException putAll(StreamingJarWriter jarWriter, String namePrefix)
+            throws InterruptedException {
+        AtomicReference<BLangCompilerException> exception = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < ENTRY_COUNT; i++) {
+                    jarWriter.put(namePrefix + i + ".class", content("class " + i));
+                }
+            } catch (BLangCompilerException e) {
+                exception.set(e);
+            }
+        });
+        producer.start();
+        producer.join(PRODUCER_TIMEOUT_MILLIS);
+        Assert.assertFalse(producer.isAlive(), "producer is blocked on the queue of the failed writer");
+        return exception.get();
+    }
+
+    private static void assertFinishFails(StreamingJarWriter jarWriter, Class<? extends Throwable> cause) {
+        try {
+            jarWriter.finish();
+            Assert.fail("finished a jar which could not be written");
+        } catch (BLangCompilerException e) {
+            Assert.assertTrue(cause.isInstance(e.getCause()), String.valueOf(e.getCause()));
+        }
+    }
+
+    private static byte[] content(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.model.symbols.SymbolOrigin;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.ChannelDetails;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.util.Flags;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Test cases for finding the functions which can never yield in {@link YieldAnalysis}.
+ *
+ * @since 2.0.0
+ */
+public class YieldAnalysisTest {
+
+    private static final BType INT = new BType(TypeTags.INT, null);
+    private static final Name ORG = new Name("testorg");
+    private static final Name MODULE = new Name("test");
+    private static final Name VERSION = new Name("1.0.0");
+
+    @Test
+    public void testLeafFunctionIsYieldFree() {
+        BIRFunction leaf = createFunction("leaf", 0);
+        ret(bb(leaf));
+
+        YieldAnalysis analysis = YieldAnalysis.analyze(createPackage(leaf));
+        Assert.assertTrue(analysis.isYieldFree(leaf));
+    }
+
+    @Test
+    public void testRecursiveFunctionsAreYieldFree() {
+        // fib calls itself, isEven and isOdd call each other
+        BIRFunction fib = createFunction("fib", 0);
+        BIRBasicBlock fibEntry = bb(fib);
+        BIRBasicBlock fibRecurse = bb(fib);
+        BIRBasicBlock fibReturn = bb(fib);
+        fibEntry.terminator = new BIRTerminator.Branch(null, new BIROperand(fib.returnVariable), fibReturn,
+                                                       fibRecurse);
+        fibRecurse.terminator = call("fib", fibReturn, getModuleID());
+        ret(fibReturn);
+
+        BIRFunction isEven = createFunction("isEven", 0);
+        BIRFunction isOdd = createFunction("isOdd", 0);
+        callAndReturn(isEven, "isOdd", getModuleID());
+        callAndReturn(isOdd, "isEven", getModuleID());
+
+        BIRFunction caller = createFunction("caller", 0);
+        callAndReturn(caller, "fib", getModuleID());
+
+        YieldAnalysis analysis = YieldAnalysis.analyze(createPackage(fib, isEven, isOdd, caller));
+        Assert.assertTrue(analysis.isYieldFree(fib));
+        Assert.assertTrue(analysis.isYieldFree(isEven));
+        Assert.assertTrue(analysis.isYieldFree(isOdd));
+        Assert.assertTrue(analysis.isYieldFree(caller));
+        Assert.assertFalse(analysis.mayYield(caller.basicBlocks.get(0).terminator));
+        Assert.assertFalse(analysis.mayYield(fibRecurse.terminator));
+    }
+
+    @Test
+    public void testYieldingTerminators() {
+        BIRFunction waiting = createFunction("waiting", 0);
+        BIRBasicBlock waitBB = bb(waiting);
+        BIRBasicBlock waitReturn = bb(waiting);
+        waitBB.terminator = new BIRTerminator.Wait(null, Collections.emptyList(),
+                                                   new BIROperand(waiting.returnVariable), waitReturn);
+        ret(waitReturn);
+
+        BIRFunction receiving = createFunction("receiving", 0);
+        BIRBasicBlock receiveBB = bb(receiving);
+        BIRBasicBlock receiveReturn = bb(receiving);
+        receiveBB.terminator = new BIRTerminator.WorkerReceive(null, new Name("w1"),
+                                                               new BIROperand(receiving.returnVariable), false,
+                                                               receiveReturn);
+        ret(receiveReturn);
+
+        BIRFunction locking = createFunction("locking", 0);
+        BIRBasicBlock lockBB = bb(locking);
+        BIRBasicBlock lockedBB = bb(locking);
+        lockBB.terminator = new BIRTerminator.Lock(null, lockedBB);
+        ret(lockedBB);
+
+        BIRFunction fpCalling = createFunction("fpCalling", 0);
+        BIRVariableDcl fp = new BIRVariableDcl(INT, new Name("%1"), VarScope.FUNCTION, VarKind.LOCAL);
+        BIRBasicBlock fpCallBB = bb(fpCalling);
+        BIRBasicBlock fpReturn = bb(fpCalling);
+        fpCallBB.terminator = new BIRTerminator.FPCall(null, InstructionKind.FP_CALL, new BIROperand(fp),
+                                                       new ArrayList<>(), null, false, fpReturn);
+        ret(fpReturn);
+
+        BIRFunction virtualCalling = createFunction("virtualCalling", 0);
+        BIRBasicBlock virtualCallBB = bb(virtualCalling);
+        BIRBasicBlock virtualReturn = bb(virtualCalling);
+        virtualCallBB.terminator = new BIRTerminator.Call(null, InstructionKind.CALL, true, getModuleID(),
+                                                          new Name("leaf"), new ArrayList<>(), null, virtualReturn,
+                                                          Collections.emptyList(), Collections.emptySet());
+        ret(virtualReturn);
+
+        BIRFunction leaf = createFunction("leaf", 0);
+        ret(bb(leaf));
+
+        YieldAnalysis analysis = YieldAnalysis.analyze(createPackage(waiting, receiving, locking, fpCalling,
+                                                                     virtualCalling, leaf));
+        Assert.assertFalse(analysis.isYieldFree(waiting));
+        Assert.assertFalse(analysis.isYieldFree(receiving));
+        Assert.assertFalse(analysis.isYieldFree(locking));
+        Assert.assertFalse(analysis.isYieldFree(fpCalling));
+        Assert.assertFalse(analysis.isYieldFree(virtualCalling));
+        Assert.assertTrue(analysis.isYieldFree(leaf));
+        Assert.assertTrue(analysis.mayYield(waitBB.terminator));
+        Assert.assertTrue(analysis.mayYield(fpCallBB.terminator));
+        Assert.assertTrue(analysis.mayYield(virtualCallBB.terminator));
+    }
+
+    @Test
+    public void testWorkerFunctionYields() {
+        BIRFunction worker = createFunction("worker", 0);
+        worker.workerChannels = new ChannelDetails[]{new ChannelDetails("w1", true, false)};
+        ret(bb(worker));
+
+        YieldAnalysis analysis = YieldAnalysis.analyze(createPackage(worker));
+        Assert.assertFalse(analysis.isYieldFree(worker));
+    }
+
+    @Test
+    public void testCallsToYieldingFunctionsYield() {
+        // caller -> middle -> sleeper, where sleeper calls an extern function
+        BIRFunction extern = createFunction("sleep", Flags.NATIVE);
+        BIRFunction sleeper = createFunction("sleeper", 0);
+        callAndReturn(sleeper, "sleep", getModuleID());
+        BIRFunction middle = createFunction("middle", 0);
+        callAndReturn(middle, "sleeper", getModuleID());
+        BIRFunction caller = createFunction("caller", 0);
+        callAndReturn(caller, "middle", getModuleID());
+
+        // a recursive function which also calls a yielding function
+        BIRFunction recursive = createFunction("recursive", 0);
+        BIRBasicBlock entry = bb(recursive);
+        BIRBasicBlock recurse = bb(recursive);
+        BIRBasicBlock exit = bb(recursive);
+        entry.terminator = new BIRTerminator.Branch(null, new BIROperand(recursive.returnVariable), recurse, exit);
+        recurse.terminator = call("recursive", exit, getModuleID());
+        exit.terminator = call("sleeper", ret(bb(recursive)), getModuleID());
+
+        YieldAnalysis analysis = YieldAnalysis.analyze(createPackage(extern, sleeper, middle, caller, recursive));
+        Assert.assertFalse(analysis.isYieldFree(extern));
+        Assert.assertFalse(analysis.isYieldFree(sleeper));
+        Assert.assertFalse(analysis.isYieldFree(middle));
+        Assert.assertFalse(analysis.isYieldFree(caller));
+        Assert.assertFalse(analysis.isYieldFree(recursive));
+        Assert.assertTrue(analysis.mayYield(caller.basicBlocks.get(0).terminator));
+        Assert.assertTrue(analysis.mayYield(recurse.terminator));
+    }
+
+    @Test
+    public void testCallToOtherModuleYields() {
+        // the other module has a function of the same name, which is not known to be yield free
+        BIRFunction leaf = createFunction("leaf", 0);
+        ret(bb(leaf));
+        BIRFunction caller = createFunction("caller", 0);
+        callAndReturn(caller, "leaf", new PackageID(ORG, new Name("other"), VERSION));
+        BIRFunction localCaller = createFunction("localCaller", 0);
+        callAndReturn(localCaller, "leaf", getModuleID());
+
+        YieldAnalysis analysis = YieldAnalysis.analyze(createPackage(leaf, caller, localCaller));
+        Assert.assertTrue(analysis.isYieldFree(leaf));
+        Assert.assertFalse(analysis.isYieldFree(caller));
+        Assert.assertTrue(analysis.isYieldFree(localCaller));
+        Assert.assertTrue(analysis.mayYield(caller.basicBlocks.get(0).terminator));
+    }
+
+    @Test
+    public void testNoneMayYield() {
+        BIRFunction leaf = createFunction("leaf", 0);
+        ret(bb(leaf));
+        BIRFunction caller = createFunction("caller", 0);
+        callAndReturn(caller, "leaf", getModuleID());
+
+        Assert.assertFalse(YieldAnalysis.NONE.isYieldFree(leaf));
+        Assert.assertTrue(YieldAnalysis.NONE.mayYield(caller.basicBlocks.get(0).terminator));
+    }
+
+    private static BIRFunction createFunction(String name, int flags) {
+        BIRFunction func = new BIRFunction(null, new Name(name), flags,
+                                           new BInvokableType(new ArrayList<>(), INT, null), new Name("default"), 0,
+                                           null, SymbolOrigin.SOURCE);
+        func.returnVariable = new BIRVariableDcl(INT, new Name("%0"), VarScope.FUNCTION, VarKind.RETURN);
+        func.localVars.add(func.returnVariable);
+        return func;
+    }
+
+    private static BIRPackage createPackage(BIRFunction... functions) {
+        BIRPackage pkg = new BIRPackage(null, ORG, MODULE, VERSION, new Name("test.bal"));
+        Collections.addAll(pkg.functions, functions);
+        return pkg;
+    }
+
+    private static PackageID getModuleID() {
+        return new PackageID(ORG, MODULE, VERSION);
+    }
+
+    private static BIRBasicBlock bb(BIRFunction func) {
+        BIRBasicBlock bb = new BIRBasicBlock(new Name("bb" + func.basicBlocks.size()));
+        func.basicBlocks.add(bb);
+        return bb;
+    }
+
+    private static BIRBasicBlock ret(BIRBasicBlock bb) {
+        bb.terminator = new BIRTerminator.Return(null);
+        return bb;
+    }
+
+    private static void callAndReturn(BIRFunction func, String callee, PackageID calleePkg) {
+        BIRBasicBlock callBB = bb(func);
+        callBB.terminator = call(callee, ret(bb(func)), calleePkg);
+    }
+
+    private static BIRTerminator.Call call(String name, BIRBasicBlock thenBB, PackageID calleePkg) {
+        return new BIRTerminator.Call(null, InstructionKind.CALL, false, calleePkg, new Name(name), new ArrayList<>(),
+                                      null, thenBB, Collections.emptyList(), Collections.emptySet());
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.model.symbols.SymbolOrigin;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunctionParameter;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRParameter;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builds BIR functions by hand, so that the optimizations can be tested on exactly the instructions they rewrite.
+ *
+ * @since 2.0.0
+ */
+class BIRFunctionBuilder {
+
+    static final BType INT = new BType(TypeTags.INT, null);
+    static final BType BOOLEAN = new BType(TypeTags.BOOLEAN, null);
+
+    private static final Name ORG = new Name("testorg");
+    private static final Name MODULE = new Name("test");
+    private static final Name VERSION = new Name("1.0.0");
+
+    final BIRFunction func;
+    final List<BIRVariableDcl> params = new ArrayList<>();
+    private int varCount = 1;
+
+    BIRFunctionBuilder(String name, int flags, BType... paramTypes) {
+        this.func = new BIRFunction(null, new Name(name), flags,
+                                    new BInvokableType(Arrays.asList(paramTypes), INT, null), new Name("default"), 0,
+                                    null, SymbolOrigin.SOURCE);
+        this.func.returnVariable = new BIRVariableDcl(INT, new Name("%0"), VarScope.FUNCTION, VarKind.RETURN);
+        this.func.localVars.add(this.func.returnVariable);
+        for (BType paramType : paramTypes) {
+            Name paramName = nextVarName();
+            BIRFunctionParameter param = new BIRFunctionParameter(null, paramType, paramName, VarScope.FUNCTION,
+                                                                  VarKind.ARG, paramName.value, false);
+            this.func.localVars.add(param);
+            this.func.parameters.put(param, new ArrayList<>());
+            this.func.requiredParams.add(new BIRParameter(null, paramName, 0));
+            this.params.add(param);
+        }
+        this.func.argsCount = paramTypes.length;
+    }
+
+    static BIRPackage createPackage(BIRFunction... functions) {
+        BIRPackage pkg = new BIRPackage(null, ORG, MODULE, VERSION, new Name("test.bal"));
+        pkg.functions.addAll(Arrays.asList(functions));
+        return pkg;
+    }
+
+    static PackageID getPackageID() {
+        return new PackageID(ORG, MODULE, VERSION);
+    }
+
+    BIRVariableDcl param(int index) {
+        return this.params.get(index);
+    }
+
+    BIRVariableDcl returnVar() {
+        return this.func.returnVariable;
+    }
+
+    BIRVariableDcl temp(BType type) {
+        return addVar(type, VarKind.TEMP);
+    }
+
+    BIRVariableDcl local(BType type) {
+        return addVar(type, VarKind.LOCAL);
+    }
+
+    BIRBasicBlock bb() {
+        BIRBasicBlock bb = new BIRBasicBlock(new Name("bb" + this.func.basicBlocks.size()));
+        this.func.basicBlocks.add(bb);
+        return bb;
+    }
+
+    private BIRVariableDcl addVar(BType type, VarKind kind) {
+        BIRVariableDcl var = new BIRVariableDcl(type, nextVarName(), VarScope.FUNCTION, kind);
+        this.func.localVars.add(var);
+        return var;
+    }
+
+    private Name nextVarName() {
+        return new Name("%" + this.varCount++);
+    }
+
+    static ConstantLoad constLoad(BIRVariableDcl lhs, Object value) {
+        return new ConstantLoad(null, value, lhs.type, new BIROperand(lhs));
+    }
+
+    static Move move(BIRVariableDcl from, BIRVariableDcl to) {
+        return new Move(null, new BIROperand(from), new BIROperand(to));
+    }
+
+    static BinaryOp binaryOp(InstructionKind kind, BIRVariableDcl lhs, BIRVariableDcl rhs1, BIRVariableDcl rhs2) {
+        return new BinaryOp(null, kind, lhs.type, new BIROperand(lhs), new BIROperand(rhs1), new BIROperand(rhs2));
+    }
+
+    static BIRTerminator.GOTO jump(BIRBasicBlock target) {
+        return new BIRTerminator.GOTO(null, target);
+    }
+
+    static BIRTerminator.Branch branch(BIRVariableDcl condition, BIRBasicBlock trueBB, BIRBasicBlock falseBB) {
+        return new BIRTerminator.Branch(null, new BIROperand(condition), trueBB, falseBB);
+    }
+
+    static BIRTerminator.Return ret() {
+        return new BIRTerminator.Return(null);
+    }
+
+    static BIRTerminator.Call call(String name, BIRVariableDcl lhs, BIRBasicBlock thenBB, BIRVariableDcl... args) {
+        List<BIROperand> argOps = new ArrayList<>();
+        for (BIRVariableDcl arg : args) {
+            argOps.add(new BIROperand(arg));
+        }
+        return new BIRTerminator.Call(null, InstructionKind.CALL, false, getPackageID(), new Name(name), argOps,
+                                      lhs == null ? null : new BIROperand(lhs), thenBB, Collections.emptyList(),
+                                      Collections.emptySet());
+    }
+
+    /**
+     * Returns the instructions of a kind in all the basic blocks of a function.
+     */
+    static <T extends BIRNonTerminator> List<T> findInstructions(BIRFunction func, Class<T> kind) {
+        List<T> found = new ArrayList<>();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            for (BIRNonTerminator ins : bb.instructions) {
+                if (kind.isInstance(ins)) {
+                    found.add(kind.cast(ins));
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the terminators of a kind in all the basic blocks of a function.
+     */
+    static <T extends BIRTerminator> List<T> findTerminators(BIRFunction func, Class<T> kind) {
+        List<T> found = new ArrayList<>();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            if (kind.isInstance(bb.terminator)) {
+                found.add(kind.cast(bb.terminator));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the values loaded by the constant loads of a function.
+     */
+    static List<Object> findConstants(BIRFunction func) {
+        List<Object> constants = new ArrayList<>();
+        for (ConstantLoad constantLoad : findInstructions(func, ConstantLoad.class)) {
+            constants.add(constantLoad.value);
+        }
+        return constants;
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.ballerinalang.model.symbols.SymbolOrigin;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRGlobalVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.FieldAccess;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.util.Name;
+
+import java.util.Arrays;
+
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.BOOLEAN;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.INT;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.binaryOp;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.branch;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.call;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.constLoad;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.createPackage;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.getPackageID;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.jump;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.move;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.ret;
+
+/**
+ * Test cases for marking the locks whose regions only read the locked variables as read only in the
+ * {@link BIRLockOptimizer}. Any store, call, record creation or nested lock in a region makes it a write lock.
+ *
+ * @since 2.0.0
+ */
+public class BIRLockOptimizerTest {
+
+    private final BIRGlobalVariableDcl counter = createGlobal("counter");
+
+    @Test
+    public void testReadRegionIsReadOnly() {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("read", 0);
+        BIRVariableDcl value = builder.temp(INT);
+        BIRVariableDcl one = builder.temp(INT);
+        BIRVariableDcl sum = builder.local(INT);
+        BIRTerminator.Lock lock = createLockRegion(builder, move(counter, value), constLoad(one, 1L),
+                                                   binaryOp(InstructionKind.ADD, sum, value, one));
+
+        optimize(builder);
+        Assert.assertTrue(lock.readOnly);
+    }
+
+    @Test
+    public void testGlobalWriteIsNotReadOnly() {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("write", 0);
+        BIRVariableDcl value = builder.temp(INT);
+        BIRTerminator.Lock lock = createLockRegion(builder, constLoad(value, 1L), move(value, counter));
+
+        optimize(builder);
+        Assert.assertFalse(lock.readOnly);
+    }
+
+    @Test
+    public void testStoreIsNotReadOnly() {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("store", 0);
+        BIRVariableDcl key = builder.temp(INT);
+        BIRVariableDcl value = builder.temp(INT);
+        // The map is read from the global, but the store mutates the value shared through it
+        BIRVariableDcl map = builder.temp(INT);
+        BIRTerminator.Lock lock = createLockRegion(builder, move(counter, map), constLoad(key, 0L),
+                                                   constLoad(value, 1L),
+                                                   new FieldAccess(null, InstructionKind.MAP_STORE,
+                                                                   new BIROperand(map), new BIROperand(key),
+                                                                   new BIROperand(value)));
+
+        optimize(builder);
+        Assert.assertFalse(lock.readOnly);
+    }
+
+    @Test
+    public void testFillingReadIsNotReadOnly() {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("fillingRead", 0);
+        BIRVariableDcl array = builder.temp(INT);
+        BIRVariableDcl index = builder.temp(INT);
+        BIRVariableDcl member = builder.temp(INT);
+        BIRTerminator.Lock lock = createLockRegion(builder, move(counter, array), constLoad(index, 0L),
+                                                   new FieldAccess(null, InstructionKind.ARRAY_LOAD,
+                                                                   new BIROperand(member), new BIROperand(index),
+                                                                   new BIROperand(array), false, true));
+
+        optimize(builder);
+        Assert.assertFalse(lock.readOnly);
+    }
+
+    @Test
+    public void testLoadIsReadOnly() {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("load", 0);
+        BIRVariableDcl array = builder.temp(INT);
+        BIRVariableDcl index = builder.temp(INT);
+        BIRVariableDcl member = builder.temp(INT);
+        BIRTerminator.Lock lock = createLockRegion(builder, move(counter, array), constLoad(index, 0L),
+                                                   new FieldAccess(null, InstructionKind.ARRAY_LOAD,
+                                                                   new BIROperand(member), new BIROperand(index),
+                                                                   new BIROperand(array), false, false));
+
+        optimize(builder);
+        Assert.assertTrue(lock.readOnly);
+    }
+
+    @Test
+    public void testCallIsNotReadOnly() {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("call", 0);
+        BIRVariableDcl value = builder.temp(INT);
+        BIRBasicBlock entryBB = builder.bb();
+        BIRBasicBlock lockedBB = builder.bb();
+        BIRBasicBlock callReturnBB = builder.bb();
+        BIRBasicBlock unlockedBB = builder.bb();
+        BIRTerminator.Lock lock = createLock(entryBB, lockedBB);
+        // The called function only reads its argument, but calls are not followed
+        lockedBB.instructions.add(move(counter, value));
+        lockedBB.terminator = call("print", null, callReturnBB, value);
+        callReturnBB.terminator = createUnlock(lock, unlockedBB);
+        unlockedBB.terminator = ret();
+
+        optimize(builder);
+        Assert.assertFalse(lock.readOnly);
+    }
+
+    @Test
+    public void testNewStructureIsNotReadOnly() {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("newStructure", 0);
+        BIRVariableDcl value = builder.temp(INT);
+        BIRVariableDcl typedesc = builder.temp(INT);
+        BIRVariableDcl record = builder.temp(INT);
+        // Creating the record runs its init function, which may call functions writing or locking the counter
+        BIRTerminator.Lock lock = createLockRegion(builder, move(counter, value),
+                                                   new BIRNonTerminator.NewStructure(null, new BIROperand(record),
+                                                                                     new BIROperand(typedesc)));
+
+        optimize(builder);
+        Assert.assertFalse(lock.readOnly);
+    }
+
+    @Test
+    public void testWriteInBranchIsNotReadOnly() {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("branch", 0, BOOLEAN);
+        BIRVariableDcl value = builder.temp(INT);
+        BIRBasicBlock entryBB = builder.bb();
+        BIRBasicBlock lockedBB = builder.bb();
+        BIRBasicBlock readBB = builder.bb();
+        BIRBasicBlock writeBB = builder.bb();
+        BIRBasicBlock unlockBB = builder.bb();
+        BIRBasicBlock unlockedBB = builder.bb();
+        BIRTerminator.Lock lock = createLock(entryBB, lockedBB);
+        lockedBB.terminator = branch(builder.param(0), readBB, writeBB);
+        readBB.instructions.add(move(counter, value));
+        readBB.terminator = jump(unlockBB);
+        // Only one of the paths writes
+        writeBB.instructions.add(constLoad(value, 1L));
+        writeBB.instructions.add(move(value, counter));
+        writeBB.terminator = jump(unlockBB);
+        unlockBB.terminator = createUnlock(lock, unlockedBB);
+        unlockedBB.terminator = ret();
+
+        optimize(builder);
+        Assert.assertFalse(lock.readOnly);
+    }
+
+    @Test
+    public void testWriteInTrapTargetIsNotReadOnly() {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("trap", 0);
+        BIRVariableDcl value = builder.temp(INT);
+        BIRVariableDcl error = builder.temp(INT);
+        BIRBasicBlock entryBB = builder.bb();
+        BIRBasicBlock lockedBB = builder.bb();
+        BIRBasicBlock targetBB = builder.bb();
+        BIRBasicBlock unlockedBB = builder.bb();
+        BIRTerminator.Lock lock = createLock(entryBB, lockedBB);
+        lockedBB.instructions.add(move(counter, value));
+        lockedBB.terminator = createUnlock(lock, unlockedBB);
+        builder.func.errorTable.add(new BIRErrorEntry(lockedBB, lockedBB, new BIROperand(error), targetBB));
+        // A panic in the region continues at the target of the trap, which is still within the lock
+        targetBB.instructions.add(constLoad(value, 0L));
+        targetBB.instructions.add(move(value, counter));
+        targetBB.terminator = createUnlock(lock, unlockedBB);
+        unlockedBB.terminator = ret();
+
+        optimize(builder);
+        Assert.assertFalse(lock.readOnly);
+    }
+
+    @Test
+    public void testNestedLockIsNotReadOnly() {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("nested", 0);
+        BIRVariableDcl value = builder.temp(INT);
+        BIRBasicBlock entryBB = builder.bb();
+        BIRBasicBlock lockedBB = builder.bb();
+        BIRBasicBlock innerLockedBB = builder.bb();
+        BIRBasicBlock innerUnlockedBB = builder.bb();
+        BIRBasicBlock unlockedBB = builder.bb();
+        BIRTerminator.Lock lock = createLock(entryBB, lockedBB);
+        BIRTerminator.Lock innerLock = createLock(lockedBB, innerLockedBB);
+        innerLockedBB.instructions.add(move(counter, value));
+        innerLockedBB.terminator = createUnlock(innerLock, innerUnlockedBB);
+        innerUnlockedBB.terminator = createUnlock(lock, unlockedBB);
+        unlockedBB.terminator = ret();
+
+        optimize(builder);
+        Assert.assertFalse(lock.readOnly);
+        Assert.assertTrue(innerLock.readOnly);
+    }
+
+    @Test
+    public void testLocksSharingVariablesShareLockId() {
+        BIRFunctionBuilder reader = new BIRFunctionBuilder("reader", 0);
+        BIRVariableDcl readValue = reader.temp(INT);
+        BIRTerminator.Lock readLock = createLockRegion(reader, move(counter, readValue));
+
+        BIRFunctionBuilder writer = new BIRFunctionBuilder("writer", 0);
+        BIRVariableDcl writeValue = writer.temp(INT);
+        BIRTerminator.Lock writeLock = createLockRegion(writer, constLoad(writeValue, 1L),
+                                                        move(writeValue, counter));
+
+        new BIRLockOptimizer().optimizeNode(createPackage(reader.func, writer.func));
+        // The read only lock still excludes the writer, since both use the same lock
+        Assert.assertEquals(readLock.lockId, writeLock.lockId);
+        Assert.assertTrue(readLock.readOnly);
+        Assert.assertFalse(writeLock.readOnly);
+    }
+
+    /**
+     * Creates a function which locks the counter, runs the given instructions and unlocks it.
+     */
+    private BIRTerminator.Lock createLockRegion(BIRFunctionBuilder builder, BIRNonTerminator... instructions) {
+        BIRBasicBlock entryBB = builder.bb();
+        BIRBasicBlock lockedBB = builder.bb();
+        BIRBasicBlock unlockedBB = builder.bb();
+        BIRTerminator.Lock lock = createLock(entryBB, lockedBB);
+        lockedBB.instructions.addAll(Arrays.asList(instructions));
+        lockedBB.terminator = createUnlock(lock, unlockedBB);
+        unlockedBB.terminator = ret();
+        return lock;
+    }
+
+    private BIRTerminator.Lock createLock(BIRBasicBlock bb, BIRBasicBlock lockedBB) {
+        BIRTerminator.Lock lock = new BIRTerminator.Lock(null, lockedBB);
+        lock.lockVariables.add(counter);
+        bb.terminator = lock;
+        return lock;
+    }
+
+    private BIRTerminator.Unlock createUnlock(BIRTerminator.Lock lock, BIRBasicBlock unlockBB) {
+        BIRTerminator.Unlock unlock = new BIRTerminator.Unlock(null, unlockBB);
+        unlock.relatedLock = lock;
+        return unlock;
+    }
+
+    private void optimize(BIRFunctionBuilder builder) {
+        new BIRLockOptimizer().optimizeNode(createPackage(builder.func));
+    }
+
+    private static BIRGlobalVariableDcl createGlobal(String name) {
+        return new BIRGlobalVariableDcl(null, 0, INT, getPackageID(), new Name(name), VarScope.GLOBAL,
+                                        VarKind.GLOBAL, name, SymbolOrigin.SOURCE);
+    }
+}
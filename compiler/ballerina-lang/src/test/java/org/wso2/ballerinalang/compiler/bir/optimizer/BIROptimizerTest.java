@@ -0,0 +1,501 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.ballerinalang.compiler.CompilerOptionName;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.FieldAccess;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.util.Flags;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.BOOLEAN;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.INT;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.binaryOp;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.branch;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.call;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.constLoad;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.createPackage;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.findConstants;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.findInstructions;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.findTerminators;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.jump;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.move;
+import static org.wso2.ballerinalang.compiler.bir.optimizer.BIRFunctionBuilder.ret;
+
+/**
+ * Test cases for the optimizations done by the {@link BIROptimizer} at each optimization level, i.e. the
+ * {@link ConstantFolder}, the {@link CopyPropagator} and the {@link DeadCodeEliminator} from -O1, and the
+ * {@link FunctionInliner} from -O2, and for the {@link OptimizerUtils} they share.
+ *
+ * @since 2.0.0
+ */
+public class BIROptimizerTest {
+
+    @DataProvider(name = "optimizationLevels")
+    public Object[][] optimizationLevels() {
+        return new Object[][]{{0}, {1}, {2}};
+    }
+
+    @Test(dataProvider = "optimizationLevels")
+    public void testConstantFolding(int level) {
+        // %3 = 2 + 3
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("fold", 0);
+        BIRVariableDcl lhs = builder.temp(INT);
+        BIRVariableDcl rhs = builder.temp(INT);
+        BIRVariableDcl sum = builder.temp(INT);
+        BIRBasicBlock bb0 = builder.bb();
+        BIRBasicBlock bb1 = builder.bb();
+        bb0.instructions.addAll(Arrays.asList(constLoad(lhs, 2L), constLoad(rhs, 3L),
+                                              binaryOp(InstructionKind.ADD, sum, lhs, rhs),
+                                              move(sum, builder.returnVar())));
+        bb0.terminator = jump(bb1);
+        bb1.terminator = ret();
+
+        optimize(createPackage(builder.func), level);
+
+        if (level == 0) {
+            Assert.assertEquals(findInstructions(builder.func, BinaryOp.class).size(), 1);
+            Assert.assertEquals(findConstants(builder.func), Arrays.asList(2L, 3L));
+        } else {
+            // The loads of the folded operands are not read any more, hence they are removed
+            Assert.assertEquals(findInstructions(builder.func, BinaryOp.class).size(), 0);
+            Assert.assertEquals(findConstants(builder.func), Collections.singletonList(5L));
+            Assert.assertFalse(builder.func.localVars.contains(lhs));
+            Assert.assertFalse(builder.func.localVars.contains(rhs));
+        }
+    }
+
+    @DataProvider(name = "panickingOperations")
+    public Object[][] panickingOperations() {
+        return new Object[][]{
+                {InstructionKind.ADD, Long.MAX_VALUE, 1L},
+                {InstructionKind.SUB, Long.MIN_VALUE, 1L},
+                {InstructionKind.MUL, Long.MAX_VALUE, 2L},
+                {InstructionKind.DIV, 1L, 0L},
+                {InstructionKind.MOD, 1L, 0L},
+                {InstructionKind.DIV, Long.MIN_VALUE, -1L}
+        };
+    }
+
+    @Test(dataProvider = "panickingOperations")
+    public void testPanickingOperationIsNotFolded(InstructionKind kind, long lhsValue, long rhsValue) {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("panic", 0);
+        BIRVariableDcl lhs = builder.temp(INT);
+        BIRVariableDcl rhs = builder.temp(INT);
+        BIRVariableDcl result = builder.temp(INT);
+        BIRBasicBlock bb0 = builder.bb();
+        BIRBasicBlock bb1 = builder.bb();
+        bb0.instructions.addAll(Arrays.asList(constLoad(lhs, lhsValue), constLoad(rhs, rhsValue),
+                                              binaryOp(kind, result, lhs, rhs), move(result, builder.returnVar())));
+        bb0.terminator = jump(bb1);
+        bb1.terminator = ret();
+
+        optimize(createPackage(builder.func), 2);
+
+        // The operation has to panic at run time
+        List<BinaryOp> binaryOps = findInstructions(builder.func, BinaryOp.class);
+        Assert.assertEquals(binaryOps.size(), 1);
+        Assert.assertEquals(binaryOps.get(0).kind, kind);
+        Assert.assertEquals(findConstants(builder.func), Arrays.asList(lhsValue, rhsValue));
+    }
+
+    @Test
+    public void testVariableWithMultipleDefinitionsIsNotFolded() {
+        // %2 is 2 or 4, depending on the argument
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("multipleDefs", 0, BOOLEAN);
+        BIRVariableDcl value = builder.temp(INT);
+        BIRVariableDcl one = builder.temp(INT);
+        BIRVariableDcl sum = builder.temp(INT);
+        BIRBasicBlock bb0 = builder.bb();
+        BIRBasicBlock bb1 = builder.bb();
+        BIRBasicBlock bb2 = builder.bb();
+        bb0.instructions.addAll(Arrays.asList(constLoad(value, 2L), constLoad(one, 1L)));
+        bb0.terminator = branch(builder.param(0), bb1, bb2);
+        bb1.instructions.add(constLoad(value, 4L));
+        bb1.terminator = jump(bb2);
+        bb2.instructions.addAll(Arrays.asList(binaryOp(InstructionKind.ADD, sum, value, one),
+                                              move(sum, builder.returnVar())));
+        bb2.terminator = ret();
+
+        optimize(createPackage(builder.func), 2);
+
+        Assert.assertEquals(findInstructions(builder.func, BinaryOp.class).size(), 1);
+        Assert.assertEquals(findConstants(builder.func), Arrays.asList(2L, 1L, 4L));
+        Assert.assertEquals(findTerminators(builder.func, BIRTerminator.Branch.class).size(), 1);
+    }
+
+    @Test(dataProvider = "optimizationLevels")
+    public void testConstantBranchIsFolded(int level) {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("constantBranch", 0);
+        BIRVariableDcl condition = builder.temp(BOOLEAN);
+        BIRBasicBlock bb0 = builder.bb();
+        BIRBasicBlock bb1 = builder.bb();
+        BIRBasicBlock bb2 = builder.bb();
+        BIRBasicBlock bb3 = builder.bb();
+        bb0.instructions.add(constLoad(condition, true));
+        bb0.terminator = branch(condition, bb1, bb2);
+        bb1.instructions.add(constLoad(builder.returnVar(), 1L));
+        bb1.terminator = jump(bb3);
+        bb2.instructions.add(constLoad(builder.returnVar(), 2L));
+        bb2.terminator = jump(bb3);
+        bb3.terminator = ret();
+
+        optimize(createPackage(builder.func), level);
+
+        if (level == 0) {
+            Assert.assertEquals(builder.func.basicBlocks, Arrays.asList(bb0, bb1, bb2, bb3));
+            Assert.assertEquals(bb0.terminator.kind, InstructionKind.BRANCH);
+        } else {
+            // The false branch can not be reached any more
+            Assert.assertEquals(builder.func.basicBlocks, Arrays.asList(bb0, bb1, bb3));
+            Assert.assertEquals(bb0.terminator.kind, InstructionKind.GOTO);
+            Assert.assertEquals(((BIRTerminator.GOTO) bb0.terminator).targetBB, bb1);
+            Assert.assertEquals(findConstants(builder.func), Collections.singletonList(1L));
+        }
+    }
+
+    @Test
+    public void testCopyPropagation() {
+        // %2 = move %1; %3 = %2 + %2
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("copy", 0, INT);
+        BIRVariableDcl copy = builder.temp(INT);
+        BIRVariableDcl sum = builder.temp(INT);
+        BIRBasicBlock bb0 = builder.bb();
+        BIRBasicBlock bb1 = builder.bb();
+        bb0.instructions.addAll(Arrays.asList(move(builder.param(0), copy),
+                                              binaryOp(InstructionKind.ADD, sum, copy, copy),
+                                              move(sum, builder.returnVar())));
+        bb0.terminator = jump(bb1);
+        bb1.terminator = ret();
+
+        // The temp var optimizations of all the levels already replace such copies, hence the propagation is tested
+        // on its own
+        new CopyPropagator().optimizeFunction(builder.func);
+        new DeadCodeEliminator().optimizeFunction(builder.func);
+
+        BinaryOp add = findInstructions(builder.func, BinaryOp.class).get(0);
+        Assert.assertEquals(add.rhsOp1.variableDcl, builder.param(0));
+        Assert.assertEquals(add.rhsOp2.variableDcl, builder.param(0));
+        Assert.assertEquals(bb0.instructions.size(), 2);
+        Assert.assertFalse(builder.func.localVars.contains(copy));
+    }
+
+    @Test
+    public void testCopyIsNotPropagatedAfterSourceIsReassigned() {
+        // %2 = move %1; %3 = %2 + %2; %1 = 10; %4 = %2 + %1
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("reassigned", 0);
+        BIRVariableDcl source = builder.local(INT);
+        BIRVariableDcl copy = builder.temp(INT);
+        BIRVariableDcl before = builder.temp(INT);
+        BIRVariableDcl after = builder.temp(INT);
+        BIRBasicBlock bb0 = builder.bb();
+        BIRBasicBlock bb1 = builder.bb();
+        bb0.instructions.addAll(Arrays.asList(move(source, copy),
+                                              binaryOp(InstructionKind.ADD, before, copy, copy),
+                                              constLoad(source, 10L),
+                                              binaryOp(InstructionKind.ADD, after, copy, source),
+                                              binaryOp(InstructionKind.ADD, builder.returnVar(), before, after)));
+        bb0.terminator = jump(bb1);
+        bb1.terminator = ret();
+
+        new CopyPropagator().optimizeFunction(builder.func);
+        new DeadCodeEliminator().optimizeFunction(builder.func);
+
+        List<BinaryOp> adds = findInstructions(builder.func, BinaryOp.class);
+        Assert.assertEquals(adds.get(0).rhsOp1.variableDcl, source);
+        Assert.assertEquals(adds.get(0).rhsOp2.variableDcl, source);
+        Assert.assertEquals(adds.get(1).rhsOp1.variableDcl, copy);
+        Assert.assertEquals(bb0.instructions.get(0).kind, InstructionKind.MOVE);
+        Assert.assertTrue(builder.func.localVars.contains(copy));
+    }
+
+    @Test
+    public void testCopyWithMultipleDefinitionsIsNotPropagated() {
+        // %2 = move %1; %2 = 1; %3 = %2 + %2
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("multipleCopies", 0, INT);
+        BIRVariableDcl copy = builder.temp(INT);
+        BIRBasicBlock bb0 = builder.bb();
+        bb0.instructions.addAll(Arrays.asList(move(builder.param(0), copy), constLoad(copy, 1L),
+                                              binaryOp(InstructionKind.ADD, builder.returnVar(), copy, copy)));
+        bb0.terminator = ret();
+
+        new CopyPropagator().optimizeFunction(builder.func);
+
+        BinaryOp add = findInstructions(builder.func, BinaryOp.class).get(0);
+        Assert.assertEquals(add.rhsOp1.variableDcl, copy);
+        Assert.assertEquals(add.rhsOp2.variableDcl, copy);
+    }
+
+    @Test(dataProvider = "optimizationLevels")
+    public void testDeadCodeElimination(int level) {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("deadCode", 0);
+        BIRVariableDcl unusedTemp = builder.temp(INT);
+        BIRVariableDcl unusedLocal = builder.local(INT);
+        BIRVariableDcl neverAssigned = builder.temp(INT);
+        BIRBasicBlock bb0 = builder.bb();
+        BIRBasicBlock unreachable = builder.bb();
+        BIRBasicBlock bb2 = builder.bb();
+        bb0.instructions.addAll(Arrays.asList(constLoad(unusedTemp, 1L), constLoad(unusedLocal, 2L),
+                                              constLoad(builder.returnVar(), 3L)));
+        bb0.terminator = jump(bb2);
+        unreachable.instructions.add(constLoad(builder.returnVar(), 4L));
+        unreachable.terminator = jump(bb2);
+        bb2.terminator = ret();
+
+        optimize(createPackage(builder.func), level);
+
+        if (level == 0) {
+            Assert.assertEquals(builder.func.basicBlocks, Arrays.asList(bb0, unreachable, bb2));
+            Assert.assertEquals(findConstants(builder.func), Arrays.asList(1L, 2L, 3L, 4L));
+        } else {
+            // Local variables are kept for the debugger, even if they are not read
+            Assert.assertEquals(builder.func.basicBlocks, Arrays.asList(bb0, bb2));
+            Assert.assertEquals(findConstants(builder.func), Arrays.asList(2L, 3L));
+            Assert.assertFalse(builder.func.localVars.contains(unusedTemp));
+            Assert.assertFalse(builder.func.localVars.contains(neverAssigned));
+            Assert.assertTrue(builder.func.localVars.contains(unusedLocal));
+        }
+    }
+
+    @Test(dataProvider = "optimizationLevels")
+    public void testFunctionInlining(int level) {
+        BIRFunctionBuilder callee = createIncrementFunction("increment", 0);
+        BIRFunctionBuilder caller = createCaller("caller", "increment");
+
+        optimize(createPackage(callee.func, caller.func), level);
+
+        List<BIRTerminator.Call> calls = findTerminators(caller.func, BIRTerminator.Call.class);
+        if (level < 2) {
+            Assert.assertEquals(calls.size(), 1);
+        } else {
+            Assert.assertEquals(calls.size(), 0);
+            List<BinaryOp> adds = findInstructions(caller.func, BinaryOp.class);
+            Assert.assertEquals(adds.size(), 1);
+            Assert.assertEquals(adds.get(0).rhsOp1.variableDcl, caller.param(0));
+        }
+        // The inlined function itself is left as it is
+        Assert.assertEquals(findInstructions(callee.func, BinaryOp.class).size(), 1);
+    }
+
+    @Test
+    public void testPublicFunctionIsNotInlined() {
+        assertNotInlined(createIncrementFunction("increment", Flags.PUBLIC));
+    }
+
+    @Test
+    public void testLargeFunctionIsNotInlined() {
+        BIRFunctionBuilder callee = createIncrementFunction("increment", 0);
+        BIRBasicBlock bb0 = callee.func.basicBlocks.get(0);
+        // 16 instructions, including the terminators, are inlined at most
+        while (bb0.instructions.size() < 16) {
+            bb0.instructions.add(0, constLoad(callee.temp(INT), 0L));
+        }
+        assertNotInlined(callee);
+    }
+
+    @Test
+    public void testFunctionWithCallIsNotInlined() {
+        BIRFunctionBuilder callee = createIncrementFunction("increment", 0);
+        BIRBasicBlock bb0 = callee.func.basicBlocks.get(0);
+        BIRBasicBlock bbCall = callee.bb();
+        bbCall.terminator = call("other", null, bb0);
+        callee.func.basicBlocks.remove(bbCall);
+        callee.func.basicBlocks.add(0, bbCall);
+        assertNotInlined(callee);
+    }
+
+    @Test
+    public void testFunctionAssigningParameterIsNotInlined() {
+        BIRFunctionBuilder callee = createIncrementFunction("increment", 0);
+        callee.func.basicBlocks.get(0).instructions.add(0, constLoad(callee.param(0), 1L));
+        assertNotInlined(callee);
+    }
+
+    @Test
+    public void testFunctionWithErrorEntryIsNotInlined() {
+        BIRFunctionBuilder callee = createIncrementFunction("increment", 0);
+        BIRBasicBlock bb0 = callee.func.basicBlocks.get(0);
+        BIRVariableDcl error = callee.temp(new BType(TypeTags.ERROR, null));
+        callee.func.errorTable.add(new BIRErrorEntry(bb0, bb0, new BIROperand(error), bb0));
+        assertNotInlined(callee);
+    }
+
+    @Test
+    public void testRecursiveCallIsNotInlined() {
+        BIRFunctionBuilder builder = createCaller("recursive", "recursive");
+        BIRPackage pkg = createPackage(builder.func);
+
+        optimize(pkg, 2);
+
+        Assert.assertEquals(findTerminators(builder.func, BIRTerminator.Call.class).size(), 1);
+    }
+
+    @Test
+    public void testCallerWithErrorEntryIsNotInlinedInto() {
+        BIRFunctionBuilder callee = createIncrementFunction("increment", 0);
+        BIRFunctionBuilder caller = createCaller("caller", "increment");
+        BIRBasicBlock bb0 = caller.func.basicBlocks.get(0);
+        BIRVariableDcl error = caller.temp(new BType(TypeTags.ERROR, null));
+        caller.func.errorTable.add(new BIRErrorEntry(bb0, bb0, new BIROperand(error), bb0));
+
+        optimize(createPackage(callee.func, caller.func), 2);
+
+        Assert.assertEquals(findTerminators(caller.func, BIRTerminator.Call.class).size(), 1);
+    }
+
+    @Test
+    public void testIsOptimizable() {
+        BIRFunctionBuilder builder = createIncrementFunction("increment", 0);
+        Assert.assertTrue(OptimizerUtils.isOptimizable(builder.func));
+
+        // A function without a body, e.g. an external function
+        Assert.assertFalse(OptimizerUtils.isOptimizable(new BIRFunctionBuilder("external", Flags.NATIVE).func));
+
+        // A basic block which is not terminated
+        BIRBasicBlock bb = builder.bb();
+        Assert.assertFalse(OptimizerUtils.isOptimizable(builder.func));
+        bb.terminator = ret();
+        Assert.assertTrue(OptimizerUtils.isOptimizable(builder.func));
+
+        // The basic blocks of a default parameter value
+        BIRFunctionBuilder withDefault = createIncrementFunction("withDefault", 0);
+        withDefault.func.parameters.values().iterator().next().add(new BIRBasicBlock(null));
+        Assert.assertFalse(OptimizerUtils.isOptimizable(withDefault.func));
+    }
+
+    @Test
+    public void testDefsAndUses() {
+        // %2 = 1; %2 = %2 + %2; %3 = "key"; %1[%3] = %2; %0 = move %2
+        BIRFunctionBuilder builder = new BIRFunctionBuilder("defs", 0, new BType(TypeTags.MAP, null));
+        BIRVariableDcl map = builder.param(0);
+        BIRVariableDcl value = builder.temp(INT);
+        BIRVariableDcl key = builder.temp(new BType(TypeTags.STRING, null));
+        BIRBasicBlock bb0 = builder.bb();
+        bb0.instructions.addAll(Arrays.asList(constLoad(value, 1L),
+                                              binaryOp(InstructionKind.ADD, value, value, value),
+                                              constLoad(key, "key"),
+                                              new FieldAccess(null, InstructionKind.MAP_STORE, new BIROperand(map),
+                                                              new BIROperand(key), new BIROperand(value)),
+                                              move(value, builder.returnVar())));
+        bb0.terminator = ret();
+
+        Map<BIRVariableDcl, Integer> defs = OptimizerUtils.countDefs(builder.func);
+        Assert.assertEquals(defs.get(value), Integer.valueOf(2));
+        Assert.assertEquals(defs.get(key), Integer.valueOf(1));
+        Assert.assertEquals(defs.get(builder.returnVar()), Integer.valueOf(1));
+
+        // The map stored into is read, while the variables only assigned to are not
+        Set<BIRVariableDcl> uses = OptimizerUtils.collectUses(builder.func);
+        Assert.assertTrue(uses.contains(map));
+        Assert.assertTrue(uses.contains(value));
+        Assert.assertTrue(uses.contains(key));
+        Assert.assertFalse(uses.contains(builder.returnVar()));
+    }
+
+    @Test
+    public void testIsSameType() {
+        Assert.assertTrue(OptimizerUtils.isSameType(INT, new BType(TypeTags.INT, null)));
+        Assert.assertFalse(OptimizerUtils.isSameType(INT, BOOLEAN));
+        // Structured types may need a conversion even if their tags match
+        BType record = new BType(TypeTags.RECORD, null);
+        Assert.assertTrue(OptimizerUtils.isSameType(record, record));
+        Assert.assertFalse(OptimizerUtils.isSameType(record, new BType(TypeTags.RECORD, null)));
+    }
+
+    @Test
+    public void testOptimizationLevel() {
+        Assert.assertEquals(BIROptimizer.getOptimizationLevel(null), 0);
+        Assert.assertEquals(BIROptimizer.getOptimizationLevel("2"), 2);
+        Assert.assertEquals(BIROptimizer.getOptimizationLevel(" 1 "), 1);
+        Assert.assertEquals(BIROptimizer.getOptimizationLevel(""), 0);
+        Assert.assertEquals(BIROptimizer.getOptimizationLevel("fast"), 0);
+        Assert.assertEquals(BIROptimizer.getOptimizationLevel("-1"), 0);
+    }
+
+    @Test
+    public void testInvalidOptimizationLevelDisablesOptimizations() {
+        BIRFunctionBuilder callee = createIncrementFunction("increment", 0);
+        BIRFunctionBuilder caller = createCaller("caller", "increment");
+        CompilerContext context = new CompilerContext();
+        CompilerOptions.getInstance(context).put(CompilerOptionName.OPTIMIZATION_LEVEL, "fast");
+
+        BIROptimizer.getInstance(context).optimizePackage(createPackage(callee.func, caller.func));
+
+        Assert.assertEquals(findTerminators(caller.func, BIRTerminator.Call.class).size(), 1);
+        Assert.assertEquals(findConstants(callee.func), Collections.singletonList(1L));
+    }
+
+    /**
+     * Creates a function which returns its argument incremented by one.
+     */
+    private BIRFunctionBuilder createIncrementFunction(String name, int flags) {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder(name, flags, INT);
+        BIRVariableDcl one = builder.temp(INT);
+        BIRBasicBlock bb0 = builder.bb();
+        bb0.instructions.addAll(Arrays.asList(constLoad(one, 1L),
+                                              binaryOp(InstructionKind.ADD, builder.returnVar(), builder.param(0),
+                                                       one)));
+        bb0.terminator = ret();
+        return builder;
+    }
+
+    /**
+     * Creates a function which returns the result of calling another function with its argument.
+     */
+    private BIRFunctionBuilder createCaller(String name, String calleeName) {
+        BIRFunctionBuilder builder = new BIRFunctionBuilder(name, 0, INT);
+        BIRVariableDcl result = builder.temp(INT);
+        BIRBasicBlock bb0 = builder.bb();
+        BIRBasicBlock bb1 = builder.bb();
+        bb0.terminator = call(calleeName, result, bb1, builder.param(0));
+        bb1.instructions.add(move(result, builder.returnVar()));
+        bb1.terminator = ret();
+        return builder;
+    }
+
+    private void assertNotInlined(BIRFunctionBuilder callee) {
+        BIRFunctionBuilder caller = createCaller("caller", callee.func.name.value);
+
+        optimize(createPackage(callee.func, caller.func), 2);
+
+        Assert.assertEquals(findTerminators(caller.func, BIRTerminator.Call.class).size(), 1);
+    }
+
+    private void optimize(BIRPackage pkg, int level) {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions.getInstance(context).put(CompilerOptionName.OPTIMIZATION_LEVEL, Integer.toString(level));
+        BIROptimizer.getInstance(context).optimizePackage(pkg);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.parser;
+
+import io.ballerina.tools.diagnostics.Diagnostic;
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.repository.CompilerInput;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.packaging.GenericPackageSource;
+import org.wso2.ballerinalang.compiler.packaging.converters.FileSystemSourceInput;
+import org.wso2.ballerinalang.compiler.tree.BLangIdentifier;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.Name;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.ballerinalang.compiler.CompilerOptionName.JOBS;
+import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
+import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
+
+/**
+ * Tests for the {@link Parser}, which parses the source files of a module in parallel when more than one job is
+ * allowed.
+ *
+ * @since 2.0.0
+ */
+public class ParserTest {
+
+    private static final Path SOURCE_ROOT = Paths.get("src/test/resources/parallel-parse").toAbsolutePath();
+    private static final String MODULE_NAME = "multifile";
+    private static final String TREE_PACKAGE = "org.wso2.ballerinalang.compiler.tree";
+
+    @Test
+    public void testParallelParseMatchesSequentialParse() throws IOException, IllegalAccessException {
+        BLangPackage sequential = parse("1");
+        BLangPackage parallel = parse("4");
+
+        List<String> sequentialNames = collectGeneratedNames(sequential);
+        List<String> parallelNames = collectGeneratedNames(parallel);
+        Assert.assertTrue(sequentialNames.stream().anyMatch(name -> name.contains("$anonType$")), sequentialNames
+                .toString());
+        Assert.assertTrue(sequentialNames.stream().anyMatch(name -> name.contains("$lambda")),
+                          sequentialNames.toString());
+        Assert.assertTrue(sequentialNames.stream().anyMatch(name -> name.contains("$missingNode$")),
+                          sequentialNames.toString());
+        Assert.assertEquals(parallelNames, sequentialNames);
+
+        List<String> sequentialDiagnostics = toStrings(sequential.getDiagnostics());
+        List<String> parallelDiagnostics = toStrings(parallel.getDiagnostics());
+        Assert.assertTrue(sequentialDiagnostics.size() > 1, sequentialDiagnostics.toString());
+        Assert.assertEquals(parallelDiagnostics, sequentialDiagnostics);
+    }
+
+    @Test
+    public void testDefaultJobs() {
+        Assert.assertEquals(CompilerOptions.getInstance(new CompilerContext()).getJobs(), 1);
+        Assert.assertEquals(getJobs("4"), 4);
+    }
+
+    @Test(expectedExceptions = BLangCompilerException.class,
+          expectedExceptionsMessageRegExp = "invalid value '0' for the jobs option, it should be a positive number")
+    public void testZeroJobs() {
+        getJobs("0");
+    }
+
+    @Test(expectedExceptions = BLangCompilerException.class,
+          expectedExceptionsMessageRegExp = "invalid value '-2' for the jobs option, it should be a positive number")
+    public void testNegativeJobs() {
+        getJobs("-2");
+    }
+
+    @Test(expectedExceptions = BLangCompilerException.class,
+          expectedExceptionsMessageRegExp = "invalid value 'abc' for the jobs option, it should be a positive number")
+    public void testNonNumericJobs() {
+        getJobs("abc");
+    }
+
+    private int getJobs(String jobs) {
+        CompilerOptions options = CompilerOptions.getInstance(new CompilerContext());
+        options.put(JOBS, jobs);
+        return options.getJobs();
+    }
+
+    private BLangPackage parse(String jobs) throws IOException {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(OFFLINE, String.valueOf(true));
+        options.put(PROJECT_DIR, SOURCE_ROOT.toString());
+        options.put(JOBS, jobs);
+
+        Path moduleDir = SOURCE_ROOT.resolve("src").resolve(MODULE_NAME);
+        List<CompilerInput> inputs;
+        try (Stream<Path> files = Files.list(moduleDir)) {
+            inputs = files.sorted()
+                    .map(file -> new FileSystemSourceInput(file, moduleDir))
+                    .collect(Collectors.toList());
+        }
+        PackageID pkgId = new PackageID(new Name("test"), new Name(MODULE_NAME), new Name("0.1.0"));
+        return Parser.getInstance(context).parse(new GenericPackageSource(pkgId, inputs, null), SOURCE_ROOT);
+    }
+
+    private List<String> toStrings(List<Diagnostic> diagnostics) {
+        return diagnostics.stream().map(Diagnostic::toString).collect(Collectors.toList());
+    }
+
+    /**
+     * Collects the generated names, such as those of anonymous types, lambdas and missing nodes, in the order they
+     * are found by walking the public fields of the tree.
+     */
+    private List<String> collectGeneratedNames(BLangPackage pkgNode) throws IllegalAccessException {
+        List<String> names = new ArrayList<>();
+        collectGeneratedNames(pkgNode, Collections.newSetFromMap(new IdentityHashMap<>()), names);
+        return names;
+    }
+
+    private void collectGeneratedNames(Object value, Set<Object> visited, List<String> names)
+            throws IllegalAccessException {
+        if (value == null || !visited.add(value)) {
+            return;
+        }
+
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                collectGeneratedNames(element, visited, names);
+            }
+            return;
+        }
+
+        if (value instanceof Map) {
+            for (Object element : ((Map<?, ?>) value).values()) {
+                collectGeneratedNames(element, visited, names);
+            }
+            return;
+        }
+
+        if (value instanceof BLangIdentifier) {
+            String name = ((BLangIdentifier) value).value;
+            if (name != null && name.startsWith("$")) {
+                names.add(name);
+            }
+            return;
+        }
+
+        if (!value.getClass().getName().startsWith(TREE_PACKAGE)) {
+            return;
+        }
+
+        for (Field field : value.getClass().getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            collectGeneratedNames(field.get(value), visited, names);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+function apply(int x) returns int {
+    var addOne = function (int y) returns int => y + 1;
+    var addTwo = function (int y) returns int {
+        var inner = function (int z) returns int => z + 2;
+        return inner(y);
+    };
+    return addOne(addTwo(x));
+}
@@ -0,0 +1,6 @@
+public function main() {
+    function (int) returns int square = function (int x) returns int {
+        return x * x;
+    };
+    record {| string name; int age; |} person = {name: "Anne", age: square(5)};
+}
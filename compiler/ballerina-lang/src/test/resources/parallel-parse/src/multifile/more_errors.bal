@@ -0,0 +1,8 @@
+function unclosed(int a returns int {
+    var f = function () returns int => ;
+    return a
+}
+
+type Broken record {
+    string
+};
@@ -0,0 +1,9 @@
+type Counter object {
+    int count;
+    function increment() returns int;
+};
+
+function newCounter() returns object { int count; } {
+    object { int count = 0; } counter = new;
+    return counter;
+}
@@ -0,0 +1,8 @@
+type Employee record {
+    record {| string street; string city; |} address;
+    record { int id; } department;
+};
+
+function getEmployee() returns record { string name; } {
+    return {name: "Bob"};
+}
@@ -0,0 +1,8 @@
+function missingSemicolon() returns int {
+    int x = 5
+    return x +;
+}
+
+function missingType(, int a) {
+    record {| int |} r = {};
+}
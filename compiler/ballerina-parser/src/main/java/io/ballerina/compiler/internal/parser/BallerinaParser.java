@@ -7010,6 +7010,7 @@ public class BallerinaParser extends AbstractParser {
         }
 
         // Validate the array length expression
+        STNode openBracket = indexedExpr.openBracket;
         STNode lengthExpr = lengthExprs.get(0);
         switch (lengthExpr.kind) {
             case ASTERISK_LITERAL:
@@ -7024,13 +7025,12 @@ public class BallerinaParser extends AbstractParser {
                 }
                 //fall through
             default:
-                STNode newOpenBracketWithDiagnostics = SyntaxErrors.cloneWithTrailingInvalidNodeMinutiae(
-                        indexedExpr.openBracket, lengthExpr, DiagnosticErrorCode.ERROR_INVALID_ARRAY_LENGTH);
-                indexedExpr = indexedExpr.replace(indexedExpr.openBracket, newOpenBracketWithDiagnostics);
+                openBracket = SyntaxErrors.cloneWithTrailingInvalidNodeMinutiae(openBracket, lengthExpr,
+                        DiagnosticErrorCode.ERROR_INVALID_ARRAY_LENGTH);
                 lengthExpr = STNodeFactory.createEmptyNode();
         }
 
-        return createArrayTypeDesc(memberTypeDesc, indexedExpr.openBracket, lengthExpr, indexedExpr.closeBracket);
+        return createArrayTypeDesc(memberTypeDesc, openBracket, lengthExpr, indexedExpr.closeBracket);
     }
 
     /**
@@ -24,6 +24,7 @@ import io.ballerina.compiler.internal.parser.tree.STNodeDiagnostic;
 import io.ballerina.compiler.internal.parser.tree.STNodeFactory;
 import io.ballerina.compiler.internal.parser.tree.STNodeList;
 import io.ballerina.compiler.internal.parser.tree.STToken;
+import io.ballerina.compiler.internal.parser.tree.STTreeModifiers;
 import io.ballerina.compiler.internal.syntax.NodeListUtils;
 import io.ballerina.compiler.internal.syntax.SyntaxUtils;
 import io.ballerina.compiler.syntax.tree.SyntaxKind;
@@ -551,7 +552,7 @@ public class SyntaxErrors {
         STToken firstToken = toClone.firstToken();
         STToken firstTokenWithInvalidNodeMinutiae = cloneWithLeadingInvalidNodeMinutiae(firstToken,
                 invalidNode, diagnosticCode, args);
-        return toClone.replace(firstToken, firstTokenWithInvalidNodeMinutiae);
+        return STTreeModifiers.replaceFirst(toClone, firstToken, firstTokenWithInvalidNodeMinutiae);
     }
 
     /**
@@ -601,7 +602,7 @@ public class SyntaxErrors {
         STToken lastToken = toClone.lastToken();
         STToken lastTokenWithInvalidNodeMinutiae = cloneWithTrailingInvalidNodeMinutiae(lastToken,
                 invalidNode, diagnosticCode, args);
-        return toClone.replace(lastToken, lastTokenWithInvalidNodeMinutiae);
+        return STTreeModifiers.replaceLast(toClone, lastToken, lastTokenWithInvalidNodeMinutiae);
     }
 
     /**
@@ -85,6 +85,8 @@ public class HybridNodeStorage {
         }
         HybridNode hybridNode = currentToken;
         currentToken = null;
+        // A subtree peeked before consuming the token starts at the token, hence it cannot be reused anymore.
+        currentNode = null;
         consumedNodeIndex++;
         return hybridNode;
     }
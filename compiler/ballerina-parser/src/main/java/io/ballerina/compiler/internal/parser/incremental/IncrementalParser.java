@@ -60,8 +60,10 @@ public class IncrementalParser extends BallerinaParser {
     private STNode getIfReusable(STNode node, Predicate<SyntaxKind> predicate) {
         if (node != null && predicate.test(node.kind)) {
             this.subtreeSupplier.consume();
+            return node;
         }
-        return node;
+        // The next reusable subtree is not of the kind being parsed.
+        return null;
     }
 
     private Predicate<SyntaxKind> isModelLevelDeclaration =
@@ -28,6 +28,9 @@ import java.util.Collection;
  * <p>
  * Note that {@code STNodeFactory} must be used to create {@code STNode} instances. This approach allows
  * us to manage {@code STNode} production in the future. We could load nodes from a cache or add debug logs etc.
+ * <p>
+ * Whitespace and end of line minutiae, the minutiae lists made of those and the tokens without diagnostics are
+ * loaded from the {@code STNodeCache}. Hence the same instance may occur more than once in a tree.
  *
  * @since 1.3.0
  */
@@ -35,7 +38,7 @@ public abstract class STAbstractNodeFactory {
     private static final STNodeList EMPTY_LIST = new STNodeList();
 
     public static STToken createIdentifierToken(String text, STNode leadingTrivia, STNode trailingTrivia) {
-        return new STIdentifierToken(text, leadingTrivia, trailingTrivia);
+        return STNodeCache.getIdentifierToken(text, leadingTrivia, trailingTrivia);
     }
 
     public static STToken createIdentifierToken(String text,
@@ -49,14 +52,14 @@ public abstract class STAbstractNodeFactory {
         if (children.isEmpty()) {
             return EMPTY_LIST;
         }
-        return new STNodeList(children);
+        return STNodeCache.getNodeList(children.toArray(new STNode[0]));
     }
 
     public static STNode createNodeList(STNode... children) {
         if (children.length == 0) {
             return EMPTY_LIST;
         }
-        return new STNodeList(children);
+        return STNodeCache.getNodeList(children);
     }
 
     public static STNode createEmptyNodeList() {
@@ -82,7 +85,7 @@ public abstract class STAbstractNodeFactory {
     }
 
     public static STToken createToken(SyntaxKind kind, STNode leadingTrivia, STNode trailingTrivia) {
-        return new STToken(kind, leadingTrivia, trailingTrivia);
+        return STNodeCache.getToken(kind, leadingTrivia, trailingTrivia);
     }
 
     public static STToken createToken(SyntaxKind kind,
@@ -108,7 +111,7 @@ public abstract class STAbstractNodeFactory {
     }
 
     public static STNode createMinutiae(SyntaxKind kind, String text) {
-        return new STMinutiae(kind, text);
+        return STNodeCache.getMinutiae(kind, text);
     }
 
     /**
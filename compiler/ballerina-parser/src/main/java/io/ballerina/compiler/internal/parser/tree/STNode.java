@@ -26,7 +26,6 @@ import io.ballerina.compiler.syntax.tree.SyntaxKind;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.List;
 
 /**
@@ -42,7 +41,7 @@ public abstract class STNode {
     protected int widthWithTrailingMinutiae;
     protected int widthWithMinutiae;
 
-    protected EnumSet<STNodeFlags> flags = EnumSet.noneOf(STNodeFlags.class);
+    protected int flags;
 
     protected static final STNode[] EMPTY_BUCKET = new STNode[0];
     // The following fields allow us to navigate the tree without the knowledge of the particular tree nodes
@@ -58,7 +57,7 @@ public abstract class STNode {
         this.kind = kind;
         this.diagnostics = diagnostics;
         if (diagnostics.size() > 0) {
-            flags.add(STNodeFlags.HAS_DIAGNOSTICS);
+            flags = STNodeFlags.set(flags, STNodeFlags.HAS_DIAGNOSTICS);
         }
     }
 
@@ -93,7 +92,7 @@ public abstract class STNode {
     }
 
     public boolean hasDiagnostics() {
-        return flags.contains(STNodeFlags.HAS_DIAGNOSTICS);
+        return STNodeFlags.isSet(flags, STNodeFlags.HAS_DIAGNOSTICS);
     }
 
     public Collection<STNodeDiagnostic> diagnostics() {
@@ -332,8 +331,8 @@ public abstract class STNode {
             if (!SyntaxUtils.isSTNodePresent(child)) {
                 continue;
             }
-            if (child.flags.contains(STNodeFlags.HAS_DIAGNOSTICS)) {
-                this.flags.add(STNodeFlags.HAS_DIAGNOSTICS);
+            if (STNodeFlags.isSet(child.flags, STNodeFlags.HAS_DIAGNOSTICS)) {
+                this.flags = STNodeFlags.set(this.flags, STNodeFlags.HAS_DIAGNOSTICS);
                 return;
             }
         }
@@ -0,0 +1,159 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.compiler.internal.parser.tree;
+
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns the internal tree nodes which occur many times in source code: whitespace and end of line minutiae, the
+ * minutiae lists made of those, and the tokens without diagnostics whose minutiae lists are interned.
+ * <p>
+ * An internal tree node is immutable and does not know its parent or its position, hence an interned node can be
+ * shared by any number of trees. Each cache is bounded, and is cleared once it is full.
+ *
+ * @since 2.0.0
+ */
+class STNodeCache {
+
+    private static final int MAX_ENTRIES = 16384;
+    private static final int MAX_MINUTIAE_LIST_SIZE = 8;
+    private static final int MAX_TOKEN_TEXT_LENGTH = 32;
+
+    // Whitespace and end of line minutiae never have the same text, hence the text is the key.
+    private static final Map<String, STMinutiae> MINUTIAE = new ConcurrentHashMap<>();
+    private static final Map<List<STNode>, STNodeList> MINUTIAE_LISTS = new ConcurrentHashMap<>();
+    private static final Map<TokenKey, STToken> TOKENS = new ConcurrentHashMap<>();
+
+    private STNodeCache() {
+    }
+
+    static STNode getMinutiae(SyntaxKind kind, String text) {
+        if (kind != SyntaxKind.WHITESPACE_MINUTIAE && kind != SyntaxKind.END_OF_LINE_MINUTIAE) {
+            return new STMinutiae(kind, text);
+        }
+        STMinutiae minutiae = MINUTIAE.get(text);
+        if (minutiae != null) {
+            return minutiae;
+        }
+        return intern(MINUTIAE, text, new STMinutiae(kind, text));
+    }
+
+    static STNode getNodeList(STNode[] nodes) {
+        if (!isInternedMinutiae(nodes)) {
+            return new STNodeList(nodes);
+        }
+        List<STNode> key = Arrays.asList(nodes);
+        STNodeList nodeList = MINUTIAE_LISTS.get(key);
+        if (nodeList != null) {
+            return nodeList;
+        }
+        return intern(MINUTIAE_LISTS, key, new STNodeList(nodes));
+    }
+
+    static STToken getToken(SyntaxKind kind, STNode leadingMinutiae, STNode trailingMinutiae) {
+        if (!isInternedMinutiaeList(leadingMinutiae) || !isInternedMinutiaeList(trailingMinutiae)) {
+            return new STToken(kind, leadingMinutiae, trailingMinutiae);
+        }
+        TokenKey key = new TokenKey(kind, null, leadingMinutiae, trailingMinutiae);
+        STToken token = TOKENS.get(key);
+        if (token != null) {
+            return token;
+        }
+        return intern(TOKENS, key, new STToken(kind, leadingMinutiae, trailingMinutiae));
+    }
+
+    static STToken getIdentifierToken(String text, STNode leadingMinutiae, STNode trailingMinutiae) {
+        if (text.length() > MAX_TOKEN_TEXT_LENGTH || !isInternedMinutiaeList(leadingMinutiae) ||
+                !isInternedMinutiaeList(trailingMinutiae)) {
+            return new STIdentifierToken(text, leadingMinutiae, trailingMinutiae);
+        }
+        TokenKey key = new TokenKey(SyntaxKind.IDENTIFIER_TOKEN, text, leadingMinutiae, trailingMinutiae);
+        STToken token = TOKENS.get(key);
+        if (token != null) {
+            return token;
+        }
+        return intern(TOKENS, key, new STIdentifierToken(text, leadingMinutiae, trailingMinutiae));
+    }
+
+    private static <K, V> V intern(Map<K, V> cache, K key, V value) {
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.clear();
+        }
+        V interned = cache.putIfAbsent(key, value);
+        return interned != null ? interned : value;
+    }
+
+    private static boolean isInternedMinutiae(STNode[] nodes) {
+        if (nodes.length > MAX_MINUTIAE_LIST_SIZE) {
+            return false;
+        }
+        for (STNode node : nodes) {
+            if (!(node instanceof STMinutiae) || MINUTIAE.get(((STMinutiae) node).text()) != node) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isInternedMinutiaeList(STNode node) {
+        if (node.bucketCount == 0) {
+            return node instanceof STNodeList;
+        }
+        return MINUTIAE_LISTS.get(Arrays.asList(node.childBuckets)) == node;
+    }
+
+    /**
+     * Identifies a token by its kind, its text and the identities of its minutiae lists.
+     */
+    private static class TokenKey {
+        private final SyntaxKind kind;
+        private final String text;
+        private final STNode leadingMinutiae;
+        private final STNode trailingMinutiae;
+
+        TokenKey(SyntaxKind kind, String text, STNode leadingMinutiae, STNode trailingMinutiae) {
+            this.kind = kind;
+            this.text = text;
+            this.leadingMinutiae = leadingMinutiae;
+            this.trailingMinutiae = trailingMinutiae;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TokenKey)) {
+                return false;
+            }
+            TokenKey other = (TokenKey) obj;
+            return this.kind == other.kind && Objects.equals(this.text, other.text) &&
+                    this.leadingMinutiae == other.leadingMinutiae && this.trailingMinutiae == other.trailingMinutiae;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 31 * kind.hashCode() + Objects.hashCode(text);
+            hash = 31 * hash + System.identityHashCode(leadingMinutiae);
+            return 31 * hash + System.identityHashCode(trailingMinutiae);
+        }
+    }
+}
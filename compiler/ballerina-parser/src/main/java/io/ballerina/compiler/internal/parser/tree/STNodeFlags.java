@@ -19,10 +19,22 @@ package io.ballerina.compiler.internal.parser.tree;
 
 /**
  * Represents a set of flags that can be attached to an internal syntax node.
+ * <p>
+ * The flags of a node are packed into an {@code int}, where each flag is a bit.
  *
  * @since 2.0.0
  */
 public enum STNodeFlags {
     HAS_DIAGNOSTICS,
-    IS_MISSING
+    IS_MISSING;
+
+    private final int mask = 1 << ordinal();
+
+    static int set(int flags, STNodeFlags flag) {
+        return flags | flag.mask;
+    }
+
+    static boolean isSet(int flags, STNodeFlags flag) {
+        return (flags & flag.mask) != 0;
+    }
 }
@@ -29,19 +29,37 @@ package io.ballerina.compiler.internal.parser.tree;
 class STNodeReplacer extends STTreeModifier {
     private final STNode target;
     private final STNode replacement;
+    private final int occurrence;
+    private int count;
 
     STNodeReplacer(STNode target, STNode replacement) {
+        this(target, replacement, -1);
+    }
+
+    /**
+     * Creates a replacer which replaces only the given occurrence of the target node. The same internal node may
+     * occur more than once in a tree, since tokens and minutiae are interned.
+     *
+     * @param target      the node to be replaced
+     * @param replacement the replacement node
+     * @param occurrence  zero based index of the occurrence to be replaced, or -1 to replace all occurrences
+     */
+    STNodeReplacer(STNode target, STNode replacement, int occurrence) {
         this.target = target;
         this.replacement = replacement;
+        this.occurrence = occurrence;
     }
 
     <T extends STNode> T replace(T root) {
         return modifyNode(root);
     }
 
+    int count() {
+        return count;
+    }
+
     private boolean shouldDescend(STNode node) {
-        // TODO Can we check whether to descend?
-        return true;
+        return occurrence < 0 || count <= occurrence;
     }
 
     protected <T extends STNode> T modifyNode(T node) {
@@ -51,10 +69,29 @@ class STNodeReplacer extends STTreeModifier {
 
         STNode replaced = node;
         if (node == target) {
-            replaced = replacement;
+            if (occurrence < 0 || count == occurrence) {
+                replaced = replacement;
+            }
+            count++;
         } else if (shouldDescend(node)) {
             replaced = node.apply(this);
         }
         return (T) replaced;
     }
+
+    @Override
+    public STNode transform(STNodeList nodeList) {
+        STNode[] children = null;
+        for (int index = 0; index < nodeList.bucketCount; index++) {
+            STNode child = nodeList.childBuckets[index];
+            STNode modifiedChild = modifyNode(child);
+            if (modifiedChild != child && children == null) {
+                children = nodeList.childBuckets.clone();
+            }
+            if (children != null) {
+                children[index] = modifiedChild;
+            }
+        }
+        return children == null ? nodeList : new STNodeList(children);
+    }
 }
@@ -36,4 +36,37 @@ public class STTreeModifiers {
         STNodeReplacer nodeReplacer = new STNodeReplacer(target, replacement);
         return nodeReplacer.replace(root);
     }
+
+    /**
+     * Replaces the first occurrence of the given target node with the replacement node and return new root node.
+     *
+     * @param root        root of the tree in which the target node exists
+     * @param target      the node to be replaced
+     * @param replacement the replacement node
+     * @param <T>         the type of the root node
+     * @return return the root node after replacing the target with the replacement
+     */
+    public static <T extends STNode> T replaceFirst(T root, STNode target, STNode replacement) {
+        STNodeReplacer nodeReplacer = new STNodeReplacer(target, replacement, 0);
+        return nodeReplacer.replace(root);
+    }
+
+    /**
+     * Replaces the last occurrence of the given target node with the replacement node and return new root node.
+     *
+     * @param root        root of the tree in which the target node exists
+     * @param target      the node to be replaced
+     * @param replacement the replacement node
+     * @param <T>         the type of the root node
+     * @return return the root node after replacing the target with the replacement
+     */
+    public static <T extends STNode> T replaceLast(T root, STNode target, STNode replacement) {
+        STNodeReplacer counter = new STNodeReplacer(target, target, Integer.MAX_VALUE);
+        counter.replace(root);
+        if (counter.count() == 0) {
+            return root;
+        }
+        STNodeReplacer nodeReplacer = new STNodeReplacer(target, replacement, counter.count() - 1);
+        return nodeReplacer.replace(root);
+    }
 }
@@ -19,12 +19,17 @@ package io.ballerina.compiler.syntax.tree;
 
 import io.ballerina.compiler.internal.parser.BallerinaParser;
 import io.ballerina.compiler.internal.parser.ParserFactory;
+import io.ballerina.compiler.internal.parser.tree.STNode;
 import io.ballerina.compiler.internal.syntax.SyntaxUtils;
 import io.ballerina.tools.diagnostics.Diagnostic;
 import io.ballerina.tools.text.TextDocument;
 import io.ballerina.tools.text.TextDocumentChange;
 import io.ballerina.tools.text.TextDocuments;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 /**
  * The {@code SyntaxTree} represents a parsed Ballerina source file.
  *
@@ -124,6 +129,52 @@ public class SyntaxTree {
         return rootNode.toSourceCode();
     }
 
+    /**
+     * Returns the fraction of the source code of this tree which is covered by non-terminal nodes shared with the
+     * given tree, such as the nodes an incremental parse reuses from the previous tree.
+     * <p>
+     * Tokens and their minutiae are interned, hence a token is shared by both trees whenever its text and its
+     * minutiae are the same, even when it was parsed again. Only the non-terminal nodes are compared, so that the
+     * tokens of the nodes which were parsed again are not counted as reused.
+     *
+     * @param oldTree tree to compare with
+     * @return a value between zero and one
+     */
+    public float reuseRatio(SyntaxTree oldTree) {
+        STNode newRootNode = rootNode.internalNode();
+        int width = newRootNode.widthWithMinutiae();
+        if (width == 0) {
+            return 1;
+        }
+
+        Set<STNode> oldNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        collectNonTerminalNodes(oldTree.rootNode.internalNode(), oldNodes);
+        return (float) sharedWidth(newRootNode, oldNodes) / width;
+    }
+
+    private static void collectNonTerminalNodes(STNode node, Set<STNode> nodes) {
+        if (node == null || SyntaxUtils.isToken(node) || !nodes.add(node)) {
+            return;
+        }
+        for (int bucket = 0; bucket < node.bucketCount(); bucket++) {
+            collectNonTerminalNodes(node.childInBucket(bucket), nodes);
+        }
+    }
+
+    private static int sharedWidth(STNode node, Set<STNode> oldNodes) {
+        if (node == null || SyntaxUtils.isToken(node)) {
+            return 0;
+        }
+        if (oldNodes.contains(node)) {
+            return node.widthWithMinutiae();
+        }
+        int width = 0;
+        for (int bucket = 0; bucket < node.bucketCount(); bucket++) {
+            width += sharedWidth(node.childInBucket(bucket), oldNodes);
+        }
+        return width;
+    }
+
     private <T extends Node> T modifyWithMe(T node, boolean clone) {
         T clonedNode = clone ? node.internalNode().createUnlinkedFacade() : node;
         clonedNode.setSyntaxTree(this);
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerinalang.compiler.parser.test.incremental;
+
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.tools.text.TextDocumentChange;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextRange;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Contains statement level incremental parsing tests.
+ *
+ * @since 2.0.0
+ */
+public class StatementTest extends AbstractIncrementalParserTest {
+
+    @Test
+    public void testTypingStatement() {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            source.append("function foo").append(i).append("(int a) returns int {\n")
+                    .append("    int x = a + ").append(i).append(";\n")
+                    .append("    if (x > 10) {\n        x += 1;\n    }\n")
+                    .append("    return x;\n}\n\n");
+        }
+        SyntaxTree tree = SyntaxTree.from(TextDocuments.from(source.toString()));
+        int offset = source.indexOf("    return x;", source.length() / 2);
+        String statement = "int y = x * 2;\n    ";
+
+        // Type the statement one character at a time
+        for (int i = 0; i < statement.length(); i++) {
+            TextEdit[] edits = new TextEdit[]{
+                    TextEdit.from(TextRange.from(offset + i, 0), String.valueOf(statement.charAt(i)))};
+            SyntaxTree newTree = SyntaxTree.from(tree, TextDocumentChange.from(edits));
+            source.insert(offset + i, statement.charAt(i));
+            Assert.assertEquals(newTree.toSourceCode(), source.toString());
+            Assert.assertTrue(newTree.reuseRatio(tree) > 0.9);
+            tree = newTree;
+        }
+        Assert.assertFalse(tree.hasDiagnostics());
+    }
+
+    @Test
+    public void testReparsedTreeIsNotReused() {
+        String source = "function foo(int a) returns int {\n    int x = a + 1;\n    return x;\n}\n";
+        SyntaxTree oldTree = SyntaxTree.from(TextDocuments.from(source));
+        SyntaxTree newTree = SyntaxTree.from(TextDocuments.from(source));
+
+        // Both trees share the interned tokens, but none of the nodes
+        Assert.assertEquals(newTree.reuseRatio(oldTree), 0f);
+        Assert.assertEquals(newTree.reuseRatio(newTree), 1f);
+    }
+}
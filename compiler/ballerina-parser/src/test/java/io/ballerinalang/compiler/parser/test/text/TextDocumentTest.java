@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerinalang.compiler.parser.test.text;
+
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.tools.text.LinePosition;
+import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextLine;
+import io.ballerina.tools.text.TextRange;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Contains tests for the text documents which are the result of applying changes to other text documents.
+ *
+ * @since 2.0.0
+ */
+public class TextDocumentTest {
+
+    @Test
+    public void testApplyingChanges() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("int x").append(i).append(" = ").append(i).append(i % 3 == 0 ? ";\r\n" : ";\n");
+        }
+        TextDocument textDocument = TextDocuments.from(text.toString());
+
+        // Split a "\r\n", join two lines and insert a line
+        for (int i = 0; i < 50; i++) {
+            int crlfOffset = text.indexOf("\r\n", i * 400);
+            int lfOffset = text.indexOf(";\n", i * 400 + 200) + 1;
+            TextEdit[] edits = new TextEdit[]{
+                    TextEdit.from(TextRange.from(crlfOffset + 1, 0), "// split"),
+                    TextEdit.from(TextRange.from(lfOffset, 1), " "),
+                    TextEdit.from(TextRange.from(lfOffset + 10, 0), "\nint y = 0;\r")};
+            textDocument = textDocument.apply(TextDocumentChange.from(edits));
+            text.insert(lfOffset + 10, "\nint y = 0;\r");
+            text.replace(lfOffset, lfOffset + 1, " ");
+            text.insert(crlfOffset + 1, "// split");
+        }
+        assertSameDocument(textDocument, TextDocuments.from(text.toString()));
+    }
+
+    @Test
+    public void testParsingChangedDocument() {
+        String text = "function foo() {\n    int x = 1;\n}\n";
+        TextDocument textDocument = TextDocuments.from(text);
+        TextEdit[] edits = new TextEdit[]{TextEdit.from(TextRange.from(text.indexOf("1"), 1), "\"" +
+                new String(new char[3000]).replace('\0', 'a') + "\"")};
+        TextDocument newTextDocument = textDocument.apply(TextDocumentChange.from(edits));
+
+        SyntaxTree syntaxTree = SyntaxTree.from(newTextDocument);
+        Assert.assertEquals(syntaxTree.toSourceCode(), newTextDocument.toString());
+        Assert.assertFalse(syntaxTree.hasDiagnostics());
+    }
+
+    @Test
+    public void testLengthAndSubstring() {
+        String text = "function foo() {\r\n    int x = 1;\n}\n";
+        TextDocument textDocument = TextDocuments.from(text);
+        TextEdit[] edits = new TextEdit[]{TextEdit.from(TextRange.from(text.indexOf("1"), 1), "12")};
+        TextDocument newTextDocument = textDocument.apply(TextDocumentChange.from(edits));
+        String newText = newTextDocument.toString();
+
+        Assert.assertEquals(textDocument.length(), text.length());
+        Assert.assertEquals(newTextDocument.length(), newText.length());
+        for (int start = 0; start <= newText.length(); start += 5) {
+            for (int end = start; end <= newText.length(); end += 7) {
+                Assert.assertEquals(newTextDocument.substring(start, end), newText.substring(start, end));
+                if (end <= text.length()) {
+                    Assert.assertEquals(textDocument.substring(start, end), text.substring(start, end));
+                }
+            }
+        }
+    }
+
+    private void assertSameDocument(TextDocument actual, TextDocument expected) {
+        Assert.assertEquals(actual.toString(), expected.toString());
+        int textLength = expected.toString().length();
+        for (int position = 0; position <= textLength; position++) {
+            LinePosition linePosition = expected.linePositionFrom(position);
+            Assert.assertEquals(actual.linePositionFrom(position), linePosition);
+            if (linePosition.offset() <= expected.line(linePosition.line()).length()) {
+                Assert.assertEquals(actual.textPositionFrom(linePosition), position);
+            }
+        }
+
+        int lastLine = expected.linePositionFrom(textLength).line();
+        for (int line = 0; line <= lastLine; line++) {
+            TextLine actualLine = actual.line(line);
+            TextLine expectedLine = expected.line(line);
+            Assert.assertEquals(actualLine.text(), expectedLine.text());
+            Assert.assertEquals(actualLine.startOffset(), expectedLine.startOffset());
+            Assert.assertEquals(actualLine.endOffsetWithNewLines(), expectedLine.endOffsetWithNewLines());
+        }
+    }
+}
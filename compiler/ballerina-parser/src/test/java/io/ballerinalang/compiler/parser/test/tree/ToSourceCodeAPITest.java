@@ -60,6 +60,16 @@ public class ToSourceCodeAPITest extends AbstractSyntaxTreeAPITest {
         assertSourceCode(expectedSourceCode);
     }
 
+    @Test
+    public void testWithInvalidNodeMinutiaInRepeatedTokens() {
+        // Tokens are interned, hence the invalid node minutia must be attached to only one of the equal tokens.
+        String expectedSourceCode = "function foo() {\n" +
+                "    xml x = xml `<foo bar1='aaa{${v1}}b\\${b\"b${v2}c\\}cc{d{}e}{f{' " +
+                "bar2='aaa{${v1}}b\\${b\"b${v2}c\\}cc{d{}e}{f{'/>`;\n" +
+                "}\n";
+        assertSourceCode(expectedSourceCode);
+    }
+
     @Test
     public void testWithWindowNewLineChars() {
         String expectedSourceCode = "public function add() {\r\n" +
@@ -21,6 +21,9 @@ import java.util.Arrays;
 
 /**
  * A character reader utility used by the Ballerina lexer.
+ * <p>
+ * The characters of a {@code RopeTextDocument} are read chunk by chunk, in place. The buffer then holds the chunk
+ * which contains the last character read.
  *
  * @since 2.0.0
  */
@@ -29,15 +32,31 @@ public class CharReader {
     private char[] charBuffer;
     private int offset = 0;
     private int charBufferLength;
+    private int charBufferStartOffset = 0;
+
+    private final RopeTextDocument ropeTextDocument;
+    private final int textLength;
 
     private int lexemeStartPos;
 
     private CharReader(char[] buffer) {
         this.charBuffer = buffer;
         this.charBufferLength = buffer.length;
+        this.ropeTextDocument = null;
+        this.textLength = buffer.length;
+    }
+
+    private CharReader(RopeTextDocument ropeTextDocument) {
+        this.charBuffer = new char[0];
+        this.charBufferLength = 0;
+        this.ropeTextDocument = ropeTextDocument;
+        this.textLength = ropeTextDocument.length();
     }
 
     public static CharReader from(TextDocument textDocument) {
+        if (textDocument instanceof RopeTextDocument) {
+            return new CharReader((RopeTextDocument) textDocument);
+        }
         return new CharReader(textDocument.toCharArray());
     }
 
@@ -50,22 +69,35 @@ public class CharReader {
     }
 
     public char peek() {
-        if (offset < charBufferLength) {
-            return charBuffer[offset];
+        int index = offset - charBufferStartOffset;
+        if (index >= 0 && index < charBufferLength) {
+            return charBuffer[index];
         } else {
-            // TODO Revisit this branch
-            return Character.MAX_VALUE;
+            return peekOutsideBuffer(offset);
         }
     }
 
     public char peek(int k) {
         int n = offset + k;
-        if (n < charBufferLength) {
-            return charBuffer[n];
+        int index = n - charBufferStartOffset;
+        if (index >= 0 && index < charBufferLength) {
+            return charBuffer[index];
         } else {
+            return peekOutsideBuffer(n);
+        }
+    }
+
+    private char peekOutsideBuffer(int n) {
+        if (ropeTextDocument == null || n < 0 || n >= textLength) {
             // TODO Revisit this branch
             return Character.MAX_VALUE;
         }
+
+        RopeTextDocument.Chunk chunk = ropeTextDocument.chunkAt(n);
+        charBuffer = chunk.chars;
+        charBufferLength = chunk.chars.length;
+        charBufferStartOffset = chunk.startOffset;
+        return charBuffer[n - charBufferStartOffset];
     }
 
     /**
@@ -91,10 +123,19 @@ public class CharReader {
      * @return {@link String} consist of the marked chars
      */
     public String getMarkedChars() {
-        return new String(Arrays.copyOfRange(charBuffer, lexemeStartPos, offset));
+        if (ropeTextDocument == null) {
+            return new String(Arrays.copyOfRange(charBuffer, lexemeStartPos, offset));
+        }
+
+        int startIndex = lexemeStartPos - charBufferStartOffset;
+        int endIndex = offset - charBufferStartOffset;
+        if (startIndex >= 0 && endIndex <= charBufferLength) {
+            return new String(charBuffer, startIndex, endIndex - startIndex);
+        }
+        return ropeTextDocument.substring(lexemeStartPos, Math.min(offset, textLength));
     }
 
     public boolean isEOF() {
-        return offset >= charBufferLength;
+        return offset >= textLength;
     }
 }
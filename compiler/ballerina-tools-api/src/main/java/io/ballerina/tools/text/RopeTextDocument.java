@@ -0,0 +1,408 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.tools.text;
+
+import java.util.Arrays;
+
+/**
+ * The {@code RopeTextDocument} represents a {@code TextDocument} which is the result of applying changes to another
+ * {@code TextDocument}.
+ * <p>
+ * The text is kept in a persistent balanced tree of chunks, where each node knows the number of line breaks in it.
+ * Applying a change, finding a text line and finding the line of a position take logarithmic time in the length of
+ * the text, and the unchanged chunks are shared with the document the change is applied to. The lexer reads the
+ * chunks in place through the {@code CharReader}.
+ *
+ * @since 2.0.0
+ */
+class RopeTextDocument extends TextDocument {
+    private static final int MAX_CHUNK_LENGTH = 1024;
+    private static final Rope EMPTY = new Leaf(new char[0]);
+
+    private final Rope rope;
+
+    RopeTextDocument(String text) {
+        this(Rope.from(text.toCharArray()));
+    }
+
+    private RopeTextDocument(Rope rope) {
+        this.rope = rope;
+    }
+
+    @Override
+    public TextDocument apply(TextDocumentChange textDocumentChange) {
+        int startOffset = 0;
+        Rope newRope = EMPTY;
+        int textEditCount = textDocumentChange.getTextEditCount();
+        for (int i = 0; i < textEditCount; i++) {
+            TextEdit textEdit = textDocumentChange.getTextEdit(i);
+            TextRange textRange = textEdit.range();
+            newRope = Rope.concat(newRope, Rope.substring(rope, startOffset, textRange.startOffset()));
+            newRope = Rope.concat(newRope, Rope.from(textEdit.text().toCharArray()));
+            startOffset = textRange.endOffset();
+        }
+        newRope = Rope.concat(newRope, Rope.substring(rope, startOffset, rope.length));
+        return new RopeTextDocument(newRope);
+    }
+
+    @Override
+    protected LineMap populateTextLineMap() {
+        TextLine[] textLines = new TextLine[rope.lineBreaks + 1];
+        for (int line = 0; line < textLines.length; line++) {
+            textLines[line] = line(line);
+        }
+        return new LineMap(textLines);
+    }
+
+    @Override
+    public char[] toCharArray() {
+        char[] chars = new char[rope.length];
+        rope.copyTo(chars, 0);
+        return chars;
+    }
+
+    @Override
+    public TextLine line(int line) {
+        lineRangeCheck(line);
+        int startOffset = lineStartOffset(line);
+        int endOffset = lineEndOffset(line);
+        int endOffsetWithNewLines = line == rope.lineBreaks ? rope.length : lineStartOffset(line + 1);
+        return new TextLine(line, substring(startOffset, endOffset), startOffset, endOffset,
+                endOffsetWithNewLines - endOffset);
+    }
+
+    @Override
+    public LinePosition linePositionFrom(int textPosition) {
+        if (textPosition < 0 || textPosition > rope.length) {
+            throw new IndexOutOfBoundsException("Index: '" + textPosition + "', Size: '" + rope.length + "'");
+        }
+        int line = Rope.lineBreaksUpTo(rope, textPosition);
+        return LinePosition.from(line, textPosition - lineStartOffset(line));
+    }
+
+    @Override
+    public int textPositionFrom(LinePosition linePosition) {
+        lineRangeCheck(linePosition.line());
+        int startOffset = lineStartOffset(linePosition.line());
+        if (lineEndOffset(linePosition.line()) - startOffset < linePosition.offset()) {
+            throw new IllegalArgumentException("Cannot find a line with the character offset '" +
+                    linePosition.offset() + "'");
+        }
+        return startOffset + linePosition.offset();
+    }
+
+    @Override
+    public String toString() {
+        return new String(toCharArray());
+    }
+
+    @Override
+    public int length() {
+        return rope.length;
+    }
+
+    @Override
+    public String substring(int startOffset, int endOffset) {
+        Rope substring = Rope.substring(rope, startOffset, endOffset);
+        char[] chars = new char[substring.length];
+        substring.copyTo(chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Returns the chunk of the text which contains the given position.
+     *
+     * @param position position within the text
+     * @return the chunk which contains the position
+     */
+    Chunk chunkAt(int position) {
+        Rope node = rope;
+        int startOffset = 0;
+        while (node instanceof Concat) {
+            Concat concat = (Concat) node;
+            if (position - startOffset < concat.left.length) {
+                node = concat.left;
+            } else {
+                startOffset += concat.left.length;
+                node = concat.right;
+            }
+        }
+        return new Chunk(((Leaf) node).chars, startOffset);
+    }
+
+    private void lineRangeCheck(int line) {
+        if (line < 0 || line > rope.lineBreaks) {
+            throw new IndexOutOfBoundsException("Line number: '" + line + "', Size: '" + (rope.lineBreaks + 1) + "'");
+        }
+    }
+
+    private int lineStartOffset(int line) {
+        return line == 0 ? 0 : Rope.lineBreakEndOffset(rope, line);
+    }
+
+    private int lineEndOffset(int line) {
+        if (line == rope.lineBreaks) {
+            return rope.length;
+        }
+        int endOffset = lineStartOffset(line + 1) - 1;
+        if (endOffset > 0 && Rope.charAt(rope, endOffset) == '\n' && Rope.charAt(rope, endOffset - 1) == '\r') {
+            endOffset--;
+        }
+        return endOffset;
+    }
+
+    /**
+     * A chunk of the text, along with its start offset within the text.
+     */
+    static class Chunk {
+        final char[] chars;
+        final int startOffset;
+
+        Chunk(char[] chars, int startOffset) {
+            this.chars = chars;
+            this.startOffset = startOffset;
+        }
+    }
+
+    /**
+     * A node of the tree of chunks, which is balanced as an AVL tree.
+     * <p>
+     * A line break is a "\r\n", a "\r" or a "\n". A "\r\n" may be split between two chunks, in which case the "\r" is
+     * counted as a line break in the left node, and the line breaks of two nodes are adjusted once they are joined.
+     */
+    private abstract static class Rope {
+        final int length;
+        final int depth;
+        final int lineBreaks;
+        final boolean startsWithLF;
+        final boolean endsWithCR;
+
+        Rope(int length, int depth, int lineBreaks, boolean startsWithLF, boolean endsWithCR) {
+            this.length = length;
+            this.depth = depth;
+            this.lineBreaks = lineBreaks;
+            this.startsWithLF = startsWithLF;
+            this.endsWithCR = endsWithCR;
+        }
+
+        abstract void copyTo(char[] chars, int offset);
+
+        static Rope from(char[] chars) {
+            if (chars.length <= MAX_CHUNK_LENGTH) {
+                return chars.length == 0 ? EMPTY : new Leaf(chars);
+            }
+            int chunkCount = (chars.length + MAX_CHUNK_LENGTH - 1) / MAX_CHUNK_LENGTH;
+            return from(chars, 0, chunkCount);
+        }
+
+        private static Rope from(char[] chars, int startChunk, int endChunk) {
+            if (endChunk - startChunk == 1) {
+                int startOffset = startChunk * MAX_CHUNK_LENGTH;
+                int endOffset = Math.min(startOffset + MAX_CHUNK_LENGTH, chars.length);
+                return new Leaf(Arrays.copyOfRange(chars, startOffset, endOffset));
+            }
+            int middleChunk = (startChunk + endChunk) >>> 1;
+            return new Concat(from(chars, startChunk, middleChunk), from(chars, middleChunk, endChunk));
+        }
+
+        static Rope concat(Rope left, Rope right) {
+            if (left.length == 0) {
+                return right;
+            }
+            if (right.length == 0) {
+                return left;
+            }
+            if (left instanceof Leaf && right instanceof Leaf && left.length + right.length <= MAX_CHUNK_LENGTH) {
+                char[] chars = Arrays.copyOf(((Leaf) left).chars, left.length + right.length);
+                System.arraycopy(((Leaf) right).chars, 0, chars, left.length, right.length);
+                return new Leaf(chars);
+            }
+            if (left.depth > right.depth + 1) {
+                Concat concat = (Concat) left;
+                return balance(concat.left, concat(concat.right, right));
+            }
+            if (right.depth > left.depth + 1) {
+                Concat concat = (Concat) right;
+                return balance(concat(left, concat.left), concat.right);
+            }
+            return new Concat(left, right);
+        }
+
+        private static Rope balance(Rope left, Rope right) {
+            if (left.depth > right.depth + 1) {
+                Concat concat = (Concat) left;
+                if (concat.left.depth >= concat.right.depth) {
+                    return new Concat(concat.left, new Concat(concat.right, right));
+                }
+                Concat inner = (Concat) concat.right;
+                return new Concat(new Concat(concat.left, inner.left), new Concat(inner.right, right));
+            }
+            if (right.depth > left.depth + 1) {
+                Concat concat = (Concat) right;
+                if (concat.right.depth >= concat.left.depth) {
+                    return new Concat(new Concat(left, concat.left), concat.right);
+                }
+                Concat inner = (Concat) concat.left;
+                return new Concat(new Concat(left, inner.left), new Concat(inner.right, concat.right));
+            }
+            return new Concat(left, right);
+        }
+
+        static Rope substring(Rope node, int startOffset, int endOffset) {
+            if (startOffset >= endOffset) {
+                return EMPTY;
+            }
+            if (startOffset == 0 && endOffset == node.length) {
+                return node;
+            }
+            if (node instanceof Leaf) {
+                return new Leaf(Arrays.copyOfRange(((Leaf) node).chars, startOffset, endOffset));
+            }
+            Concat concat = (Concat) node;
+            int leftLength = concat.left.length;
+            if (endOffset <= leftLength) {
+                return substring(concat.left, startOffset, endOffset);
+            }
+            if (startOffset >= leftLength) {
+                return substring(concat.right, startOffset - leftLength, endOffset - leftLength);
+            }
+            return concat(substring(concat.left, startOffset, leftLength),
+                    substring(concat.right, 0, endOffset - leftLength));
+        }
+
+        static char charAt(Rope node, int position) {
+            while (node instanceof Concat) {
+                Concat concat = (Concat) node;
+                if (position < concat.left.length) {
+                    node = concat.left;
+                } else {
+                    position -= concat.left.length;
+                    node = concat.right;
+                }
+            }
+            return ((Leaf) node).chars[position];
+        }
+
+        /**
+         * Returns the offset right after the nth line break of a node, where n starts from one.
+         */
+        static int lineBreakEndOffset(Rope node, int lineBreak) {
+            int startOffset = 0;
+            while (node instanceof Concat) {
+                Concat concat = (Concat) node;
+                Rope left = concat.left;
+                boolean splitCRLF = left.endsWithCR && concat.right.startsWithLF;
+                if (lineBreak < left.lineBreaks || (lineBreak == left.lineBreaks && !splitCRLF)) {
+                    node = left;
+                } else if (lineBreak == left.lineBreaks) {
+                    return startOffset + left.length + 1;
+                } else {
+                    lineBreak -= left.lineBreaks - (splitCRLF ? 1 : 0);
+                    startOffset += left.length;
+                    node = concat.right;
+                }
+            }
+            return startOffset + ((Leaf) node).lineBreakEndOffset(lineBreak);
+        }
+
+        /**
+         * Returns the number of line breaks of a node which end at or before the given position.
+         */
+        static int lineBreaksUpTo(Rope node, int position) {
+            int lineBreaks = 0;
+            while (node instanceof Concat) {
+                Concat concat = (Concat) node;
+                Rope left = concat.left;
+                boolean splitCRLF = left.endsWithCR && concat.right.startsWithLF;
+                if (position < left.length) {
+                    node = left;
+                } else if (position == left.length) {
+                    return lineBreaks + left.lineBreaks - (splitCRLF ? 1 : 0);
+                } else {
+                    lineBreaks += left.lineBreaks - (splitCRLF ? 1 : 0);
+                    position -= left.length;
+                    node = concat.right;
+                }
+            }
+            return lineBreaks + ((Leaf) node).lineBreaksUpTo(position);
+        }
+    }
+
+    private static class Leaf extends Rope {
+        private final char[] chars;
+
+        Leaf(char[] chars) {
+            super(chars.length, 0, countLineBreaks(chars, chars.length), chars.length > 0 && chars[0] == '\n',
+                    chars.length > 0 && chars[chars.length - 1] == '\r');
+            this.chars = chars;
+        }
+
+        @Override
+        void copyTo(char[] chars, int offset) {
+            System.arraycopy(this.chars, 0, chars, offset, this.chars.length);
+        }
+
+        int lineBreakEndOffset(int lineBreak) {
+            int lineBreaks = 0;
+            for (int i = 0; i < chars.length; i++) {
+                if (isLineBreakEnd(chars, i) && ++lineBreaks == lineBreak) {
+                    return i + 1;
+                }
+            }
+            throw new IndexOutOfBoundsException("Line break: '" + lineBreak + "', Size: '" + lineBreaks + "'");
+        }
+
+        int lineBreaksUpTo(int position) {
+            return countLineBreaks(chars, position);
+        }
+
+        private static int countLineBreaks(char[] chars, int endOffset) {
+            int lineBreaks = 0;
+            for (int i = 0; i < endOffset; i++) {
+                if (isLineBreakEnd(chars, i)) {
+                    lineBreaks++;
+                }
+            }
+            return lineBreaks;
+        }
+
+        private static boolean isLineBreakEnd(char[] chars, int index) {
+            char c = chars[index];
+            return c == '\n' || (c == '\r' && (index + 1 == chars.length || chars[index + 1] != '\n'));
+        }
+    }
+
+    private static class Concat extends Rope {
+        private final Rope left;
+        private final Rope right;
+
+        Concat(Rope left, Rope right) {
+            super(left.length + right.length, Math.max(left.depth, right.depth) + 1,
+                    left.lineBreaks + right.lineBreaks - (left.endsWithCR && right.startsWithLF ? 1 : 0),
+                    left.startsWithLF, right.endsWithCR);
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        void copyTo(char[] chars, int offset) {
+            left.copyTo(chars, offset);
+            right.copyTo(chars, offset + left.length);
+        }
+    }
+}
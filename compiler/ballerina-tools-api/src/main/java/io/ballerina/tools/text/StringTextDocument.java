@@ -35,18 +35,8 @@ class StringTextDocument extends TextDocument {
 
     @Override
     public TextDocument apply(TextDocumentChange textDocumentChange) {
-        int startOffset = 0;
-        StringBuilder sb = new StringBuilder();
-        int textEditCount = textDocumentChange.getTextEditCount();
-        for (int i = 0; i < textEditCount; i++) {
-            TextEdit textEdit = textDocumentChange.getTextEdit(i);
-            TextRange textRange = textEdit.range();
-            sb.append(text, startOffset, textRange.startOffset());
-            sb.append(textEdit.text());
-            startOffset = textRange.endOffset();
-        }
-        sb.append(text, startOffset, text.length());
-        return new StringTextDocument(sb.toString());
+        // A document which is changed once is likely to be changed again
+        return new RopeTextDocument(text).apply(textDocumentChange);
     }
 
     @Override
@@ -63,6 +53,16 @@ class StringTextDocument extends TextDocument {
         return this.text.toCharArray();
     }
 
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public String substring(int startOffset, int endOffset) {
+        return text.substring(startOffset, endOffset);
+    }
+
     public String toString() {
         return text;
     }
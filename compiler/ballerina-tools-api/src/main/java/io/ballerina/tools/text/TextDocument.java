@@ -38,6 +38,26 @@ public abstract class TextDocument {
      */
     public abstract char[] toCharArray();
 
+    /**
+     * Returns the number of characters in the text.
+     *
+     * @return length of the text
+     */
+    public int length() {
+        return toCharArray().length;
+    }
+
+    /**
+     * Returns the text between the given offsets.
+     *
+     * @param startOffset start offset, inclusive
+     * @param endOffset   end offset, exclusive
+     * @return the text between the offsets
+     */
+    public String substring(int startOffset, int endOffset) {
+        return new String(toCharArray(), startOffset, endOffset - startOffset);
+    }
+
     public TextLine line(int line) {
         return lines().textLine(line);
     }
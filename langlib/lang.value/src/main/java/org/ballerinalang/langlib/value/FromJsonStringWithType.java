@@ -18,8 +18,10 @@
 package org.ballerinalang.langlib.value;
 
 import io.ballerina.runtime.JSONParser;
+import io.ballerina.runtime.TypedJSONParser;
 import io.ballerina.runtime.api.ErrorCreator;
 import io.ballerina.runtime.api.StringUtils;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 import io.ballerina.runtime.util.exceptions.BallerinaException;
@@ -40,13 +42,27 @@ public class FromJsonStringWithType {
         try {
             if (str.equals("null")) {
                 return FromJsonWithType.fromJsonWithType(null, t);
-            } else {
-                Object jsonFromString = JSONParser.parse(str);
-                return FromJsonWithType.fromJsonWithType(jsonFromString, t);
             }
+            // Reports the same error as converting the value parsed by the JSONParser.
+            return TypedJSONParser.parse(str, t, (json, type) -> FromJsonWithType.convert(json, type, t));
+        } catch (BError e) {
+            return e;
         } catch (BallerinaException e) {
             return ErrorCreator.createError(VALUE_LANG_LIB_CONVERSION_ERROR,
-                                            StringUtils.fromString(e.getMessage()));
+                                            StringUtils.fromString(getSyntaxErrorMessage(str, e)));
         }
     }
+
+    /**
+     * The typed parser may report a syntax error at a different position than the JSONParser. A document which is not
+     * valid JSON is parsed again, only to report the same error as parsing it with the JSONParser.
+     */
+    private static String getSyntaxErrorMessage(String str, BallerinaException typedParserError) {
+        try {
+            JSONParser.parse(str);
+        } catch (BallerinaException e) {
+            return e.getMessage();
+        }
+        return typedParserError.getMessage();
+    }
 }
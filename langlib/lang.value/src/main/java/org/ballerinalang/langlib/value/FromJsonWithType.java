@@ -73,6 +73,10 @@ public class FromJsonWithType {
         }
     }
 
+    static Object convert(Object value, Type targetType, BTypedesc t) {
+        return convert(value, targetType, new ArrayList<>(), t);
+    }
+
     private static Object convert(Object value, Type targetType, List<TypeValuePair> unresolvedValues,
                                   BTypedesc t) {
 
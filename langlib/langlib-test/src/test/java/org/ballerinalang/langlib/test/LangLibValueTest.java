@@ -311,6 +311,26 @@ public class LangLibValueTest {
         };
     }
 
+    @Test(dataProvider = "cloneWithTypeRecursiveFunctions")
+    public void testCloneWithTypeRecursive(String function) {
+        BRunUtil.invoke(compileResult, function);
+    }
+
+    @DataProvider(name = "cloneWithTypeRecursiveFunctions")
+    public Object[][] cloneWithTypeRecursiveFunctions() {
+        return new Object[][] {
+                { "testCloneWithTypeRecursiveRecord" },
+                { "testCloneWithTypeClosedRecursiveRecord" },
+                { "testCloneWithTypeRecursiveRecordMap" },
+                { "testCloneWithTypeRecursiveRecordTuple" },
+                { "testCloneWithTypeSharedAndEqualValues" },
+                { "testCloneWithTypeLargeRecursiveValue" },
+                { "testCloneWithTypeCyclicRecord" },
+                { "testCloneWithTypeCyclicJson" },
+                { "testCloneWithTypeCyclicValueLikeRecord" }
+        };
+    }
+
     @Test(dataProvider = "fromJsonWithTypeFunctions")
     public void testFromJsonWithType(String function) {
         BRunUtil.invoke(compileResult, function);
@@ -350,6 +370,7 @@ public class LangLibValueTest {
                 { "testFromJsonStringWithTypeStringArray" },
                 { "testFromJsonStringWithTypeArrayNegative" },
                 { "testFromJsonStringWithTypeIntArray" },
+                { "testFromJsonStringWithTypeRecordArray" },
         };
     }
 
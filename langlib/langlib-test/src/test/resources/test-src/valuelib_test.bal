@@ -674,6 +674,193 @@ function testCloneWithTypeStringArray() {
     assert(clonedArr[1], "world");
 }
 
+type Node record {
+    int value;
+    Node next?;
+};
+
+type ClosedNode record {|
+    int value;
+    ClosedNode? next;
+    string label?;
+|};
+
+type NodeArray Node[];
+type NodeMap map<Node>;
+type NodePair [Node, ClosedNode];
+
+function testCloneWithTypeRecursiveRecord() {
+    json j = {value: 1, next: {value: 2, next: {value: 3}}};
+    Node|error ne = j.cloneWithType(Node);
+    assert(ne is Node, true);
+
+    Node n = <Node> ne;
+    assert(n.value, 1);
+    Node next = <Node> n?.next;
+    assert(next.value, 2);
+    assert((<Node> next?.next).value, 3);
+    assert((<Node> next?.next)?.next, ());
+
+    json invalid = {value: 1, next: {value: 2, next: {value: "three"}}};
+    Node|error ie = invalid.cloneWithType(Node);
+    assert(ie is error, true);
+
+    error err = <error> ie;
+    assert(err.message(), "{ballerina/lang.typedesc}ConversionError");
+    assert(err.detail()["message"].toString(), "'map<json>' value cannot be converted to 'Node'");
+}
+
+function testCloneWithTypeClosedRecursiveRecord() {
+    json j = {value: 1, next: {value: 2, next: (), label: "last"}};
+    ClosedNode|error ce = j.cloneWithType(ClosedNode);
+    assert(ce is ClosedNode, true);
+
+    ClosedNode c = <ClosedNode> ce;
+    ClosedNode next = <ClosedNode> c.next;
+    assert(next.value, 2);
+    assert(next.next, ());
+    assert(next?.label, "last");
+    assert(c?.label, ());
+
+    // a required field is missing from the nested value
+    json missingField = {value: 1, next: {value: 2}};
+    assert(missingField.cloneWithType(ClosedNode) is error, true);
+
+    // the nested value has a field which is not a field of the closed record
+    json extraField = {value: 1, next: {value: 2, next: (), extra: true}};
+    assert(extraField.cloneWithType(ClosedNode) is error, true);
+}
+
+function testCloneWithTypeRecursiveRecordMap() {
+    json j = {a: {value: 1, next: {value: 2}}, b: {value: 3}};
+    map<Node>|error me = j.cloneWithType(NodeMap);
+    assert(me is map<Node>, true);
+
+    map<Node> m = <map<Node>> me;
+    assert(m.length(), 2);
+    assert((<Node> m.get("a")?.next).value, 2);
+    assert(m.get("b").value, 3);
+
+    json invalid = {a: {value: 1}, b: {value: 2, next: {next: {value: 4}}}};
+    assert(invalid.cloneWithType(NodeMap) is error, true);
+}
+
+function testCloneWithTypeRecursiveRecordTuple() {
+    json j = [{value: 1, next: {value: 2}}, {value: 3, next: {value: 4, next: ()}}];
+    [Node, ClosedNode]|error te = j.cloneWithType(NodePair);
+    assert(te is [Node, ClosedNode], true);
+
+    [Node, ClosedNode] t = <[Node, ClosedNode]> te;
+    assert((<Node> t[0]?.next).value, 2);
+    assert((<ClosedNode> t[1].next).value, 4);
+
+    // the second member is not like the closed record, since a nested value does not have the required field
+    json invalid = [{value: 1}, {value: 3, next: {value: 4}}];
+    assert(invalid.cloneWithType(NodePair) is error, true);
+
+    json tooShort = [{value: 1}];
+    assert(tooShort.cloneWithType(NodePair) is error, true);
+}
+
+function testCloneWithTypeSharedAndEqualValues() {
+    // the same value at several places, and values which are equal but not the same, are not cyclic
+    map<json> shared = {value: 1, next: {value: 2}};
+    json[] j = [shared, shared, {value: 1, next: {value: 2}}, shared];
+    Node[]|error ae = j.cloneWithType(NodeArray);
+    assert(ae is Node[], true);
+
+    Node[] a = <Node[]> ae;
+    assert(a.length(), 4);
+    foreach Node n in a {
+        assert(n.value, 1);
+        assert((<Node> n?.next).value, 2);
+        assert(n, a[0]);
+    }
+
+    json m = {first: shared, second: shared, third: {value: 1, next: {value: 2}}};
+    map<Node>|error me = m.cloneWithType(NodeMap);
+    assert(me is map<Node>, true);
+    assert((<map<Node>> me).get("second"), (<map<Node>> me).get("third"));
+
+    // a shared value which is not like the record is rejected wherever it is
+    map<json> invalid = {value: "one"};
+    json[] withInvalid = [{value: 1}, invalid, invalid];
+    assert(withInvalid.cloneWithType(NodeArray) is error, true);
+}
+
+function testCloneWithTypeLargeRecursiveValue() {
+    json[] nodes = [];
+    foreach int i in 0 ..< 1000 {
+        nodes.push({value: i, next: {value: i + 1, next: {value: i + 2}}});
+    }
+    Node[]|error ae = nodes.cloneWithType(NodeArray);
+    assert(ae is Node[], true);
+
+    Node[] a = <Node[]> ae;
+    assert(a.length(), 1000);
+    assert(a[999].value, 999);
+    assert((<Node> (<Node> a[999]?.next)?.next).value, 1001);
+
+    nodes.push({value: 1000, next: {value: 1001, next: {value: true}}});
+    assert(nodes.cloneWithType(NodeArray) is error, true);
+}
+
+function testCloneWithTypeCyclicRecord() {
+    Node n = {value: 1};
+    Node next = {value: 2, next: n};
+    n.next = next;
+
+    Node|error ce = n.cloneWithType(Node);
+    assert(ce is error, true);
+
+    error err = <error> ce;
+    assert(err.message(), "{ballerina/lang.typedesc}ConversionError");
+    assert(err.detail()["message"].toString(), "'Node' value has cyclic reference");
+}
+
+function testCloneWithTypeCyclicJson() {
+    map<json> m = {value: 1};
+    json[] arr = [m];
+    m["items"] = arr;
+
+    json|error me = m.cloneWithType(json);
+    assert(me is error, true);
+
+    error err = <error> me;
+    assert(err.message(), "{ballerina/lang.typedesc}ConversionError");
+    assert(err.detail()["message"].toString(), "'map<json>' value has cyclic reference");
+
+    json|error ae = arr.cloneWithType(json);
+    assert(ae is error, true);
+
+    err = <error> ae;
+    assert(err.detail()["message"].toString(), "'json[]' value has cyclic reference");
+}
+
+function testCloneWithTypeCyclicValueLikeRecord() {
+    // the value is like the record, since its shape is checked once for the cycle
+    map<anydata> like = {value: 1};
+    like["next"] = like;
+    map<anydata> likeMap = {a: like};
+
+    map<Node>|error le = likeMap.cloneWithType(NodeMap);
+    assert(le is error, true);
+
+    error err = <error> le;
+    assert(err.detail()["message"].toString(), "'map<anydata>' value has cyclic reference");
+
+    // the value is not like the record, which is found before the cycle
+    map<anydata> notLike = {value: "one"};
+    notLike["next"] = notLike;
+    map<anydata> notLikeMap = {a: notLike};
+
+    map<Node>|error ne = notLikeMap.cloneWithType(NodeMap);
+    assert(ne is error, true);
+
+    err = <error> ne;
+    assert(err.detail()["message"].toString().indexOf("cannot be converted") is int, true);
+}
+
 /////////////////////////// Tests for `fromJsonWithType()` ///////////////////////////
 type Student2 record {
     string name;
@@ -936,6 +1123,35 @@ function testFromJsonStringWithTypeIntArray() {
     assert(intArr[1], 2);
 }
 
+type Reading record {|
+    string sensor;
+    float[] values;
+    int? count;
+    boolean active?;
+|};
+
+type ReadingArray Reading[];
+
+function testFromJsonStringWithTypeRecordArray() {
+    string s = "[{\"sensor\":\"a\", \"values\":[1, 2.5, -0.0], \"count\":3, \"active\":true}, " +
+               "{\"sensor\":\"b\", \"values\":[], \"count\":null}]";
+    Reading[]|error readings = s.fromJsonStringWithType(ReadingArray);
+    Reading[] r = <Reading[]> readings;
+    assert(r.length(), 2);
+    assert(r[0].values, [1.0, 2.5, -0.0]);
+    assert(r[0].count, 3);
+    assert(r[0]?.active, true);
+    assert(r[1].count, ());
+    assert(r[1]?.active, ());
+
+    string missingField = "[{\"sensor\":\"a\", \"values\":[1]}]";
+    Reading[]|error invalid = missingField.fromJsonStringWithType(ReadingArray);
+    json j = <json> missingField.fromJsonString();
+    Reading[]|error expected = j.fromJsonWithType(ReadingArray);
+    assert(invalid is error, true);
+    assert((<error> invalid).message(), (<error> expected).message());
+}
+
 /////////////////////////// Tests for `toJson()` ///////////////////////////
 
 function testToJsonWithRecord1() {
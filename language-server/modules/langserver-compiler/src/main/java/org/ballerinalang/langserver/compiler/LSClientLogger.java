@@ -107,6 +107,16 @@ public class LSClientLogger {
         }
     }
 
+    /**
+     * Returns whether trace messages are logged, so that costly trace messages are only built when they are logged.
+     *
+     * @return true if trace messages are logged
+     */
+    public static boolean isTraceEnabled() {
+        return LSClientLogger.isInitializedOnce && configHolder.getConfig().isTraceLogEnabled() &&
+                LSClientLogger.languageClient != null;
+    }
+
     private static String getErrorDetails(TextDocumentIdentifier identifier, Throwable error, Position... position) {
         String msg = error.getMessage();
         StringBuilder result = new StringBuilder("{");
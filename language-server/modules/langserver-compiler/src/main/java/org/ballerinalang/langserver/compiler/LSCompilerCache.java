@@ -20,15 +20,58 @@ import com.google.common.cache.CacheBuilder;
 import org.ballerinalang.langserver.commons.LSContext;
 import org.ballerinalang.langserver.compiler.common.modal.BallerinaFile;
 import org.wso2.ballerinalang.compiler.SourceDirectory;
+import org.wso2.ballerinalang.compiler.semantics.model.Scope;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BAttachedFunction;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BConstantSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BStructureTypeSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BArrayType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BErrorType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BFutureType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BIntersectionType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BMapType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BStreamType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BStructureType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BTableType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BTupleType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BTypedescType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
+import org.wso2.ballerinalang.compiler.tree.BLangIdentifier;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
+import org.wso2.ballerinalang.util.Flags;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
 import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
@@ -40,12 +83,18 @@ import static org.ballerinalang.compiler.CompilerOptionName.TEST_ENABLED;
  * <p>
  * This Cache heavily depends on the LSP protocol for the cache eviction such that didChange, didOpen and didClose
  * clears the related entries from the cache.
+ * <p>
+ * Besides the compiled packages, the cache keeps the imports, the exported API and a hash of the sources of each
+ * module of a project. The compiled modules kept in the {@link LSPackageCache} are reused as long as their sources on
+ * disk and the exported APIs of the modules they import do not change, hence only the edited module, the modules
+ * changed on disk and the dependents of the modules whose exported API changed need to be recompiled.
  *
  * @since 1.0.0
  */
 public class LSCompilerCache {
     private static final long MAX_CACHE_COUNT = 10L;
     private static Map<Key, CacheEntry> packageMap;
+    private static final Map<String, Map<String, ModuleEntry>> projectModuleMap = new ConcurrentHashMap<>();
 
     static {
         Cache<Key, CacheEntry> cache = CacheBuilder.newBuilder()
@@ -156,6 +205,7 @@ public class LSCompilerCache {
      */
     public static void clearAll() {
         packageMap.clear();
+        projectModuleMap.clear();
     }
 
     public static void markOutDated(Key key) {
@@ -166,6 +216,102 @@ public class LSCompilerCache {
         }
     }
 
+    /**
+     * Returns True, if the imports and the exported APIs of the modules of the project are known.
+     *
+     * @param sourceRoot source root
+     * @return True, if the modules of the project are known, False otherwise
+     */
+    public static boolean hasModules(String sourceRoot) {
+        return projectModuleMap.containsKey(sourceRoot);
+    }
+
+    /**
+     * Records the imports and the exported APIs of the modules of a project, and returns the modules which were added,
+     * removed or whose exported API changed since the modules of the project were last recorded.
+     *
+     * @param sourceRoot    source root
+     * @param bLangPackages all the modules of the project
+     * @return names of the changed modules
+     */
+    public static synchronized Set<String> updateModules(String sourceRoot, List<BLangPackage> bLangPackages) {
+        Map<String, ModuleEntry> modules = new HashMap<>();
+        for (BLangPackage bLangPackage : bLangPackages) {
+            String moduleName = getModuleName(bLangPackage);
+            modules.put(moduleName, new ModuleEntry(sourceRoot, moduleName, bLangPackage));
+        }
+        Map<String, ModuleEntry> previousModules = projectModuleMap.put(sourceRoot, modules);
+        if (previousModules == null) {
+            return Collections.emptySet();
+        }
+
+        Set<String> changedModules = new HashSet<>();
+        previousModules.forEach((name, previous) -> {
+            ModuleEntry current = modules.get(name);
+            if (current == null || current.exportedApiHash != previous.exportedApiHash) {
+                changedModules.add(name);
+            }
+        });
+        modules.keySet().stream().filter(name -> !previousModules.containsKey(name)).forEach(changedModules::add);
+        return changedModules;
+    }
+
+    /**
+     * Returns the modules of a project whose sources changed on disk since the modules of the project were last
+     * recorded, e.g. by a checkout or an edit outside of the editor. Such modules can not be reused from the
+     * {@link LSPackageCache}, since they are not edited through the LSP protocol.
+     * <p>
+     * A module whose sources can not be read is always considered as changed.
+     *
+     * @param sourceRoot source root
+     * @return names of the changed modules
+     */
+    public static synchronized List<String> getModifiedModules(String sourceRoot) {
+        Map<String, ModuleEntry> projectModules = projectModuleMap.get(sourceRoot);
+        if (projectModules == null) {
+            return Collections.emptyList();
+        }
+        List<String> modifiedModules = new ArrayList<>();
+        projectModules.forEach((name, module) -> {
+            int sourceHash = ModuleEntry.getSourceHash(sourceRoot, name);
+            if (sourceHash == 0 || sourceHash != module.sourceHash) {
+                modifiedModules.add(name);
+            }
+        });
+        return modifiedModules;
+    }
+
+    /**
+     * Returns the modules of a project which import any of the given modules, directly or through other modules.
+     *
+     * @param sourceRoot source root
+     * @param modules    names of the imported modules
+     * @return names of the dependent modules
+     */
+    public static synchronized List<String> getDependentModules(String sourceRoot, Set<String> modules) {
+        Map<String, ModuleEntry> projectModules = projectModuleMap.get(sourceRoot);
+        if (projectModules == null || modules.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<String> dependentModules = new HashSet<>();
+        Deque<String> importedModules = new ArrayDeque<>(modules);
+        while (!importedModules.isEmpty()) {
+            String importedModule = importedModules.pop();
+            projectModules.forEach((name, module) -> {
+                if (module.imports.contains(importedModule) && dependentModules.add(name)) {
+                    importedModules.push(name);
+                }
+            });
+        }
+        dependentModules.removeAll(modules);
+        return new ArrayList<>(dependentModules);
+    }
+
+    private static String getModuleName(BLangPackage bLangPackage) {
+        return bLangPackage.packageID.getNameComps().stream().map(Name::getValue).collect(Collectors.joining("."));
+    }
+
     /**
      * Represents a composite cache key.
      */
@@ -256,4 +402,178 @@ public class LSCompilerCache {
             return isOutdated;
         }
     }
+
+    /**
+     * Represents the imports, the exported API and the sources of a module.
+     */
+    private static class ModuleEntry {
+        private final Set<String> imports = new HashSet<>();
+        private final int exportedApiHash;
+        private final int sourceHash;
+
+        ModuleEntry(String sourceRoot, String moduleName, BLangPackage bLangPackage) {
+            addImports(bLangPackage);
+            bLangPackage.getTestablePkgs().forEach(this::addImports);
+            this.exportedApiHash = getExportedApiHash(bLangPackage);
+            this.sourceHash = getSourceHash(sourceRoot, moduleName);
+        }
+
+        private void addImports(BLangPackage bLangPackage) {
+            String orgName = bLangPackage.packageID.orgName.value;
+            for (BLangImportPackage importPackage : bLangPackage.imports) {
+                // Only the modules of the same organization can be modules of the project
+                String importOrgName = importPackage.orgName.value;
+                if (importOrgName == null || importOrgName.isEmpty() || importOrgName.equals(orgName)) {
+                    imports.add(importPackage.pkgNameComps.stream()
+                            .map(BLangIdentifier::getValue)
+                            .collect(Collectors.joining(".")));
+                }
+            }
+        }
+
+        private static int getExportedApiHash(BLangPackage bLangPackage) {
+            if (bLangPackage.symbol == null) {
+                return 0;
+            }
+            List<String> signatures = new ArrayList<>();
+            for (Scope.ScopeEntry entry : bLangPackage.symbol.scope.entries.values()) {
+                // Entries with the same name are chained
+                for (Scope.ScopeEntry current = entry; current != null && current != Scope.NOT_FOUND_ENTRY;
+                     current = current.next) {
+                    BSymbol symbol = current.symbol;
+                    if (symbol == null || (symbol.flags & Flags.PUBLIC) != Flags.PUBLIC) {
+                        continue;
+                    }
+                    StringBuilder signature = new StringBuilder()
+                            .append(symbol.name).append(' ').append(symbol.tag).append(' ').append(symbol.flags);
+                    if (symbol instanceof BConstantSymbol) {
+                        signature.append(" = ").append(((BConstantSymbol) symbol).value);
+                    }
+                    if (symbol instanceof BInvokableSymbol) {
+                        appendParams(signature, (BInvokableSymbol) symbol);
+                    }
+                    // The types reachable from the signature are a part of the exported API, even if they are not
+                    // public themselves
+                    appendType(signature, symbol.type, new HashSet<>());
+                    signatures.add(signature.toString());
+                }
+            }
+            Collections.sort(signatures);
+            return signatures.hashCode();
+        }
+
+        private static void appendParams(StringBuilder signature, BInvokableSymbol symbol) {
+            if (symbol.params != null) {
+                for (BVarSymbol param : symbol.params) {
+                    signature.append(' ').append(param.name).append(':').append(param.flags)
+                            .append(':').append(param.defaultableParam);
+                }
+            }
+            if (symbol.restParam != null) {
+                signature.append(" ...").append(symbol.restParam.name);
+            }
+        }
+
+        private static void appendType(StringBuilder signature, BType type, Set<BType> visitedTypes) {
+            signature.append(' ').append(type);
+            if (type == null || !visitedTypes.add(type)) {
+                return;
+            }
+            signature.append('{');
+            if (type instanceof BStructureType) {
+                for (BField field : ((BStructureType) type).fields.values()) {
+                    signature.append(' ').append(field.name).append(':')
+                            .append(field.symbol != null ? field.symbol.flags : 0);
+                    appendType(signature, field.type, visitedTypes);
+                }
+                if (type instanceof BRecordType) {
+                    BRecordType recordType = (BRecordType) type;
+                    signature.append(" sealed:").append(recordType.sealed);
+                    appendType(signature, recordType.restFieldType, visitedTypes);
+                }
+            } else if (type instanceof BInvokableType) {
+                BInvokableType invokableType = (BInvokableType) type;
+                appendTypes(signature, invokableType.paramTypes, visitedTypes);
+                appendType(signature, invokableType.restType, visitedTypes);
+                appendType(signature, invokableType.retType, visitedTypes);
+            } else if (type instanceof BUnionType) {
+                appendTypes(signature, ((BUnionType) type).getMemberTypes(), visitedTypes);
+            } else if (type instanceof BIntersectionType) {
+                appendTypes(signature, ((BIntersectionType) type).getConstituentTypes(), visitedTypes);
+                appendType(signature, ((BIntersectionType) type).effectiveType, visitedTypes);
+            } else if (type instanceof BArrayType) {
+                appendType(signature, ((BArrayType) type).eType, visitedTypes);
+            } else if (type instanceof BTupleType) {
+                appendTypes(signature, ((BTupleType) type).tupleTypes, visitedTypes);
+                appendType(signature, ((BTupleType) type).restType, visitedTypes);
+            } else if (type instanceof BMapType) {
+                appendType(signature, ((BMapType) type).constraint, visitedTypes);
+            } else if (type instanceof BTableType) {
+                appendType(signature, ((BTableType) type).constraint, visitedTypes);
+                appendType(signature, ((BTableType) type).keyTypeConstraint, visitedTypes);
+            } else if (type instanceof BStreamType) {
+                appendType(signature, ((BStreamType) type).constraint, visitedTypes);
+                appendType(signature, ((BStreamType) type).error, visitedTypes);
+            } else if (type instanceof BErrorType) {
+                appendType(signature, ((BErrorType) type).detailType, visitedTypes);
+            } else if (type instanceof BFutureType) {
+                appendType(signature, ((BFutureType) type).constraint, visitedTypes);
+            } else if (type instanceof BTypedescType) {
+                appendType(signature, ((BTypedescType) type).constraint, visitedTypes);
+            }
+            if (type.tsymbol instanceof BStructureTypeSymbol) {
+                BStructureTypeSymbol typeSymbol = (BStructureTypeSymbol) type.tsymbol;
+                if (typeSymbol.initializerFunc != null) {
+                    appendFunction(signature, typeSymbol.initializerFunc, visitedTypes);
+                }
+                for (BAttachedFunction function : typeSymbol.attachedFuncs) {
+                    appendFunction(signature, function, visitedTypes);
+                }
+            }
+            signature.append('}');
+        }
+
+        private static void appendTypes(StringBuilder signature, Collection<BType> types, Set<BType> visitedTypes) {
+            if (types == null) {
+                return;
+            }
+            // The order of the member types of a union is not a part of the exported API
+            types.stream().map(type -> {
+                StringBuilder typeSignature = new StringBuilder();
+                appendType(typeSignature, type, visitedTypes);
+                return typeSignature.toString();
+            }).sorted().forEach(signature::append);
+        }
+
+        private static void appendFunction(StringBuilder signature, BAttachedFunction function,
+                                           Set<BType> visitedTypes) {
+            signature.append(' ').append(function.funcName).append(':')
+                    .append(function.symbol != null ? function.symbol.flags : 0);
+            if (function.symbol != null) {
+                appendParams(signature, function.symbol);
+            }
+            appendType(signature, function.type, visitedTypes);
+        }
+
+        private static int getSourceHash(String sourceRoot, String moduleName) {
+            Path modulePath = Paths.get(sourceRoot, ProjectDirConstants.SOURCE_DIR_NAME, moduleName);
+            if (!Files.isDirectory(modulePath)) {
+                return 0;
+            }
+            try (Stream<Path> paths = Files.walk(modulePath)) {
+                List<Path> sourceFiles = paths
+                        .filter(path -> path.toString().endsWith(ProjectDirConstants.BLANG_SOURCE_EXT))
+                        .sorted()
+                        .collect(Collectors.toList());
+                int sourceHash = 1;
+                for (Path sourceFile : sourceFiles) {
+                    sourceHash = 31 * sourceHash + sourceFile.hashCode();
+                    sourceHash = 31 * sourceHash + Arrays.hashCode(Files.readAllBytes(sourceFile));
+                }
+                return sourceHash;
+            } catch (IOException | UncheckedIOException e) {
+                return 0;
+            }
+        }
+    }
 }
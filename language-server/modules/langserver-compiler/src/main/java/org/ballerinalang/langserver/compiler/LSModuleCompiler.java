@@ -41,6 +41,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -147,12 +148,39 @@ public class LSModuleCompiler {
                 .collect(Collectors.joining(".")));
 
         if (compileFullProject && !projectRoot.isEmpty() && sourceDoc.isWithinProject()) {
-            if (clearProjectModules) {
-                // If the flag is set, we remove all the modules in the current project from the LSPackageCache
-                LSPackageCache.getInstance(compilerContext).invalidateProjectModules(sourceDoc.getProjectModules());
+            LSPackageCache lsPackageCache = LSPackageCache.getInstance(compilerContext);
+            if (clearProjectModules && !LSCompilerCache.hasModules(projectRoot)) {
+                // If the flag is set and the imports of the project modules are not known yet, we remove all the
+                // modules in the current project from the LSPackageCache. Otherwise only the current module, which
+                // is removed while preparing the compiler context, and its dependents need to be recompiled.
+                lsPackageCache.invalidateProjectModules(sourceDoc.getProjectModules());
+            } else if (clearProjectModules) {
+                // The modules changed on disk outside of the editor are not reused from the LSPackageCache
+                List<String> modifiedModules = LSCompilerCache.getModifiedModules(projectRoot);
+                if (!modifiedModules.isEmpty()) {
+                    LSClientLogger.logTrace("Operation '" + context.getOperation().getName() + "' {projectRoot: '" +
+                            projectRoot + "'}, recompiling " + modifiedModules + " since their sources changed");
+                    lsPackageCache.invalidateProjectModules(modifiedModules);
+                }
             }
             Compiler compiler = LSCompilerUtil.getCompiler(context, compilerContext);
             List<BLangPackage> projectPackages = compilePackagesSafe(compiler, projectRoot, false, context);
+            if (clearProjectModules) {
+                // The dependents of the modules whose exported API changed were reused from the LSPackageCache,
+                // hence they are recompiled against the changed modules
+                Set<String> changedModules = LSCompilerCache.updateModules(projectRoot, projectPackages);
+                List<String> dependentModules = LSCompilerCache.getDependentModules(projectRoot, changedModules);
+                if (!dependentModules.isEmpty()) {
+                    LSClientLogger.logTrace("Operation '" + context.getOperation().getName() + "' {projectRoot: '" +
+                            projectRoot + "'}, recompiling " + dependentModules + " since the exported API of " +
+                            changedModules + " changed");
+                    lsPackageCache.invalidateProjectModules(dependentModules);
+                    LSCompilerCache.clear(context, projectRoot);
+                    compiler = LSCompilerUtil.getCompiler(context, compilerContext);
+                    projectPackages = compilePackagesSafe(compiler, projectRoot, false, context);
+                    LSCompilerCache.updateModules(projectRoot, projectPackages);
+                }
+            }
             packages.addAll(projectPackages);
             Optional<BLangPackage> currentPkg = projectPackages.stream().filter(bLangPackage -> {
                 String name = bLangPackage.packageID.nameComps.stream()
@@ -101,7 +101,7 @@ public class ExtendedWorkspaceDocumentManagerImpl extends WorkspaceDocumentManag
             throws WorkspaceDocumentException {
         if (isExplicitMode && isTempFile(filePath)) {
             // If explicit mode is on and temp file, handle it locally
-            tempDocument.setContent(content.get(0).getText());
+            tempDocument.applyChanges(content);
         } else {
             // Or else, call parent class
             if (super.isFileOpen(filePath)) {
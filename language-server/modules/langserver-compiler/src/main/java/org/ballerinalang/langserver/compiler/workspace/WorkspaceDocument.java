@@ -17,11 +17,22 @@
  */
 package org.ballerinalang.langserver.compiler.workspace;
 
+import io.ballerina.compiler.syntax.tree.ModulePartNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.NonTerminalNode;
 import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.tools.text.LinePosition;
+import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
 import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextRange;
 import org.ballerinalang.langserver.commons.workspace.LSDocumentIdentifier;
+import org.ballerinalang.langserver.compiler.LSClientLogger;
 import org.ballerinalang.langserver.compiler.common.LSDocumentIdentifierImpl;
 import org.eclipse.lsp4j.CodeLens;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -29,6 +40,10 @@ import java.util.List;
 
 /**
  * Represents a document open in workspace.
+ * <p>
+ * Once the document is opened, its syntax tree is updated with the incremental parser, which reuses the unmodified
+ * top level nodes, function bodies and statements of the previous tree. When the whole content is set, the change
+ * is narrowed down to the text between the common prefix and the common suffix of the old and the new content.
  */
 public class WorkspaceDocument {
     /* Tracking code lenses sent to client, to make-use in compilation failures */
@@ -40,14 +55,7 @@ public class WorkspaceDocument {
 
     public WorkspaceDocument(Path path, String content, boolean isTempFile) {
         this.path = path;
-        this.content = content;
-        Path namePart = path.getFileName();
-        if (namePart != null) {
-            String fileName = namePart.toString();
-            setTree(SyntaxTree.from(TextDocuments.from(this.content), fileName));
-        } else {
-            setTree(SyntaxTree.from(TextDocuments.from(this.content)));
-        }
+        setTree(parse(content));
         this.codeLenses = new ArrayList<>();
         lsDocument = isTempFile ? null : new LSDocumentIdentifierImpl(path.toUri().toString());
     }
@@ -73,29 +81,147 @@ public class WorkspaceDocument {
     }
 
     public String getContent() {
+        // TODO: Added to support inter-operability. Remove this once getContent() is removed
+        if (content == null) {
+            content = tree.toSourceCode();
+        }
         return content;
     }
 
     public void setContent(String content) {
-        this.content = content;
-        Path namePart = this.path.getFileName();
-        // TODO: Fix this, each time creates a new tree
-        if (namePart != null) {
-            setTree(SyntaxTree.from(TextDocuments.from(this.content), namePart.toString()));
-        } else {
-            setTree(SyntaxTree.from(TextDocuments.from(this.content)));
+        TextEdit textEdit = getTextEdit(getContent(), content);
+        if (textEdit != null) {
+            applyTextEdit(textEdit);
         }
     }
 
     public void setIncrementContent(String content) {
-        this.content = content;
-        // TODO: Fix this, each time creates a new tree
+        setContent(content);
+    }
+
+    /**
+     * Applies the content changes of a did change notification, in the given order. The range of each change is
+     * relative to the content the previous changes result in.
+     *
+     * @param changes content changes
+     */
+    public void applyChanges(List<TextDocumentContentChangeEvent> changes) {
+        for (TextDocumentContentChangeEvent change : changes) {
+            if (change.getRange() == null) {
+                setContent(change.getText());
+            } else {
+                TextRange textRange = getTextRange(this.tree.textDocument(), change);
+                applyTextEdit(TextEdit.from(textRange, change.getText()));
+            }
+        }
+    }
+
+    private void applyTextEdit(TextEdit textEdit) {
+        SyntaxTree oldTree = this.tree;
+        SyntaxTree newTree = SyntaxTree.from(oldTree, TextDocumentChange.from(new TextEdit[]{textEdit}));
+        int startOffset = textEdit.range().startOffset();
+        if (!holdsText(newTree, startOffset, startOffset + textEdit.text().length())) {
+            // The incremental parser may lose or move text around an edit, in which case the new content is parsed
+            // from scratch
+            LSClientLogger.logTrace("Incremental parse of '" + this.path + "' diverged, parsing from scratch");
+            setTree(parse(newTree.textDocument().toString()));
+            return;
+        }
+        setTree(newTree);
+        if (LSClientLogger.isTraceEnabled()) {
+            LSClientLogger.logTrace(String.format("Reused %.1f%% of the syntax tree of '%s'",
+                    newTree.reuseRatio(oldTree) * 100, this.path));
+        }
+    }
+
+    /**
+     * Checks whether the syntax tree holds the text of its document, given that it held the text before the edit.
+     * <p>
+     * The recovery from a syntax error may move tokens away from the edit, hence a tree with syntax errors is compared
+     * as a whole. Otherwise, only the width of the tree and the source code of the nodes around the edited text are
+     * compared with the document.
+     *
+     * @param tree        incrementally parsed syntax tree
+     * @param startOffset start offset of the edited text in the new document
+     * @param endOffset   end offset of the edited text in the new document
+     * @return whether the tree holds the text of its document
+     */
+    private static boolean holdsText(SyntaxTree tree, int startOffset, int endOffset) {
+        TextDocument textDocument = tree.textDocument();
+        ModulePartNode rootNode = tree.rootNode();
+        int length = textDocument.length();
+        if (rootNode.textRangeWithMinutiae().length() != length) {
+            return false;
+        }
+        if (tree.hasDiagnostics()) {
+            return tree.toSourceCode().equals(textDocument.toString());
+        }
+
+        // A token split by the edit ends right before or starts right after the edited text
+        int rangeStart = Math.max(startOffset - 1, 0);
+        int rangeEnd = Math.min(endOffset + 1, length);
+        if (rangeStart >= rangeEnd) {
+            return true;
+        }
+        NonTerminalNode enclosingNode = rootNode.findNode(TextRange.from(rangeStart, rangeEnd - rangeStart));
+        StringBuilder sourceCode = new StringBuilder();
+        int sourceStart = -1;
+        int sourceEnd = -1;
+        for (Node child : enclosingNode.children()) {
+            TextRange childRange = child.textRangeWithMinutiae();
+            if (childRange.endOffset() <= rangeStart || childRange.startOffset() >= rangeEnd) {
+                continue;
+            }
+            if (sourceStart < 0) {
+                sourceStart = childRange.startOffset();
+            }
+            sourceEnd = childRange.endOffset();
+            sourceCode.append(child.toSourceCode());
+        }
+        return sourceStart >= 0 && sourceCode.toString().equals(textDocument.substring(sourceStart, sourceEnd));
+    }
+
+    private SyntaxTree parse(String content) {
         Path namePath = this.path.getFileName();
         if (namePath != null) {
-            setTree(SyntaxTree.from(TextDocuments.from(this.content), namePath.toString()));
-        } else {
-            setTree(SyntaxTree.from(TextDocuments.from(this.content)));
+            return SyntaxTree.from(TextDocuments.from(content), namePath.toString());
         }
+        return SyntaxTree.from(TextDocuments.from(content));
+    }
+
+    private static TextRange getTextRange(TextDocument textDocument, TextDocumentContentChangeEvent change) {
+        Position start = change.getRange().getStart();
+        Position end = change.getRange().getEnd();
+        int startOffset = textDocument.textPositionFrom(LinePosition.from(start.getLine(), start.getCharacter()));
+        int endOffset = textDocument.textPositionFrom(LinePosition.from(end.getLine(), end.getCharacter()));
+        return TextRange.from(startOffset, endOffset - startOffset);
+    }
+
+    private static TextEdit getTextEdit(String oldContent, String newContent) {
+        int oldLength = oldContent.length();
+        int newLength = newContent.length();
+        int minLength = Math.min(oldLength, newLength);
+        int prefix = 0;
+        while (prefix < minLength && oldContent.charAt(prefix) == newContent.charAt(prefix)) {
+            prefix++;
+        }
+        if (prefix == oldLength && prefix == newLength) {
+            return null;
+        }
+        if (prefix > 0 && Character.isHighSurrogate(oldContent.charAt(prefix - 1))) {
+            prefix--;
+        }
+
+        int suffix = 0;
+        while (suffix < minLength - prefix &&
+                oldContent.charAt(oldLength - suffix - 1) == newContent.charAt(newLength - suffix - 1)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(oldContent.charAt(oldLength - suffix))) {
+            suffix--;
+        }
+        return TextEdit.from(TextRange.from(prefix, oldLength - prefix - suffix),
+                newContent.substring(prefix, newLength - suffix));
     }
 
     public SyntaxTree getTree() {
@@ -104,8 +230,7 @@ public class WorkspaceDocument {
 
     public void setTree(SyntaxTree tree) {
         this.tree = tree;
-        // TODO: Added to support inter-operability. Remove this once getContent() is removed
-        this.content = tree.toSourceCode();
+        this.content = null;
     }
 
     public LSDocumentIdentifier getLSDocument() {
@@ -114,6 +239,6 @@ public class WorkspaceDocument {
 
     @Override
     public String toString() {
-        return "{" + "path:" + this.path + ", content:" + this.content + "}";
+        return "{" + "path:" + this.path + ", content:" + getContent() + "}";
     }
 }
@@ -18,12 +18,7 @@
 package org.ballerinalang.langserver.compiler.workspace;
 
 import io.ballerina.compiler.syntax.tree.SyntaxTree;
-import io.ballerina.tools.text.LinePosition;
-import io.ballerina.tools.text.TextDocument;
-import io.ballerina.tools.text.TextDocumentChange;
 import io.ballerina.tools.text.TextDocuments;
-import io.ballerina.tools.text.TextEdit;
-import io.ballerina.tools.text.TextRange;
 import org.ballerinalang.langserver.commons.workspace.LSDocumentIdentifier;
 import org.ballerinalang.langserver.commons.workspace.WorkspaceDocumentException;
 import org.ballerinalang.langserver.commons.workspace.WorkspaceDocumentManager;
@@ -31,7 +26,6 @@ import org.ballerinalang.langserver.compiler.LSCompilerUtil;
 import org.ballerinalang.langserver.compiler.common.LSDocumentIdentifierImpl;
 import org.ballerinalang.langserver.compiler.workspace.repository.LangServerFSProjectDirectory;
 import org.eclipse.lsp4j.CodeLens;
-import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 
 import java.io.IOException;
@@ -102,31 +96,7 @@ public class WorkspaceDocumentManagerImpl implements WorkspaceDocumentManager {
         if (!isFileOpen(filePath)) {
             throw new WorkspaceDocumentException("File " + filePath.toString() + " is not opened in document manager.");
         }
-        if (changeEvent.size() == 1 && changeEvent.get(0).getRange() == null) {
-            // Full Sync
-            documentList.get(filePath).getDocument().ifPresent(
-                    document -> document.setContent(changeEvent.get(0).getText())
-            );
-        } else {
-            // Incremental Sync
-            documentList.get(filePath).getDocument().ifPresent(document -> {
-                TextEdit[] edits = new TextEdit[changeEvent.size()];
-                TextDocument textDocument = document.getTree().textDocument();
-                for (int i = 0; i < changeEvent.size(); i++) {
-                    TextDocumentContentChangeEvent change = changeEvent.get(i);
-                    edits[i] = TextEdit.from(getTextRange(textDocument, change), change.getText());
-                }
-                document.setTree(SyntaxTree.from(document.getTree(), TextDocumentChange.from(edits)));
-            });
-        }
-    }
-
-    private TextRange getTextRange(TextDocument textDocument, TextDocumentContentChangeEvent change) {
-        Position start = change.getRange().getStart();
-        Position end = change.getRange().getEnd();
-        int startOffset = textDocument.textPositionFrom(LinePosition.from(start.getLine(), start.getCharacter()));
-        int endOffset = textDocument.textPositionFrom(LinePosition.from(end.getLine(), end.getCharacter()));
-        return TextRange.from(startOffset, endOffset - startOffset);
+        documentList.get(filePath).getDocument().ifPresent(document -> document.applyChanges(changeEvent));
     }
 
     /**
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ballerinalang.langserver.compiler;
+
+import org.ballerinalang.langserver.commons.workspace.LSDocumentIdentifier;
+import org.ballerinalang.langserver.compiler.common.LSDocumentIdentifierImpl;
+import org.ballerinalang.langserver.compiler.workspace.ExtendedWorkspaceDocumentManagerImpl;
+import org.ballerinalang.langserver.compiler.workspace.WorkspaceDocumentManagerImpl;
+import org.ballerinalang.langserver.compiler.workspace.repository.WorkspacePackageRepository;
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.repository.PackageRepository;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLog;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.Name;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Test cases for recompiling only the modules affected by a change, using the modules kept in the
+ * {@link LSCompilerCache}.
+ *
+ * @since 2.0.0
+ */
+public class LSCompilerCacheTest {
+
+    private static final Path PROJECT_DIR = Paths.get("src/test/resources/source/modulecache").toAbsolutePath();
+
+    private Path projectRoot;
+    private String sourceRoot;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        LSCompilerCache.clearAll();
+        projectRoot = Files.createTempDirectory("ls-module-cache-");
+        try (Stream<Path> paths = Files.walk(PROJECT_DIR)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path target = projectRoot.resolve(PROJECT_DIR.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(path, target);
+                }
+            }
+        }
+        sourceRoot = projectRoot.toString();
+        Assert.assertEquals(compileProject(), Collections.emptySet());
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        LSCompilerCache.clearAll();
+        try (Stream<Path> paths = Files.walk(projectRoot)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testBodyChangeDoesNotRecompileDependents() throws IOException {
+        writeModule("print", "public function greet(record {| string first; |} name) returns string {\n" +
+                "    return \"hi \" + name.first;\n" +
+                "}\n");
+        Assert.assertEquals(LSCompilerCache.getModifiedModules(sourceRoot), Collections.singletonList("print"));
+
+        Set<String> changedModules = compileProject();
+        Assert.assertEquals(changedModules, Collections.emptySet());
+        Assert.assertEquals(LSCompilerCache.getDependentModules(sourceRoot, changedModules), Collections.emptyList());
+        Assert.assertEquals(LSCompilerCache.getModifiedModules(sourceRoot), Collections.emptyList());
+    }
+
+    @Test
+    public void testApiChangeRecompilesDependents() throws IOException {
+        // Only the fields of the anonymous record type, which is not public, are changed
+        writeModule("print", "public function greet(record {| string first; string last?; |} name) returns " +
+                "string {\n" +
+                "    return \"hello \" + name.first;\n" +
+                "}\n");
+        Assert.assertEquals(LSCompilerCache.getModifiedModules(sourceRoot), Collections.singletonList("print"));
+
+        Set<String> changedModules = compileProject();
+        Assert.assertEquals(changedModules, Collections.singleton("print"));
+        Assert.assertEquals(LSCompilerCache.getDependentModules(sourceRoot, changedModules),
+                Collections.singletonList("sample"));
+    }
+
+    @Test
+    public void testAddingAndRemovingModule() throws IOException {
+        writeModule("greet", "public function hi() returns string {\n" +
+                "    return \"hi\";\n" +
+                "}\n");
+        Set<String> changedModules = compileProject();
+        Assert.assertEquals(changedModules, Collections.singleton("greet"));
+        Assert.assertEquals(LSCompilerCache.getDependentModules(sourceRoot, changedModules), Collections.emptyList());
+
+        Path modulePath = projectRoot.resolve("src").resolve("greet");
+        Files.delete(modulePath.resolve("greet.bal"));
+        Files.delete(modulePath);
+        Assert.assertEquals(LSCompilerCache.getModifiedModules(sourceRoot), Collections.singletonList("greet"));
+        Assert.assertEquals(compileProject(), Collections.singleton("greet"));
+    }
+
+    private void writeModule(String moduleName, String content) throws IOException {
+        Path modulePath = Files.createDirectories(projectRoot.resolve("src").resolve(moduleName));
+        Files.write(modulePath.resolve(moduleName + ".bal"), content.getBytes());
+    }
+
+    /**
+     * Compiles the project the way the language server does when a document of the sample module is edited, and
+     * returns the modules whose exported API changed.
+     */
+    private Set<String> compileProject() {
+        Path filePath = projectRoot.resolve("src").resolve("sample").resolve("main.bal");
+        LSDocumentIdentifier sourceDocument = new LSDocumentIdentifierImpl(filePath, sourceRoot);
+        WorkspaceDocumentManagerImpl documentManager = ExtendedWorkspaceDocumentManagerImpl.getInstance();
+        PackageRepository packageRepository = new WorkspacePackageRepository(sourceRoot, documentManager);
+        PackageID packageID = new PackageID(new Name("demo"), new Name("sample"), new Name("0.0.1"));
+        CompilerContext context = LSCompilerUtil.prepareCompilerContext(packageID, packageRepository,
+                sourceDocument, documentManager, false);
+        LSPackageCache.getInstance(context).invalidateProjectModules(LSCompilerCache.getModifiedModules(sourceRoot));
+
+        BLangDiagnosticLog.getInstance(context).resetErrorCount();
+        List<BLangPackage> bLangPackages = Compiler.getInstance(context).compilePackages(false);
+        return LSCompilerCache.updateModules(sourceRoot, bLangPackages);
+    }
+}
@@ -18,6 +18,8 @@
 package org.ballerinalang.langserver.compiler.workspace;
 
 import org.ballerinalang.langserver.commons.workspace.WorkspaceDocumentException;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -29,6 +31,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
@@ -144,6 +147,25 @@ public class WorkspaceDocumentManagerImplTest {
     }
 
     @Test(dependsOnMethods = "testUpdateFile")
+    public void testIncrementalUpdateFile() throws WorkspaceDocumentException {
+        String content = documentManager.getFileContent(filePath);
+        int line = Arrays.asList(content.split("\n", -1)).indexOf("function foo(){");
+        // The range of each change is relative to the content the previous changes result in
+        TextDocumentContentChangeEvent insertComment = new TextDocumentContentChangeEvent(
+                new Range(new Position(line, 0), new Position(line, 0)), 0, "// comment\n");
+        TextDocumentContentChangeEvent renameFunction = new TextDocumentContentChangeEvent(
+                new Range(new Position(line + 1, 9), new Position(line + 1, 12)), 3, "bar");
+        Optional<Lock> lock = documentManager.lockFile(filePath);
+        try {
+            documentManager.updateFile(filePath, Arrays.asList(insertComment, renameFunction));
+        } finally {
+            lock.ifPresent(Lock::unlock);
+        }
+        String expectedContent = content.replace("function foo(){", "// comment\nfunction bar(){");
+        Assert.assertEquals(documentManager.getFileContent(filePath), expectedContent);
+    }
+
+    @Test(dependsOnMethods = "testIncrementalUpdateFile")
     public void testLockFile() {
         Optional<Lock> lock = Optional.empty();
         try {
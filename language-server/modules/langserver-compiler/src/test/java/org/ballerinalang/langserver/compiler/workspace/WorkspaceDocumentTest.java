@@ -16,6 +16,9 @@
 
 package org.ballerinalang.langserver.compiler.workspace;
 
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -24,6 +27,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * Tests for WorkspaceDocument.
@@ -70,8 +74,30 @@ public class WorkspaceDocumentTest {
         document.setContent(INITIAL_CONTENT);
     }
 
+    @Test
+    public void testApplyChanges() {
+        WorkspaceDocument changedDocument = new WorkspaceDocument(filePath1, "function foo() {\n    int x = 1;\n}\n");
+        // Changes are applied in order, the second one breaking the syntax and the third one fixing it again
+        changedDocument.applyChanges(Arrays.asList(createChange(1, 12, 1, 13, "12"),
+                                                   createChange(0, 13, 0, 14, ""),
+                                                   createChange(0, 13, 0, 13, ")")));
+        Assert.assertEquals(changedDocument.getContent(), "function foo() {\n    int x = 12;\n}\n");
+        Assert.assertEquals(changedDocument.getTree().toSourceCode(), changedDocument.getContent());
+
+        changedDocument.applyChanges(Arrays.asList(createChange(1, 4, 1, 15, "return;"),
+                                                   createChange(2, 1, 2, 1, "\n}")));
+        Assert.assertEquals(changedDocument.getContent(), "function foo() {\n    return;\n}\n}\n");
+        Assert.assertEquals(changedDocument.getTree().toSourceCode(), changedDocument.getContent());
+    }
+
     @Test
     public void testToString() {
         Assert.assertNotNull(document.toString());
     }
+
+    private static TextDocumentContentChangeEvent createChange(int startLine, int startCharacter, int endLine,
+                                                               int endCharacter, String text) {
+        Range range = new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter));
+        return new TextDocumentContentChangeEvent(range, null, text);
+    }
 }
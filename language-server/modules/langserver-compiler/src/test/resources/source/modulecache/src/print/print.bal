@@ -0,0 +1,3 @@
+public function greet(record {| string first; |} name) returns string {
+    return "hello " + name.first;
+}
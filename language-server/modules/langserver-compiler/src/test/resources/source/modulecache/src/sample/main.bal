@@ -0,0 +1,5 @@
+import print;
+
+public function main() {
+    string greeting = print:greet({first: "foo"});
+}
@@ -16,14 +16,18 @@
 
 package org.ballerinalang.debugadapter.variable;
 
+import com.sun.jdi.ArrayReference;
 import com.sun.jdi.Field;
+import com.sun.jdi.IntegerValue;
 import com.sun.jdi.Method;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.Value;
 import org.ballerinalang.debugadapter.SuspendedContext;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -37,6 +41,9 @@ public class VariableUtils {
     public static final String FIELD_CONSTRAINT = "constraint";
     public static final String METHOD_STRINGVALUE = "stringValue";
     public static final String UNKNOWN_VALUE = "unknown";
+    private static final String FIELD_MAP_KEYS = "entryKeys";
+    private static final String FIELD_MAP_VALUES = "entryValues";
+    private static final String FIELD_MAP_ENTRY_COUNT = "entryCount";
     // Used to trim redundant beginning and ending double quotes from a string, if presents.
     private static final String ADDITIONAL_QUOTES_REMOVE_REGEX = "^\"|\"$";
 
@@ -203,6 +210,46 @@ public class VariableUtils {
         return Optional.of(methods.get(0));
     }
 
+    /**
+     * Returns the entries of a ballerina jvm map instance, in insertion order. Map values keep their entries in
+     * parallel key and value arrays, in which the keys of removed entries are replaced with a non-string marker.
+     *
+     * @param mapValue JDI value of the map instance
+     * @return map entries with string keys
+     */
+    public static Map<String, Value> getMapEntries(Value mapValue) throws DebugVariableException {
+        Map<String, Value> entries = new LinkedHashMap<>();
+        Optional<Value> keys = getFieldValue(mapValue, FIELD_MAP_KEYS);
+        Optional<Value> values = getFieldValue(mapValue, FIELD_MAP_VALUES);
+        Optional<Value> entryCount = getFieldValue(mapValue, FIELD_MAP_ENTRY_COUNT);
+        if (!keys.isPresent() || !values.isPresent() || !entryCount.isPresent()) {
+            return entries;
+        }
+        int count = ((IntegerValue) entryCount.get()).value();
+        if (count == 0) {
+            return entries;
+        }
+        List<Value> keyList = ((ArrayReference) keys.get()).getValues(0, count);
+        List<Value> valueList = ((ArrayReference) values.get()).getValues(0, count);
+        for (int i = 0; i < count; i++) {
+            Value key = keyList.get(i);
+            Value value = valueList.get(i);
+            if (isBString(key) && value != null) {
+                entries.put(getStringFrom(key), value);
+            }
+        }
+        return entries;
+    }
+
+    private static boolean isBString(Value value) {
+        if (!(value instanceof ObjectReference)) {
+            return false;
+        }
+        String typeName = ((ObjectReference) value).referenceType().name();
+        return typeName.equals(JVMValueType.BMPSTRING.getString())
+                || typeName.equals(JVMValueType.NONBMPSTRING.getString());
+    }
+
     public static String removeRedundantQuotes(String str) {
         do {
             str = str.replaceAll(ADDITIONAL_QUOTES_REMOVE_REGEX, "");
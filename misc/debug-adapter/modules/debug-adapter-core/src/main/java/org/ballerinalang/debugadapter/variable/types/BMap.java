@@ -16,7 +16,6 @@
 
 package org.ballerinalang.debugadapter.variable.types;
 
-import com.sun.jdi.ArrayReference;
 import com.sun.jdi.Value;
 import org.ballerinalang.debugadapter.SuspendedContext;
 import org.ballerinalang.debugadapter.variable.BCompoundVariable;
@@ -25,17 +24,12 @@ import org.ballerinalang.debugadapter.variable.VariableUtils;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Ballerina map variable type.
  */
 public class BMap extends BCompoundVariable {
 
-    private static final String FIELD_MAP_DATA = "table";
-    private static final String FIELD_MAP_KEY = "key";
-    private static final String FIELD_MAP_VALUE = "value";
-
     public BMap(SuspendedContext context, String name, Value value) {
         super(context, name, BVariableType.MAP, value);
     }
@@ -49,19 +43,7 @@ public class BMap extends BCompoundVariable {
     public Map<String, Value> computeChildVariables() {
         Map<String, Value> childVarMap = new HashMap<>();
         try {
-            Optional<Value> mapValues = VariableUtils.getFieldValue(jvmValue, FIELD_MAP_DATA);
-            if (!mapValues.isPresent()) {
-                return childVarMap;
-            }
-            for (Value map : ((ArrayReference) mapValues.get()).getValues()) {
-                if (map != null) {
-                    Optional<Value> mapKey = VariableUtils.getFieldValue(map, FIELD_MAP_KEY);
-                    Optional<Value> mapValue = VariableUtils.getFieldValue(map, FIELD_MAP_VALUE);
-                    if (mapKey.isPresent() && mapValue.isPresent()) {
-                        childVarMap.put(VariableUtils.getStringFrom(mapKey.get()), mapValue.get());
-                    }
-                }
-            }
+            childVarMap.putAll(VariableUtils.getMapEntries(jvmValue));
             return childVarMap;
         } catch (Exception ignored) {
             return childVarMap;
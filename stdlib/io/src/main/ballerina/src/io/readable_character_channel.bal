@@ -54,6 +54,18 @@ public class ReadableCharacterChannel {
         return readJsonExtern(self);
     }
 
+    # Reads the members of a JSON array from the given channel one at a time. Only the member being read is kept in
+    # memory, which allows processing arrays that are too large to be read with `readJson()`.
+    # ```ballerina
+    # stream<json, io:Error> members = readableCharChannel.readJsonArrayAsStream();
+    # ```
+    #
+    # + return - A stream of the members of the JSON array
+    public function readJsonArrayAsStream() returns @tainted stream<json, Error> {
+        JsonArrayMemberIterator iterator = new(self);
+        return new stream<json, Error>(iterator);
+    }
+
     # Reads an XML from the given channel.
     # ```ballerina
     # json|io:Error result = readableCharChannel.readXml();
@@ -96,6 +108,29 @@ public class ReadableCharacterChannel {
     }
 }
 
+class JsonArrayMemberIterator {
+
+    private ReadableCharacterChannel characterChannel;
+
+    public function init(ReadableCharacterChannel characterChannel) {
+        self.characterChannel = characterChannel;
+    }
+
+    public function next() returns @tainted record {| json value; |}|Error? {
+        json|Error member = readJsonArrayMemberExtern(self.characterChannel);
+        if (member is EofError) {
+            return ();
+        } else if (member is Error) {
+            return member;
+        }
+        return {value: member};
+    }
+
+    public function close() returns Error? {
+        return self.characterChannel.close();
+    }
+}
+
 function initReadableCharacterChannel(ReadableCharacterChannel characterChannel, ReadableByteChannel byteChannel,
                                       string charset) = @java:Method {
     name: "initCharacterChannel",
@@ -113,6 +148,12 @@ function readJsonExtern(ReadableCharacterChannel characterChannel) returns @tain
     'class: "org.ballerinalang.stdlib.io.nativeimpl.CharacterChannelUtils"
 } external;
 
+function readJsonArrayMemberExtern(ReadableCharacterChannel characterChannel) returns @tainted json|Error =
+                                   @java:Method {
+    name: "readJsonArrayMember",
+    'class: "org.ballerinalang.stdlib.io.nativeimpl.CharacterChannelUtils"
+} external;
+
 function readXmlExtern(ReadableCharacterChannel characterChannel) returns @tainted xml|Error = @java:Method {
     name: "readXml",
     'class: "org.ballerinalang.stdlib.io.nativeimpl.CharacterChannelUtils"
@@ -40,6 +40,7 @@ import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
 
 import static org.ballerinalang.stdlib.io.utils.IOConstants.CHARACTER_CHANNEL_NAME;
+import static org.ballerinalang.stdlib.io.utils.IOConstants.JSON_ARRAY_READER_NAME;
 
 /**
  * This class hold Java inter-ops bridging functions for io# *CharacterChannels.
@@ -97,6 +98,26 @@ public class CharacterChannelUtils {
         }
     }
 
+    public static Object readJsonArrayMember(BObject channel) {
+        JSONParser.ArrayMemberReader memberReader =
+                (JSONParser.ArrayMemberReader) channel.getNativeData(JSON_ARRAY_READER_NAME);
+        if (memberReader == null) {
+            CharacterChannel charChannel = (CharacterChannel) channel.getNativeData(CHARACTER_CHANNEL_NAME);
+            memberReader = new JSONParser.ArrayMemberReader(new CharacterChannelReader(charChannel),
+                                                            JSONParser.NonStringValueProcessingMode.FROM_JSON_STRING);
+            channel.addNativeData(JSON_ARRAY_READER_NAME, memberReader);
+        }
+        try {
+            if (!memberReader.hasNext()) {
+                return IOUtils.createEoFError();
+            }
+            return memberReader.next();
+        } catch (BallerinaException e) {
+            log.error("unable to read json array member from character channel", e);
+            return IOUtils.createError(e);
+        }
+    }
+
     public static Object readXml(BObject channel) {
         CharacterChannel charChannel = (CharacterChannel) channel.getNativeData(CHARACTER_CHANNEL_NAME);
         CharacterChannelReader reader = new CharacterChannelReader(charChannel);
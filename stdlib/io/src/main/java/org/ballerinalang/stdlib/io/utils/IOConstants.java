@@ -48,6 +48,11 @@ public class IOConstants {
      */
     public static final String TXT_RECORD_CHANNEL_NAME = "txt_record";
 
+    /**
+     * The name of the reader of a JSON array stream which will be kept with the character channel.
+     */
+    public static final String JSON_ARRAY_READER_NAME = "json_array_reader";
+
     /**
      * The size of the buffer allocated for reading bytes from the channel (15~ KB).
      */
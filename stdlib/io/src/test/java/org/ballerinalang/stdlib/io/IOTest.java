@@ -23,6 +23,7 @@ import org.ballerinalang.core.model.util.JsonParser;
 import org.ballerinalang.core.model.values.BBoolean;
 import org.ballerinalang.core.model.values.BError;
 import org.ballerinalang.core.model.values.BInteger;
+import org.ballerinalang.core.model.values.BMap;
 import org.ballerinalang.core.model.values.BString;
 import org.ballerinalang.core.model.values.BValue;
 import org.ballerinalang.core.model.values.BValueArray;
@@ -313,6 +314,26 @@ public class IOTest {
         BRunUtil.invoke(characterInputOutputProgramFile, "closeReadableChannel");
     }
 
+    @Test(description = "Test 'readJsonArrayAsStream' function in ballerina/io package")
+    public void testJsonArrayStream() throws URISyntaxException {
+        String resourceToRead = "datafiles/io/text/json-array.json";
+
+        //Will initialize the channel
+        BValue[] args = { new BString(getAbsoluteFilePath(resourceToRead)), new BString("UTF-8") };
+        BRunUtil.invoke(characterInputOutputProgramFile, "initReadableChannel", args);
+
+        BValue[] returns = BRunUtil.invoke(characterInputOutputProgramFile, "readJsonArrayAsStream");
+        BValueArray members = (BValueArray) returns[0];
+        Assert.assertEquals(members.size(), 5);
+        Assert.assertEquals(((BMap) members.getRefValue(0)).get("name").stringValue(), "Alice");
+        Assert.assertEquals(((BMap) members.getRefValue(1)).get("id").stringValue(), "2");
+        Assert.assertEquals(members.getRefValue(2).stringValue(), "plain");
+        Assert.assertNull(members.getRefValue(3));
+        Assert.assertEquals(((BInteger) members.getRefValue(4)).intValue(), 42);
+
+        BRunUtil.invoke(characterInputOutputProgramFile, "closeReadableChannel");
+    }
+
     @Test(description = "Test 'writeJson' function in ballerina/io package")
     public void testWriteJsonCharacters() {
         String content = "{\n" + "  \"test\": { \"name\": \"Foo\" }\n" + "}";
@@ -116,6 +116,21 @@ function readJson() returns @tainted json|error {
     return ();
 }
 
+function readJsonArrayAsStream() returns @tainted json[]|error {
+    json[] members = [];
+    var rCha = rch;
+    if(rCha is io:ReadableCharacterChannel){
+        stream<json, io:Error> memberStream = rCha.readJsonArrayAsStream();
+        error? result = memberStream.forEach(function (json member) {
+            members.push(member);
+        });
+        if (result is error) {
+            return result;
+        }
+    }
+    return members;
+}
+
 function readXml() returns @tainted xml|error {
     var rCha = rch;
     if(rCha is io:ReadableCharacterChannel){
@@ -0,0 +1,71 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// These benchmarks measure the overhead of calling Ballerina functions. The helper functions below never yield,
+// hence they are generated without the strand frame save and restore.
+
+isolated function addOne(int value) returns int {
+    return value + 1;
+}
+
+isolated function clampedAdd(int value, int delta, int max) returns int {
+    int result = addOne(value) + delta;
+    if (result > max) {
+        return max;
+    }
+    return result;
+}
+
+isolated function fibonacci(int n) returns int {
+    if (n < 2) {
+        return n;
+    }
+    return fibonacci(n - 1) + fibonacci(n - 2);
+}
+
+isolated function callLeafFunctions(int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        total = clampedAdd(total, i, 1000000);
+        i += 1;
+    }
+    return total;
+}
+
+isolated function callRecursiveFunctions(int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        total += fibonacci(15);
+        i += 1;
+    }
+    return total;
+}
+
+public function benchmarkLeafFunctionCalls(int warmupCount, int benchmarkCount) returns int {
+    int total = callLeafFunctions(warmupCount);
+    int startTime = nanoTime();
+    total = callLeafFunctions(benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkRecursiveFunctionCalls(int warmupCount, int benchmarkCount) returns int {
+    int total = callRecursiveFunctions(warmupCount);
+    int startTime = nanoTime();
+    total = callRecursiveFunctions(benchmarkCount);
+    return (nanoTime() - startTime);
+}
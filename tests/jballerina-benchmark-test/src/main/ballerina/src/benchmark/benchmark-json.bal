@@ -0,0 +1,104 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// These benchmarks compare converting a JSON string to a typed value in one pass with parsing it to a json value and
+// converting that. Run them with -Pgc.logs.location to compare the allocation rate as well.
+
+type SensorReading record {|
+    string sensor;
+    int timestamp;
+    float[] values;
+    boolean active;
+|};
+
+type SensorReadings SensorReading[];
+
+function getSensorReadingsJson(int count) returns string {
+    string[] readings = [];
+    int i = 0;
+    while (i < count) {
+        readings.push("{\"sensor\":\"sensor-" + i.toString() + "\",\"timestamp\":" + (1600000000 + i).toString() +
+                      ",\"values\":[1.25,2.5,3.75,5,6.25,7.5],\"active\":true}");
+        i += 1;
+    }
+    return "[" + string:'join(",", ...readings) + "]";
+}
+
+function parseWithType(string payload, int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        SensorReading[]|error readings = payload.fromJsonStringWithType(SensorReadings);
+        if (readings is SensorReading[]) {
+            total += readings.length();
+        }
+        i += 1;
+    }
+    return total;
+}
+
+function parseAndConvert(string payload, int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        json|error j = payload.fromJsonString();
+        if (j is json) {
+            SensorReading[]|error readings = j.fromJsonWithType(SensorReadings);
+            if (readings is SensorReading[]) {
+                total += readings.length();
+            }
+        }
+        i += 1;
+    }
+    return total;
+}
+
+public function benchmarkJsonFromStringWithType(int warmupCount, int benchmarkCount) returns int {
+    string payload = getSensorReadingsJson(100);
+    int total = parseWithType(payload, warmupCount);
+    int startTime = nanoTime();
+    total = parseWithType(payload, benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkJsonFromStringThenWithType(int warmupCount, int benchmarkCount) returns int {
+    string payload = getSensorReadingsJson(100);
+    int total = parseAndConvert(payload, warmupCount);
+    int startTime = nanoTime();
+    total = parseAndConvert(payload, benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+function convertWithType(json document, int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        SensorReading[]|error readings = document.cloneWithType(SensorReadings);
+        if (readings is SensorReading[]) {
+            total += readings.length();
+        }
+        i += 1;
+    }
+    return total;
+}
+
+public function benchmarkLargeJsonCloneWithType(int warmupCount, int benchmarkCount) returns int {
+    json document = checkpanic getSensorReadingsJson(10000).fromJsonString();
+    int total = convertWithType(document, warmupCount);
+    int startTime = nanoTime();
+    total = convertWithType(document, benchmarkCount);
+    return (nanoTime() - startTime);
+}
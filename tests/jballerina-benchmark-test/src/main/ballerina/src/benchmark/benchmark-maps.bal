@@ -0,0 +1,115 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// These benchmarks exercise the map storage of map values and of the rest fields of open records. Run them with
+// -Pgc.logs.location to compare the allocation rate along with the execution time.
+
+type Order record {
+    int id;
+    string customer;
+};
+
+final string[] mapKeys = ["id", "name", "price", "quantity", "discount", "category", "origin", "rating"];
+
+function createMaps(int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        map<int> m = {};
+        foreach string key in mapKeys {
+            m[key] = i;
+        }
+        total += m.length();
+        i += 1;
+    }
+    return total;
+}
+
+function putAndGetMapEntries(map<int> m, int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        string key = mapKeys[i % 8];
+        m[key] = i;
+        int? value = m[key];
+        if (value is int) {
+            total += value;
+        }
+        i += 1;
+    }
+    return total;
+}
+
+function iterateMapEntries(map<int> m, int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        foreach int value in m {
+            total += value;
+        }
+        i += 1;
+    }
+    return total;
+}
+
+isolated function createOpenRecords(int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        Order o = {id: i, customer: "Customer", "price": 100, "quantity": 2, "status": "NEW"};
+        total += o.length();
+        i += 1;
+    }
+    return total;
+}
+
+function getIntMap() returns map<int> {
+    map<int> m = {};
+    foreach string key in mapKeys {
+        m[key] = 1;
+    }
+    return m;
+}
+
+public function benchmarkMapCreation(int warmupCount, int benchmarkCount) returns int {
+    int total = createMaps(warmupCount);
+    int startTime = nanoTime();
+    total = createMaps(benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkMapPutAndGet(int warmupCount, int benchmarkCount) returns int {
+    map<int> m = getIntMap();
+    int total = putAndGetMapEntries(m, warmupCount);
+    int startTime = nanoTime();
+    total = putAndGetMapEntries(m, benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkMapIteration(int warmupCount, int benchmarkCount) returns int {
+    map<int> m = getIntMap();
+    int total = iterateMapEntries(m, warmupCount);
+    int startTime = nanoTime();
+    total = iterateMapEntries(m, benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkOpenRecordCreation(int warmupCount, int benchmarkCount) returns int {
+    int total = createOpenRecords(warmupCount);
+    int startTime = nanoTime();
+    total = createOpenRecords(benchmarkCount);
+    return (nanoTime() - startTime);
+}
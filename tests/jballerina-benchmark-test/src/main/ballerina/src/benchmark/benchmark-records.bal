@@ -0,0 +1,84 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// These benchmarks exercise field access on closed records, which is compiled to direct field access on the record
+// value class. Run them with -Pgc.logs.location to compare the memory footprint of record values as well.
+
+type Point record {|
+    int x;
+    int y;
+    float weight;
+    boolean visible;
+    string label;
+|};
+
+function getFieldsOfPoint(Point p, int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        total += p.x + p.y;
+        if (p.visible) {
+            total += <int> p.weight;
+        }
+        i += 1;
+    }
+    return total;
+}
+
+function putFieldsOfPoint(Point p, int count) returns int {
+    int i = 0;
+    while (i < count) {
+        p.x = i;
+        p.y = i + 1;
+        p.weight = 1.5;
+        p.visible = i % 2 == 0;
+        i += 1;
+    }
+    return p.x;
+}
+
+function createPoints(int count) returns int {
+    Point[] points = [];
+    int i = 0;
+    while (i < count) {
+        points.push({x: i, y: i, weight: 1.0, visible: true, label: "point"});
+        i += 1;
+    }
+    return points.length();
+}
+
+public function benchmarkClosedRecordFieldGet(int warmupCount, int benchmarkCount) returns int {
+    Point p = {x: 1, y: 2, weight: 3.0, visible: true, label: "point"};
+    int total = getFieldsOfPoint(p, warmupCount);
+    int startTime = nanoTime();
+    total = getFieldsOfPoint(p, benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkClosedRecordFieldPut(int warmupCount, int benchmarkCount) returns int {
+    Point p = {x: 1, y: 2, weight: 3.0, visible: true, label: "point"};
+    int last = putFieldsOfPoint(p, warmupCount);
+    int startTime = nanoTime();
+    last = putFieldsOfPoint(p, benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkClosedRecordCreation(int warmupCount, int benchmarkCount) returns int {
+    int count = createPoints(warmupCount);
+    int startTime = nanoTime();
+    count = createPoints(benchmarkCount);
+    return (nanoTime() - startTime);
+}
@@ -0,0 +1,78 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// These benchmarks stress the strand scheduler. Run them with and without the BALLERINA_WORK_STEALING
+// environment variable set to `true` to compare the shared run queue against the work stealing run queues.
+
+isolated function sumUpTo(int n) returns int {
+    int sum = 0;
+    int i = 0;
+    while (i < n) {
+        sum += i;
+        i += 1;
+    }
+    return sum;
+}
+
+function waitForChild(int n) returns int {
+    future<int> child = start sumUpTo(n);
+    int result = wait child;
+    return result;
+}
+
+function spawnAndWait(int count) returns int {
+    future<int>[] futures = [];
+    int i = 0;
+    while (i < count) {
+        futures.push(start sumUpTo(100));
+        i += 1;
+    }
+    int total = 0;
+    foreach var f in futures {
+        int result = wait f;
+        total += result;
+    }
+    return total;
+}
+
+function spawnAndWaitChain(int count) returns int {
+    future<int>[] futures = [];
+    int i = 0;
+    while (i < count) {
+        futures.push(start waitForChild(100));
+        i += 1;
+    }
+    int total = 0;
+    foreach var f in futures {
+        int result = wait f;
+        total += result;
+    }
+    return total;
+}
+
+public function benchmarkStrandFanOut(int warmupCount, int benchmarkCount) returns int {
+    int total = spawnAndWait(warmupCount);
+    int startTime = nanoTime();
+    total = spawnAndWait(benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkStrandWaitChain(int warmupCount, int benchmarkCount) returns int {
+    int total = spawnAndWaitChain(warmupCount);
+    int startTime = nanoTime();
+    total = spawnAndWaitChain(benchmarkCount);
+    return (nanoTime() - startTime);
+}
@@ -0,0 +1,75 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// These benchmarks repeat the same structural type checks, which are answered from the type check cache of the
+// runtime after the first check.
+
+type Coordinate record {|
+    int x;
+    int y;
+    string label?;
+|};
+
+type Location record {
+    int x;
+    int|float y;
+};
+
+type Shape Coordinate[]|map<Coordinate>;
+
+function checkArrayTypes(anydata[] values, int count) returns int {
+    int matches = 0;
+    int i = 0;
+    while (i < count) {
+        anydata value = values[i % values.length()];
+        if (value is Location[]) {
+            matches += 1;
+        }
+        i += 1;
+    }
+    return matches;
+}
+
+function checkUnionTypes(Shape[] shapes, int count) returns int {
+    int matches = 0;
+    int i = 0;
+    while (i < count) {
+        Shape shape = shapes[i % shapes.length()];
+        if (shape is map<Location>) {
+            matches += 1;
+        }
+        i += 1;
+    }
+    return matches;
+}
+
+public function benchmarkArrayTypeCheck(int warmupCount, int benchmarkCount) returns int {
+    Coordinate[] coordinates = [{x: 1, y: 2}, {x: 3, y: 4, label: "c"}];
+    anydata[] values = [coordinates, [1, 2, 3], coordinates];
+    int matches = checkArrayTypes(values, warmupCount);
+    int startTime = nanoTime();
+    matches = checkArrayTypes(values, benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkUnionTypeCheck(int warmupCount, int benchmarkCount) returns int {
+    map<Coordinate> coordinates = {first: {x: 1, y: 2}};
+    Shape[] shapes = [coordinates, [{x: 3, y: 4}]];
+    int matches = checkUnionTypes(shapes, warmupCount);
+    int startTime = nanoTime();
+    matches = checkUnionTypes(shapes, benchmarkCount);
+    return (nanoTime() - startTime);
+}
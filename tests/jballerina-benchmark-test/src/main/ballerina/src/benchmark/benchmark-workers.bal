@@ -0,0 +1,48 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// These benchmarks stress the worker data channels. Run them with and without the BALLERINA_WORKER_CHANNEL_CAPACITY
+// environment variable set to compare unbounded channels against bounded channels.
+
+function workerPipeline(int count) returns int {
+    worker producer {
+        int i = 0;
+        while (i < count) {
+            i -> consumer;
+            i += 1;
+        }
+    }
+
+    worker consumer returns int {
+        int total = 0;
+        int i = 0;
+        while (i < count) {
+            int value = <- producer;
+            total += value;
+            i += 1;
+        }
+        return total;
+    }
+
+    return wait consumer;
+}
+
+public function benchmarkWorkerPipeline(int warmupCount, int benchmarkCount) returns int {
+    int total = workerPipeline(warmupCount);
+    int startTime = nanoTime();
+    total = workerPipeline(benchmarkCount);
+    return (nanoTime() - startTime);
+}
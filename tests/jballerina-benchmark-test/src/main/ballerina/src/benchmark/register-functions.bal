@@ -26,6 +26,23 @@ public function registerSingleExecFunctions() {
     addSingleExecFunction("benchmarkJoinWithQuery", benchmarkJoinWithQuery);
     addSingleExecFunction("benchmarkJoinWithForeach", benchmarkJoinWithForeach);
     addSingleExecFunction("benchmarkJoinWithWhile", benchmarkJoinWithWhile);
+    addSingleExecFunction("benchmarkStrandFanOut", benchmarkStrandFanOut);
+    addSingleExecFunction("benchmarkStrandWaitChain", benchmarkStrandWaitChain);
+    addSingleExecFunction("benchmarkMapCreation", benchmarkMapCreation);
+    addSingleExecFunction("benchmarkMapPutAndGet", benchmarkMapPutAndGet);
+    addSingleExecFunction("benchmarkMapIteration", benchmarkMapIteration);
+    addSingleExecFunction("benchmarkOpenRecordCreation", benchmarkOpenRecordCreation);
+    addSingleExecFunction("benchmarkClosedRecordFieldGet", benchmarkClosedRecordFieldGet);
+    addSingleExecFunction("benchmarkClosedRecordFieldPut", benchmarkClosedRecordFieldPut);
+    addSingleExecFunction("benchmarkClosedRecordCreation", benchmarkClosedRecordCreation);
+    addSingleExecFunction("benchmarkJsonFromStringWithType", benchmarkJsonFromStringWithType);
+    addSingleExecFunction("benchmarkJsonFromStringThenWithType", benchmarkJsonFromStringThenWithType);
+    addSingleExecFunction("benchmarkLeafFunctionCalls", benchmarkLeafFunctionCalls);
+    addSingleExecFunction("benchmarkRecursiveFunctionCalls", benchmarkRecursiveFunctionCalls);
+    addSingleExecFunction("benchmarkArrayTypeCheck", benchmarkArrayTypeCheck);
+    addSingleExecFunction("benchmarkUnionTypeCheck", benchmarkUnionTypeCheck);
+    addSingleExecFunction("benchmarkLargeJsonCloneWithType", benchmarkLargeJsonCloneWithType);
+    addSingleExecFunction("benchmarkWorkerPipeline", benchmarkWorkerPipeline);
 }
 
 public function registerMultiExecFunctions() {
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.functions;
+
+import org.ballerinalang.core.model.values.BBoolean;
+import org.ballerinalang.core.model.values.BInteger;
+import org.ballerinalang.core.model.values.BValue;
+import org.ballerinalang.test.util.BCompileUtil;
+import org.ballerinalang.test.util.BRunUtil;
+import org.ballerinalang.test.util.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Test cases for calls to functions which never yield, whose methods are generated without saving and restoring
+ * the frame, and for calls which yield through an extern function, a function pointer, a worker or a function of
+ * another module.
+ *
+ * @since 2.0.0
+ */
+public class YieldingCallsTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/functions/TestProj", "calls.main");
+        Assert.assertEquals(result.getErrorCount(), 0, Arrays.asList(result.getDiagnostics()).toString());
+    }
+
+    @Test
+    public void testYieldFreeCalls() {
+        BValue[] returns = BRunUtil.invoke(result, "testYieldFreeCalls");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 385 + 6765);
+    }
+
+    @Test
+    public void testMutuallyRecursiveCalls() {
+        BValue[] returns = BRunUtil.invoke(result, "testMutuallyRecursiveCalls");
+        Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
+    }
+
+    @Test(dataProvider = "yieldingCalls")
+    public void testYieldingCalls(String function, long expected) {
+        BValue[] returns = BRunUtil.invoke(result, function);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), expected);
+    }
+
+    @DataProvider(name = "yieldingCalls")
+    public Object[][] yieldingCalls() {
+        return new Object[][]{
+                {"testExternCall", 110L},
+                {"testRecursiveCallToYieldingFunction", 165L},
+                {"testFunctionPointerCall", 79L},
+                {"testWorkerWait", 624L},
+                {"testWorkerReceive", 38L},
+                {"testCallsIntoOtherModule", 80L}
+        };
+    }
+}
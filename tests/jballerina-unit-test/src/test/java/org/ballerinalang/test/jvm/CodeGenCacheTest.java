@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.jvm;
+
+import org.ballerinalang.core.model.values.BInteger;
+import org.ballerinalang.core.model.values.BValue;
+import org.ballerinalang.test.util.BCompileUtil;
+import org.ballerinalang.test.util.BRunUtil;
+import org.ballerinalang.test.util.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.codegen.CodeGenCache;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.ballerinalang.compiler.CompilerOptionName.BUILD_CACHE_DIR;
+
+/**
+ * Test cases to cover modules whose classes are reused from the build cache.
+ *
+ * @since 2.0.0
+ */
+public class CodeGenCacheTest {
+
+    private Path projectDir;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        projectDir = Files.createTempDirectory("code-gen-cache-test");
+        Path sourceDir = Paths.get("src/test/resources/test-src/jvm/CodeGenCacheProject").toAbsolutePath();
+        try (Stream<Path> paths = Files.walk(sourceDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path target = projectDir.resolve(sourceDir.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(path, target);
+                }
+            }
+        }
+    }
+
+    @Test(description = "Test a module which imports a module whose classes are reused from the build cache")
+    public void testImporterOfCachedModule() throws IOException {
+        Path cacheDir = projectDir.resolve("target").resolve("build-cache");
+        CompileResult firstBuild = compile(cacheDir, new CompilerContext());
+        Assert.assertEquals(firstBuild.getErrorCount(), 0);
+        assertCallCachedModule(firstBuild);
+
+        // The importer misses the cache, while the module it imports hits it.
+        Files.write(projectDir.resolve("src").resolve("importer").resolve("importer.bal"),
+                    "\npublic function changed() returns int {\n    return 1;\n}\n".getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+        CompilerContext context = new CompilerContext();
+        CompileResult secondBuild = compile(cacheDir, context);
+        Assert.assertEquals(secondBuild.getErrorCount(), 0);
+        Assert.assertEquals(CodeGenCache.getInstance(context).getHits(), 1);
+        Assert.assertEquals(CodeGenCache.getInstance(context).getMisses(), 1);
+        assertCallCachedModule(secondBuild);
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(projectDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private CompileResult compile(Path cacheDir, CompilerContext context) {
+        CompilerOptions.getInstance(context).put(BUILD_CACHE_DIR, cacheDir.toString());
+        return BCompileUtil.compileOnJBallerina(context, projectDir.toString(), "importer", false, true);
+    }
+
+    private void assertCallCachedModule(CompileResult compileResult) {
+        BValue[] result = BRunUtil.invoke(compileResult, "testCallCachedModule");
+        Assert.assertTrue(result[0] instanceof BInteger);
+        Assert.assertEquals(((BInteger) result[0]).intValue(), 56);
+    }
+}
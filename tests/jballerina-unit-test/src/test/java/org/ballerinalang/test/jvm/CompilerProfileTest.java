@@ -0,0 +1,213 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.jvm;
+
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.core.model.values.BInteger;
+import org.ballerinalang.core.model.values.BValue;
+import org.ballerinalang.test.util.BCompileUtil;
+import org.ballerinalang.test.util.BRunUtil;
+import org.ballerinalang.test.util.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.CompilerProfiler;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.ballerinalang.compiler.CompilerOptionName.PROFILE_COMPILE;
+
+/**
+ * Test cases to cover the compilation profile written when compiling a project with profiling enabled.
+ *
+ * @since 2.0.0
+ */
+public class CompilerProfileTest {
+
+    private static final String APP_MODULE = "testorg/app:1.0.0";
+    private static final String SHAPES_MODULE = "testorg/shapes:1.0.0";
+    private static final List<CompilerPhase> MODULE_PHASES = Arrays.asList(CompilerPhase.TYPE_CHECK,
+            CompilerPhase.CODE_ANALYZE, CompilerPhase.DESUGAR, CompilerPhase.BIR_GEN, CompilerPhase.CODE_GEN);
+    private static final Pattern MODULE_PATTERN = Pattern.compile("\\{\"module\": \"([^\"]+)\", \"phases\": \\[");
+    private static final Pattern PHASE_PATTERN = Pattern.compile("\\{\"phase\": \"(\\w+)\", \"wallTimeNanos\": " +
+            "(-?\\d+), \"cpuTimeNanos\": (-?\\d+), \"allocatedBytes\": (-?\\d+)}");
+    private static final Pattern FUNCTION_PATTERN = Pattern.compile("\\{\"module\": \"([^\"]+)\", \"function\": " +
+            "\"([^\"]+)\", \"wallTimeNanos\": (\\d+)}");
+
+    private Path projectDir;
+    private Path reportDir;
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        projectDir = Files.createTempDirectory("compiler-profile-test");
+        Path sourceDir = Paths.get("src/test/resources/test-src/jvm/ProfileProject").toAbsolutePath();
+        try (Stream<Path> paths = Files.walk(sourceDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path target = projectDir.resolve(sourceDir.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(path, target);
+                }
+            }
+        }
+
+        reportDir = projectDir.resolve("target").resolve("profile");
+        CompilerContext context = new CompilerContext();
+        CompilerOptions.getInstance(context).put(PROFILE_COMPILE, reportDir.toString());
+        compileResult = BCompileUtil.compileOnJBallerina(context, projectDir.toString(), "app", false, true);
+    }
+
+    @Test(description = "Test if the profiled module still runs")
+    public void testProfiledModule() {
+        Assert.assertEquals(compileResult.getErrorCount(), 0);
+        BValue[] result = BRunUtil.invoke(compileResult, "testProfiledModule");
+        Assert.assertTrue(result[0] instanceof BInteger);
+        Assert.assertEquals(((BInteger) result[0]).intValue(), 44);
+    }
+
+    @Test(description = "Test the phases of the compiled modules in the JSON report")
+    public void testModulePhases() throws IOException {
+        Map<String, Map<String, long[]>> modules = readModules();
+
+        Map<String, long[]> appPhases = modules.get(APP_MODULE);
+        Assert.assertNotNull(appPhases, modules.keySet().toString());
+        // The define phase is measured for the module being compiled, and includes loading the modules it imports.
+        Assert.assertTrue(appPhases.containsKey(CompilerPhase.DEFINE.toString()), appPhases.keySet().toString());
+        Map<String, long[]> shapesPhases = modules.get(SHAPES_MODULE);
+        Assert.assertNotNull(shapesPhases, modules.keySet().toString());
+
+        for (Map<String, long[]> phases : Arrays.asList(appPhases, shapesPhases)) {
+            for (CompilerPhase phase : MODULE_PHASES) {
+                long[] profile = phases.get(phase.toString());
+                Assert.assertNotNull(profile, phase + " in " + phases.keySet());
+                Assert.assertTrue(profile[0] > 0, phase + ": " + Arrays.toString(profile));
+                Assert.assertTrue(profile[1] >= -1, phase + ": " + Arrays.toString(profile));
+                Assert.assertTrue(profile[2] >= -1, phase + ": " + Arrays.toString(profile));
+            }
+        }
+    }
+
+    @Test(description = "Test if the folded stacks add up to the totals in the JSON report")
+    public void testFoldedStackTotals() throws IOException {
+        Map<String, Map<String, long[]>> modules = readModules();
+        Map<String, Long> stacks = readFoldedStacks();
+
+        // The slowest functions are shown under the type checking phase of their module.
+        Map<String, Long> functionTimes = new HashMap<>();
+        Map<String, Long> functionTimesPerModule = new HashMap<>();
+        Matcher matcher = FUNCTION_PATTERN.matcher(readReport(CompilerProfiler.JSON_REPORT_NAME));
+        while (matcher.find()) {
+            long time = Long.parseLong(matcher.group(3));
+            String stack = matcher.group(1) + ";" + CompilerPhase.TYPE_CHECK + ";" + matcher.group(2);
+            functionTimes.put(stack, time);
+            functionTimesPerModule.merge(matcher.group(1), time, Long::sum);
+            Assert.assertEquals(stacks.get(stack), Long.valueOf(TimeUnit.NANOSECONDS.toMicros(time)), stack);
+        }
+        for (String function : Arrays.asList("totalArea", "largest", "testProfiledModule")) {
+            Assert.assertTrue(functionTimes.containsKey(APP_MODULE + ";" + CompilerPhase.TYPE_CHECK + ";" + function),
+                              functionTimes.keySet().toString());
+        }
+        for (String function : Arrays.asList("area", "perimeter")) {
+            Assert.assertTrue(functionTimes.containsKey(SHAPES_MODULE + ";" + CompilerPhase.TYPE_CHECK + ";" +
+                                                                function), functionTimes.keySet().toString());
+        }
+
+        // The rest of the stacks are the phases, where the type checking time excludes the slowest functions.
+        Assert.assertEquals(stacks.size(), functionTimes.size() +
+                modules.values().stream().mapToInt(Map::size).sum());
+        for (Map.Entry<String, Map<String, long[]>> module : modules.entrySet()) {
+            for (Map.Entry<String, long[]> phase : module.getValue().entrySet()) {
+                long selfTime = phase.getValue()[0];
+                if (phase.getKey().equals(CompilerPhase.TYPE_CHECK.toString())) {
+                    long totalFunctionTime = functionTimesPerModule.getOrDefault(module.getKey(), 0L);
+                    Assert.assertTrue(selfTime >= totalFunctionTime, module.getKey());
+                    selfTime -= totalFunctionTime;
+                }
+                String stack = module.getKey() + ";" + phase.getKey();
+                Assert.assertEquals(stacks.get(stack), Long.valueOf(TimeUnit.NANOSECONDS.toMicros(selfTime)), stack);
+            }
+        }
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(projectDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Reads the wall time, the CPU time and the allocated bytes of each phase of each module in the JSON report.
+     */
+    private Map<String, Map<String, long[]>> readModules() throws IOException {
+        String json = readReport(CompilerProfiler.JSON_REPORT_NAME);
+        String modulesJson = json.substring(0, json.indexOf("\"slowestTypeCheckedFunctions\""));
+        Map<String, Map<String, long[]>> modules = new HashMap<>();
+        Matcher moduleMatcher = MODULE_PATTERN.matcher(modulesJson);
+        boolean found = moduleMatcher.find();
+        while (found) {
+            String module = moduleMatcher.group(1);
+            int start = moduleMatcher.end();
+            found = moduleMatcher.find();
+            int end = found ? moduleMatcher.start() : modulesJson.length();
+
+            Map<String, long[]> phases = new HashMap<>();
+            Matcher phaseMatcher = PHASE_PATTERN.matcher(modulesJson.substring(start, end));
+            while (phaseMatcher.find()) {
+                phases.put(phaseMatcher.group(1), new long[]{Long.parseLong(phaseMatcher.group(2)),
+                        Long.parseLong(phaseMatcher.group(3)), Long.parseLong(phaseMatcher.group(4))});
+            }
+            modules.put(module, phases);
+        }
+        return modules;
+    }
+
+    private Map<String, Long> readFoldedStacks() throws IOException {
+        Map<String, Long> stacks = new HashMap<>();
+        for (String line : readReport(CompilerProfiler.FOLDED_REPORT_NAME).split("\n")) {
+            int separator = line.lastIndexOf(' ');
+            stacks.put(line.substring(0, separator), Long.parseLong(line.substring(separator + 1)));
+        }
+        return stacks;
+    }
+
+    private String readReport(String reportName) throws IOException {
+        Path report = reportDir.resolve(reportName);
+        Assert.assertTrue(Files.exists(report), report.toString());
+        return new String(Files.readAllBytes(report), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.jvm;
+
+import org.ballerinalang.core.model.values.BInteger;
+import org.ballerinalang.core.model.values.BValue;
+import org.ballerinalang.test.util.BCompileUtil;
+import org.ballerinalang.test.util.BRunUtil;
+import org.ballerinalang.test.util.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.ballerinalang.compiler.CompilerOptionName.JOBS;
+
+/**
+ * Test cases to cover the classes of independent modules generated in parallel. The modules form a diamond, where
+ * both the left and the right module link the base module while the classes of the other one may be generated.
+ *
+ * @since 2.0.0
+ */
+public class ParallelCodeGenTest {
+
+    private static final String[] MODULES = {"base", "left", "right", "app"};
+    private static final int PARALLEL_BUILDS = 10;
+
+    private Path projectDir;
+    private Map<String, Map<String, byte[]>> serialClasses;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        projectDir = Files.createTempDirectory("parallel-code-gen-test");
+        Path sourceDir = Paths.get("src/test/resources/test-src/jvm/ParallelCodeGenProject").toAbsolutePath();
+        try (Stream<Path> paths = Files.walk(sourceDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path target = projectDir.resolve(sourceDir.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(path, target);
+                }
+            }
+        }
+
+        CompileResult serialBuild = compile(1);
+        assertCompiled(serialBuild);
+        serialClasses = getClasses(serialBuild);
+    }
+
+    @Test(description = "Test if the classes generated in parallel are the classes generated one module at a time")
+    public void testParallelCodeGen() {
+        for (int i = 0; i < PARALLEL_BUILDS; i++) {
+            CompileResult parallelBuild = compile(4);
+            assertCompiled(parallelBuild);
+
+            Map<String, Map<String, byte[]>> parallelClasses = getClasses(parallelBuild);
+            Assert.assertEquals(parallelClasses.keySet(), serialClasses.keySet());
+            for (Map.Entry<String, Map<String, byte[]>> module : serialClasses.entrySet()) {
+                Map<String, byte[]> classes = parallelClasses.get(module.getKey());
+                Assert.assertEquals(classes.keySet(), module.getValue().keySet(), module.getKey());
+                for (Map.Entry<String, byte[]> entry : module.getValue().entrySet()) {
+                    Assert.assertTrue(Arrays.equals(classes.get(entry.getKey()), entry.getValue()),
+                                      "build " + i + ": " + module.getKey() + " " + entry.getKey());
+                }
+            }
+        }
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(projectDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private CompileResult compile(int jobs) {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions.getInstance(context).put(JOBS, Integer.toString(jobs));
+        return BCompileUtil.compileOnJBallerina(context, projectDir.toString(), "app", false, true);
+    }
+
+    private void assertCompiled(CompileResult compileResult) {
+        Assert.assertEquals(compileResult.getErrorCount(), 0, Arrays.toString(compileResult.getDiagnostics()));
+        Assert.assertEquals(compileResult.getWarnCount(), 0, Arrays.toString(compileResult.getDiagnostics()));
+        BValue[] result = BRunUtil.invoke(compileResult, "testParallelCodeGen");
+        Assert.assertTrue(result[0] instanceof BInteger);
+        Assert.assertEquals(((BInteger) result[0]).intValue(), 45);
+    }
+
+    /**
+     * Reads the classes generated for each module of the project, by the name of the module.
+     */
+    private Map<String, Map<String, byte[]>> getClasses(CompileResult compileResult) {
+        Map<String, Map<String, byte[]>> classes = new HashMap<>();
+        addClasses(((BLangPackage) compileResult.getAST()).symbol, classes);
+        Assert.assertEquals(classes.size(), MODULES.length, classes.keySet().toString());
+        for (String module : MODULES) {
+            Assert.assertTrue(classes.containsKey(module), classes.keySet().toString());
+        }
+        return classes;
+    }
+
+    private void addClasses(BPackageSymbol symbol, Map<String, Map<String, byte[]>> classes) {
+        if (symbol == null || !"testorg".equals(symbol.pkgID.orgName.value)
+                || classes.containsKey(symbol.pkgID.name.value)) {
+            return;
+        }
+        classes.put(symbol.pkgID.name.value, symbol.compiledJarFile.getJarEntries());
+        for (BPackageSymbol importSymbol : symbol.imports) {
+            addClasses(importSymbol, classes);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.record;
+
+import org.ballerinalang.test.util.BCompileUtil;
+import org.ballerinalang.test.util.BRunUtil;
+import org.ballerinalang.test.util.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Test cases for accessing the declared fields of records, which the generated code reads and writes directly when
+ * the value is of the record type of the current module.
+ *
+ * @since 2.0.0
+ */
+public class RecordFieldAccessTest {
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile("test-src/record/record-project", "fieldaccess");
+        Assert.assertEquals(compileResult.getErrorCount(), 0,
+                            Arrays.asList(compileResult.getDiagnostics()).toString());
+    }
+
+    @Test(dataProvider = "fieldAccessFunctions")
+    public void testFieldAccess(String function) {
+        BRunUtil.invoke(compileResult, function);
+    }
+
+    @DataProvider(name = "fieldAccessFunctions")
+    public Object[][] fieldAccessFunctions() {
+        return new Object[][]{
+                {"testFieldStoreAndLoad"},
+                {"testFrozenRecordFieldStore"},
+                {"testReadonlyFieldStoreViaSubtype"},
+                {"testStructuralSubtypeFieldAccess"},
+                {"testImportedRecordFieldAccess"},
+                {"testOptionalFieldAccess"},
+                {"testQuotedFieldAccess"},
+                {"testFieldAccessWithBoxing"}
+        };
+    }
+}
@@ -0,0 +1,132 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/runtime;
+import calls.other;
+
+// Functions which never yield
+
+function add(int a, int b) returns int {
+    return a + b;
+}
+
+function sumOfSquares(int n) returns int {
+    int sum = 0;
+    int i = 1;
+    while i <= n {
+        sum = add(sum, i * i);
+        i += 1;
+    }
+    return sum;
+}
+
+function fib(int n) returns int {
+    if n < 2 {
+        return n;
+    }
+    return fib(n - 1) + fib(n - 2);
+}
+
+function isEven(int n) returns boolean {
+    if n == 0 {
+        return true;
+    }
+    return isOdd(n - 1);
+}
+
+function isOdd(int n) returns boolean {
+    if n == 0 {
+        return false;
+    }
+    return isEven(n - 1);
+}
+
+function testYieldFreeCalls() returns int {
+    return sumOfSquares(10) + fib(20);
+}
+
+function testMutuallyRecursiveCalls() returns boolean {
+    return isOdd(101) && !isEven(101);
+}
+
+// Functions which yield, directly or through the functions they call. The locals which are live across the call
+// must be restored when the strand resumes.
+
+function sleepingIdentity(int x) returns int {
+    int y = x + 1;
+    runtime:sleep(5);
+    return y - 1;
+}
+
+function testExternCall() returns int {
+    int a = fib(10);
+    string label = "fib";
+    int b = sleepingIdentity(a);
+    return label == "fib" ? a + b : -1;
+}
+
+function countDown(int n, int acc) returns int {
+    if n == 0 {
+        return sleepingIdentity(acc);
+    }
+    int local = n * 2;
+    int result = countDown(n - 1, acc + local);
+    return result + local - n;
+}
+
+function testRecursiveCallToYieldingFunction() returns int {
+    return countDown(10, 0);
+}
+
+function applyTwice(function (int) returns int fp, int x) returns int {
+    int before = x * 3;
+    int once = fp(x);
+    int twice = fp(once);
+    return before + once + twice;
+}
+
+function testFunctionPointerCall() returns int {
+    int offset = add(1, 2);
+    return applyTwice(sleepingIdentity, 7) + applyTwice(function (int x) returns int => x + offset, 7);
+}
+
+function testWorkerWait() returns int {
+    int base = fib(15);
+    worker w1 returns int {
+        runtime:sleep(20);
+        return sumOfSquares(3);
+    }
+    int result = wait w1;
+    return base + result;
+}
+
+function testWorkerReceive() returns int {
+    int base = sumOfSquares(4);
+    worker w1 {
+        runtime:sleep(20);
+        int value = fib(6);
+        value -> default;
+    }
+    int received = <- w1;
+    return base + received;
+}
+
+function testCallsIntoOtherModule() returns int {
+    int a = add(2, 3);
+    int squared = other:square(a);
+    int doubled = other:sleepAndDouble(squared);
+    return a + squared + doubled;
+}
@@ -0,0 +1,39 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+public const int OFFSET = 10;
+
+public type Point record {
+    int x = 1;
+    int y = 2;
+};
+
+public function scale(int a, int factor = 2) returns int {
+    return a * factor + OFFSET;
+}
+
+public class Counter {
+    int count;
+
+    public function init(int 'start = 0) {
+        self.count = 'start;
+    }
+
+    public function next(int step = 1) returns int {
+        self.count += step;
+        return self.count;
+    }
+}
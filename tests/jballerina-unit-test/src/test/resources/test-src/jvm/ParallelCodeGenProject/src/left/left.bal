@@ -0,0 +1,31 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import testorg/base;
+
+public function sumWithWorkers(base:Point point) returns int {
+    worker w1 returns int {
+        return base:scale(point.x);
+    }
+    worker w2 returns int {
+        base:Counter counter = new (point.y);
+        return counter.next();
+    }
+    int first = wait w1;
+    int second = wait w2;
+    return first + second;
+}
@@ -0,0 +1,44 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import testorg/shapes;
+
+public function totalArea(shapes:Rectangle[] rectangles) returns int {
+    int total = 0;
+    foreach shapes:Rectangle rectangle in rectangles {
+        total += shapes:area(rectangle);
+    }
+    return total;
+}
+
+public function largest(shapes:Rectangle[] rectangles) returns int {
+    var perimeter = function (shapes:Rectangle rectangle) returns int {
+        return shapes:perimeter(rectangle);
+    };
+    int result = 0;
+    foreach shapes:Rectangle rectangle in rectangles {
+        int value = perimeter(rectangle);
+        if (value > result) {
+            result = value;
+        }
+    }
+    return result;
+}
+
+public function testProfiledModule() returns int {
+    shapes:Rectangle[] rectangles = [{width: 2, height: 3}, {width: 4, height: 5}];
+    return totalArea(rectangles) + largest(rectangles);
+}
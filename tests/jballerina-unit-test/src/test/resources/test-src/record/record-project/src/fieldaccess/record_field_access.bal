@@ -0,0 +1,278 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import fieldtypes;
+
+const ASSERTION_ERROR_REASON = "AssertionError";
+const INVALID_UPDATE_REASON = "{ballerina/lang.map}InvalidUpdate";
+const INHERENT_TYPE_VIOLATION_REASON = "{ballerina/lang.map}InherentTypeViolation";
+
+type Person record {
+    string name;
+    int age;
+    string spouse?;
+    int|string id = 0;
+    float salary = 0.0;
+};
+
+type Employee record {
+    string name;
+    int age;
+    string spouse?;
+    int|string id = 0;
+    float salary = 0.0;
+    string department = "finance";
+};
+
+type ClosedPerson record {|
+    string name;
+    int age;
+    string spouse?;
+    int|string id;
+    float salary;
+|};
+
+type Student record {
+    readonly string name;
+    int age;
+};
+
+type Named record {
+    string name;
+    int age;
+};
+
+type Quoted record {
+    string '1st_name;
+    int 'Ȧɢέ;
+    string '\ \/\:\@\[\`\{\~\u{2324}_last_name = "";
+};
+
+function testFieldStoreAndLoad() {
+    Person p = {name: "Anne", age: 30};
+    p.name = "Bob";
+    p.age = p.age + 5;
+    p.salary = 1500.5;
+    assertEquality("Bob", p.name);
+    assertEquality(35, p.age);
+    assertEquality(1500.5, p.salary);
+
+    // the generic accessors see the values stored to the fields, and the other way around
+    map<anydata> m = p;
+    assertEquality("Bob", m["name"]);
+    assertEquality(35, m["age"]);
+    assertEquality(1500.5, m["salary"]);
+    m["age"] = 40;
+    assertEquality(40, p.age);
+    assertEquality(4, m.length());
+}
+
+function testFrozenRecordFieldStore() {
+    Person p = {name: "Anne", age: 30};
+    Person frozen = p.cloneReadOnly();
+    error? res = trap updatePerson(frozen);
+    assertInvalidUpdate(res);
+    assertEquality("Anne", frozen.name);
+    assertEquality(30, frozen.age);
+
+    Person & readonly immutable = {name: "Anne", age: 30};
+    res = trap updatePerson(immutable);
+    assertInvalidUpdate(res);
+    assertEquality(30, immutable.age);
+
+    // the value it was cloned from can still be updated
+    updatePerson(p);
+    assertEquality("Bob", p.name);
+    assertEquality(31, p.age);
+}
+
+function updatePerson(Person p) {
+    p.name = "Bob";
+    p.age = 31;
+}
+
+function testReadonlyFieldStoreViaSubtype() {
+    Student st = {name: "Anne", age: 20};
+    Named named = st;
+    var fn = function () {
+        named.name = "Bob";
+    };
+    error? res = trap fn();
+    assertTrue(res is error);
+    error err = <error> res;
+    assertEquality(INHERENT_TYPE_VIOLATION_REASON, err.message());
+    assertEquality("cannot update 'readonly' field 'name' in record of type 'Student'", err.detail()["message"]);
+    assertEquality("Anne", st.name);
+
+    // the other fields of the value can be updated
+    named.age = 21;
+    assertEquality(21, st.age);
+    assertEquality(21, named.age);
+}
+
+function testStructuralSubtypeFieldAccess() {
+    Employee e = {name: "Anne", age: 30};
+    Person p = e;
+    p.name = "Bob";
+    p.age = p.age + 1;
+    p.id = "E-1";
+    assertEquality("Bob", p.name);
+    assertEquality(31, p.age);
+    assertEquality("E-1", p.id);
+    assertEquality("Bob", e.name);
+    assertEquality(31, e.age);
+    assertEquality("E-1", e.id);
+    assertEquality("finance", e.department);
+    assertTrue(p is Employee);
+
+    ClosedPerson cp = {name: "Carl", age: 40, id: 0, salary: 0.0};
+    p = cp;
+    p.name = "Dan";
+    p.spouse = "Eve";
+    assertEquality("Dan", cp.name);
+    assertEquality("Eve", cp?.spouse);
+    assertEquality(40, p.age);
+}
+
+function testImportedRecordFieldAccess() {
+    fieldtypes:Address address = fieldtypes:newAddress("Colombo", 10);
+    address.city = "Kandy";
+    address.zip = address.zip + 10;
+    address.code = "K";
+    assertEquality("Kandy", address.city);
+    assertEquality(20, address.zip);
+    assertEquality("K", address.code);
+    assertEquality((), address?.country);
+    address.country = "Sri Lanka";
+    assertEquality("Sri Lanka", address?.country);
+
+    fieldtypes:updateAddress(address, "Galle", 80000);
+    assertEquality("Galle", address.city);
+    assertEquality(80000, address.zip);
+
+    // a value of the imported record type, through a record type of this module with the same fields
+    Person p = fieldtypes:newPerson("Anne", 30);
+    p.name = "Bob";
+    p.age = 31;
+    p.spouse = "Eve";
+    assertEquality("Bob", p.name);
+    assertEquality(31, p.age);
+    assertEquality("Eve", p?.spouse);
+    assertTrue(p is fieldtypes:Person);
+    fieldtypes:Person imported = <fieldtypes:Person> p;
+    assertEquality("Bob", imported.name);
+    assertEquality(31, imported.age);
+}
+
+function testOptionalFieldAccess() {
+    Person p = {name: "Anne", age: 30};
+    map<anydata> m = p;
+    assertEquality((), p?.spouse);
+    assertFalse(m.hasKey("spouse"));
+    assertEquality(4, m.length());
+
+    // storing the field marks it as present
+    p.spouse = "Bob";
+    assertEquality("Bob", p?.spouse);
+    assertTrue(m.hasKey("spouse"));
+    assertEquality(5, m.length());
+    assertEquality("Bob", m["spouse"]);
+    assertTrue(m.keys().indexOf("spouse") is int);
+
+    // removing the field clears it, storing it again adds it back
+    _ = m.remove("spouse");
+    assertEquality((), p?.spouse);
+    assertFalse(m.hasKey("spouse"));
+    p.spouse = "Carl";
+    assertEquality("Carl", p?.spouse);
+    assertTrue(m.hasKey("spouse"));
+
+    Person copy = p.clone();
+    assertEquality("Carl", copy?.spouse);
+    assertTrue(copy == p);
+}
+
+function testQuotedFieldAccess() {
+    Quoted q = {'1st_name: "Tom", 'Ȧɢέ: 50};
+    q.'1st_name = "Harry";
+    q.'Ȧɢέ = q.'Ȧɢέ + 1;
+    q.'\ \/\:\@\[\`\{\~\u{2324}_last_name = "Potter";
+    assertEquality("Harry", q.'1st_name);
+    assertEquality(51, q.'Ȧɢέ);
+    assertEquality("Potter", q.'\ \/\:\@\[\`\{\~\u{2324}_last_name);
+
+    // the generic accessors use the field names without the quotes and escapes
+    map<anydata> m = q;
+    assertEquality("Harry", m["1st_name"]);
+    assertEquality(51, m["Ȧɢέ"]);
+    assertEquality("Potter", m[" /:@[`{~⌤_last_name"]);
+    m["1st_name"] = "Ron";
+    assertEquality("Ron", q.'1st_name);
+}
+
+function testFieldAccessWithBoxing() {
+    Person p = {name: "Anne", age: 30};
+    int id = 1234;
+    p.id = id;
+    assertEquality(1234, p.id);
+    int|string storedId = p.id;
+    assertTrue(storedId is int);
+    assertEquality(1235, <int> storedId + 1);
+
+    p.id = "A-1234";
+    assertEquality("A-1234", p.id);
+
+    // loading a field of a basic type into a union type
+    int|string age = p.age;
+    anydata salary = p.salary;
+    assertEquality(30, age);
+    assertEquality(0.0, salary);
+    any a = p.age;
+    assertTrue(a is int);
+
+    float f = 2.5;
+    p.salary = f;
+    assertEquality(2.5, p.salary);
+}
+
+function assertInvalidUpdate(error? res) {
+    assertTrue(res is error);
+    error err = <error> res;
+    assertEquality(INVALID_UPDATE_REASON, err.message());
+    assertEquality("Invalid update of record field: modification not allowed on readonly value",
+                   err.detail()["message"].toString());
+}
+
+function assertTrue(any|error actual) {
+    assertEquality(true, actual);
+}
+
+function assertFalse(any|error actual) {
+    assertEquality(false, actual);
+}
+
+function assertEquality(any|error expected, any|error actual) {
+    if expected is anydata && actual is anydata && expected == actual {
+        return;
+    }
+
+    if expected === actual {
+        return;
+    }
+
+    panic error(ASSERTION_ERROR_REASON,
+                message = "expected '" + expected.toString() + "', found '" + actual.toString () + "'");
+}
@@ -0,0 +1,43 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+public type Address record {
+    string city;
+    int zip;
+    string country?;
+    int|string code = 0;
+};
+
+public type Person record {
+    string name;
+    int age;
+    string spouse?;
+    int|string id = 0;
+    float salary = 0.0;
+};
+
+public function newAddress(string city, int zip) returns Address {
+    return {city: city, zip: zip};
+}
+
+public function newPerson(string name, int age) returns Person {
+    return {name: name, age: age};
+}
+
+public function updateAddress(Address address, string city, int zip) {
+    address.city = city;
+    address.zip = zip;
+}